@@ -0,0 +1,123 @@
+package com.example.finix.data;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Category suggestions: keyword rules first, then the model learned from saved transactions.
+ */
+@RunWith(AndroidJUnit4.class)
+public class AutoCategorizerTest {
+
+    private FinixDatabase db;
+    private File file;
+    private AutoCategorizer categorizer;
+    private int food;
+    private int transport;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = TestDatabases.inMemory();
+        file = new File(context.getCacheDir(), "category_model_test.bin.gz");
+        file.delete();
+        categorizer = new AutoCategorizer(file, db);
+        food = (int) db.categoryDao().insert(new Category("Food"));
+        transport = (int) db.categoryDao().insert(new Category("Transport"));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        file.delete();
+    }
+
+    private int save(int categoryId, String description) {
+        return (int) db.transactionDao().insert(new Transaction(10, "Expense", categoryId, 1_000L, description));
+    }
+
+    @Test
+    public void catchUp_learnsFromSavedTransactions() {
+        save(food, "Pizza Hut dinner");
+        save(food, "KFC lunch");
+        save(transport, "Uber ride home");
+        save(transport, "Uber to airport");
+
+        assertEquals(AutoCategorizer.NO_SUGGESTION, categorizer.suggest("Uber")); // not loaded yet
+        categorizer.catchUp();
+
+        assertEquals(transport, categorizer.suggest("UBER trip"));
+        assertEquals(food, categorizer.suggest("dinner at pizza hut"));
+        assertEquals(AutoCategorizer.NO_SUGGESTION, categorizer.suggest("something new"));
+        assertEquals(AutoCategorizer.NO_SUGGESTION, categorizer.suggest("  "));
+    }
+
+    @Test
+    public void rules_winOverTheModel_wholeWordsOnly() {
+        save(food, "Bus stop cafe");
+        save(food, "Bus stop cafe");
+        db.categoryRuleDao().insert(new CategoryRule("Bus", transport));
+        categorizer.catchUp();
+
+        assertEquals(transport, categorizer.suggest("Bus stop cafe"));
+        // "bus" inside "business" is not the keyword, so the model decides
+        assertEquals(food, categorizer.suggest("business cafe"));
+    }
+
+    @Test
+    public void savedModel_isReadBackInsteadOfRetraining() {
+        save(transport, "Uber ride home");
+        categorizer.catchUp();
+
+        // Gone from the database, but the file still knows it
+        TestDatabases.exec(db, "DELETE FROM transactions");
+        AutoCategorizer reopened = new AutoCategorizer(file, db);
+        reopened.catchUp();
+
+        assertTrue(file.exists());
+        assertEquals(transport, reopened.suggest("uber"));
+    }
+
+    @Test
+    public void relabel_movesTheCounts() {
+        int localId = save(food, "Uber eats");
+        categorizer.catchUp();
+        assertEquals(food, categorizer.suggest("uber eats"));
+
+        Transaction before = new Transaction(localId, 0, 10, "Expense", food, 1_000L, "Uber eats");
+        Transaction after = new Transaction(localId, 0, 10, "Expense", transport, 1_000L, "Uber eats");
+        categorizer.relabel(before, after);
+
+        assertEquals(transport, categorizer.suggest("uber eats"));
+    }
+
+    @Test
+    public void sameKeyword_movesTheRule() {
+        CategoryRuleDAO rules = db.categoryRuleDao();
+        rules.insert(new CategoryRule("Uber", food));
+        rules.insert(new CategoryRule("  uber!", transport));
+
+        List<CategoryRule> all = rules.getAllRules();
+        assertEquals(1, all.size());
+        assertEquals("uber", all.get(0).getKeyword());
+        assertEquals(transport, all.get(0).getCategoryId());
+    }
+
+    @Test
+    public void normalize_lowerCaseWordsOnly() {
+        assertEquals("pizza hut 24", CategoryRule.normalize("  PIZZA-Hut #24! "));
+        assertEquals("", CategoryRule.normalize(null));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.finix.data;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+/**
+ * The balance checkpoints: triggers keep them equal to summing every transaction.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BalanceLedgerTest {
+
+    private FinixDatabase db;
+    private BalanceDAO balanceDao;
+    private int food;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory();
+        balanceDao = db.balanceDao();
+        food = (int) db.categoryDao().insert(new Category("Food"));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    // Noon on the given day of the month `monthsAgo` months before this one
+    private static long daysInto(int monthsAgo, int day) {
+        Calendar cal = TransactionArchiver.monthStart(System.currentTimeMillis());
+        cal.add(Calendar.MONTH, -monthsAgo);
+        cal.set(Calendar.DAY_OF_MONTH, day);
+        cal.set(Calendar.HOUR_OF_DAY, 12);
+        return cal.getTimeInMillis();
+    }
+
+    private int insert(double amount, String type, long dateTime) {
+        return (int) db.transactionDao().insert(new Transaction(amount, type, food, dateTime, "Groceries"));
+    }
+
+    private long buckets() {
+        return TestDatabases.queryLong(db, "SELECT COUNT(*) FROM balance_buckets");
+    }
+
+    @Test
+    public void inserts_keepTheNewestCheckpointAtTheTotal() {
+        insert(1000, "Income", daysInto(2, 1));
+        insert(200, "Expense", daysInto(1, 15));
+        insert(50, "expense", daysInto(0, 2)); // type is case-insensitive
+
+        assertEquals(750, balanceDao.getTotalBalance(), 1e-9);
+        assertEquals(3, buckets());
+    }
+
+    @Test
+    public void backdatedInsert_shiftsEveryLaterMonth() {
+        insert(1000, "Income", daysInto(1, 1));
+        insert(100, "Expense", daysInto(0, 1));
+
+        insert(300, "Expense", daysInto(3, 10));
+
+        assertEquals(600, balanceDao.getTotalBalance(), 1e-9);
+        assertEquals(-300, balanceDao.getBalanceAt(daysInto(2, 1)), 1e-9);
+        assertEquals(700, balanceDao.getBalanceAt(daysInto(1, 2)), 1e-9);
+    }
+
+    @Test
+    public void balanceAt_countsItsOwnMonthUpToThatMoment() {
+        insert(1000, "Income", daysInto(1, 1));
+        insert(100, "Expense", daysInto(0, 1));
+        insert(40, "Expense", daysInto(0, 5));
+
+        assertEquals(1000, balanceDao.getBalanceAt(daysInto(1, 28)), 1e-9);
+        assertEquals(900, balanceDao.getBalanceAt(daysInto(0, 3)), 1e-9);
+        assertEquals(860, balanceDao.getBalanceAt(daysInto(0, 5)), 1e-9);
+    }
+
+    @Test
+    public void updatesAndDeletes_moveTheAmountOut() {
+        insert(1000, "Income", daysInto(2, 1));
+        long date = daysInto(2, 3);
+        int localId = insert(100, "Expense", date);
+
+        // Move it a month later and make it bigger
+        db.transactionDao().update(new Transaction(localId, 0, 150, "Expense", food, daysInto(1, 3), "Groceries"));
+        assertEquals(1000, balanceDao.getBalanceAt(daysInto(2, 28)), 1e-9);
+        assertEquals(850, balanceDao.getTotalBalance(), 1e-9);
+
+        db.transactionDao().delete(new Transaction(localId, 0, 150, "Expense", food, daysInto(1, 3), "Groceries"));
+        assertEquals(1000, balanceDao.getTotalBalance(), 1e-9);
+    }
+
+    @Test
+    public void archiving_leavesTheBalanceAlone() {
+        insert(1000, "Income", daysInto(14, 1));
+        insert(100, "Expense", daysInto(0, 1));
+        TestDatabases.exec(db, "UPDATE sync_log SET status = 'SYNCED'");
+
+        assertEquals(1, new TransactionArchiver(db).archiveOlderThan(12));
+
+        assertEquals(900, balanceDao.getTotalBalance(), 1e-9);
+        assertEquals(1000, balanceDao.getBalanceAt(daysInto(14, 2)), 1e-9);
+    }
+
+    @Test
+    public void rebuild_matchesWhatTheTriggersKept() {
+        insert(1000, "Income", daysInto(3, 1));
+        insert(250, "Expense", daysInto(2, 9));
+        insert(75, "Expense", daysInto(0, 4));
+        double kept = balanceDao.getTotalBalance();
+        double keptBefore = balanceDao.getBalanceAt(daysInto(2, 28));
+
+        db.runInTransaction(() -> BalanceLedger.rebuild(db.getOpenHelper().getWritableDatabase()));
+
+        assertEquals(kept, balanceDao.getTotalBalance(), 1e-9);
+        assertEquals(keptBefore, balanceDao.getBalanceAt(daysInto(2, 28)), 1e-9);
+        assertEquals(3, buckets());
+    }
+}
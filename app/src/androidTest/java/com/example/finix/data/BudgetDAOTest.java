@@ -0,0 +1,135 @@
+package com.example.finix.data;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Budget spend straight from SQL (hot + archived expenses of the budget's category and dates),
+ * and the month filter's range queries.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BudgetDAOTest {
+
+    private FinixDatabase db;
+    private BudgetDAO budgetDao;
+    private int food;
+    private int travel;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory();
+        budgetDao = db.budgetDao();
+        food = (int) db.categoryDao().insert(new Category("Food"));
+        travel = (int) db.categoryDao().insert(new Category("Travel"));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    // Local midnight on the given day of month `month` (0-based) of 2025
+    private static long day(int month, int dayOfMonth) {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(2025, month, dayOfMonth);
+        return cal.getTimeInMillis();
+    }
+
+    private void spend(int categoryId, String type, double amount, long dateTime) {
+        db.transactionDao().insert(new Transaction(amount, type, categoryId, dateTime, "Test"));
+    }
+
+    private void spendArchived(int categoryId, double amount, long dateTime) {
+        TestDatabases.exec(db, "INSERT INTO transactions_archive (local_id, id, amount, type, category_id, date_time, "
+                + "description, month_start) VALUES ((SELECT COALESCE(MAX(local_id), 0) + 1000 FROM transactions_archive), "
+                + "0, ?, 'Expense', ?, ?, 'Archived', ?)", amount, categoryId, dateTime, dateTime);
+    }
+
+    @Test
+    public void spend_countsHotAndArchivedExpensesInTheBudgetDates() {
+        budgetDao.insert(new Budget(food, 500, day(0, 1), day(0, 31)));
+        spend(food, "Expense", 100, day(0, 1));     // first day counts
+        spend(food, "expense", 20, day(0, 31));     // last day counts, any case
+        spendArchived(food, 30, day(0, 15));
+        spend(food, "Income", 999, day(0, 10));     // not spending
+        spend(travel, "Expense", 999, day(0, 10));  // other category
+        spend(food, "Expense", 999, day(1, 2));     // after the budget
+
+        List<BudgetWithSpend> budgets = budgetDao.getBudgetsWithSpend();
+
+        assertEquals(1, budgets.size());
+        assertEquals(150, budgets.get(0).spent, 1e-9);
+        assertEquals("Food", budgets.get(0).categoryName);
+        assertEquals(500, budgets.get(0).budget.getBudgetedAmount(), 1e-9);
+    }
+
+    @Test
+    public void spend_newestBudgetFirst_zeroWithoutExpenses() {
+        budgetDao.insert(new Budget(food, 500, day(0, 1), day(0, 31)));
+        budgetDao.insert(new Budget(travel, 200, day(2, 1), day(2, 31)));
+
+        List<BudgetWithSpend> budgets = budgetDao.getBudgetsWithSpend();
+
+        assertEquals("Travel", budgets.get(0).categoryName);
+        assertEquals(0, budgets.get(0).spent, 0);
+        assertEquals("Food", budgets.get(1).categoryName);
+    }
+
+    @Test
+    public void between_keepsBudgetsOverlappingTheMonth() {
+        budgetDao.insert(new Budget(food, 500, day(0, 1), day(0, 31)));    // January only
+        budgetDao.insert(new Budget(travel, 300, day(0, 20), day(1, 10))); // runs into February
+        budgetDao.insert(new Budget(food, 400, day(1, 1), day(1, 28)));    // February
+        budgetDao.insert(new Budget(food, 450, day(2, 1), day(2, 31)));    // March
+
+        List<BudgetWithSpend> february = budgetDao.getBudgetsWithSpendBetween(day(1, 1), day(2, 1));
+
+        assertEquals(2, february.size());
+        assertEquals(400, february.get(0).budget.getBudgetedAmount(), 1e-9);
+        assertEquals(300, february.get(1).budget.getBudgetedAmount(), 1e-9);
+    }
+
+    @Test
+    public void monthStarts_everyOverlappedMonthNewestFirst() {
+        budgetDao.insert(new Budget(food, 500, day(0, 1), day(0, 31)));
+        budgetDao.insert(new Budget(travel, 300, day(0, 20), day(1, 10)));
+        budgetDao.insert(new Budget(food, 450, day(3, 5), day(3, 30)));
+
+        // February only has the travel budget running into it; March has none
+        assertEquals(Arrays.asList(day(3, 1), day(1, 1), day(0, 1)), budgetDao.getBudgetMonthStarts());
+    }
+
+    @Test
+    public void monthStarts_matchTheMonthFilter() {
+        budgetDao.insert(new Budget(travel, 300, day(0, 20), day(2, 10)));
+
+        for (long monthStart : budgetDao.getBudgetMonthStarts()) {
+            Calendar next = Calendar.getInstance();
+            next.setTimeInMillis(monthStart);
+            next.add(Calendar.MONTH, 1);
+            assertEquals(1, budgetDao.getBudgetsWithSpendBetween(monthStart, next.getTimeInMillis()).size());
+        }
+        assertEquals(3, budgetDao.getBudgetMonthStarts().size());
+    }
+
+    @Test
+    public void startingIn_sameCategoryAndMonth_skipsTheEditedBudget() {
+        int january = (int) budgetDao.insert(new Budget(food, 500, day(0, 1), day(0, 31)));
+        budgetDao.insert(new Budget(travel, 300, day(0, 5), day(0, 31)));
+
+        assertEquals(1, budgetDao.countBudgetsStartingIn(food, day(0, 1), day(1, 1), 0));
+        assertEquals(0, budgetDao.countBudgetsStartingIn(food, day(0, 1), day(1, 1), january));
+        assertEquals(0, budgetDao.countBudgetsStartingIn(food, day(1, 1), day(2, 1), 0));
+    }
+}
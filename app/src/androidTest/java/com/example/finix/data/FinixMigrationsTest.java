@@ -0,0 +1,130 @@
+package com.example.finix.data;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Upgrading a version 1 database file (the schema before any migration existed) to the current
+ * version: Room must accept the migrated schema, and the user's rows must survive and be indexed.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FinixMigrationsTest {
+
+    private static final String NAME = "finix_migration_test.db";
+
+    // Jan 15 2024 / Feb 10 2024, around noon UTC (same local day in any time zone)
+    private static final long JAN = 1_705_320_000_000L;
+    private static final long FEB = 1_707_566_400_000L;
+
+    // The tables Room created for version 1
+    private static final String[] V1_SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS `categories` (`local_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`id` INTEGER NOT NULL DEFAULT 0, `name` TEXT)",
+            "CREATE TABLE IF NOT EXISTS `savings_goals` (`local_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`id` INTEGER NOT NULL DEFAULT 0, `category_id` INTEGER NOT NULL, `goal_name` TEXT, "
+                    + "`goal_description` TEXT, `target_amount` REAL NOT NULL, `target_date` INTEGER NOT NULL, "
+                    + "FOREIGN KEY(`category_id`) REFERENCES `categories`(`local_id`) ON UPDATE NO ACTION ON DELETE RESTRICT )",
+            "CREATE INDEX IF NOT EXISTS `index_savings_goals_category_id` ON `savings_goals` (`category_id`)",
+            "CREATE TABLE IF NOT EXISTS `transactions` (`local_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`id` INTEGER NOT NULL DEFAULT 0, `amount` REAL NOT NULL, `type` TEXT, "
+                    + "`category_id` INTEGER NOT NULL, `date_time` INTEGER NOT NULL, `description` TEXT, "
+                    + "FOREIGN KEY(`category_id`) REFERENCES `categories`(`local_id`) ON UPDATE NO ACTION ON DELETE RESTRICT )",
+            "CREATE INDEX IF NOT EXISTS `index_transactions_category_id` ON `transactions` (`category_id`)",
+            "CREATE TABLE IF NOT EXISTS `budgets` (`local_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`id` INTEGER NOT NULL DEFAULT 0, `category_id` INTEGER NOT NULL, `budgeted_amount` REAL NOT NULL, "
+                    + "`start_date` INTEGER NOT NULL, `end_date` INTEGER NOT NULL, "
+                    + "FOREIGN KEY(`category_id`) REFERENCES `categories`(`local_id`) ON UPDATE NO ACTION ON DELETE RESTRICT )",
+            "CREATE INDEX IF NOT EXISTS `index_budgets_category_id` ON `budgets` (`category_id`)",
+            "CREATE TABLE IF NOT EXISTS `sync_log` (`log_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`table_name` TEXT, `record_id` INTEGER NOT NULL, `last_synced_timestamp` INTEGER NOT NULL, "
+                    + "`status` TEXT, `message` TEXT)",
+            "CREATE TABLE IF NOT EXISTS `users` (`user_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`username` TEXT, `email` TEXT, `password_hash` TEXT)",
+            "CREATE UNIQUE INDEX IF NOT EXISTS `index_users_email` ON `users` (`email`)"
+    };
+
+    private Context context;
+    private FinixDatabase db;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(NAME);
+
+        SQLiteDatabase v1 = SQLiteDatabase.openOrCreateDatabase(context.getDatabasePath(NAME), null);
+        for (String sql : V1_SCHEMA) v1.execSQL(sql);
+        v1.execSQL("INSERT INTO categories (local_id, id, name) VALUES (1, 7, 'Groceries')");
+        v1.execSQL("INSERT INTO transactions (local_id, id, amount, type, category_id, date_time, description) "
+                + "VALUES (1, 11, 1000, 'Income', 1, " + JAN + ", 'Salary')");
+        v1.execSQL("INSERT INTO transactions (local_id, id, amount, type, category_id, date_time, description) "
+                + "VALUES (2, 12, 40, 'Expense', 1, " + FEB + ", 'Weekly supermarket run')");
+        v1.execSQL("INSERT INTO budgets (local_id, id, category_id, budgeted_amount, start_date, end_date) "
+                + "VALUES (1, 0, 1, 300, " + JAN + ", " + FEB + ")");
+        v1.setVersion(1);
+        v1.close();
+
+        // Same setup as FinixDatabase.getDatabase(); Room validates the schema when it opens
+        db = Room.databaseBuilder(context, FinixDatabase.class, NAME)
+                .allowMainThreadQueries()
+                .addCallback(new RoomDatabase.Callback() {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        FinixMigrations.installTriggers(db);
+                    }
+                })
+                .addMigrations(FinixMigrations.ALL)
+                .build();
+        db.getOpenHelper().getWritableDatabase();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        context.deleteDatabase(NAME);
+    }
+
+    @Test
+    public void upgrade_keepsTheRows() {
+        assertEquals(1, db.categoryDao().getAllCategories().size());
+        assertEquals("Weekly supermarket run", db.transactionDao().getTransactionById(2).getDescription());
+        assertEquals(300, db.budgetDao().getAllBudgets().get(0).getBudgetedAmount(), 0.001);
+        assertEquals(FinixDatabase.VERSION, db.getOpenHelper().getReadableDatabase().getVersion());
+    }
+
+    @Test
+    public void upgrade_indexesAndBackfillsTheExistingRows() {
+        List<Transaction> hits = db.transactionDao().searchByDescription("supermar*", 10, 0);
+        assertEquals(1, hits.size());
+        assertEquals(2, hits.get(0).getLocalId());
+
+        assertEquals(960, db.balanceDao().getTotalBalance(), 0.001);
+        assertEquals(1, db.transactionDao().countDuplicates("expense", 1, FEB, 40, "weekly supermarket run"));
+    }
+
+    @Test
+    public void upgrade_installsTheTriggers() {
+        int localId = (int) db.transactionDao().insert(new Transaction(5, "Expense", 1, FEB, "Milk"));
+
+        assertEquals(955, db.balanceDao().getTotalBalance(), 0.001);
+        assertEquals(1, TestDatabases.queryLong(db,
+                "SELECT COUNT(*) FROM sync_log WHERE table_name = 'transactions' AND record_id = ? AND status = 'PENDING'",
+                localId));
+        assertEquals(1, db.transactionDao().searchByDescription("milk*", 10, 0).size());
+    }
+}
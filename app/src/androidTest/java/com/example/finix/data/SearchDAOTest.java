@@ -0,0 +1,110 @@
+package com.example.finix.data;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The combined full-text search: categories first, then hot and archived transactions by score.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SearchDAOTest {
+
+    private FinixDatabase db;
+    private int groceries;
+    private int archivedId;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory();
+        groceries = (int) db.categoryDao().insert(new Category("Groceries"));
+        int travel = (int) db.categoryDao().insert(new Category("Travel"));
+
+        Calendar old = Calendar.getInstance();
+        old.add(Calendar.MONTH, -14);
+        archivedId = (int) db.transactionDao().insert(
+                new Transaction(30, "Expense", groceries, old.getTimeInMillis(), "Grocery supermarket run"));
+        TestDatabases.exec(db, "UPDATE sync_log SET status = 'SYNCED'");
+        assertEquals(1, new TransactionArchiver(db).archiveOlderThan(12));
+
+        long now = System.currentTimeMillis();
+        db.transactionDao().insert(new Transaction(10, "Expense", groceries, now - 2000, "Grocery shop"));
+        db.transactionDao().insert(new Transaction(15, "Expense", groceries, now - 3000, "Groceries at the grocery store"));
+        db.transactionDao().insert(new Transaction(20, "Expense", groceries, now - 1000, "Supermarket"));
+        db.transactionDao().insert(new Transaction(5, "Expense", travel, now, "Bus fare"));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    private static List<String> titles(List<SearchResult> hits) {
+        List<String> titles = new ArrayList<>();
+        for (SearchResult hit : hits) titles.add(hit.title);
+        return titles;
+    }
+
+    @Test
+    public void search_categoriesFirst_thenMostMatches_thenNewest() {
+        List<SearchResult> hits = db.searchDao().search(SearchRepository.toPrefixMatch("groc"), 10, 0);
+
+        assertEquals(Arrays.asList("Groceries", "Groceries at the grocery store", "Grocery shop",
+                "Grocery supermarket run"), titles(hits));
+        assertTrue(hits.get(0).isCategory());
+        assertEquals(groceries, hits.get(0).categoryId);
+        assertEquals(2, hits.get(1).score);
+        assertEquals(SearchResult.SOURCE_TRANSACTION, hits.get(2).source);
+        // Archived rows are searched too
+        assertEquals(SearchResult.SOURCE_ARCHIVED_TRANSACTION, hits.get(3).source);
+        assertEquals(archivedId, hits.get(3).localId);
+    }
+
+    @Test
+    public void search_everyTermMustMatch() {
+        List<SearchResult> hits = db.searchDao().search(SearchRepository.toPrefixMatch("groc super"), 10, 0);
+
+        assertEquals(Arrays.asList("Grocery supermarket run"), titles(hits));
+    }
+
+    @Test
+    public void search_pagesWithLimitAndOffset() {
+        String match = SearchRepository.toPrefixMatch("groc");
+
+        List<SearchResult> first = db.searchDao().search(match, 2, 0);
+        List<SearchResult> second = db.searchDao().search(match, 2, 2);
+
+        assertEquals(Arrays.asList("Groceries", "Groceries at the grocery store"), titles(first));
+        assertEquals(Arrays.asList("Grocery shop", "Grocery supermarket run"), titles(second));
+    }
+
+    @Test
+    public void searchByDescription_hotAndArchived_newestFirst() {
+        List<Transaction> rows = db.transactionDao().searchByDescription(SearchRepository.toPrefixMatch("groc"), 10, 0);
+
+        assertEquals(3, rows.size());
+        assertEquals("Grocery shop", rows.get(0).getDescription());
+        assertEquals("Groceries at the grocery store", rows.get(1).getDescription());
+        assertEquals(archivedId, rows.get(2).getLocalId());
+    }
+
+    @Test
+    public void transactionOrArchived_findsArchivedRows() {
+        Transaction archived = db.transactionDao().getTransactionOrArchivedById(archivedId);
+
+        assertNotNull(archived);
+        assertEquals(30, archived.getAmount(), 1e-9);
+        assertNull(db.transactionDao().getTransactionById(archivedId));
+        assertNull(db.transactionDao().getTransactionOrArchivedById(99999));
+    }
+}
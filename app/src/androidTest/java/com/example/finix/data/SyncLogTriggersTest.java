@@ -0,0 +1,114 @@
+package com.example.finix.data;
+
+import android.database.Cursor;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The outbox triggers: one open sync_log row per record, keyed the way FinixRepository syncs them.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SyncLogTriggersTest {
+
+    private FinixDatabase db;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    // "STATUS record_id" per sync_log row of the table, oldest first
+    private List<String> log(String table) {
+        List<String> rows = new ArrayList<>();
+        try (Cursor c = db.query("SELECT status || ' ' || record_id FROM sync_log WHERE table_name = ? ORDER BY log_id",
+                new Object[]{table})) {
+            while (c.moveToNext()) rows.add(c.getString(0));
+        }
+        return rows;
+    }
+
+    // What FinixRepository does after the server accepted an add
+    private void markSynced(String table, int localId, int serverId) {
+        TestDatabases.exec(db, "UPDATE " + table + " SET id = ? WHERE local_id = ?", serverId, localId);
+        TestDatabases.exec(db, "UPDATE sync_log SET status = 'SYNCED' WHERE table_name = ? AND record_id = ?", table, localId);
+    }
+
+    @Test
+    public void insert_queuesPending() {
+        int localId = (int) db.categoryDao().insert(new Category("Food"));
+
+        assertEquals(Collections.singletonList("PENDING " + localId), log("categories"));
+    }
+
+    @Test
+    public void editBeforeSync_keepsTheOnePendingRow() {
+        int localId = (int) db.categoryDao().insert(new Category("Food"));
+        db.categoryDao().update(new Category(localId, 0, "Groceries"));
+        db.categoryDao().update(new Category(localId, 0, "Groceries & Food"));
+
+        assertEquals(Collections.singletonList("PENDING " + localId), log("categories"));
+    }
+
+    @Test
+    public void storingTheServerId_isNotAnEdit() {
+        int localId = (int) db.categoryDao().insert(new Category("Food"));
+        markSynced("categories", localId, 42);
+
+        assertEquals(Collections.singletonList("SYNCED " + localId), log("categories"));
+    }
+
+    @Test
+    public void editAfterSync_queuesOneUpdated() {
+        int localId = (int) db.categoryDao().insert(new Category("Food"));
+        markSynced("categories", localId, 42);
+
+        db.categoryDao().update(new Category(localId, 42, "Groceries"));
+        db.categoryDao().update(new Category(localId, 42, "Groceries & Food"));
+
+        assertEquals(Arrays.asList("SYNCED " + localId, "UPDATED " + localId), log("categories"));
+    }
+
+    @Test
+    public void deleteBeforeSync_leavesNothingToSend() {
+        int localId = (int) db.categoryDao().insert(new Category("Food"));
+        db.categoryDao().delete(new Category(localId, 0, "Food"));
+
+        assertTrue(log("categories").isEmpty());
+    }
+
+    @Test
+    public void deleteAfterSync_queuesDeletedWithTheServerId() {
+        int localId = (int) db.categoryDao().insert(new Category("Food"));
+        markSynced("categories", localId, 42);
+        db.categoryDao().update(new Category(localId, 42, "Groceries"));
+
+        db.categoryDao().delete(new Category(localId, 42, "Groceries"));
+
+        assertEquals(Arrays.asList("SYNCED " + localId, "DELETED 42"), log("categories"));
+    }
+
+    @Test
+    public void transactionsAreLoggedToo() {
+        int categoryId = (int) db.categoryDao().insert(new Category("Food"));
+        int localId = (int) db.transactionDao().insert(new Transaction(12.5, "Expense", categoryId, 1000L, "Lunch"));
+
+        assertEquals(Collections.singletonList("PENDING " + localId), log("transactions"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.finix.data;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+/**
+ * Throwaway in-memory FinixDatabase with the same triggers the app installs, for DAO and
+ * trigger tests. Queries may run on the test thread.
+ */
+final class TestDatabases {
+
+    private TestDatabases() {}
+
+    static FinixDatabase inMemory() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        return Room.inMemoryDatabaseBuilder(context, FinixDatabase.class)
+                .allowMainThreadQueries()
+                .addCallback(new RoomDatabase.Callback() {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        FinixMigrations.installTriggers(db);
+                    }
+                })
+                .build();
+    }
+
+    // First column of the first row, as a long (0 when there is no row)
+    static long queryLong(FinixDatabase db, String sql, Object... args) {
+        try (Cursor c = db.getOpenHelper().getWritableDatabase().query(sql, args)) {
+            return c.moveToFirst() ? c.getLong(0) : 0;
+        }
+    }
+
+    static double queryDouble(FinixDatabase db, String sql, Object... args) {
+        try (Cursor c = db.getOpenHelper().getWritableDatabase().query(sql, args)) {
+            return c.moveToFirst() ? c.getDouble(0) : 0;
+        }
+    }
+
+    static void exec(FinixDatabase db, String sql, Object... args) {
+        db.getOpenHelper().getWritableDatabase().execSQL(sql, args);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.finix.data;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+/**
+ * Hot/cold archival: rows move a month at a time, rollups follow, and the outbox never sees it.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TransactionArchiverTest {
+
+    private FinixDatabase db;
+    private TransactionArchiver archiver;
+    private int food;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory();
+        archiver = new TransactionArchiver(db);
+        food = (int) db.categoryDao().insert(new Category("Food"));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    // Noon on the given day of the month `monthsAgo` months before this one
+    private static long daysInto(int monthsAgo, int day) {
+        Calendar cal = TransactionArchiver.monthStart(System.currentTimeMillis());
+        cal.add(Calendar.MONTH, -monthsAgo);
+        cal.set(Calendar.DAY_OF_MONTH, day);
+        cal.set(Calendar.HOUR_OF_DAY, 12);
+        return cal.getTimeInMillis();
+    }
+
+    private static long monthStart(int monthsAgo) {
+        Calendar cal = TransactionArchiver.monthStart(System.currentTimeMillis());
+        cal.add(Calendar.MONTH, -monthsAgo);
+        return cal.getTimeInMillis();
+    }
+
+    private int insert(double amount, String type, long dateTime) {
+        return (int) db.transactionDao().insert(new Transaction(amount, type, food, dateTime, "Groceries"));
+    }
+
+    private long count(String table) {
+        return TestDatabases.queryLong(db, "SELECT COUNT(*) FROM " + table);
+    }
+
+    // Archival only takes rows the server already has
+    private void syncEverything() {
+        TestDatabases.exec(db, "UPDATE sync_log SET status = 'SYNCED'");
+    }
+
+    @Test
+    public void oldMonthsMove_recentOnesStay() {
+        insert(100, "Expense", daysInto(14, 3));
+        insert(50, "Expense", daysInto(14, 20));
+        insert(70, "Income", daysInto(13, 5));
+        insert(10, "Expense", daysInto(0, 1));
+        syncEverything();
+
+        assertEquals(3, archiver.archiveOlderThan(12));
+
+        assertEquals(1, count("transactions"));
+        assertEquals(3, count("transactions_archive"));
+        assertEquals(150, TestDatabases.queryDouble(db, "SELECT total FROM monthly_rollups "
+                + "WHERE month_start = ? AND type = 'Expense' AND category_id = ?", monthStart(14), food), 1e-9);
+        assertEquals(2, TestDatabases.queryLong(db, "SELECT count FROM monthly_rollups "
+                + "WHERE month_start = ? AND type = 'Expense'", monthStart(14)));
+        assertEquals(70, TestDatabases.queryDouble(db, "SELECT total FROM monthly_rollups "
+                + "WHERE month_start = ? AND type = 'Income'", monthStart(13)), 1e-9);
+
+        // Nothing left to do on the second run
+        assertEquals(0, archiver.archiveOlderThan(12));
+    }
+
+    @Test
+    public void archiving_queuesNothingForTheServer() {
+        insert(100, "Expense", daysInto(14, 3));
+        syncEverything();
+
+        archiver.archiveOlderThan(12);
+
+        assertEquals(0, TestDatabases.queryLong(db, "SELECT COUNT(*) FROM sync_log WHERE status <> 'SYNCED'"));
+    }
+
+    @Test
+    public void unsyncedRows_stayHot() {
+        insert(100, "Expense", daysInto(14, 3)); // still PENDING
+
+        assertEquals(0, archiver.archiveOlderThan(12));
+        assertEquals(1, count("transactions"));
+        assertEquals(0, count("monthly_rollups"));
+    }
+
+    @Test
+    public void restore_bringsTheRowBackAndRebuildsTheMonth() {
+        int keep = insert(100, "Expense", daysInto(14, 3));
+        int edit = insert(50, "Expense", daysInto(14, 20));
+        syncEverything();
+        archiver.archiveOlderThan(12);
+
+        boolean[] restored = new boolean[2];
+        db.runInTransaction(() -> {
+            restored[0] = archiver.restoreIfArchived(edit);
+            restored[1] = archiver.restoreIfArchived(edit);
+        });
+
+        assertTrue(restored[0]);
+        assertFalse(restored[1]);
+        assertEquals(edit, TestDatabases.queryLong(db, "SELECT local_id FROM transactions"));
+        assertEquals(keep, TestDatabases.queryLong(db, "SELECT local_id FROM transactions_archive"));
+        assertEquals(100, TestDatabases.queryDouble(db, "SELECT total FROM monthly_rollups WHERE month_start = ?",
+                monthStart(14)), 1e-9);
+        // Moving back is not an add either
+        assertEquals(0, TestDatabases.queryLong(db, "SELECT COUNT(*) FROM sync_log WHERE status <> 'SYNCED'"));
+    }
+}
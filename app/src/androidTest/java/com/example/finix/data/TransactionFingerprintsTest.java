@@ -0,0 +1,109 @@
+package com.example.finix.data;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+/**
+ * Duplicate detection: the fingerprint triggers and the countDuplicates lookup agree.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TransactionFingerprintsTest {
+
+    private FinixDatabase db;
+    private TransactionDAO transactionDao;
+    private int food;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory();
+        transactionDao = db.transactionDao();
+        food = (int) db.categoryDao().insert(new Category("Food"));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    // The given hour of the day `monthsAgo` months before today
+    private static long at(int monthsAgo, int hour) {
+        Calendar cal = Calendar.getInstance();
+        cal.add(Calendar.MONTH, -monthsAgo);
+        cal.set(Calendar.HOUR_OF_DAY, hour);
+        cal.set(Calendar.MINUTE, 0);
+        return cal.getTimeInMillis();
+    }
+
+    @Test
+    public void sameDayAmountAndText_isADuplicate() {
+        transactionDao.insert(new Transaction(12.5, "Expense", food, at(0, 9), "Coffee beans"));
+
+        // Another time that day, different case and padding: still the same purchase
+        assertEquals(1, transactionDao.countDuplicates(" expense ", food, at(0, 18), 12.5, "  COFFEE beans"));
+        assertEquals(0, transactionDao.countDuplicates("Expense", food, at(0, 18), 12.51, "Coffee beans"));
+        assertEquals(0, transactionDao.countDuplicates("Income", food, at(0, 9), 12.5, "Coffee beans"));
+        assertEquals(0, transactionDao.countDuplicates("Expense", food, at(1, 9), 12.5, "Coffee beans"));
+    }
+
+    @Test
+    public void editing_movesTheFingerprint() {
+        int localId = (int) transactionDao.insert(new Transaction(12.5, "Expense", food, at(0, 9), "Coffee"));
+
+        transactionDao.update(new Transaction(localId, 0, 20, "Expense", food, at(0, 9), "Coffee"));
+
+        assertEquals(0, transactionDao.countDuplicates("Expense", food, at(0, 9), 12.5, "Coffee"));
+        assertEquals(1, transactionDao.countDuplicates("Expense", food, at(0, 9), 20, "Coffee"));
+    }
+
+    @Test
+    public void deleting_forgetsTheFingerprint() {
+        int localId = (int) transactionDao.insert(new Transaction(12.5, "Expense", food, at(0, 9), "Coffee"));
+
+        transactionDao.delete(new Transaction(localId, 0, 12.5, "Expense", food, at(0, 9), "Coffee"));
+
+        assertEquals(0, transactionDao.countDuplicates("Expense", food, at(0, 9), 12.5, "Coffee"));
+        assertEquals(0, TestDatabases.queryLong(db, "SELECT COUNT(*) FROM transaction_fingerprints"));
+    }
+
+    @Test
+    public void archivedRows_stillCountAsDuplicates() {
+        transactionDao.insert(new Transaction(80, "Expense", food, at(14, 12), "Old statement line"));
+        TestDatabases.exec(db, "UPDATE sync_log SET status = 'SYNCED'");
+
+        assertEquals(1, new TransactionArchiver(db).archiveOlderThan(12));
+
+        assertEquals(1, transactionDao.countDuplicates("Expense", food, at(14, 12), 80, "Old statement line"));
+    }
+
+    @Test
+    public void rebuild_coversHotAndArchivedRows() {
+        transactionDao.insert(new Transaction(80, "Expense", food, at(14, 12), "Old"));
+        transactionDao.insert(new Transaction(5, "Expense", food, at(0, 12), "New"));
+        TestDatabases.exec(db, "UPDATE sync_log SET status = 'SYNCED'");
+        new TransactionArchiver(db).archiveOlderThan(12);
+
+        db.runInTransaction(() -> TransactionFingerprints.rebuild(db.getOpenHelper().getWritableDatabase()));
+
+        assertEquals(2, TestDatabases.queryLong(db, "SELECT COUNT(*) FROM transaction_fingerprints"));
+        assertEquals(1, transactionDao.countDuplicates("Expense", food, at(14, 12), 80, "Old"));
+        assertEquals(1, transactionDao.countDuplicates("Expense", food, at(0, 12), 5, "New"));
+    }
+
+    @Test
+    public void key_groupsLikeTheSqlFingerprint() {
+        String a = TransactionFingerprints.key(new Transaction(12.5, " Expense", food, at(0, 9), "Coffee "));
+        String b = TransactionFingerprints.key(new Transaction(12.5, "expense", food, at(0, 20), "coffee"));
+        String c = TransactionFingerprints.key(new Transaction(12.5, "Expense", food, at(1, 9), "Coffee"));
+
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.finix.ui.dashboard;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.finix.data.CategoryTypeTotal;
+import com.example.finix.data.MonthlyCategoryTotal;
+import com.github.mikephil.charting.data.PieEntry;
+import com.github.mikephil.charting.interfaces.datasets.IPieDataSet;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * The chart model built off the main thread: labels, slice order, and equals() for skipping redraws.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DashboardChartModelTest {
+
+    private static CategoryTypeTotal row(String type, int categoryId, double total) {
+        CategoryTypeTotal row = new CategoryTypeTotal();
+        row.period = CategoryTypeTotal.PERIOD_SELECTED;
+        row.type = type;
+        row.categoryId = categoryId;
+        row.total = total;
+        return row;
+    }
+
+    private static MonthSummary october(double groceries) {
+        return MonthSummary.from("October 2025", "September", Arrays.asList(
+                row("Expense", 1, groceries),
+                row("Expense", 2, 300),
+                row("Income", 3, 1000)));
+    }
+
+    private static TrendData trend() {
+        MonthlyCategoryTotal row = new MonthlyCategoryTotal();
+        row.month = new SimpleDateFormat("yyyy-MM", Locale.US).format(Calendar.getInstance().getTime());
+        row.type = "Expense";
+        row.categoryId = 1;
+        row.total = 120;
+        return TrendData.from(TrendData.DEFAULT_MONTHS, Collections.singletonList(row));
+    }
+
+    private static Map<Integer, String> names() {
+        Map<Integer, String> names = new HashMap<>();
+        names.put(1, "Groceries");
+        names.put(3, "Salary");
+        return names;
+    }
+
+    @Test
+    public void sameData_givesAnEqualModel() {
+        DashboardChartModel a = DashboardChartModel.build(october(120), trend(), names());
+        DashboardChartModel b = DashboardChartModel.build(october(120), trend(), names());
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, DashboardChartModel.build(october(121), trend(), names()));
+    }
+
+    @Test
+    public void pie_biggestSliceFirst_unknownNamesLabelled() {
+        DashboardChartModel model = DashboardChartModel.build(october(120), null, names());
+
+        IPieDataSet slices = model.expensePie.data.getDataSet();
+        PieEntry first = slices.getEntryForIndex(0);
+        assertEquals("Unknown", first.getLabel()); // category 2 has no name
+        assertEquals(300f, first.getValue(), 0f);
+        assertEquals("Groceries", slices.getEntryForIndex(1).getLabel());
+        assertEquals(420, model.expensePie.total, 1e-9);
+    }
+
+    @Test
+    public void withoutCategoryNames_drawsNoSlices() {
+        DashboardChartModel model = DashboardChartModel.build(october(120), null, null);
+
+        assertNull(model.incomePie.data);
+        assertNull(model.expensePie.data);
+        assertEquals(1000, model.incomePie.total, 1e-9);
+    }
+
+    @Test
+    public void trendCharts_onlyWhenTheRangeHasData() {
+        DashboardChartModel empty = DashboardChartModel.build(null, TrendData.from(TrendData.DEFAULT_MONTHS, null), names());
+        assertNull(empty.trendLineData);
+        assertNull(empty.categoryBarData);
+
+        DashboardChartModel model = DashboardChartModel.build(null, trend(), names());
+        assertEquals(TrendData.DEFAULT_MONTHS, model.trendLabels.size());
+        assertNotNull(model.trendLineData);
+        assertNotNull(model.categoryBarData);
+    }
+}
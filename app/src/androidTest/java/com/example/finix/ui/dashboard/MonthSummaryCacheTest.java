@@ -0,0 +1,79 @@
+package com.example.finix.ui.dashboard;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.finix.data.Category;
+import com.example.finix.data.FinixDatabase;
+import com.example.finix.data.Transaction;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * The dashboard's month cache: stale results are never cached, and writes clear it.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MonthSummaryCacheTest {
+
+    private FinixDatabase db;
+    private MonthSummaryCache cache;
+    private final CountDownLatch invalidated = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, FinixDatabase.class).allowMainThreadQueries().build();
+        cache = new MonthSummaryCache(db, invalidated::countDown);
+    }
+
+    @After
+    public void tearDown() {
+        cache.close();
+        db.close();
+    }
+
+    @Test
+    public void put_keepsResultsOfTheCurrentGeneration() {
+        String key = MonthSummaryCache.key(2000L, 1000L);
+        MonthSummary summary = MonthSummary.empty();
+
+        cache.put(key, summary, cache.generation());
+
+        assertSame(summary, cache.get(key));
+        assertNull(cache.get(MonthSummaryCache.key(2000L, 0L)));
+    }
+
+    @Test
+    public void put_dropsResultsComputedBeforeAChange() {
+        String key = MonthSummaryCache.key(2000L, 1000L);
+        int startedAt = cache.generation();
+
+        cache.invalidateAll(); // data changed while the query ran
+        cache.put(key, MonthSummary.empty(), startedAt);
+
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void transactionWrite_clearsEveryMonth() throws InterruptedException {
+        String key = MonthSummaryCache.key(2000L, 1000L);
+        cache.put(key, MonthSummary.empty(), cache.generation());
+
+        int categoryId = (int) db.categoryDao().insert(new Category("Food"));
+        db.transactionDao().insert(new Transaction(12.5, "Expense", categoryId, 1500L, "Lunch"));
+
+        assertTrue(invalidated.await(5, TimeUnit.SECONDS));
+        assertNull(cache.get(key));
+    }
+}
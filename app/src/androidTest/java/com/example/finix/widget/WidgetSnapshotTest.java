@@ -0,0 +1,78 @@
+package com.example.finix.widget;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * The widget's snapshot file: what's written comes back equal, and a broken file reads as "no snapshot".
+ */
+@RunWith(AndroidJUnit4.class)
+public class WidgetSnapshotTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        snapshotFile().delete();
+    }
+
+    @After
+    public void tearDown() {
+        snapshotFile().delete();
+    }
+
+    private File snapshotFile() {
+        return new File(context.getFilesDir(), "widget_snapshot.json");
+    }
+
+    @Test
+    public void write_thenRead_givesAnEqualSnapshot() {
+        WidgetSnapshot snapshot = new WidgetSnapshot();
+        snapshot.monthStart = 1759276800000L;
+        snapshot.monthYear = "October 2025";
+        snapshot.incomeTotal = 1000;
+        snapshot.expenseTotal = 420.5;
+        snapshot.topBudgets.add(new WidgetSnapshot.BudgetLine("Groceries", 180, 200));
+
+        assertTrue(WidgetSnapshot.write(context, snapshot));
+
+        WidgetSnapshot read = WidgetSnapshot.read(context);
+        assertEquals(snapshot, read);
+        assertEquals(90, read.topBudgets.get(0).percentUsed());
+        assertFalse(new File(snapshotFile().getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void read_withoutAFile_isNull() {
+        assertNull(WidgetSnapshot.read(context));
+    }
+
+    @Test
+    public void read_unreadableFile_isNull() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(snapshotFile())) {
+            out.write("{\"monthStart\": [".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertNull(WidgetSnapshot.read(context));
+    }
+
+    @Test
+    public void percentUsed_zeroBudgetIsZero() {
+        assertEquals(0, new WidgetSnapshot.BudgetLine("Gifts", 50, 0).percentUsed());
+    }
+}
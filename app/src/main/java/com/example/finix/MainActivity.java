@@ -2,18 +2,23 @@ package com.example.finix;
 
 import static androidx.core.content.ContentProviderCompat.requireContext;
 
+import android.Manifest;
 import android.app.AlertDialog;
 import android.app.DatePickerDialog;
 import android.app.TimePickerDialog;
 import android.content.Context;
 import android.content.DialogInterface;
+import android.content.pm.PackageManager;
 import android.content.res.ColorStateList;
 import android.graphics.Color;
 import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.RippleDrawable;
+import android.os.Build;
 import android.os.Bundle;
 import android.os.CountDownTimer;
+import android.text.Editable;
 import android.text.InputFilter;
+import android.text.TextWatcher;
 import android.util.TypedValue;
 import android.view.Gravity;
 import android.view.LayoutInflater;
@@ -32,12 +37,16 @@ import androidx.navigation.Navigation;
 import androidx.navigation.ui.AppBarConfiguration;
 import androidx.navigation.ui.NavigationUI;
 
+import com.example.finix.data.AutoCategorizer;
 import com.example.finix.data.Budget;
+import com.example.finix.data.BudgetAlertTracker;
 import com.example.finix.data.Category;
 import com.example.finix.data.CategoryDAO;
 import com.example.finix.data.FinixDatabase;
-import com.example.finix.data.SynchronizationLog;
 import com.example.finix.data.Transaction;
+import com.example.finix.data.RecurringScheduler;
+import com.example.finix.data.TransactionArchiver;
+import com.example.finix.widget.WidgetSnapshotWriter;
 import com.example.finix.databinding.ActivityMainBinding;
 import com.example.finix.ui.Reports.ReportsFragment;
 import com.example.finix.ui.budget.BudgetViewModel;
@@ -55,6 +64,7 @@ public class MainActivity extends AppCompatActivity {
     private TransactionsViewModel viewModel; // for saving transactions globally
     private long startDateMillis = 0;
     private long endDateMillis = 0;
+    private static final int REQUEST_NOTIFICATIONS = 1001;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -80,6 +90,21 @@ public class MainActivity extends AppCompatActivity {
         NavigationUI.setupActionBarWithNavController(this, navController, mAppBarConfiguration);
         NavigationUI.setupWithNavController(binding.navView, navController);
 
+        // 🗄️ Move old transactions to the archive (background, at most once a day)
+        TransactionArchiver.runIfDue(this);
+        // 🔁 Write recurring occurrences that fell due while the app was closed
+        RecurringScheduler.runNow(this);
+        // 🏷️ Load the category model (learns anything saved since it was last stored)
+        AutoCategorizer.warmUp(this);
+        // 🔔 Index the active budgets for threshold alerts (and ask to post them on Android 13+)
+        BudgetAlertTracker.warmUp(this);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && checkSelfPermission(Manifest.permission.POST_NOTIFICATIONS) != PackageManager.PERMISSION_GRANTED) {
+            requestPermissions(new String[]{Manifest.permission.POST_NOTIFICATIONS}, REQUEST_NOTIFICATIONS);
+        }
+
+        // 🏠 Keep the home-screen widget's snapshot file in step with the database
+        WidgetSnapshotWriter.start(this);
     }
 
     private void showQuickAddPopup(View anchor) {
@@ -154,6 +179,13 @@ public class MainActivity extends AppCompatActivity {
         ImageButton btnPickDateTime = popupView.findViewById(R.id.btnPickDateTime);
         TextView tvDateTime = popupView.findViewById(R.id.tvDateTime);
         RadioGroup rgType = popupView.findViewById(R.id.rgType);
+        Spinner spinnerRepeat = popupView.findViewById(R.id.spinnerRepeat);
+
+        // 🔁 Repeat options (Never / Weekly / Monthly / Yearly)
+        ArrayAdapter<String> repeatAdapter = new ArrayAdapter<>(this,
+                android.R.layout.simple_spinner_item, TransactionsViewModel.REPEAT_LABELS);
+        repeatAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerRepeat.setAdapter(repeatAdapter);
 
         AutoCompleteTextView actCategory = popupView.findViewById(R.id.actCategory);
         LinearLayout llAddCategory = popupView.findViewById(R.id.llAddNewCategory);
@@ -197,6 +229,31 @@ public class MainActivity extends AppCompatActivity {
             if (!actCategory.isPopupShowing()) actCategory.showDropDown();
         });
 
+        // 🏷️ Auto-categorize from the description (keyword rules, then the learned model),
+        // until the user picks a category themselves
+        final String[] autoPicked = {null};
+        etDescription.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                String current = actCategory.getText().toString().trim();
+                if (!current.isEmpty() && !current.equals(autoPicked[0])) return;
+
+                Map<Integer, String> names = viewModel.getCategoryMap();
+                int suggested = viewModel.suggestCategory(s.toString());
+                String name = names != null ? names.get(suggested) : null;
+                if (name != null && !name.equals(current)) {
+                    autoPicked[0] = name;
+                    actCategory.setText(name, false); // false: don't pop the dropdown
+                }
+            }
+        });
+
         actCategory.setOnItemClickListener((parent, v, pos, id) -> {
             if ("+Add New Category".equals(adapter.getItem(pos))) {
                 llAddCategory.setVisibility(View.VISIBLE);
@@ -279,8 +336,20 @@ public class MainActivity extends AppCompatActivity {
                         .parse(dateText).getTime();
 
                 // Pass local_id to saveTransaction
-                viewModel.saveTransaction(amount, type, categoryLocalId, dateMillis, desc, dialog::dismiss);
-                showCustomToast("New Transaction Added");
+                String frequency = TransactionsViewModel.repeatFrequency(spinnerRepeat.getSelectedItemPosition());
+                Runnable onSaved = () -> {
+                    dialog.dismiss();
+                    showCustomToast(frequency == null ? "New Transaction Added" : "Recurring Transaction Added");
+                };
+                // 🧬 Identical one already saved (e.g. a double tap on Save) -> ask before saving again
+                viewModel.saveTransactionIfNew(amount, type, categoryLocalId, dateMillis, desc, frequency, onSaved,
+                        () -> new AlertDialog.Builder(this)
+                                .setTitle("Possible Duplicate")
+                                .setMessage("An identical transaction is already saved for this day. Save it again?")
+                                .setNegativeButton("Cancel", null)
+                                .setPositiveButton("Save Anyway", (d, which) -> viewModel.saveTransaction(
+                                        amount, type, categoryLocalId, dateMillis, desc, onSaved))
+                                .show());
             } catch (Exception e) {
                 showCustomToast("Invalid Amount or Date!");
             }
@@ -485,7 +554,7 @@ public class MainActivity extends AppCompatActivity {
             ImageButton btnPickDate2 = dialogView.findViewById(R.id.btnPickDate2);
 
             // --- Load categories ---
-            new Thread(() -> {
+            FinixDatabase.getReadExecutor().execute(() -> {
                 try {
                     List<Category> categoryList = FinixDatabase.getDatabase(this).categoryDao().getAllCategories();
                     List<String> categoryNames = new ArrayList<>();
@@ -524,7 +593,7 @@ public class MainActivity extends AppCompatActivity {
                 } catch (Exception e) {
                     runOnUiThread(() -> showCustomToast("Failed to fetch categories: " + e.getMessage()));
                 }
-            }).start();
+            });
 
             // --- Date pickers ---
             btnPickDate1.setOnClickListener(v -> openDatePicker(tvStartDate, true));
@@ -534,24 +603,15 @@ public class MainActivity extends AppCompatActivity {
             btnSaveCategory.setOnClickListener(v -> {
                 String newCat = etNewCategory.getText().toString().trim();
                 if (!newCat.isEmpty()) {
-                    new Thread(() -> {
+                    FinixDatabase.getWriteExecutor().execute(() -> {
                         try {
                             FinixDatabase db = FinixDatabase.getDatabase(this);
 
-                            // 1️⃣ Insert category into DB
+                            // 1️⃣ Insert category into DB (trigger queues the PENDING sync log)
                             Category category = new Category(newCat);
-                            long localId = db.categoryDao().insert(category);
-
-                            // 2️⃣ Create sync log entry for pending upload
-                            SynchronizationLog log = new SynchronizationLog(
-                                    "categories",
-                                    (int) localId,
-                                    System.currentTimeMillis(),
-                                    "PENDING"
-                            );
-                            db.synchronizationLogDao().insert(log);
+                            db.categoryDao().insert(category);
 
-                            // 3️⃣ Update UI
+                            // 2️⃣ Update UI
                             runOnUiThread(() -> {
                                 showCustomToast("Category Added");
                                 llAddNewCategory.setVisibility(View.GONE);
@@ -565,7 +625,7 @@ public class MainActivity extends AppCompatActivity {
                         } catch (Exception e) {
                             runOnUiThread(() -> showCustomToast("Failed to add category: " + e.getMessage()));
                         }
-                    }).start();
+                    });
                 } else {
                     showCustomToast("Category cannot be empty");
                 }
@@ -594,7 +654,7 @@ public class MainActivity extends AppCompatActivity {
                         return;
                     }
 
-                    new Thread(() -> {
+                    FinixDatabase.getReadExecutor().execute(() -> {
                         try {
                             List<Category> allCats = FinixDatabase.getDatabase(this).categoryDao().getAllCategories();
                             int catId = -1;
@@ -630,7 +690,7 @@ public class MainActivity extends AppCompatActivity {
                         } catch (Exception e) {
                             runOnUiThread(() -> showCustomToast("Failed to save budget: " + e.getMessage()));
                         }
-                    }).start();
+                    });
 
                 } catch (Exception e) {
                     showCustomToast("Unexpected error: " + e.getMessage());
@@ -716,7 +776,7 @@ public class MainActivity extends AppCompatActivity {
             List<String> categoryNames = new ArrayList<>();
             Map<String, Integer> nameToId = new HashMap<>();
 
-            new Thread(() -> {
+            FinixDatabase.getReadExecutor().execute(() -> {
                 try {
                     List<Category> categoryList = FinixDatabase.getDatabase(this).categoryDao().getAllCategories();
                     categoryNames.add("+ Add New Category");
@@ -747,7 +807,7 @@ public class MainActivity extends AppCompatActivity {
                 } catch (Exception e) {
                     runOnUiThread(() -> showCustomToast("Failed to load categories: " + e.getMessage()));
                 }
-            }).start();
+            });
 
             View.OnClickListener pickDate = v -> openGoalDatePicker(date -> tvTargetDate.setText(date));
             tvTargetDate.setOnClickListener(pickDate);
@@ -757,24 +817,15 @@ public class MainActivity extends AppCompatActivity {
             btnSaveCategory.setOnClickListener(v -> {
                 String newCat = etNewCategory.getText().toString().trim();
                 if (!newCat.isEmpty()) {
-                    new Thread(() -> {
+                    FinixDatabase.getWriteExecutor().execute(() -> {
                         try {
                             FinixDatabase db = FinixDatabase.getDatabase(this);
 
-                            // 1️⃣ Insert category into DB
+                            // 1️⃣ Insert category into DB (trigger queues the PENDING sync log)
                             Category category = new Category(newCat);
-                            long localId = db.categoryDao().insert(category);
-
-                            // 2️⃣ Create sync log entry (PENDING state)
-                            SynchronizationLog log = new SynchronizationLog(
-                                    "categories",
-                                    (int) localId,
-                                    System.currentTimeMillis(),
-                                    "PENDING"
-                            );
-                            db.synchronizationLogDao().insert(log); // ✅ correct DAO
+                            db.categoryDao().insert(category);
 
-                            // 3️⃣ Refresh category list in UI
+                            // 2️⃣ Refresh category list in UI
                             List<Category> updatedList = db.categoryDao().getAllCategories();
                             categoryNames.clear();
                             nameToId.clear();
@@ -795,7 +846,7 @@ public class MainActivity extends AppCompatActivity {
                         } catch (Exception e) {
                             runOnUiThread(() -> showCustomToast("Failed to add category: " + e.getMessage()));
                         }
-                    }).start();
+                    });
                 } else {
                     showCustomToast("Category cannot be empty");
                 }
@@ -838,21 +889,16 @@ public class MainActivity extends AppCompatActivity {
                 }
 
                 int categoryId = nameToId.get(catName);
-                new Thread(() -> {
-                    try {
-                        SavingsGoal goal = new SavingsGoal(categoryId, goalName, desc, targetAmount, targetDateMillis);
-                        new SavingsGoalsViewModel(getApplication()).insert(goal, () -> {
-                            runOnUiThread(() -> showCustomToast("Goal Added Successfully"));
-                        });
-
-                        runOnUiThread(() -> {
-                            dialog.dismiss();
-                            showCustomToast("Goal Added Successfully");
-                        });
-                    } catch (Exception e) {
-                        runOnUiThread(() -> showCustomToast("Failed to save goal: " + e.getMessage()));
-                    }
-                }).start();
+                // insert() queues the write on the single writer; the callback runs once it is saved
+                try {
+                    SavingsGoal goal = new SavingsGoal(categoryId, goalName, desc, targetAmount, targetDateMillis);
+                    new SavingsGoalsViewModel(getApplication()).insert(goal, () -> {
+                        runOnUiThread(() -> showCustomToast("Goal Added Successfully"));
+                    });
+                    dialog.dismiss();
+                } catch (Exception e) {
+                    showCustomToast("Failed to save goal: " + e.getMessage());
+                }
             });
 
             dialog.show();
@@ -0,0 +1,84 @@
+package com.example.finix.data;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * Moves rows between the hot transactions table and the cold transactions_archive table,
+ * and keeps monthly_rollups in step. Orchestrated by {@link TransactionArchiver}.
+ */
+@Dao
+public interface ArchiveDAO {
+
+    // Oldest hot transaction before the cutoff (null if nothing to archive)
+    @Query("SELECT MIN(date_time) FROM transactions WHERE date_time < :cutoff")
+    Long getOldestHotDateBefore(long cutoff);
+
+    // Newest archived transaction (null if the archive is empty)
+    @Query("SELECT MAX(date_time) FROM transactions_archive")
+    Long getNewestArchivedDate();
+
+    // 1. Copy one month of hot rows into the archive.
+    // Rows still waiting in the outbox (PENDING/UPDATED) stay hot until they are synced.
+    @Query("INSERT INTO transactions_archive (local_id, id, amount, type, category_id, date_time, description, month_start) " +
+            "SELECT t.local_id, t.id, t.amount, t.type, t.category_id, t.date_time, t.description, :monthStart " +
+            "FROM transactions t " +
+            "WHERE t.date_time >= :monthStart AND t.date_time < :monthEnd " +
+            "AND NOT EXISTS (SELECT 1 FROM sync_log s WHERE s.table_name = 'transactions' " +
+            "AND s.record_id = t.local_id AND s.status IN ('PENDING', 'UPDATED'))")
+    void copyMonthToArchive(long monthStart, long monthEnd);
+
+    // 2. Drop the copied rows from the hot table (the outbox triggers skip archived rows)
+    @Query("DELETE FROM transactions WHERE local_id IN " +
+            "(SELECT local_id FROM transactions_archive WHERE month_start = :monthStart)")
+    int deleteArchivedFromHot(long monthStart);
+
+    // 3. Rebuild the rollups of one month from its archived rows
+    @Query("DELETE FROM monthly_rollups WHERE month_start = :monthStart")
+    void clearRollups(long monthStart);
+
+    @Query("INSERT INTO monthly_rollups (month_start, type, category_id, total, count) " +
+            "SELECT month_start, type, category_id, SUM(amount), COUNT(*) FROM transactions_archive " +
+            "WHERE month_start = :monthStart GROUP BY type, category_id")
+    void buildRollups(long monthStart);
+
+    // --- Un-archiving a single row (before it is edited or deleted) ---
+
+    @Query("SELECT month_start FROM transactions_archive WHERE local_id = :localId")
+    Long getArchivedMonthStart(int localId);
+
+    @Query("INSERT INTO transactions (local_id, id, amount, type, category_id, date_time, description) " +
+            "SELECT local_id, id, amount, type, category_id, date_time, description " +
+            "FROM transactions_archive WHERE local_id = :localId")
+    void copyBackToHot(int localId);
+
+    @Query("DELETE FROM transactions_archive WHERE local_id = :localId")
+    void deleteFromArchive(int localId);
+
+    // --- Un-archiving many rows at once (bulk edits) ---
+
+    @Query("SELECT DISTINCT month_start FROM transactions_archive WHERE local_id IN (:localIds)")
+    List<Long> getArchivedMonthStarts(List<Integer> localIds);
+
+    @Query("INSERT INTO transactions (local_id, id, amount, type, category_id, date_time, description) " +
+            "SELECT local_id, id, amount, type, category_id, date_time, description " +
+            "FROM transactions_archive WHERE local_id IN (:localIds)")
+    void copyBackToHot(List<Integer> localIds);
+
+    @Query("DELETE FROM transactions_archive WHERE local_id IN (:localIds)")
+    void deleteFromArchive(List<Integer> localIds);
+
+    // --- Backup / Restore ---
+
+    // Archived rows in the Transaction shape, so backups stay a single transactions list
+    @Query("SELECT local_id, id, amount, type, category_id, date_time, description FROM transactions_archive")
+    List<Transaction> getAllArchivedForBackup();
+
+    @Query("DELETE FROM transactions_archive")
+    void deleteAllArchived();
+
+    @Query("DELETE FROM monthly_rollups")
+    void deleteAllRollups();
+}
@@ -0,0 +1,80 @@
+package com.example.finix.data;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Cold copy of a transaction older than the archive horizon (see {@link TransactionArchiver}).
+ * Same columns as {@link Transaction} (local_id is kept, so queries can map archive rows back
+ * onto Transaction) plus the start of the month the row belongs to.
+ */
+@Entity(tableName = "transactions_archive",
+        foreignKeys = @ForeignKey(entity = Category.class,
+                parentColumns = "local_id",
+                childColumns = "category_id",
+                onDelete = ForeignKey.RESTRICT),
+        indices = {
+                // Budget spend: WHERE category_id = ? AND type = ? AND date_time BETWEEN ? AND ?
+                @Index(value = {"category_id", "type", "date_time"}),
+                @Index(value = {"month_start"}),
+                @Index(value = {"type", "date_time"})
+        })
+public class ArchivedTransaction {
+
+    // Original local_id from the transactions table (not regenerated)
+    @PrimaryKey
+    @ColumnInfo(name = "local_id")
+    private int localId;
+
+    @ColumnInfo(name = "id", defaultValue = "0")
+    private int id;
+
+    @ColumnInfo(name = "amount")
+    private double amount;
+
+    @ColumnInfo(name = "type")
+    private String type;
+
+    @ColumnInfo(name = "category_id")
+    private int categoryId;
+
+    @ColumnInfo(name = "date_time")
+    private long dateTime;
+
+    @ColumnInfo(name = "description")
+    private String description;
+
+    // Epoch millis of local midnight on the 1st of the row's month
+    @ColumnInfo(name = "month_start")
+    private long monthStart;
+
+    public ArchivedTransaction() {}
+
+    // --- Getters and Setters ---
+    public int getLocalId() { return localId; }
+    public void setLocalId(int localId) { this.localId = localId; }
+
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public double getAmount() { return amount; }
+    public void setAmount(double amount) { this.amount = amount; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public int getCategoryId() { return categoryId; }
+    public void setCategoryId(int categoryId) { this.categoryId = categoryId; }
+
+    public long getDateTime() { return dateTime; }
+    public void setDateTime(long dateTime) { this.dateTime = dateTime; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public long getMonthStart() { return monthStart; }
+    public void setMonthStart(long monthStart) { this.monthStart = monthStart; }
+}
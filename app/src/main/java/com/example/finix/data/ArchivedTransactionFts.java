@@ -0,0 +1,21 @@
+package com.example.finix.data;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+// External-content FTS4 index over transactions_archive.description, the archive's twin of
+// TransactionFts: text filters match archived rows with the same prefix tokens as hot ones.
+// Room generates the triggers that keep it in sync, including rows moved by TransactionArchiver.
+@Fts4(contentEntity = ArchivedTransaction.class)
+@Entity(tableName = "transactions_archive_fts")
+public class ArchivedTransactionFts {
+
+    @ColumnInfo(name = "description")
+    private String description;
+
+    public ArchivedTransactionFts() {}
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+}
@@ -0,0 +1,373 @@
+package com.example.finix.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Suggests a category for a transaction description:
+ *  1. the user's keyword rules ({@link CategoryRule}), longest keyword first
+ *  2. otherwise a naive Bayes model over the description's words, trained on saved transactions
+ *
+ * The model is just word counts per category. It lives in memory, so a suggestion is a few
+ * dozen map lookups (microseconds, fine on the main thread), and is persisted as a small gzip
+ * file. It learns incrementally: {@link #catchUp()} trains on the rows saved since the last
+ * local_id it saw, and {@link #relabel} moves an edited transaction's counts to its new category.
+ *
+ * Everything except {@link #suggest} does DB / file I/O: call it on the database writer thread.
+ */
+public final class AutoCategorizer {
+
+    private static final String TAG = "AutoCategorizer";
+    public static final int NO_SUGGESTION = -1;
+
+    private static final String FILE_NAME = "category_model.bin.gz";
+    // Bump when the file layout changes; older files are then retrained from the database
+    private static final int VERSION = 1;
+    // Rows read per query while training
+    private static final int PAGE_SIZE = 1000;
+
+    private static volatile AutoCategorizer INSTANCE;
+
+    private final File file;
+    private final TransactionDAO transactionDao;
+    private final ArchiveDAO archiveDao;
+    private final CategoryRuleDAO ruleDao;
+
+    // --- Model (guarded by this) ---
+    // word -> (category local_id -> learned transactions of that category containing the word)
+    private final Map<String, Map<Integer, Integer>> wordCounts = new HashMap<>();
+    // category local_id -> learned transactions / words
+    private final Map<Integer, Integer> docCounts = new HashMap<>();
+    private final Map<Integer, Integer> wordTotals = new HashMap<>();
+    private int totalDocs;
+    // Highest transactions.local_id learned; newer rows are picked up by catchUp()
+    private int trainedUpTo;
+    private boolean loaded;
+    private boolean dirty;
+
+    // Replaced as a whole on reload, read without locking
+    private volatile List<CategoryRule> rules = Collections.emptyList();
+
+    public static AutoCategorizer getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (AutoCategorizer.class) {
+                if (INSTANCE == null) INSTANCE = new AutoCategorizer(context.getApplicationContext());
+            }
+        }
+        return INSTANCE;
+    }
+
+    private AutoCategorizer(Context context) {
+        this(new File(context.getFilesDir(), FILE_NAME), FinixDatabase.getDatabase(context));
+    }
+
+    // Package-private so the instrumented tests can use their own file and database
+    AutoCategorizer(File file, FinixDatabase db) {
+        this.file = file;
+        transactionDao = db.transactionDao();
+        archiveDao = db.archiveDao();
+        ruleDao = db.categoryRuleDao();
+    }
+
+    /**
+     * Loads the model and learns what was saved since, on the writer thread. Call on app start.
+     */
+    public static void warmUp(Context context) {
+        AutoCategorizer categorizer = getInstance(context);
+        FinixDatabase.getWriteExecutor().execute(() -> {
+            try {
+                categorizer.catchUp();
+            } catch (Exception e) {
+                Log.e(TAG, "Category model warm-up failed", e);
+            }
+        });
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Suggesting
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Category local_id for {@code description}, or {@link #NO_SUGGESTION} when no rule matches
+     * and none of its words has been seen before (or the model isn't loaded yet).
+     * The id may belong to a category deleted since; callers check it against their list.
+     */
+    public int suggest(String description) {
+        String text = CategoryRule.normalize(description);
+        if (text.isEmpty()) return NO_SUGGESTION;
+
+        // Whole words only: "bus" doesn't match "business"
+        String padded = " " + text + " ";
+        for (CategoryRule rule : rules) {
+            if (!rule.getKeyword().isEmpty() && padded.contains(" " + rule.getKeyword() + " ")) {
+                return rule.getCategoryId();
+            }
+        }
+        return predict(words(text));
+    }
+
+    // Naive Bayes with add-one smoothing, in log space
+    private synchronized int predict(Set<String> words) {
+        if (totalDocs == 0) return NO_SUGGESTION;
+
+        List<Map<Integer, Integer>> known = new ArrayList<>(words.size());
+        for (String word : words) {
+            Map<Integer, Integer> counts = wordCounts.get(word);
+            if (counts != null) known.add(counts);
+        }
+        if (known.isEmpty()) return NO_SUGGESTION; // nothing to go on
+
+        int vocabulary = wordCounts.size();
+        double logTotal = Math.log(totalDocs + docCounts.size());
+        int best = NO_SUGGESTION;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (Map.Entry<Integer, Integer> category : docCounts.entrySet()) {
+            int id = category.getKey();
+            double score = Math.log(category.getValue() + 1) - logTotal;
+            double logDenominator = Math.log(wordTotals.getOrDefault(id, 0) + vocabulary);
+            for (Map<Integer, Integer> counts : known) {
+                score += Math.log(counts.getOrDefault(id, 0) + 1) - logDenominator;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = id;
+            }
+        }
+        return best;
+    }
+
+    // Distinct words worth learning: 2+ characters and not just digits (dates, amounts, refs)
+    private static Set<String> words(String normalized) {
+        Set<String> words = new LinkedHashSet<>();
+        if (normalized.isEmpty()) return words;
+        for (String word : normalized.split(" ")) {
+            if (word.length() >= 2 && !word.matches("\\d+")) words.add(word);
+        }
+        return words;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Learning (writer thread)
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Learns every transaction saved since the last call (first call: loads the file, or trains
+     * on the whole history). Cheap when nothing is new: one primary key range query.
+     */
+    public void catchUp() {
+        if (!isLoaded()) load();
+
+        List<Transaction> page;
+        while (!(page = transactionDao.getTransactionsAfter(getTrainedUpTo(), PAGE_SIZE)).isEmpty()) {
+            learnAll(page);
+        }
+        saveIfDirty();
+    }
+
+    /**
+     * An edited transaction: its counts move from the old row to the new one.
+     * Call {@link #saveIfDirty()} once the edit is committed.
+     */
+    public synchronized void relabel(Transaction before, Transaction after) {
+        if (!loaded || before == null || before.getLocalId() > trainedUpTo) return; // never learned
+        add(before, -1);
+        add(after, +1);
+        dirty = true;
+    }
+
+    // Bulk re-categorize: `before` are the rows as they were
+    public synchronized void relabelAll(List<Transaction> before, int newCategoryId) {
+        if (!loaded) return;
+        for (Transaction t : before) {
+            if (t.getLocalId() > trainedUpTo) continue;
+            add(t, -1);
+            Transaction moved = new Transaction(t.getAmount(), t.getType(), newCategoryId, t.getDateTime(), t.getDescription());
+            add(moved, +1);
+        }
+        dirty = true;
+    }
+
+    // Keyword rules changed
+    public void reloadRules() {
+        rules = ruleDao.getAllRules();
+    }
+
+    /**
+     * Forgets the model (e.g. after a restore replaced every transaction); the next
+     * {@link #catchUp()} retrains from the database.
+     */
+    public synchronized void reset() {
+        clear();
+        loaded = false;
+        dirty = false;
+        if (file.exists() && !file.delete()) Log.w(TAG, "Could not delete " + file);
+    }
+
+    private synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    private synchronized int getTrainedUpTo() {
+        return trainedUpTo;
+    }
+
+    private synchronized void learnAll(List<Transaction> transactions) {
+        for (Transaction t : transactions) {
+            add(t, +1);
+            trainedUpTo = Math.max(trainedUpTo, t.getLocalId());
+        }
+        if (!transactions.isEmpty()) dirty = true;
+    }
+
+    private void add(Transaction t, int sign) {
+        int category = t.getCategoryId();
+        if (category <= 0) return;
+        bump(docCounts, category, sign);
+        totalDocs = Math.max(0, totalDocs + sign);
+        for (String word : words(CategoryRule.normalize(t.getDescription()))) {
+            Map<Integer, Integer> counts = wordCounts.get(word);
+            if (counts == null) {
+                if (sign < 0) continue;
+                counts = new HashMap<>();
+                wordCounts.put(word, counts);
+            }
+            bump(counts, category, sign);
+            if (counts.isEmpty()) wordCounts.remove(word);
+            bump(wordTotals, category, sign);
+        }
+    }
+
+    // Adds delta; entries that reach 0 are dropped (keeps the maps as small as the data)
+    private static <K> void bump(Map<K, Integer> map, K key, int delta) {
+        int value = map.getOrDefault(key, 0) + delta;
+        if (value > 0) map.put(key, value);
+        else map.remove(key);
+    }
+
+    private void clear() {
+        wordCounts.clear();
+        docCounts.clear();
+        wordTotals.clear();
+        totalDocs = 0;
+        trainedUpTo = 0;
+    }
+
+    // File first; if missing or outdated, train on the archive now (hot rows follow in catchUp)
+    private void load() {
+        reloadRules();
+        synchronized (this) {
+            if (loaded) return;
+            if (!readFile()) {
+                clear();
+                List<Transaction> archived = archiveDao.getAllArchivedForBackup();
+                for (Transaction t : archived) add(t, +1);
+                // Archived ids are older than every hot row, so hot rows are all picked up next
+                dirty = true;
+            }
+            loaded = true;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // File (version, trainedUpTo, totals, categories, then word -> counts)
+    // ---------------------------------------------------------------------------------------------
+
+    public void saveIfDirty() {
+        byte[] bytes;
+        synchronized (this) {
+            if (!dirty || !loaded) return;
+            try {
+                bytes = serialize();
+            } catch (IOException e) {
+                Log.e(TAG, "Could not serialize category model", e);
+                return;
+            }
+            dirty = false;
+        }
+        // Write outside the lock; temp file + rename so a crash never leaves half a model
+        File tmp = new File(file.getPath() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            Log.e(TAG, "Could not save category model", e);
+            return;
+        }
+        if (!tmp.renameTo(file)) Log.w(TAG, "Could not replace " + file);
+    }
+
+    private byte[] serialize() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(buffer)))) {
+            out.writeInt(VERSION);
+            out.writeInt(trainedUpTo);
+            out.writeInt(totalDocs);
+            out.writeInt(docCounts.size());
+            for (Map.Entry<Integer, Integer> e : docCounts.entrySet()) {
+                out.writeInt(e.getKey());
+                out.writeInt(e.getValue());
+                out.writeInt(wordTotals.getOrDefault(e.getKey(), 0));
+            }
+            out.writeInt(wordCounts.size());
+            for (Map.Entry<String, Map<Integer, Integer>> word : wordCounts.entrySet()) {
+                out.writeUTF(word.getKey());
+                out.writeInt(word.getValue().size());
+                for (Map.Entry<Integer, Integer> e : word.getValue().entrySet()) {
+                    out.writeInt(e.getKey());
+                    out.writeInt(e.getValue());
+                }
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    // false if there is no usable file
+    private boolean readFile() {
+        if (!file.exists()) return false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != VERSION) return false;
+            clear();
+            trainedUpTo = in.readInt();
+            totalDocs = in.readInt();
+            int categories = in.readInt();
+            for (int i = 0; i < categories; i++) {
+                int id = in.readInt();
+                docCounts.put(id, in.readInt());
+                int total = in.readInt();
+                if (total > 0) wordTotals.put(id, total);
+            }
+            int words = in.readInt();
+            for (int i = 0; i < words; i++) {
+                String word = in.readUTF();
+                int entries = in.readInt();
+                Map<Integer, Integer> counts = new HashMap<>(entries * 2);
+                for (int j = 0; j < entries; j++) counts.put(in.readInt(), in.readInt());
+                wordCounts.put(word, counts);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Category model file unreadable, retraining", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.finix.data;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Running balance checkpoint: the balance (all income minus all expense, hot + archived)
+ * at the END of one local-time month. Kept up to date by the triggers in {@link BalanceLedger}.
+ */
+@Entity(tableName = "balance_buckets")
+public class BalanceBucket {
+
+    // Local midnight on the 1st of the month (same key as monthly_rollups.month_start)
+    @PrimaryKey
+    @ColumnInfo(name = "month_start")
+    private long monthStart;
+
+    // Balance after every transaction up to the end of this month
+    @ColumnInfo(name = "closing")
+    private double closing;
+
+    public BalanceBucket() {}
+
+    // --- Getters and Setters ---
+    public long getMonthStart() { return monthStart; }
+    public void setMonthStart(long monthStart) { this.monthStart = monthStart; }
+
+    public double getClosing() { return closing; }
+    public void setClosing(double closing) { this.closing = closing; }
+}
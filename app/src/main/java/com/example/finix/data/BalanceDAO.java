@@ -0,0 +1,29 @@
+package com.example.finix.data;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Query;
+
+/**
+ * Balance lookups over the balance_buckets checkpoints (see {@link BalanceLedger}).
+ */
+@Dao
+public interface BalanceDAO {
+
+    // 💰 Balance over every transaction recorded (the newest checkpoint): one index lookup
+    @Query("SELECT COALESCE((SELECT closing FROM balance_buckets ORDER BY month_start DESC LIMIT 1), 0)")
+    double getTotalBalance();
+
+    @Query("SELECT COALESCE((SELECT closing FROM balance_buckets ORDER BY month_start DESC LIMIT 1), 0)")
+    LiveData<Double> observeTotalBalance();
+
+    // 💰 Balance at :at = closing of the month before + the transactions of :at's own month up to :at.
+    // One index lookup plus a range scan of at most one month (hot or archived).
+    @Query("SELECT COALESCE((SELECT closing FROM balance_buckets WHERE month_start < " + BalanceLedger.MONTH_OF_AT +
+            " ORDER BY month_start DESC LIMIT 1), 0) " +
+            "+ COALESCE((SELECT SUM(" + BalanceLedger.SIGNED_AMOUNT + ") FROM transactions " +
+            "WHERE date_time >= " + BalanceLedger.MONTH_OF_AT + " AND date_time <= :at), 0) " +
+            "+ COALESCE((SELECT SUM(" + BalanceLedger.SIGNED_AMOUNT + ") FROM transactions_archive " +
+            "WHERE date_time >= " + BalanceLedger.MONTH_OF_AT + " AND date_time <= :at), 0)")
+    double getBalanceAt(long at);
+}
@@ -0,0 +1,104 @@
+package com.example.finix.data;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Running balance kept as monthly checkpoints ({@link BalanceBucket}): balance_buckets holds the
+ * closing balance of every month that has transactions, so "balance now" is one index lookup
+ * and "balance at t" is one lookup plus a scan of t's own month (see {@link BalanceDAO}).
+ *
+ * Triggers on `transactions` keep the checkpoints current: a change in month M only adds its
+ * delta to the buckets from M onwards (normally just the last one or two), instead of every
+ * reader summing the whole history. Like the outbox triggers ({@link SyncLogTriggers}), rows
+ * moving to/from transactions_archive are ignored: the balance doesn't change when a row is
+ * archived.
+ */
+final class BalanceLedger {
+
+    // Local midnight on the 1st of the month of an epoch-millis expression (same key as monthly_rollups)
+    private static String monthOf(String millis) {
+        return "(CAST(strftime('%s', " + millis + " / 1000, 'unixepoch', 'localtime', 'start of month', 'utc') AS INTEGER) * 1000)";
+    }
+
+    // Compile-time constants so BalanceDAO can use them inside @Query
+    static final String MONTH_OF_AT =
+            "(CAST(strftime('%s', :at / 1000, 'unixepoch', 'localtime', 'start of month', 'utc') AS INTEGER) * 1000)";
+    static final String MONTH_OF_DATE_TIME =
+            "(CAST(strftime('%s', date_time / 1000, 'unixepoch', 'localtime', 'start of month', 'utc') AS INTEGER) * 1000)";
+    // Income counts up, Expense down (type compared case-insensitively, like getTransactionsByType)
+    static final String SIGNED_AMOUNT =
+            "(CASE LOWER(type) WHEN 'income' THEN amount WHEN 'expense' THEN -amount ELSE 0 END)";
+
+    private BalanceLedger() {}
+
+    // Same as SIGNED_AMOUNT for a trigger's NEW / OLD row
+    private static String signedAmount(String row) {
+        return "(CASE LOWER(" + row + ".type) WHEN 'income' THEN " + row + ".amount WHEN 'expense' THEN -"
+                + row + ".amount ELSE 0 END)";
+    }
+
+    // Adds a row's amount: make sure its month has a bucket (opening = closing of the month before),
+    // then shift that bucket and every later one
+    private static String addRow(String row) {
+        String month = monthOf(row + ".date_time");
+        return "INSERT OR IGNORE INTO balance_buckets (month_start, closing) VALUES (" + month + ", "
+                + "COALESCE((SELECT closing FROM balance_buckets WHERE month_start < " + month
+                + " ORDER BY month_start DESC LIMIT 1), 0)); "
+                + "UPDATE balance_buckets SET closing = closing + " + signedAmount(row)
+                + " WHERE month_start >= " + month + "; ";
+    }
+
+    // Takes a row's amount back out (its month already has a bucket)
+    private static String removeRow(String row) {
+        return "UPDATE balance_buckets SET closing = closing - " + signedAmount(row)
+                + " WHERE month_start >= " + monthOf(row + ".date_time") + "; ";
+    }
+
+    private static String archiveGuard(String row) {
+        return " WHEN NOT EXISTS (SELECT 1 FROM transactions_archive WHERE local_id = " + row + ".local_id)";
+    }
+
+    /**
+     * Creates the triggers that don't exist yet (new database, or after {@link #drop}).
+     * Existing rows are not counted: a migration adding the table runs {@link #rebuild} itself.
+     */
+    static void install(SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS balance_transactions_insert AFTER INSERT ON transactions"
+                + archiveGuard("NEW") + " BEGIN " + addRow("NEW") + "END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS balance_transactions_update AFTER UPDATE OF amount, type, date_time ON transactions "
+                + "WHEN OLD.amount <> NEW.amount OR OLD.type <> NEW.type OR OLD.date_time <> NEW.date_time BEGIN "
+                + removeRow("OLD") + addRow("NEW") + "END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS balance_transactions_delete AFTER DELETE ON transactions"
+                + archiveGuard("OLD") + " BEGIN " + removeRow("OLD") + "END");
+    }
+
+    /**
+     * Drops the triggers, so a migration can reinstall them in their current form.
+     */
+    static void drop(SupportSQLiteDatabase db) {
+        db.execSQL("DROP TRIGGER IF EXISTS balance_transactions_insert");
+        db.execSQL("DROP TRIGGER IF EXISTS balance_transactions_update");
+        db.execSQL("DROP TRIGGER IF EXISTS balance_transactions_delete");
+    }
+
+    /**
+     * Recomputes every checkpoint from scratch (hot + archived rows). Needed after bulk writes that
+     * skip the triggers, e.g. the restore clearing transactions_archive, and by the migration
+     * that adds the table. Run inside the caller's transaction.
+     */
+    static void rebuild(SupportSQLiteDatabase db) {
+        db.execSQL("DELETE FROM balance_buckets");
+        // Running sum without window functions (not available on our minSdk): a month's closing is
+        // the sum of the net of every month up to it. Months are few, so the self-join is cheap.
+        db.execSQL("WITH net (month_start, amount) AS ("
+                + "SELECT " + MONTH_OF_DATE_TIME + ", SUM(" + SIGNED_AMOUNT + ") FROM transactions GROUP BY 1 "
+                + "UNION ALL "
+                + "SELECT month_start, SUM(" + SIGNED_AMOUNT + ") FROM transactions_archive GROUP BY month_start), "
+                + "months (month_start, amount) AS (SELECT month_start, SUM(amount) FROM net GROUP BY month_start) "
+                + "INSERT INTO balance_buckets (month_start, closing) "
+                + "SELECT m.month_start, (SELECT SUM(p.amount) FROM months p WHERE p.month_start <= m.month_start) "
+                + "FROM months m");
+    }
+}
@@ -11,7 +11,13 @@ import com.google.gson.annotations.SerializedName;
 
 // Setting the entity for the budgets table, now with a Foreign Key to Category
 @Entity(tableName = "budgets",
-        indices = {@Index(value = {"category_id"})},
+        indices = {
+                // Duplicate check: WHERE category_id = ? AND start_date in a month (also serves the FK)
+                @Index(value = {"category_id", "start_date"}),
+                // Month filter: budgets overlapping a month range. The query can use only one of
+                // these two per lookup; the other bound is checked on the rows it finds.
+                @Index(value = {"start_date"}),
+                @Index(value = {"end_date"})},
         foreignKeys = @ForeignKey(entity = Category.class,
                 // Reference the 'local_id' column in the Category entity
                 parentColumns = "local_id",
@@ -0,0 +1,360 @@
+package com.example.finix.data;
+
+import android.Manifest;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.PackageManager;
+import android.os.Build;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+import androidx.core.content.ContextCompat;
+import androidx.room.InvalidationTracker;
+
+import com.example.finix.R;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Notifies when an active budget crosses 50 / 75 / 100 % of its amount, right when the expense
+ * is saved instead of the next time the Budgets tab is opened.
+ *
+ * Active budgets (ending today or later) are kept in memory with their spend, indexed per
+ * category by start date. A single insert / update / delete ({@link #onTransactionChanged})
+ * finds the budgets containing the transaction's date with one TreeMap lookup (O(log B)) and
+ * adjusts only their spend. Bulk writes (imports, recurring rows, multi-select edits) call
+ * {@link #refresh()}, which re-reads the spend in one query (BudgetDAO.getBudgetsWithSpendBetween).
+ * Changes to budgets / categories just mark the index stale; it is reloaded on next use.
+ *
+ * Reloads run on the database read pool, never on the caller's (usually the writer's) thread:
+ * changes that arrive while the index is stale or reloading are queued, and the reload alerts
+ * on them once it is in. The highest threshold already reached is remembered per budget, so
+ * each one fires once (again only after the spend drops back below it).
+ */
+public final class BudgetAlertTracker {
+
+    private static final String TAG = "BudgetAlertTracker";
+    private static final String CHANNEL_ID = "budget_alerts";
+    private static final int[] THRESHOLDS = {50, 75, 100};
+
+    private static volatile BudgetAlertTracker INSTANCE;
+
+    private final Context appContext;
+    private final BudgetDAO budgetDao;
+    // One reload at a time; a request while one runs queues exactly one more
+    private final AtomicBoolean reloadQueued = new AtomicBoolean(false);
+    private final Object reloadLock = new Object();
+
+    static class Tracked {
+        final int budgetId;
+        final String categoryName;
+        final long start, end;
+        final double amount;
+        double spent;
+        int level; // highest threshold reached (0 = none)
+
+        Tracked(BudgetWithSpend row) {
+            budgetId = row.budget.getLocalId();
+            categoryName = row.categoryName != null ? row.categoryName : "Unknown Category";
+            start = row.budget.getStartDate();
+            end = row.budget.getEndDate();
+            amount = row.budget.getBudgetedAmount();
+            spent = row.spent;
+        }
+    }
+
+    // One category's active budgets by start date, plus the longest span among them: the budgets
+    // containing a date d all start within [d - maxSpan, d]. Package-private for the unit tests.
+    static class CategoryIndex {
+        final TreeMap<Long, List<Tracked>> byStart = new TreeMap<>();
+        long maxSpan;
+
+        void add(Tracked t) {
+            List<Tracked> list = byStart.get(t.start);
+            if (list == null) {
+                list = new ArrayList<>(1);
+                byStart.put(t.start, list);
+            }
+            list.add(t);
+            maxSpan = Math.max(maxSpan, t.end - t.start);
+        }
+
+        void collect(long date, List<Tracked> out) {
+            for (List<Tracked> list : byStart.subMap(date - maxSpan, true, date, true).values()) {
+                for (Tracked t : list) {
+                    if (t.end >= date) out.add(t);
+                }
+            }
+        }
+    }
+
+    // --- Index (guarded by this) ---
+    private final Map<Integer, CategoryIndex> byCategory = new HashMap<>();
+    // budget local_id -> threshold reached, kept across reloads so nothing fires twice
+    private final Map<Integer, Integer> levels = new HashMap<>();
+    // {before, after} of changes the current index doesn't include yet
+    private final List<Transaction[]> pending = new ArrayList<>();
+    private boolean notifyOnReload; // a bulk write asked for every budget to be checked
+    private boolean reloading;
+    private long loadedFrom = -1; // start of the day the index was built for; -1 = not loaded
+    private volatile boolean stale = true;
+
+    public static BudgetAlertTracker getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (BudgetAlertTracker.class) {
+                if (INSTANCE == null) INSTANCE = new BudgetAlertTracker(context.getApplicationContext());
+            }
+        }
+        return INSTANCE;
+    }
+
+    private BudgetAlertTracker(Context context) {
+        appContext = context;
+        FinixDatabase db = FinixDatabase.getDatabase(context);
+        budgetDao = db.budgetDao();
+        // Budget edits, restores and synced budgets: rebuild the index on next use
+        db.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("budgets", "categories") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                stale = true;
+            }
+        });
+    }
+
+    /**
+     * Builds the index on the read pool (no notifications). Call on app start.
+     */
+    public static void warmUp(Context context) {
+        getInstance(context).requestReload();
+    }
+
+    /**
+     * Applies one saved change. {@code before} is the row as it was (null for an insert),
+     * {@code after} as it is now (null for a delete). Call right after the write commits.
+     */
+    public synchronized void onTransactionChanged(Transaction before, Transaction after) {
+        if (!isExpense(before) && !isExpense(after)) return;
+        if (!isLoaded()) {
+            // The reload reads this change from the database and alerts on it
+            pending.add(new Transaction[]{before, after});
+            requestReload();
+            return;
+        }
+
+        List<Transaction[]> change = Collections.singletonList(new Transaction[]{before, after});
+        for (Map.Entry<Tracked, Double> e : deltasOf(change).entrySet()) {
+            Tracked t = e.getKey();
+            t.spent += e.getValue();
+            check(t);
+        }
+    }
+
+    /**
+     * Re-reads every active budget's spend after a bulk write (on the read pool) and notifies
+     * the crossings.
+     */
+    public void refresh() {
+        synchronized (this) {
+            notifyOnReload = true;
+        }
+        requestReload();
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private static boolean isExpense(Transaction t) {
+        return t != null && "expense".equalsIgnoreCase(t.getType());
+    }
+
+    // Net change per affected budget (an edit inside one budget may cancel out)
+    private Map<Tracked, Double> deltasOf(List<Transaction[]> changes) {
+        Map<Tracked, Double> deltas = new HashMap<>();
+        for (Transaction[] change : changes) {
+            if (isExpense(change[0])) addDelta(change[0], -change[0].getAmount(), deltas);
+            if (isExpense(change[1])) addDelta(change[1], change[1].getAmount(), deltas);
+        }
+        return deltas;
+    }
+
+    private void addDelta(Transaction t, double delta, Map<Tracked, Double> deltas) {
+        CategoryIndex index = byCategory.get(t.getCategoryId());
+        if (index == null) return;
+        List<Tracked> hits = new ArrayList<>(1);
+        index.collect(t.getDateTime(), hits);
+        for (Tracked b : hits) {
+            Double sum = deltas.get(b);
+            deltas.put(b, sum == null ? delta : sum + delta);
+        }
+    }
+
+    private boolean isLoaded() {
+        return !stale && !reloading && pending.isEmpty() && loadedFrom == startOfToday();
+    }
+
+    private void requestReload() {
+        if (!reloadQueued.compareAndSet(false, true)) return; // One is already waiting
+        FinixDatabase.getReadExecutor().execute(() -> {
+            reloadQueued.set(false);
+            try {
+                reload();
+            } catch (Exception e) {
+                synchronized (this) {
+                    reloading = false;
+                    stale = true; // retried on next use
+                }
+                Log.e(TAG, "Budget alert index reload failed", e);
+            }
+        });
+    }
+
+    // Runs the query without holding the tracker, so saves calling onTransactionChanged meanwhile
+    // only queue their change. Changes queued before the query are in its result; those queued
+    // during it may not be, so they wait for one more reload.
+    private void reload() {
+        synchronized (reloadLock) {
+            List<Transaction[]> included;
+            boolean notifyAll;
+            synchronized (this) {
+                stale = false; // before the query: an invalidation during it marks it stale again
+                reloading = true;
+                included = new ArrayList<>(pending);
+                pending.clear();
+                notifyAll = notifyOnReload;
+                notifyOnReload = false;
+            }
+
+            long today = startOfToday();
+            List<BudgetWithSpend> rows = budgetDao.getBudgetsWithSpendBetween(today, Long.MAX_VALUE);
+
+            synchronized (this) {
+                load(rows, today, included, notifyAll);
+                reloading = false;
+                if (!pending.isEmpty() || notifyOnReload) requestReload();
+            }
+        }
+    }
+
+    // Rebuilds the index from rows that already include {@code changes}, then notifies the budgets
+    // those changes crossed (every budget if notifyAll)
+    private void load(List<BudgetWithSpend> rows, long today, List<Transaction[]> changes, boolean notifyAll) {
+        byCategory.clear();
+        Map<Integer, Integer> known = new HashMap<>(levels);
+        levels.clear(); // budgets that ended or were deleted are forgotten
+        List<Tracked> loaded = new ArrayList<>();
+        for (BudgetWithSpend row : rows) {
+            if (row.budget.getBudgetedAmount() <= 0) continue;
+            Tracked t = new Tracked(row);
+            CategoryIndex index = byCategory.get(row.budget.getCategoryId());
+            if (index == null) {
+                index = new CategoryIndex();
+                byCategory.put(row.budget.getCategoryId(), index);
+            }
+            index.add(t);
+            loaded.add(t);
+        }
+        loadedFrom = today;
+
+        Map<Tracked, Double> deltas = deltasOf(changes);
+        for (Tracked t : loaded) {
+            Double delta = deltas.get(t);
+            boolean notify = notifyAll || delta != null;
+            Integer previous = known.get(t.budgetId);
+            if (previous == null) {
+                // Seen for the first time: only what the included changes added can alert
+                t.level = levelOf(t.spent - (delta != null ? delta : 0), t.amount);
+            } else {
+                // Compared with what was reached before; a silent reload only lowers it
+                t.level = notify ? previous : Math.min(previous, levelOf(t.spent, t.amount));
+            }
+            levels.put(t.budgetId, t.level);
+            if (notify) check(t);
+        }
+    }
+
+    // Notifies if the spend reached a higher threshold; lowers the level when it dropped back
+    private void check(Tracked t) {
+        int level = levelOf(t.spent, t.amount);
+        if (level > t.level) notifyCrossed(t, level);
+        t.level = level;
+        levels.put(t.budgetId, level);
+    }
+
+    static int levelOf(double spent, double amount) {
+        int level = 0;
+        for (int threshold : THRESHOLDS) {
+            if (spent * 100 >= amount * threshold) level = threshold;
+        }
+        return level;
+    }
+
+    private static long startOfToday() {
+        Calendar cal = Calendar.getInstance();
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        return cal.getTimeInMillis();
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Notification
+    // ---------------------------------------------------------------------------------------------
+
+    private void notifyCrossed(Tracked t, int level) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && ContextCompat.checkSelfPermission(appContext, Manifest.permission.POST_NOTIFICATIONS)
+                != PackageManager.PERMISSION_GRANTED) {
+            return; // the user said no; the Budgets tab still shows it
+        }
+        createChannel();
+
+        String title = level >= 100
+                ? "🚨 " + t.categoryName + " budget exceeded"
+                : "⚠️ " + t.categoryName + " budget " + level + "% used";
+        String text = String.format(Locale.getDefault(), "Spent: Rs.%.0f / Rs.%.0f", t.spent, t.amount);
+
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(appContext, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_expenses_24dp)
+                .setContentTitle(title)
+                .setContentText(text)
+                .setPriority(NotificationCompat.PRIORITY_DEFAULT)
+                .setAutoCancel(true);
+
+        Intent launch = appContext.getPackageManager().getLaunchIntentForPackage(appContext.getPackageName());
+        if (launch != null) {
+            builder.setContentIntent(PendingIntent.getActivity(appContext, t.budgetId, launch,
+                    PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE));
+        }
+
+        try {
+            // One notification per budget: a newer threshold replaces the older one
+            NotificationManagerCompat.from(appContext).notify(CHANNEL_ID, t.budgetId, builder.build());
+        } catch (SecurityException e) {
+            Log.w(TAG, "Budget alert not shown", e);
+        }
+    }
+
+    private void createChannel() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) return;
+        NotificationManager manager = appContext.getSystemService(NotificationManager.class);
+        if (manager == null || manager.getNotificationChannel(CHANNEL_ID) != null) return;
+        NotificationChannel channel = new NotificationChannel(CHANNEL_ID, "Budget alerts",
+                NotificationManager.IMPORTANCE_DEFAULT);
+        channel.setDescription("When a budget reaches 50%, 75% or 100%");
+        manager.createNotificationChannel(channel);
+    }
+}
@@ -29,6 +29,66 @@
         @Query("SELECT * FROM budgets WHERE NOT (end_date < :rangeStart OR start_date > :rangeEnd) ORDER BY start_date DESC")
         List<Budget> getBudgetsBetween(long rangeStart, long rangeEnd);
 
+        // 📊 Budgets with their category name and the expenses of that category within their
+        // start/end dates (inclusive, hot + archived). Each sum is a range scan of the
+        // (category_id, type, date_time) index, so no transaction list is loaded.
+        String SELECT_WITH_SPEND = "SELECT b.*, c.name AS category_name, " +
+                "(SELECT COALESCE(SUM(t.amount), 0) FROM transactions t WHERE t.category_id = b.category_id " +
+                "AND t.type IN ('Expense', 'expense') AND t.date_time BETWEEN b.start_date AND b.end_date) + " +
+                "(SELECT COALESCE(SUM(a.amount), 0) FROM transactions_archive a WHERE a.category_id = b.category_id " +
+                "AND a.type IN ('Expense', 'expense') AND a.date_time BETWEEN b.start_date AND b.end_date) AS spent " +
+                "FROM budgets b LEFT JOIN categories c ON c.local_id = b.category_id ";
+
+        @Query(SELECT_WITH_SPEND + "ORDER BY b.start_date DESC")
+        List<BudgetWithSpend> getBudgetsWithSpend();
+
+        // ...only the budgets overlapping [rangeStart, rangeEnd). SQLite uses one index for this
+        // (start_date or end_date, whichever bound it estimates narrower) and checks the other per row.
+        @Query(SELECT_WITH_SPEND + "WHERE b.start_date < :rangeEnd AND b.end_date >= :rangeStart " +
+                "ORDER BY b.start_date DESC")
+        List<BudgetWithSpend> getBudgetsWithSpendBetween(long rangeStart, long rangeEnd);
+
+        // 📈 Expenses per budget per day of its period (day 0 = start_date's day), hot and archived
+        // parts summed separately (each a range scan of the (category_id, type, date_time) index).
+        // Days are local calendar days, like BudgetForecaster's (a 23h / 25h DST day is still one
+        // day). Seeds BudgetForecaster; a day can appear once per part.
+        @Query("SELECT b.local_id AS budget_id, " +
+                "CAST(julianday(t.date_time / 1000, 'unixepoch', 'localtime', 'start of day') - " +
+                "julianday(b.start_date / 1000, 'unixepoch', 'localtime', 'start of day') AS INTEGER) AS day, " +
+                "SUM(t.amount) AS total " +
+                "FROM budgets b JOIN transactions t ON t.category_id = b.category_id " +
+                "AND t.type IN ('Expense', 'expense') AND t.date_time BETWEEN b.start_date AND b.end_date " +
+                "WHERE b.local_id IN (:budgetIds) GROUP BY b.local_id, day " +
+                "UNION ALL " +
+                "SELECT b.local_id AS budget_id, " +
+                "CAST(julianday(a.date_time / 1000, 'unixepoch', 'localtime', 'start of day') - " +
+                "julianday(b.start_date / 1000, 'unixepoch', 'localtime', 'start of day') AS INTEGER) AS day, " +
+                "SUM(a.amount) AS total " +
+                "FROM budgets b JOIN transactions_archive a ON a.category_id = b.category_id " +
+                "AND a.type IN ('Expense', 'expense') AND a.date_time BETWEEN b.start_date AND b.end_date " +
+                "WHERE b.local_id IN (:budgetIds) GROUP BY b.local_id, day")
+        List<BudgetDailySpend> getDailySpend(List<Integer> budgetIds);
+
+        // 🗓️ Every local month (start millis) some budget overlaps, newest first, for the month
+        // filter: the same rule getBudgetsWithSpendBetween applies to the month picked, so no option
+        // comes up empty and a budget running into next month is listed there too. Each budget's
+        // months are walked from its start month to its end month; only the distinct months reach Java.
+        @Query("WITH RECURSIVE months (month_start, last_month) AS (" +
+                "SELECT CAST(strftime('%s', start_date / 1000, 'unixepoch', 'localtime', 'start of month', 'utc') AS INTEGER) * 1000, " +
+                "CAST(strftime('%s', end_date / 1000, 'unixepoch', 'localtime', 'start of month', 'utc') AS INTEGER) * 1000 " +
+                "FROM budgets " +
+                "UNION " +
+                "SELECT CAST(strftime('%s', month_start / 1000, 'unixepoch', 'localtime', '+1 month', 'utc') AS INTEGER) * 1000, " +
+                "last_month FROM months WHERE month_start < last_month) " +
+                "SELECT DISTINCT month_start FROM months ORDER BY month_start DESC")
+        List<Long> getBudgetMonthStarts();
+
+        // Another budget of the same category starting in [monthStart, monthEnd)?
+        // (category_id, start_date) index: one range probe
+        @Query("SELECT COUNT(*) FROM budgets WHERE category_id = :categoryId " +
+                "AND start_date >= :monthStart AND start_date < :monthEnd AND local_id <> :excludeLocalId")
+        int countBudgetsStartingIn(int categoryId, long monthStart, long monthEnd, int excludeLocalId);
+
         @Update
         void update(Budget budget);
 
@@ -36,14 +96,6 @@
         @Query("SELECT * FROM budgets WHERE local_id = :localId")
         Budget getBudgetById(int localId);
 
-
-
-
-
-
-
-
-
         // 1. Retrieve All data (for backup)
         @Query("SELECT * FROM budgets")
         List<Budget> getAllBudgetsForBackup();
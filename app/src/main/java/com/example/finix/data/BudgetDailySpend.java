@@ -0,0 +1,19 @@
+package com.example.finix.data;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * Expenses of one budget's category on one day of its period (see BudgetDAO.getDailySpend).
+ */
+public class BudgetDailySpend {
+
+    @ColumnInfo(name = "budget_id")
+    public int budgetId;
+
+    // Local calendar days since the budget's start_date
+    @ColumnInfo(name = "day")
+    public int day;
+
+    @ColumnInfo(name = "total")
+    public double total;
+}
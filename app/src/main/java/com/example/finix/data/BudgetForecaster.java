@@ -0,0 +1,320 @@
+package com.example.finix.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeMap;
+
+/**
+ * Burn-rate forecast per budget: projected spend at the end of its period and the day it is
+ * expected to go over.
+ *
+ * The daily spend rate is an exponentially smoothed average of the budget's daily totals
+ * (bias-corrected, so the first days of a period aren't dragged towards 0). Smoothing is linear
+ * in the daily totals, so each saved / edited / deleted expense just adds its weighted amount to
+ * the state ({@link #onTransactionChanged}), whatever day it is dated: the window is read from
+ * the database only once per budget (BudgetDAO.getDailySpend). Closing a day is a multiplication,
+ * so {@link #forecasts} is a handful of arithmetic per budget.
+ *
+ * Bulk writes pass all their rows at once ({@link #onTransactionsChanged}); budget edits are seen
+ * through Room's InvalidationTracker. Budgets are seeded on the caller's thread (a reader), not
+ * on the writer: a seed that a change touched while its query ran may or may not include that
+ * change, so it is thrown away and read again.
+ */
+public final class BudgetForecaster {
+
+    private static final String TAG = "BudgetForecaster";
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    // Weight of the latest day: ~ the last week or so counts most
+    private static final double ALPHA = 0.25;
+    // Reads per forecasts() call for budgets whose seed keeps racing writes (then no forecast yet)
+    private static final int SEED_ATTEMPTS = 3;
+
+    private static volatile BudgetForecaster INSTANCE;
+
+    private final BudgetDAO budgetDao;
+
+    /**
+     * What a budget row shows. {@code exceedsOn} is 0 when the budget isn't expected to go over
+     * within its period (or already has, see {@code exceeded}).
+     */
+    public static final class Forecast {
+        public final double projectedSpend;
+        public final long exceedsOn;
+        public final boolean exceeded;
+
+        Forecast(double projectedSpend, long exceedsOn, boolean exceeded) {
+            this.projectedSpend = projectedSpend;
+            this.exceedsOn = exceedsOn;
+            this.exceeded = exceeded;
+        }
+
+        public boolean sameAs(Forecast other) {
+            return other != null && Double.compare(projectedSpend, other.projectedSpend) == 0
+                    && exceedsOn == other.exceedsOn && exceeded == other.exceeded;
+        }
+    }
+
+    // Streaming state of one budget. Days are local calendar days counted from its start_date's
+    // day, as in BudgetDAO.getDailySpend. Package-private for the unit tests.
+    static final class State {
+        final int categoryId;
+        final long start, end;
+        final TimeZone zone;
+        final int startDay;
+        double spent;
+        int closedThrough = -1;  // last day folded into smoothed
+        double smoothed;         // sum of ALPHA * (1 - ALPHA)^(closedThrough - d) * total(d), d <= closedThrough
+        final TreeMap<Integer, Double> open = new TreeMap<>(); // totals of the days after closedThrough
+        int version;             // changes that hit it while it was being seeded
+
+        State(Budget budget) {
+            this(budget, TimeZone.getDefault());
+        }
+
+        State(Budget budget, TimeZone zone) {
+            this.zone = zone;
+            categoryId = budget.getCategoryId();
+            start = budget.getStartDate();
+            end = budget.getEndDate();
+            startDay = localDay(start, zone);
+        }
+
+        boolean contains(Transaction t) {
+            return categoryId == t.getCategoryId() && t.getDateTime() >= start && t.getDateTime() <= end;
+        }
+
+        boolean covers(Budget budget) {
+            return categoryId == budget.getCategoryId() && start == budget.getStartDate() && end == budget.getEndDate();
+        }
+
+        int dayOf(long millis) {
+            return localDay(millis, zone) - startDay;
+        }
+
+        void add(int day, double amount) {
+            spent += amount;
+            if (day <= closedThrough) {
+                smoothed += ALPHA * Math.pow(1 - ALPHA, closedThrough - day) * amount;
+            } else {
+                Double total = open.get(day);
+                open.put(day, total == null ? amount : total + amount);
+            }
+        }
+
+        // Folds every day up to `day` into smoothed (days without spend count as 0)
+        void closeThrough(int day) {
+            if (day <= closedThrough) return;
+            smoothed *= Math.pow(1 - ALPHA, day - closedThrough);
+            closedThrough = day;
+            Iterator<Map.Entry<Integer, Double>> it = open.headMap(day, true).entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Integer, Double> e = it.next();
+                smoothed += ALPHA * Math.pow(1 - ALPHA, day - e.getKey()) * e.getValue();
+                it.remove();
+            }
+        }
+
+        // Expected spend per day
+        double rate(int today) {
+            if (closedThrough < 0) return openTotal(today); // first day: all we know is today
+            return smoothed / (1 - Math.pow(1 - ALPHA, closedThrough + 1));
+        }
+
+        double openTotal(int day) {
+            Double total = open.get(day);
+            return total == null ? 0 : total;
+        }
+    }
+
+    // --- Cache (guarded by this) ---
+    private final Map<Integer, State> byBudget = new HashMap<>();
+    // States whose seed query is running (compared by identity)
+    private final List<State> seeding = new ArrayList<>();
+    private volatile boolean stale;
+
+    public static BudgetForecaster getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (BudgetForecaster.class) {
+                if (INSTANCE == null) INSTANCE = new BudgetForecaster(context.getApplicationContext());
+            }
+        }
+        return INSTANCE;
+    }
+
+    private BudgetForecaster(Context context) {
+        FinixDatabase db = FinixDatabase.getDatabase(context);
+        budgetDao = db.budgetDao();
+        // Changed dates or categories change the window: start over for every budget
+        db.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("budgets") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                stale = true;
+            }
+        });
+    }
+
+    /**
+     * Forecasts for the given budgets (budget local_id -> forecast; budgets that haven't started
+     * are left out). Budgets seen for the first time are read from the database in one query on
+     * the calling thread. Call from a background thread, never from the writer itself.
+     */
+    public Map<Integer, Forecast> forecasts(List<BudgetWithSpend> budgets) {
+        Map<Integer, Forecast> forecasts = new HashMap<>();
+        if (budgets == null || budgets.isEmpty()) return forecasts;
+        try {
+            for (int attempt = 0; attempt < SEED_ATTEMPTS && !seedMissing(budgets); attempt++) {
+                Log.d(TAG, "Budget seed raced a write, reading again");
+            }
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Budget forecast seeding failed", e);
+            return forecasts;
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            for (BudgetWithSpend b : budgets) {
+                State state = byBudget.get(b.budget.getLocalId());
+                Forecast forecast = state != null ? forecast(state, b.budget.getBudgetedAmount(), now) : null;
+                if (forecast != null) forecasts.put(b.budget.getLocalId(), forecast);
+            }
+        }
+        return forecasts;
+    }
+
+    /**
+     * Applies one saved change. {@code before} is the row as it was (null for an insert),
+     * {@code after} as it is now (null for a delete). Call on the writer thread right after the write.
+     */
+    public synchronized void onTransactionChanged(Transaction before, Transaction after) {
+        if (byBudget.isEmpty() && seeding.isEmpty()) return;
+        if (isExpense(before)) apply(before, -before.getAmount());
+        if (isExpense(after)) apply(after, after.getAmount());
+    }
+
+    /**
+     * Applies a bulk write: {@code before} are the touched rows as they were (empty for inserts),
+     * {@code after} as they are now (empty for deletes). Call on the writer thread right after it commits.
+     */
+    public synchronized void onTransactionsChanged(List<Transaction> before, List<Transaction> after) {
+        if (byBudget.isEmpty() && seeding.isEmpty()) return;
+        for (Transaction t : before) {
+            if (isExpense(t)) apply(t, -t.getAmount());
+        }
+        for (Transaction t : after) {
+            if (isExpense(t)) apply(t, t.getAmount());
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private static boolean isExpense(Transaction t) {
+        return t != null && "expense".equalsIgnoreCase(t.getType());
+    }
+
+    private void apply(Transaction t, double amount) {
+        for (State state : byBudget.values()) {
+            if (state.contains(t)) state.add(state.dayOf(t.getDateTime()), amount);
+        }
+        for (State state : seeding) {
+            if (state.contains(t)) state.version++;
+        }
+    }
+
+    // Reads the budgets not cached yet, without holding the cache: saves keep applying to the
+    // cached ones meanwhile. Returns false if a save hit one of them during its query (that one
+    // is not cached, the rest are). Left open: a write committed before the query whose callback
+    // only arrives after the install (a few statements on the writer) is counted twice.
+    private boolean seedMissing(List<BudgetWithSpend> budgets) {
+        Map<Integer, State> missing = new HashMap<>();
+        synchronized (this) {
+            if (stale) {
+                stale = false;
+                byBudget.clear();
+            }
+            for (BudgetWithSpend b : budgets) {
+                int id = b.budget.getLocalId();
+                State known = byBudget.get(id);
+                // Also re-read a budget edited since (in case the invalidation hasn't arrived yet)
+                if (known == null || !known.covers(b.budget)) missing.put(id, new State(b.budget));
+            }
+            if (missing.isEmpty()) return true;
+            seeding.addAll(missing.values());
+        }
+
+        boolean clean = true;
+        try {
+            List<Integer> ids = new ArrayList<>(missing.keySet());
+            for (int from = 0; from < ids.size(); from += TransactionRepository.BULK_CHUNK) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + TransactionRepository.BULK_CHUNK, ids.size()));
+                for (BudgetDailySpend d : budgetDao.getDailySpend(chunk)) {
+                    missing.get(d.budgetId).add(d.day, d.total);
+                }
+            }
+        } finally {
+            synchronized (this) {
+                for (Map.Entry<Integer, State> e : missing.entrySet()) {
+                    State state = e.getValue();
+                    seeding.removeIf(s -> s == state);
+                    if (state.version == 0) {
+                        byBudget.put(e.getKey(), state);
+                    } else {
+                        clean = false;
+                    }
+                }
+            }
+        }
+        return clean;
+    }
+
+    static Forecast forecast(State state, double amount, long now) {
+        int today = state.dayOf(now);
+        if (today < 0) return null; // not started yet
+        int lastDay = state.dayOf(state.end);
+
+        if (today > lastDay) { // period over: what was spent is final
+            return new Forecast(state.spent, 0, state.spent > amount);
+        }
+        state.closeThrough(today - 1);
+        double rate = state.rate(today);
+        if (state.spent > amount) {
+            return new Forecast(state.spent + rate * (lastDay - today), 0, true);
+        }
+
+        // The rest of today is expected to reach the daily rate, then `rate` per remaining day
+        double restOfToday = Math.max(0, rate - state.openTotal(today));
+        double projected = state.spent + restOfToday + rate * (lastDay - today);
+
+        long exceedsOn = 0;
+        if (projected > amount && rate > 0) {
+            double left = amount - state.spent;
+            int day = left < restOfToday ? today : today + (int) Math.floor((left - restOfToday) / rate) + 1;
+            if (day <= lastDay) exceedsOn = dayStart(state, day);
+        }
+        return new Forecast(projected, exceedsOn, false);
+    }
+
+    // Days since 1970-01-01 of the local date of `millis` (a DST day is 23h / 25h long but one day)
+    static int localDay(long millis, TimeZone zone) {
+        return (int) Math.floorDiv(millis + zone.getOffset(millis), DAY_MS);
+    }
+
+    // Calendar days from the start (not multiples of 24h), so DST changes keep the date right
+    private static long dayStart(State state, int day) {
+        Calendar cal = Calendar.getInstance(state.zone);
+        cal.setTimeInMillis(state.start);
+        cal.add(Calendar.DAY_OF_MONTH, day);
+        return cal.getTimeInMillis();
+    }
+}
@@ -3,29 +3,55 @@ package com.example.finix.data;
 import android.app.Application;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class BudgetRepository {
 
     private final BudgetDAO budgetDao;
+    private final BudgetForecaster forecaster;
     private final ExecutorService executorService;
 
 
     public BudgetRepository(Application application) {
         FinixDatabase db = FinixDatabase.getDatabase(application);
         budgetDao = db.budgetDao();
-        executorService = Executors.newSingleThreadExecutor();
+        forecaster = BudgetForecaster.getInstance(application);
+        executorService = FinixDatabase.getWriteExecutor(); // shared single writer
     }
 
     // Insert a budget
     public void insert(Budget budget) {
-        executorService.execute(() -> budgetDao.insert(budget));
+        insert(budget, null);
+    }
+
+    // Insert a budget (sync_log row is added by trigger, see SyncLogTriggers)
+    public void insert(Budget budget, Runnable onComplete) {
+        executorService.execute(() -> {
+            budgetDao.insert(budget);
+            if (onComplete != null) onComplete.run();
+        });
+    }
+
+    // Update a budget
+    public void update(Budget budget, Runnable onComplete) {
+        executorService.execute(() -> {
+            budgetDao.update(budget);
+            if (onComplete != null) onComplete.run();
+        });
     }
 
     // Delete a budget
     public void delete(Budget budget) {
-        executorService.execute(() -> budgetDao.delete(budget));
+        delete(budget, null);
+    }
+
+    // Delete a budget
+    public void delete(Budget budget, Runnable onComplete) {
+        executorService.execute(() -> {
+            budgetDao.delete(budget);
+            if (onComplete != null) onComplete.run();
+        });
     }
 
     // Get all budgets (Room runs queries off the main thread)
@@ -33,4 +59,29 @@ public class BudgetRepository {
         return budgetDao.getAllBudgets();
     }
 
+    // Budgets with category name and spent amount, summed in SQL (call from a background thread)
+    public List<BudgetWithSpend> getBudgetsWithSpend() {
+        return budgetDao.getBudgetsWithSpend();
+    }
+
+    // ...overlapping [rangeStart, rangeEnd) only
+    public List<BudgetWithSpend> getBudgetsWithSpendBetween(long rangeStart, long rangeEnd) {
+        return budgetDao.getBudgetsWithSpendBetween(rangeStart, rangeEnd);
+    }
+
+    // 📈 Projected end-of-period spend and overspend date per budget local_id (background thread)
+    public Map<Integer, BudgetForecaster.Forecast> getForecasts(List<BudgetWithSpend> budgets) {
+        return forecaster.forecasts(budgets);
+    }
+
+    // Local months (start millis) some budget overlaps, newest first
+    public List<Long> getBudgetMonthStarts() {
+        return budgetDao.getBudgetMonthStarts();
+    }
+
+    // True if another budget of this category starts in the same month (excludeLocalId: the one being edited)
+    public boolean hasBudgetInMonth(int categoryId, long monthStart, long monthEnd, int excludeLocalId) {
+        return budgetDao.countBudgetsStartingIn(categoryId, monthStart, monthEnd, excludeLocalId) > 0;
+    }
+
 }
@@ -0,0 +1,22 @@
+package com.example.finix.data;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+/**
+ * One budget with what its row shows, straight from SQL (see BudgetDAO.getBudgetsWithSpend):
+ * the category name and the expenses of that category within the budget's start/end dates.
+ */
+public class BudgetWithSpend {
+
+    @Embedded
+    public Budget budget;
+
+    // null if the category is gone
+    @ColumnInfo(name = "category_name")
+    public String categoryName;
+
+    // Hot + archived expenses in [start_date, end_date]
+    @ColumnInfo(name = "spent")
+    public double spent;
+}
@@ -40,9 +40,11 @@ public interface CategoryDAO {
     @Query("SELECT * FROM categories WHERE name = :name COLLATE NOCASE LIMIT 1")
     Category getCategoryByName(String name);
 
-    // Search categories by name
-    @Query("SELECT * FROM categories WHERE name LIKE :query ORDER BY name ASC")
-    List<Category> searchCategories(String query);
+    // Search categories by name through the FTS index.
+    // :match is an FTS MATCH expression, e.g. "groc*" (see SearchRepository.toPrefixMatch)
+    @Query("SELECT c.* FROM categories c JOIN categories_fts ON c.local_id = categories_fts.rowid " +
+            "WHERE categories_fts MATCH :match ORDER BY c.name ASC")
+    List<Category> searchCategories(String match);
 
 
 
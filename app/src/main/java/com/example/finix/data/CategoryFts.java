@@ -0,0 +1,19 @@
+package com.example.finix.data;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+// External-content FTS4 index over categories.name (kept in sync by Room-generated triggers).
+@Fts4(contentEntity = Category.class)
+@Entity(tableName = "categories_fts")
+public class CategoryFts {
+
+    @ColumnInfo(name = "name")
+    private String name;
+
+    public CategoryFts() {}
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+}
@@ -0,0 +1,59 @@
+package com.example.finix.data;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import java.util.Locale;
+
+/**
+ * User-defined auto-categorization rule: a description containing {@code keyword} goes to
+ * {@code category_id}. Rules win over the learned model (see {@link AutoCategorizer}).
+ */
+@Entity(tableName = "category_rules",
+        foreignKeys = @ForeignKey(entity = Category.class,
+                parentColumns = "local_id",
+                childColumns = "category_id",
+                onDelete = ForeignKey.CASCADE), // A deleted category takes its rules with it
+        indices = {@Index(value = {"category_id"}),
+                // One category per keyword (saving it again moves it)
+                @Index(value = {"keyword"}, unique = true)})
+public class CategoryRule {
+
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "local_id")
+    private int localId;
+
+    // Normalized, see normalize()
+    @ColumnInfo(name = "keyword")
+    private String keyword;
+
+    @ColumnInfo(name = "category_id")
+    private int categoryId;
+
+    public CategoryRule() {}
+
+    @Ignore
+    public CategoryRule(String keyword, int categoryId) {
+        this.keyword = normalize(keyword);
+        this.categoryId = categoryId;
+    }
+
+    // Lower case, words separated by single spaces (punctuation dropped), as descriptions are matched
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{Nd}]+", " ").trim();
+    }
+
+    // --- Getters and Setters ---
+    public int getLocalId() { return localId; }
+    public void setLocalId(int localId) { this.localId = localId; }
+
+    public String getKeyword() { return keyword; }
+    public void setKeyword(String keyword) { this.keyword = keyword; }
+
+    public int getCategoryId() { return categoryId; }
+    public void setCategoryId(int categoryId) { this.categoryId = categoryId; }
+}
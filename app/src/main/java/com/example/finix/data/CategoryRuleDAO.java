@@ -0,0 +1,39 @@
+package com.example.finix.data;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Delete;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface CategoryRuleDAO {
+
+    // Same keyword again -> replaces the old rule (moves it to this category)
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    long insert(CategoryRule rule);
+
+    @Delete
+    void delete(CategoryRule rule);
+
+    // 🏷️ All rules, longest keyword first (the most specific match wins)
+    @Query("SELECT * FROM category_rules ORDER BY LENGTH(keyword) DESC, keyword")
+    List<CategoryRule> getAllRules();
+
+    @Query("SELECT * FROM category_rules WHERE category_id = :categoryId ORDER BY keyword")
+    LiveData<List<CategoryRule>> getRulesForCategoryLive(int categoryId);
+
+    // --- Backup / Restore ---
+
+    @Query("SELECT * FROM category_rules")
+    List<CategoryRule> getAllForBackup();
+
+    @Query("DELETE FROM category_rules")
+    void deleteAll();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertAll(List<CategoryRule> rules);
+}
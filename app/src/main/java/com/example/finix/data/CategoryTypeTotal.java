@@ -0,0 +1,27 @@
+package com.example.finix.data;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * One aggregated row of the dashboard query (see TransactionDAO.getCategoryTotalsForMonthsSync):
+ * the total of one type/category in either the selected month or the month compared against.
+ */
+public class CategoryTypeTotal {
+
+    public static final int PERIOD_SELECTED = 0;
+    public static final int PERIOD_PREVIOUS = 1;
+
+    // PERIOD_SELECTED or PERIOD_PREVIOUS
+    @ColumnInfo(name = "period")
+    public int period;
+
+    // "Income" or "Expense"
+    @ColumnInfo(name = "type")
+    public String type;
+
+    @ColumnInfo(name = "category_id")
+    public int categoryId;
+
+    @ColumnInfo(name = "total")
+    public double total;
+}
@@ -1,9 +1,16 @@
 package com.example.finix.data;
 
 import android.content.Context;
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Database(
         entities = {
@@ -12,36 +19,154 @@ import androidx.room.RoomDatabase;
                 Transaction.class,
                 Budget.class,
                 SynchronizationLog.class,
-                User.class // <-- Added User.class
+                User.class, // <-- Added User.class
+                TransactionFts.class,
+                CategoryFts.class,
+                ArchivedTransaction.class,
+                ArchivedTransactionFts.class,
+                MonthlyRollup.class,
+                RecurringRule.class,
+                BalanceBucket.class,
+                TransactionFingerprint.class,
+                CategoryRule.class
         },
-        version = 1,
+        version = FinixDatabase.VERSION,
         exportSchema = false
 )
 public abstract class FinixDatabase extends RoomDatabase {
 
+    // Bump together with a new step in FinixMigrations
+    static final int VERSION = 13;
+
     public abstract CategoryDAO categoryDao();
     public abstract SavingsGoalDAO savingsGoalDao();
     public abstract TransactionDAO transactionDao();
     public abstract BudgetDAO budgetDao();
     public abstract SynchronizationLogDAO synchronizationLogDao();
     public abstract UserDAO userDao();
+    public abstract SearchDAO searchDao();
+    public abstract ArchiveDAO archiveDao();
+    public abstract RecurringRuleDAO recurringRuleDao();
+    public abstract BalanceDAO balanceDao();
+    public abstract CategoryRuleDAO categoryRuleDao();
 
     private static volatile FinixDatabase INSTANCE;
     private static final String DATABASE_NAME = "finix_database";
 
+    /**
+     * SQLite/Room tuning knobs. Pass to {@link #configure(Tuning)} before the first
+     * {@link #getDatabase(Context)} call; the defaults suit a phone-sized database.
+     */
+    public static class Tuning {
+        // Threads that may run read queries concurrently (WAL lets them run beside the writer)
+        public int readPoolSize = 4;
+        // WAL journal: readers no longer block on (or are blocked by) the single writer
+        public boolean writeAheadLogging = true;
+        // PRAGMA synchronous: "OFF", "NORMAL" or "FULL". NORMAL is durable in WAL mode and skips an fsync per commit.
+        public String synchronous = "NORMAL";
+        // PRAGMA cache_size, in KiB (applied as a negative value; primary connection only, see applyPragmas)
+        public int cacheSizeKb = 8 * 1024;
+        // PRAGMA mmap_size, in bytes (0 disables memory-mapped I/O; primary connection only)
+        public long mmapSizeBytes = 32L * 1024 * 1024;
+    }
+
+    private static volatile Tuning tuning = new Tuning();
+    private static ExecutorService queryExecutor;
+    private static ExecutorService writeExecutor;
+    private static ExecutorService ioExecutor;
+
+    /**
+     * Overrides the default tuning. Must be called before the database is first opened.
+     */
+    public static synchronized void configure(@NonNull Tuning newTuning) {
+        if (INSTANCE != null) {
+            throw new IllegalStateException("FinixDatabase is already open; configure() must run first");
+        }
+        tuning = newTuning;
+    }
+
+    /**
+     * Bounded pool for read queries. Room runs LiveData queries here as well.
+     */
+    public static synchronized ExecutorService getReadExecutor() {
+        if (queryExecutor == null) {
+            queryExecutor = Executors.newFixedThreadPool(Math.max(1, tuning.readPoolSize), namedThreads("finix-db-read"));
+        }
+        return queryExecutor;
+    }
+
+    /**
+     * Single writer thread. All inserts/updates/deletes go through here so write bursts
+     * queue up instead of contending for the SQLite write lock.
+     */
+    public static synchronized ExecutorService getWriteExecutor() {
+        if (writeExecutor == null) {
+            writeExecutor = Executors.newSingleThreadExecutor(namedThreads("finix-db-write"));
+        }
+        return writeExecutor;
+    }
+
+    /**
+     * Single thread for long network/file jobs (server sync, backup export, statement import),
+     * so a slow request or file never holds one of the read pool's threads.
+     */
+    public static synchronized ExecutorService getIoExecutor() {
+        if (ioExecutor == null) {
+            ioExecutor = Executors.newSingleThreadExecutor(namedThreads("finix-io"));
+        }
+        return ioExecutor;
+    }
+
     public static FinixDatabase getDatabase(final Context context) {
         if (INSTANCE == null) {
             synchronized (FinixDatabase.class) {
                 if (INSTANCE == null) {
+                    final Tuning t = tuning;
                     INSTANCE = Room.databaseBuilder(
                                     context.getApplicationContext(),
                                     FinixDatabase.class,
                                     DATABASE_NAME)
-                            .fallbackToDestructiveMigration()
+                            .setQueryExecutor(getReadExecutor())
+                            .setTransactionExecutor(getWriteExecutor())
+                            .setJournalMode(t.writeAheadLogging
+                                    ? JournalMode.WRITE_AHEAD_LOGGING
+                                    : JournalMode.TRUNCATE)
+                            .addCallback(new Callback() {
+                                @Override
+                                public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                                    // Upgraded databases get them from the last migration step
+                                    FinixMigrations.installTriggers(db);
+                                }
+
+                                @Override
+                                public void onOpen(@NonNull SupportSQLiteDatabase db) {
+                                    applyPragmas(db, t);
+                                }
+                            })
+                            .addMigrations(FinixMigrations.ALL)
                             .build();
                 }
             }
         }
         return INSTANCE;
     }
-}
\ No newline at end of file
+
+    // PRAGMAs are per connection, and Room's callbacks only see the primary (write) connection.
+    // synchronous only matters for the connection that commits, so it is fully applied; the
+    // WAL reader connections the framework opens later keep SQLite's default cache_size/mmap_size.
+    private static void applyPragmas(SupportSQLiteDatabase db, Tuning t) {
+        // query() rather than execSQL(): some PRAGMAs return a row, which execSQL rejects
+        db.query("PRAGMA synchronous = " + t.synchronous).close();
+        db.query("PRAGMA cache_size = -" + t.cacheSizeKb).close();
+        db.query("PRAGMA mmap_size = " + t.mmapSizeBytes).close();
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.finix.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Schema upgrades for {@link FinixDatabase}, one step per version, so an app update keeps the
+ * user's data. Table and index DDL is the SQL Room generates for the entities (Room validates
+ * the result against them after the last step).
+ *
+ * Not migrated here:
+ *  - The FTS content-sync triggers: Room drops and recreates them around every upgrade.
+ *  - Our own triggers ({@link SyncLogTriggers}, {@link BalanceLedger}, {@link TransactionFingerprints}):
+ *    their SQL changed between versions, so the step that reaches {@link FinixDatabase#VERSION}
+ *    drops them and installs the current ones. New databases get them from the onCreate callback.
+ */
+final class FinixMigrations {
+
+    private FinixMigrations() {}
+
+    // A version step; the last one (re)installs the app's triggers
+    private abstract static class Step extends Migration {
+
+        Step(int startVersion, int endVersion) {
+            super(startVersion, endVersion);
+        }
+
+        abstract void apply(SupportSQLiteDatabase db);
+
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            apply(db);
+            if (endVersion == FinixDatabase.VERSION) {
+                SyncLogTriggers.drop(db);
+                BalanceLedger.drop(db);
+                TransactionFingerprints.drop(db);
+                installTriggers(db);
+            }
+        }
+    }
+
+    /**
+     * Creates the app's triggers (those that don't exist yet).
+     */
+    static void installTriggers(SupportSQLiteDatabase db) {
+        // Outbox change capture (sync_log rows are written by triggers)
+        SyncLogTriggers.install(db);
+        // Running balance checkpoints (balance_buckets, kept by triggers)
+        BalanceLedger.install(db);
+        // Duplicate detection (transaction_fingerprints, kept by triggers)
+        TransactionFingerprints.install(db);
+    }
+
+    // Full-text search over transaction descriptions and category names
+    static final Migration MIGRATION_1_2 = new Step(1, 2) {
+        @Override
+        void apply(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `transactions_fts` USING FTS4(`description` TEXT, content=`transactions`)");
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `categories_fts` USING FTS4(`name` TEXT, content=`categories`)");
+            // External-content tables start empty: index the existing rows
+            db.execSQL("INSERT INTO `transactions_fts`(`transactions_fts`) VALUES('rebuild')");
+            db.execSQL("INSERT INTO `categories_fts`(`categories_fts`) VALUES('rebuild')");
+        }
+    };
+
+    // Outbox lookups by record (the triggers themselves are installed by the last step)
+    static final Migration MIGRATION_2_3 = new Step(2, 3) {
+        @Override
+        void apply(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_sync_log_table_name_record_id` ON `sync_log` (`table_name`, `record_id`)");
+        }
+    };
+
+    // Cold archive and its monthly rollups
+    static final Migration MIGRATION_3_4 = new Step(3, 4) {
+        @Override
+        void apply(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `transactions_archive` (`local_id` INTEGER NOT NULL, "
+                    + "`id` INTEGER NOT NULL DEFAULT 0, `amount` REAL NOT NULL, `type` TEXT, "
+                    + "`category_id` INTEGER NOT NULL, `date_time` INTEGER NOT NULL, `description` TEXT, "
+                    + "`month_start` INTEGER NOT NULL, PRIMARY KEY(`local_id`), "
+                    + "FOREIGN KEY(`category_id`) REFERENCES `categories`(`local_id`) ON UPDATE NO ACTION ON DELETE RESTRICT )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transactions_archive_category_id` ON `transactions_archive` (`category_id`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transactions_archive_month_start` ON `transactions_archive` (`month_start`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transactions_archive_type_date_time` ON `transactions_archive` (`type`, `date_time`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `monthly_rollups` (`month_start` INTEGER NOT NULL, "
+                    + "`type` TEXT NOT NULL, `category_id` INTEGER NOT NULL, `total` REAL NOT NULL, "
+                    + "`count` INTEGER NOT NULL, PRIMARY KEY(`month_start`, `type`, `category_id`))");
+        }
+    };
+
+    // Month filter on the Transactions screen
+    static final Migration MIGRATION_4_5 = new Step(4, 5) {
+        @Override
+        void apply(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transactions_type_date_time` ON `transactions` (`type`, `date_time`)");
+        }
+    };
+
+    // Amount range filters
+    static final Migration MIGRATION_5_6 = new Step(5, 6) {
+        @Override
+        void apply(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transactions_type_amount` ON `transactions` (`type`, `amount`)");
+        }
+    };
+
+    // Recurring transaction rules
+    static final Migration MIGRATION_6_7 = new Step(6, 7) {
+        @Override
+        void apply(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `recurring_rules` (`local_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`amount` REAL NOT NULL, `type` TEXT, `category_id` INTEGER NOT NULL, `description` TEXT, "
+                    + "`frequency` TEXT, `interval_count` INTEGER NOT NULL DEFAULT 1, `start_date` INTEGER NOT NULL, "
+                    + "`end_date` INTEGER NOT NULL DEFAULT 0, `next_index` INTEGER NOT NULL DEFAULT 0, "
+                    + "`next_due` INTEGER NOT NULL, "
+                    + "FOREIGN KEY(`category_id`) REFERENCES `categories`(`local_id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_recurring_rules_category_id` ON `recurring_rules` (`category_id`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_recurring_rules_next_due` ON `recurring_rules` (`next_due`)");
+        }
+    };
+
+    // Running balance checkpoints, filled from the existing rows
+    static final Migration MIGRATION_7_8 = new Step(7, 8) {
+        @Override
+        void apply(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `balance_buckets` (`month_start` INTEGER NOT NULL, "
+                    + "`closing` REAL NOT NULL, PRIMARY KEY(`month_start`))");
+            BalanceLedger.rebuild(db);
+        }
+    };
+
+    // Duplicate detection fingerprints, filled from the existing rows
+    static final Migration MIGRATION_8_9 = new Step(8, 9) {
+        @Override
+        void apply(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `transaction_fingerprints` (`local_id` INTEGER NOT NULL, "
+                    + "`fingerprint` TEXT, PRIMARY KEY(`local_id`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transaction_fingerprints_fingerprint` ON `transaction_fingerprints` (`fingerprint`)");
+            TransactionFingerprints.rebuild(db);
+        }
+    };
+
+    // Auto-categorization keyword rules
+    static final Migration MIGRATION_9_10 = new Step(9, 10) {
+        @Override
+        void apply(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `category_rules` (`local_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`keyword` TEXT, `category_id` INTEGER NOT NULL, "
+                    + "FOREIGN KEY(`category_id`) REFERENCES `categories`(`local_id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_category_rules_category_id` ON `category_rules` (`category_id`)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_category_rules_keyword` ON `category_rules` (`keyword`)");
+        }
+    };
+
+    // Per-budget spend: (category_id, type, date_time) replaces the category_id-only indexes
+    static final Migration MIGRATION_10_11 = new Step(10, 11) {
+        @Override
+        void apply(SupportSQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS `index_transactions_category_id`");
+            db.execSQL("DROP INDEX IF EXISTS `index_transactions_archive_category_id`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transactions_category_id_type_date_time` ON `transactions` (`category_id`, `type`, `date_time`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transactions_archive_category_id_type_date_time` ON `transactions_archive` (`category_id`, `type`, `date_time`)");
+        }
+    };
+
+    // Budgets filtered by month
+    static final Migration MIGRATION_11_12 = new Step(11, 12) {
+        @Override
+        void apply(SupportSQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS `index_budgets_category_id`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_budgets_category_id_start_date` ON `budgets` (`category_id`, `start_date`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_budgets_start_date` ON `budgets` (`start_date`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_budgets_end_date` ON `budgets` (`end_date`)");
+        }
+    };
+
+    // Full-text search over archived descriptions
+    static final Migration MIGRATION_12_13 = new Step(12, 13) {
+        @Override
+        void apply(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `transactions_archive_fts` USING FTS4(`description` TEXT, content=`transactions_archive`)");
+            db.execSQL("INSERT INTO `transactions_archive_fts`(`transactions_archive_fts`) VALUES('rebuild')");
+        }
+    };
+
+    static final Migration[] ALL = {
+            MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7,
+            MIGRATION_7_8, MIGRATION_8_9, MIGRATION_9_10, MIGRATION_10_11, MIGRATION_11_12, MIGRATION_12_13
+    };
+}
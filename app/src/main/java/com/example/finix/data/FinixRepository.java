@@ -14,7 +14,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
@@ -89,6 +88,9 @@ public class FinixRepository {
     private final SynchronizationLogService synchronizationLogService; // NEW
 
     private final SynchronizationLogDAO syncLogDAO;
+    private final ArchiveDAO archiveDAO; // 🗄️ cold transactions (backup/restore only)
+    private final RecurringRuleDAO recurringRuleDAO; // 🔁 recurring rules (backup/restore only)
+    private final CategoryRuleDAO categoryRuleDAO; // 🏷️ auto-categorization keywords (backup/restore only)
     private final CategoryService categoryService;
     private final TransactionService transactionService; // NEW
     private final BudgetService budgetService; // NEW
@@ -142,7 +144,8 @@ public class FinixRepository {
             return restoreDataFromFile(fileUri);
         };
 
-        Future<Boolean> future = executorService.submit(callable);
+        // The restore rewrites every table: run it on the single writer like every other write
+        Future<Boolean> future = FinixDatabase.getWriteExecutor().submit(callable);
         try {
             return future.get(); // Wait for the result
         } catch (Exception e) {
@@ -164,9 +167,14 @@ public class FinixRepository {
             // 1. Fetch all data from DAOs
             List<Category> categories = categoryDAO.getAllCategoriesForBackup();
             List<Transaction> transactions = transactionDAO.getAllTransactionsForBackup();
+            // 🗄️ Archived transactions go into the same list (restore puts them back hot;
+            // the next archival run moves them out again)
+            transactions.addAll(archiveDAO.getAllArchivedForBackup());
             List<Budget> budgets = budgetDAO.getAllBudgetsForBackup();
             List<SavingsGoal> savingsGoals = savingsGoalDAO.getAllGoalsForBackup();
             List<SynchronizationLog> syncLogs = syncLogDAO.getAllLogs();
+            List<RecurringRule> recurringRules = recurringRuleDAO.getAllForBackup();
+            List<CategoryRule> categoryRules = categoryRuleDAO.getAllForBackup();
 
             // 2. Create the data structure
             java.util.Map<String, Object> backupData = new java.util.HashMap<>();
@@ -175,6 +183,8 @@ public class FinixRepository {
             backupData.put("budgets", budgets);
             backupData.put("savings_goals", savingsGoals);
             backupData.put("sync_logs", syncLogs);
+            backupData.put("recurring_rules", recurringRules);
+            backupData.put("category_rules", categoryRules);
 
             // 3. Serialize the entire structure to JSON
             String jsonString = gson.toJson(backupData);
@@ -253,10 +263,14 @@ public class FinixRepository {
 
                 // --- FIX: Delete ALL current data in REVERSE dependency order ---
                 // Tables with foreign keys must be deleted first (e.g., Transaction -> Category)
+                archiveDAO.deleteAllRollups();
+                archiveDAO.deleteAllArchived();
                 transactionDAO.deleteAll();
+                transactionDAO.deleteAllFingerprints(); // archived rows' ones are left by the triggers
+                recurringRuleDAO.deleteAll();
+                categoryRuleDAO.deleteAll();
                 budgetDAO.deleteAll();
                 savingsGoalDAO.deleteAll();
-                syncLogDAO.deleteAll();
                 // Parent tables are deleted last
                 categoryDAO.deleteAll();
                 // --- END FIX ---
@@ -276,6 +290,16 @@ public class FinixRepository {
                 List<Transaction> transactions = gson.fromJson(gson.toJson(dataMap.get("transactions")), tranListType);
                 if (transactions != null) transactionDAO.insertAll(transactions);
 
+                // Recurring rules (depend on Category; missing in backups made before rules existed)
+                Type ruleListType = new TypeToken<List<RecurringRule>>() {}.getType();
+                List<RecurringRule> recurringRules = gson.fromJson(gson.toJson(dataMap.get("recurring_rules")), ruleListType);
+                if (recurringRules != null) recurringRuleDAO.insertAll(recurringRules);
+
+                // Keyword rules (depend on Category; missing in older backups)
+                Type categoryRuleListType = new TypeToken<List<CategoryRule>>() {}.getType();
+                List<CategoryRule> categoryRules = gson.fromJson(gson.toJson(dataMap.get("category_rules")), categoryRuleListType);
+                if (categoryRules != null) categoryRuleDAO.insertAll(categoryRules);
+
                 // Budgets (Child table, likely depends on Category/Transaction)
                 Type budListType = new TypeToken<List<Budget>>() {}.getType();
                 List<Budget> budgets = gson.fromJson(gson.toJson(dataMap.get("budgets")), budListType);
@@ -287,15 +311,26 @@ public class FinixRepository {
                 if (savingsGoals != null) savingsGoalDAO.insertAll(savingsGoals);
 
                 // SyncLogs (Generally independent)
+                // Cleared only now: the outbox triggers logged every delete/insert above,
+                // and the backup's own log is the one that should survive.
+                syncLogDAO.deleteAll();
                 Type logListType = new TypeToken<List<SynchronizationLog>>() {}.getType();
                 List<SynchronizationLog> syncLogs = gson.fromJson(gson.toJson(dataMap.get("sync_logs")), logListType);
                 if (syncLogs != null) syncLogDAO.insertAll(syncLogs);
 
+                // 💰 Balance checkpoints: clearing the archive above bypassed the balance triggers
+                BalanceLedger.rebuild(FinixDatabase.getDatabase(context).getOpenHelper().getWritableDatabase());
+
                 // --- END FIX ---
 
                 Log.i(TAG, "Database import transaction successfully completed.");
             });
 
+            // 🏷️ Every transaction was replaced: retrain the category model from the restored data
+            AutoCategorizer categorizer = AutoCategorizer.getInstance(context);
+            categorizer.reset();
+            AutoCategorizer.warmUp(context);
+
             Log.i(TAG, "Restore completed successfully from URI: " + fileUri);
             return true;
 
@@ -334,10 +369,13 @@ public class FinixRepository {
 
         budgetDAO = db.budgetDao(); // NEW
         syncLogDAO = db.synchronizationLogDao();
+        archiveDAO = db.archiveDao();
+        recurringRuleDAO = db.recurringRuleDao();
+        categoryRuleDAO = db.categoryRuleDao();
         Log.d(TAG, "Database and DAOs initialized.");
 
-        executorService = Executors.newFixedThreadPool(4);
-        Log.d(TAG, "ExecutorService initialized with 4 threads.");
+        // 🧵 Sync and backup export block on network/file I/O, so they get their own thread
+        executorService = FinixDatabase.getIoExecutor();
 
         gson = new Gson();
         Log.d(TAG, "Gson instance created for logging.");
@@ -369,7 +407,7 @@ public class FinixRepository {
         // Use Callable and Future to retrieve a value from the background thread
         Callable<List<SynchronizationLog>> callable = () -> syncLogDAO.getAllLogs();
 
-        Future<List<SynchronizationLog>> future = executorService.submit(callable);
+        Future<List<SynchronizationLog>> future = FinixDatabase.getReadExecutor().submit(callable);
 
         try {
             // Wait for the result
@@ -0,0 +1,24 @@
+package com.example.finix.data;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * One month bucket of the trend query (see TransactionDAO.getMonthlyCategoryTotalsSince):
+ * the total of one type/category in one calendar month.
+ */
+public class MonthlyCategoryTotal {
+
+    // "yyyy-MM" in local time, e.g. "2025-10"
+    @ColumnInfo(name = "month")
+    public String month;
+
+    // "Income" or "Expense"
+    @ColumnInfo(name = "type")
+    public String type;
+
+    @ColumnInfo(name = "category_id")
+    public int categoryId;
+
+    @ColumnInfo(name = "total")
+    public double total;
+}
@@ -0,0 +1,49 @@
+package com.example.finix.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+
+/**
+ * Per month / type / category totals of the ARCHIVED transactions only.
+ * Hot rows are never counted here, so hot SUM + rollup SUM is the full figure for a month.
+ */
+@Entity(tableName = "monthly_rollups",
+        primaryKeys = {"month_start", "type", "category_id"})
+public class MonthlyRollup {
+
+    @ColumnInfo(name = "month_start")
+    private long monthStart;
+
+    @ColumnInfo(name = "type")
+    @NonNull
+    private String type = "";
+
+    @ColumnInfo(name = "category_id")
+    private int categoryId;
+
+    @ColumnInfo(name = "total")
+    private double total;
+
+    @ColumnInfo(name = "count")
+    private int count;
+
+    public MonthlyRollup() {}
+
+    // --- Getters and Setters ---
+    public long getMonthStart() { return monthStart; }
+    public void setMonthStart(long monthStart) { this.monthStart = monthStart; }
+
+    @NonNull
+    public String getType() { return type; }
+    public void setType(@NonNull String type) { this.type = type; }
+
+    public int getCategoryId() { return categoryId; }
+    public void setCategoryId(int categoryId) { this.categoryId = categoryId; }
+
+    public double getTotal() { return total; }
+    public void setTotal(double total) { this.total = total; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+}
@@ -0,0 +1,87 @@
+package com.example.finix.data;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * Turns {@link RecurringRule} rows into occurrence dates. Pure calculation, no database access.
+ *
+ * Used by {@link RecurringScheduler} to materialize due occurrences, and by range queries
+ * (see {@link RecurringRepository#projectOccurrences(long, long)}) to add the occurrences that
+ * are not written yet, without storing anything.
+ */
+public final class RecurrenceExpander {
+
+    // Safety cap per rule and call (e.g. a daily rule over a very long range)
+    static final int MAX_OCCURRENCES = 1000;
+    // ...and on the occurrences stepped over before the range starts
+    private static final int MAX_STEPS = 10 * MAX_OCCURRENCES;
+
+    private RecurrenceExpander() {}
+
+    /**
+     * Date of occurrence {@code index} (0 = the start date).
+     */
+    public static long occurrence(RecurringRule rule, int index) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(rule.getStartDate());
+        // Always from the start date, so "31st of every month" comes back to the 31st
+        cal.add(calendarField(rule.getFrequency()), index * Math.max(1, rule.getIntervalCount()));
+        return cal.getTimeInMillis();
+    }
+
+    /**
+     * Date of occurrence {@code index}, or {@link RecurringRule#FINISHED} if it is past the end date.
+     */
+    public static long occurrenceOrFinished(RecurringRule rule, int index) {
+        long date = occurrence(rule, index);
+        return isPastEnd(rule, date) ? RecurringRule.FINISHED : date;
+    }
+
+    /**
+     * Not-yet-written occurrences (index >= next_index) in [start, end), oldest first.
+     */
+    public static List<Long> pendingBetween(RecurringRule rule, long start, long end) {
+        List<Long> dates = new ArrayList<>();
+        int last = rule.getNextIndex() + MAX_STEPS;
+        for (int i = rule.getNextIndex(); i < last && dates.size() < MAX_OCCURRENCES; i++) {
+            long date = occurrence(rule, i);
+            if (date >= end || isPastEnd(rule, date)) break;
+            if (date >= start) dates.add(date);
+        }
+        return dates;
+    }
+
+    /**
+     * Projected (unsaved, local_id 0) transactions of all rules in [start, end).
+     */
+    public static List<Transaction> expand(List<RecurringRule> rules, long start, long end) {
+        List<Transaction> projected = new ArrayList<>();
+        if (rules == null) return projected;
+        for (RecurringRule rule : rules) {
+            for (long date : pendingBetween(rule, start, end)) {
+                projected.add(rule.toTransaction(date));
+            }
+        }
+        return projected;
+    }
+
+    private static boolean isPastEnd(RecurringRule rule, long date) {
+        return rule.getEndDate() != RecurringRule.NO_END && date > rule.getEndDate();
+    }
+
+    private static int calendarField(String frequency) {
+        switch (frequency) {
+            case RecurringRule.DAILY:
+                return Calendar.DAY_OF_MONTH;
+            case RecurringRule.WEEKLY:
+                return Calendar.WEEK_OF_YEAR;
+            case RecurringRule.YEARLY:
+                return Calendar.YEAR;
+            case RecurringRule.MONTHLY:
+            default:
+                return Calendar.MONTH;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.finix.data;
+
+import android.app.Application;
+
+import androidx.lifecycle.LiveData;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * API for recurring rules: add/stop rules, and project their not-yet-written occurrences
+ * into a date range.
+ */
+public class RecurringRepository {
+
+    private final Application application;
+    private final RecurringRuleDAO ruleDao;
+    private final ExecutorService executorService;
+
+    public RecurringRepository(Application application) {
+        this.application = application;
+        ruleDao = FinixDatabase.getDatabase(application).recurringRuleDao();
+        executorService = FinixDatabase.getWriteExecutor(); // shared single writer
+    }
+
+    public LiveData<List<RecurringRule>> getRulesLive() {
+        return ruleDao.getAllLive();
+    }
+
+    // Add a rule; occurrences already due (e.g. the start date is today) are written straight away
+    // (the scheduler also refreshes budget alerts / forecasts for them)
+    public void addRule(RecurringRule rule, Runnable onComplete) {
+        executorService.execute(() -> {
+            ruleDao.insert(rule);
+            new RecurringScheduler(application).materializeDue(System.currentTimeMillis());
+            if (onComplete != null) onComplete.run();
+        });
+    }
+
+    // Stop a rule. Occurrences already written stay as normal transactions.
+    public void deleteRule(RecurringRule rule) {
+        executorService.execute(() -> ruleDao.delete(rule));
+    }
+
+    /**
+     * Occurrences in [start, end) that are not in `transactions` yet, as unsaved transactions
+     * (local_id 0). Add them to a range query's result to include what is scheduled.
+     * Call from a background thread.
+     */
+    public List<Transaction> projectOccurrences(long start, long end) {
+        return RecurrenceExpander.expand(ruleDao.getRulesPendingIn(start, end), start, end);
+    }
+}
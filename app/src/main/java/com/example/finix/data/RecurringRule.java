@@ -0,0 +1,137 @@
+package com.example.finix.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * A repeating income/expense (salary, rent, subscriptions) stored as ONE row instead of
+ * pre-generated future transactions.
+ *
+ * Occurrence n (0-based) falls on start_date + n * interval_count frequency units, always counted
+ * from start_date so month-end dates don't drift (31 Jan -> 28 Feb -> 31 Mar).
+ * Occurrences before next_index have already been written to `transactions` by
+ * {@link RecurringScheduler}; later ones are only projected (see {@link RecurrenceExpander}).
+ */
+@Entity(tableName = "recurring_rules",
+        foreignKeys = @ForeignKey(entity = Category.class,
+                parentColumns = "local_id",
+                childColumns = "category_id",
+                onDelete = ForeignKey.CASCADE), // A deleted category takes its rules with it
+        indices = {@Index(value = {"category_id"}),
+                // Scheduler: WHERE next_due <= now
+                @Index(value = {"next_due"})})
+public class RecurringRule {
+
+    public static final String DAILY = "DAILY";
+    public static final String WEEKLY = "WEEKLY";
+    public static final String MONTHLY = "MONTHLY";
+    public static final String YEARLY = "YEARLY";
+
+    // No end date
+    public static final long NO_END = 0;
+    // next_due of a rule with no occurrences left (past its end date)
+    public static final long FINISHED = Long.MAX_VALUE;
+
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "local_id")
+    private int localId;
+
+    @ColumnInfo(name = "amount")
+    private double amount;
+
+    @ColumnInfo(name = "type")
+    private String type;
+
+    @ColumnInfo(name = "category_id")
+    private int categoryId;
+
+    @ColumnInfo(name = "description")
+    private String description;
+
+    @ColumnInfo(name = "frequency")
+    @NonNull
+    private String frequency = MONTHLY;
+
+    // Every N days/weeks/months/years
+    @ColumnInfo(name = "interval_count", defaultValue = "1")
+    private int intervalCount = 1;
+
+    @ColumnInfo(name = "start_date")
+    private long startDate;
+
+    // Last moment an occurrence may fall on (inclusive), NO_END for open-ended rules
+    @ColumnInfo(name = "end_date", defaultValue = "0")
+    private long endDate;
+
+    // Index of the first occurrence not written to `transactions` yet
+    @ColumnInfo(name = "next_index", defaultValue = "0")
+    private int nextIndex;
+
+    // Date of occurrence next_index (FINISHED when there is none)
+    @ColumnInfo(name = "next_due")
+    private long nextDue;
+
+    public RecurringRule() {}
+
+    @Ignore
+    public RecurringRule(double amount, String type, int categoryId, String description,
+                         @NonNull String frequency, int intervalCount, long startDate, long endDate) {
+        this.amount = amount;
+        this.type = type;
+        this.categoryId = categoryId;
+        this.description = description;
+        this.frequency = frequency;
+        this.intervalCount = Math.max(1, intervalCount);
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.nextIndex = 0;
+        this.nextDue = startDate; // The first occurrence is the start date itself
+    }
+
+    /**
+     * The transaction for one occurrence of this rule.
+     */
+    public Transaction toTransaction(long dateTime) {
+        return new Transaction(amount, type, categoryId, dateTime, description);
+    }
+
+    // --- Getters and Setters ---
+    public int getLocalId() { return localId; }
+    public void setLocalId(int localId) { this.localId = localId; }
+
+    public double getAmount() { return amount; }
+    public void setAmount(double amount) { this.amount = amount; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public int getCategoryId() { return categoryId; }
+    public void setCategoryId(int categoryId) { this.categoryId = categoryId; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    @NonNull
+    public String getFrequency() { return frequency; }
+    public void setFrequency(@NonNull String frequency) { this.frequency = frequency; }
+
+    public int getIntervalCount() { return intervalCount; }
+    public void setIntervalCount(int intervalCount) { this.intervalCount = intervalCount; }
+
+    public long getStartDate() { return startDate; }
+    public void setStartDate(long startDate) { this.startDate = startDate; }
+
+    public long getEndDate() { return endDate; }
+    public void setEndDate(long endDate) { this.endDate = endDate; }
+
+    public int getNextIndex() { return nextIndex; }
+    public void setNextIndex(int nextIndex) { this.nextIndex = nextIndex; }
+
+    public long getNextDue() { return nextDue; }
+    public void setNextDue(long nextDue) { this.nextDue = nextDue; }
+}
@@ -0,0 +1,48 @@
+package com.example.finix.data;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Delete;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Update;
+
+import java.util.List;
+
+@Dao
+public interface RecurringRuleDAO {
+
+    @Insert
+    long insert(RecurringRule rule);
+
+    @Update
+    void update(RecurringRule rule);
+
+    @Delete
+    void delete(RecurringRule rule);
+
+    // 📋 All rules, next occurrence first (finished rules last)
+    @Query("SELECT * FROM recurring_rules ORDER BY next_due ASC")
+    LiveData<List<RecurringRule>> getAllLive();
+
+    // ⏰ Rules with an occurrence due by :now (uses the next_due index)
+    @Query("SELECT * FROM recurring_rules WHERE next_due <= :now ORDER BY next_due ASC LIMIT :limit")
+    List<RecurringRule> getDueRules(long now, int limit);
+
+    // 🔮 Rules that may still have unwritten occurrences in [start, end)
+    @Query("SELECT * FROM recurring_rules WHERE next_due < :end " +
+            "AND (end_date = 0 OR end_date >= :start)")
+    List<RecurringRule> getRulesPendingIn(long start, long end);
+
+    // --- Backup / Restore ---
+
+    @Query("SELECT * FROM recurring_rules")
+    List<RecurringRule> getAllForBackup();
+
+    @Query("DELETE FROM recurring_rules")
+    void deleteAll();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertAll(List<RecurringRule> rules);
+}
@@ -0,0 +1,96 @@
+package com.example.finix.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lazy materialization of {@link RecurringRule}s: occurrences become real `transactions` rows
+ * only once they are due, so storage and sync volume follow real activity instead of how far
+ * ahead a rule reaches.
+ *
+ * Due occurrences are written in batches, each batch in one SQLite transaction together with
+ * the rule's new next_index/next_due, so a crash never writes an occurrence twice.
+ */
+public class RecurringScheduler {
+
+    private static final String TAG = "RecurringScheduler";
+
+    // Occurrences per SQLite transaction (keeps the write lock short after a long absence)
+    static final int BATCH_SIZE = 200;
+    // Due rules read per query
+    private static final int RULES_PER_QUERY = 50;
+
+    private final FinixDatabase db;
+    private final RecurringRuleDAO ruleDao;
+    private final TransactionDAO transactionDao;
+    private final BudgetAlertTracker budgetAlerts;
+    private final BudgetForecaster forecaster;
+
+    public RecurringScheduler(Context context) {
+        db = FinixDatabase.getDatabase(context);
+        ruleDao = db.recurringRuleDao();
+        transactionDao = db.transactionDao();
+        budgetAlerts = BudgetAlertTracker.getInstance(context);
+        forecaster = BudgetForecaster.getInstance(context);
+    }
+
+    /**
+     * Materializes everything due by now on the database writer thread. Cheap when nothing is
+     * due (one indexed query), so it can run on every app start and after a rule is added.
+     */
+    public static void runNow(Context context) {
+        Context appContext = context.getApplicationContext();
+        FinixDatabase.getWriteExecutor().execute(() -> {
+            try {
+                int written = new RecurringScheduler(appContext).materializeDue(System.currentTimeMillis());
+                if (written > 0) Log.i(TAG, "Materialized " + written + " recurring transactions");
+            } catch (Exception e) {
+                Log.e(TAG, "Recurring materialization failed", e);
+            }
+        });
+    }
+
+    /**
+     * Writes every occurrence dated at or before {@code now}, then refreshes the budget alerts
+     * and forecasts if anything was written (whoever called it: app start or a new rule).
+     * Call from the writer thread.
+     * @return number of transactions written
+     */
+    public int materializeDue(long now) {
+        int written = 0;
+        List<RecurringRule> due;
+        while (!(due = ruleDao.getDueRules(now, RULES_PER_QUERY)).isEmpty()) {
+            for (RecurringRule rule : due) {
+                written += materializeBatch(rule, now);
+            }
+        }
+        if (written > 0) budgetAlerts.refresh(); // 🔔 due bills count too
+        return written;
+    }
+
+    // One batch of one rule. Always moves next_due forward, so the loop above ends.
+    private int materializeBatch(RecurringRule rule, long now) {
+        List<Transaction> batch = new ArrayList<>();
+        int index = rule.getNextIndex();
+        long date = RecurrenceExpander.occurrenceOrFinished(rule, index);
+        while (date <= now && batch.size() < BATCH_SIZE) {
+            batch.add(rule.toTransaction(date));
+            index++;
+            date = RecurrenceExpander.occurrenceOrFinished(rule, index);
+        }
+
+        rule.setNextIndex(index);
+        rule.setNextDue(date);
+        // The outbox insert trigger queues each new row as PENDING
+        db.runInTransaction(() -> {
+            if (!batch.isEmpty()) transactionDao.insertAll(batch);
+            ruleDao.update(rule);
+        });
+        forecaster.onTransactionsChanged(Collections.emptyList(), batch); // 📈 burn rate
+        return batch.size();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.finix.data;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface SearchDAO {
+
+    // Number of matched terms in an FTS4 row: offsets() yields 4 space-separated integers per match.
+    String CATEGORY_SCORE = "((length(offsets(categories_fts)) - length(replace(offsets(categories_fts), ' ', '')) + 1) / 4)";
+    String TRANSACTION_SCORE = "((length(offsets(transactions_fts)) - length(replace(offsets(transactions_fts), ' ', '')) + 1) / 4)";
+    String ARCHIVE_SCORE = "((length(offsets(transactions_archive_fts)) - length(replace(offsets(transactions_archive_fts), ' ', '')) + 1) / 4)";
+
+    // 🔍 Combined search over category names and transaction descriptions (hot + archived).
+    // :match must be an FTS MATCH expression (see SearchRepository.toPrefixMatch).
+    // Categories rank above transactions, then by matched terms, then newest first; archived
+    // rows rank with the hot ones, so an old exact match still beats a recent partial one.
+    @Query("SELECT * FROM (" +
+            "SELECT 'categories' AS source, c.local_id AS local_id, c.local_id AS category_id, c.name AS title, " +
+            "NULL AS amount, NULL AS type, NULL AS date_time, " + CATEGORY_SCORE + " AS score " +
+            "FROM categories_fts JOIN categories c ON c.local_id = categories_fts.rowid " +
+            "WHERE categories_fts MATCH :match " +
+            "UNION ALL " +
+            "SELECT 'transactions', t.local_id, t.category_id, t.description, t.amount, t.type, t.date_time, " + TRANSACTION_SCORE + " " +
+            "FROM transactions_fts JOIN transactions t ON t.local_id = transactions_fts.rowid " +
+            "WHERE transactions_fts MATCH :match " +
+            "UNION ALL " +
+            "SELECT 'transactions_archive', a.local_id, a.category_id, a.description, a.amount, a.type, a.date_time, " + ARCHIVE_SCORE + " " +
+            "FROM transactions_archive_fts JOIN transactions_archive a ON a.local_id = transactions_archive_fts.rowid " +
+            "WHERE transactions_archive_fts MATCH :match) " +
+            "ORDER BY source = 'categories' DESC, score DESC, date_time DESC, local_id DESC " +
+            "LIMIT :limit OFFSET :offset")
+    List<SearchResult> search(String match, int limit, int offset);
+}
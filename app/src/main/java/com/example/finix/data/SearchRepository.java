@@ -0,0 +1,65 @@
+package com.example.finix.data;
+
+import android.content.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Full-text search over the FTS4 indexes (categories_fts, transactions_fts,
+ * transactions_archive_fts). The Transactions lists filter by text through
+ * {@link TransactionQuerySpec#withText}, which uses the same {@link #toPrefixMatch} expression.
+ */
+public class SearchRepository {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final SearchDAO searchDao;
+    private final TransactionDAO transactionDao;
+
+    public SearchRepository(Context context) {
+        FinixDatabase db = FinixDatabase.getDatabase(context);
+        searchDao = db.searchDao();
+        transactionDao = db.transactionDao();
+    }
+
+    /**
+     * Runs the combined category/transaction search. Must be called off the main thread.
+     * @param query Free text typed by the user (e.g. "groc sup").
+     * @param page Zero-based page index.
+     * @param pageSize Number of hits per page.
+     * @return Ranked hits, or an empty list if the query has no searchable terms.
+     */
+    public List<SearchResult> search(String query, int page, int pageSize) {
+        String match = toPrefixMatch(query);
+        if (match == null) return new ArrayList<>();
+        return searchDao.search(match, pageSize, page * pageSize);
+    }
+
+    /**
+     * Transactions (hot + archived) whose description matches, newest first. Off the main thread.
+     */
+    public List<Transaction> searchTransactions(String query, int page, int pageSize) {
+        String match = toPrefixMatch(query);
+        if (match == null) return new ArrayList<>();
+        return transactionDao.searchByDescription(match, pageSize, page * pageSize);
+    }
+
+    /**
+     * Turns free text into an FTS MATCH expression where every term is a prefix match,
+     * e.g. "Groc  sup!" becomes "groc* sup*". FTS operators/quotes typed by the user are stripped.
+     * @return The MATCH expression, or null if no terms remain.
+     */
+    public static String toPrefixMatch(String query) {
+        if (query == null) return null;
+
+        StringBuilder match = new StringBuilder();
+        for (String term : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (term.isEmpty()) continue;
+            if (match.length() > 0) match.append(' ');
+            match.append(term).append('*');
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+}
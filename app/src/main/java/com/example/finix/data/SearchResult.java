@@ -0,0 +1,45 @@
+package com.example.finix.data;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * One hit from the combined full-text search (see SearchDAO).
+ * A hit is either a category (amount/type/dateTime are null) or a transaction, hot or archived.
+ */
+public class SearchResult {
+
+    public static final String SOURCE_CATEGORY = "categories";
+    public static final String SOURCE_TRANSACTION = "transactions";
+    public static final String SOURCE_ARCHIVED_TRANSACTION = "transactions_archive";
+
+    // "categories", "transactions" or "transactions_archive" (the table the row lives in)
+    @ColumnInfo(name = "source")
+    public String source;
+
+    // local_id of the matching row in its source table
+    @ColumnInfo(name = "local_id")
+    public int localId;
+
+    // The transaction's category (for a category hit: the category itself)
+    @ColumnInfo(name = "category_id")
+    public int categoryId;
+
+    // Category name or transaction description
+    @ColumnInfo(name = "title")
+    public String title;
+
+    @ColumnInfo(name = "amount")
+    public Double amount;
+
+    @ColumnInfo(name = "type")
+    public String type;
+
+    @ColumnInfo(name = "date_time")
+    public Long dateTime;
+
+    // Number of matched terms in the row (higher ranks first)
+    @ColumnInfo(name = "score")
+    public int score;
+
+    public boolean isCategory() { return SOURCE_CATEGORY.equals(source); }
+}
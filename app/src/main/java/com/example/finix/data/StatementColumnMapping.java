@@ -0,0 +1,55 @@
+package com.example.finix.data;
+
+import java.util.Locale;
+
+/**
+ * Describes how the columns of a CSV bank statement map onto a {@link Transaction}.
+ * Columns are zero-based; -1 means "not present". OFX files ignore everything here
+ * except {@link #defaultCategory}.
+ */
+public class StatementColumnMapping {
+
+    public static final int NONE = -1;
+
+    // Required
+    public int dateColumn = 0;
+    public int descriptionColumn = 1;
+
+    // Either a single signed amount column (negative = Expense) ...
+    public int amountColumn = 2;
+    // ... or separate debit/credit columns (used when amountColumn is NONE)
+    public int debitColumn = NONE;
+    public int creditColumn = NONE;
+
+    // Optional
+    public int categoryColumn = NONE;
+    public int typeColumn = NONE; // values starting with "inc"/"cr" => Income, anything else => Expense
+
+    public char delimiter = ',';
+    public boolean hasHeaderRow = true;
+    public String datePattern = "yyyy-MM-dd";
+    public Locale locale = Locale.getDefault();
+
+    // Used when a row has no category (or the mapping has no category column)
+    public String defaultCategory = "Imported";
+
+    /**
+     * Default layout: Date, Description, Amount[, Category] with a header row.
+     */
+    public static StatementColumnMapping defaults() {
+        StatementColumnMapping mapping = new StatementColumnMapping();
+        mapping.categoryColumn = 3;
+        return mapping;
+    }
+
+    /**
+     * Largest column index this mapping reads; shorter rows are skipped.
+     */
+    int maxColumn() {
+        int max = Math.max(dateColumn, descriptionColumn);
+        max = Math.max(max, amountColumn);
+        max = Math.max(max, debitColumn);
+        max = Math.max(max, creditColumn);
+        return max;
+    }
+}
@@ -0,0 +1,601 @@
+package com.example.finix.data;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * Imports bank statements (CSV or OFX) into the transactions table.
+ *
+ * The file is streamed through the ContentResolver and written in chunks of
+ * {@link #BATCH_SIZE} rows, one Room transaction per chunk, so memory use stays flat
+ * no matter how long the statement is. The sync_log rows for the new records are
+ * written by the outbox triggers inside the same chunk transaction.
+ *
+ * Call {@link #importStatement} from a background thread other than the database writer: the
+ * file is read and parsed on the caller's thread and only each chunk's write (and the odd new
+ * category) is handed to {@link FinixDatabase#getWriteExecutor()}, so other saves in the app
+ * slot in between chunks instead of waiting for the whole file.
+ */
+public class StatementImporter {
+
+    private static final String TAG = "StatementImporter";
+    static final int BATCH_SIZE = 500;
+
+    public interface ProgressListener {
+        /**
+         * @param rowsImported rows written so far
+         * @param percent      0-100 based on bytes read, or -1 if the file size is unknown
+         */
+        void onProgress(int rowsImported, int percent);
+    }
+
+    public static class Result {
+        public final int imported;
+        public final int skipped;
+        // Rows already saved (e.g. the same statement imported twice)
+        public final int duplicates;
+        public final int categoriesCreated;
+
+        Result(int imported, int skipped, int duplicates, int categoriesCreated) {
+            this.imported = imported;
+            this.skipped = skipped;
+            this.duplicates = duplicates;
+            this.categoriesCreated = categoriesCreated;
+        }
+    }
+
+    private final ContentResolver resolver;
+    private final FinixDatabase db;
+    private final TransactionDAO transactionDao;
+    private final CategoryDAO categoryDao;
+    private final AutoCategorizer categorizer;
+    private final BudgetAlertTracker budgetAlerts;
+    private final BudgetForecaster forecaster;
+
+    // Lower-cased category name -> local_id, filled once and extended as categories are created
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private int categoriesCreated;
+
+    public StatementImporter(Context context) {
+        resolver = context.getContentResolver();
+        db = FinixDatabase.getDatabase(context);
+        transactionDao = db.transactionDao();
+        categoryDao = db.categoryDao();
+        categorizer = AutoCategorizer.getInstance(context);
+        budgetAlerts = BudgetAlertTracker.getInstance(context);
+        forecaster = BudgetForecaster.getInstance(context);
+    }
+
+    /**
+     * Streams the statement at {@code uri} into the database.
+     *
+     * @throws IOException if the file cannot be opened or read. Rows already written stay
+     *                     written (each chunk commits on its own).
+     */
+    public Result importStatement(@NonNull Uri uri, @NonNull StatementColumnMapping mapping,
+                                  @Nullable ProgressListener listener) throws IOException {
+        categoryIds.clear();
+        categoriesCreated = 0;
+        for (Category c : categoryDao.getAllCategories()) {
+            categoryIds.put(c.getName().toLowerCase(Locale.ROOT), c.getLocalId());
+        }
+        // 🏷️ Model loaded once up front; each row is then categorized in memory as it streams by
+        onWriter(() -> {
+            categorizer.catchUp();
+            return null;
+        });
+
+        long totalBytes = fileSize(uri);
+        InputStream raw = resolver.openInputStream(uri);
+        if (raw == null) throw new IOException("Cannot open " + uri);
+
+        try (CountingInputStream in = new CountingInputStream(raw);
+             PushbackReader reader = new PushbackReader(
+                     new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), 16)) {
+
+            BatchWriter writer = new BatchWriter(in, totalBytes, listener);
+            if (looksLikeOfx(reader)) {
+                readOfx(reader, mapping, writer);
+            } else {
+                readCsv(reader, mapping, writer);
+            }
+            writer.flush();
+            onWriter(() -> {
+                categorizer.catchUp(); // learn the imported rows
+                budgetAlerts.refresh(); // 🔔 thresholds crossed by the imported expenses
+                return null;
+            });
+
+            Log.i(TAG, "Import finished: " + writer.imported + " imported, " + writer.skipped + " skipped, "
+                    + writer.duplicates + " duplicates");
+            return new Result(writer.imported, writer.skipped, writer.duplicates, categoriesCreated);
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // CSV
+    // ---------------------------------------------------------------------------------------------
+
+    private void readCsv(Reader reader, StatementColumnMapping mapping, BatchWriter writer) throws IOException {
+        SimpleDateFormat dateFormat = new SimpleDateFormat(mapping.datePattern, mapping.locale);
+        dateFormat.setLenient(false);
+
+        List<String> fields = new ArrayList<>();
+        boolean header = mapping.hasHeaderRow;
+
+        while (readCsvRecord(reader, mapping.delimiter, fields)) {
+            if (header) { header = false; continue; }
+            if (fields.size() == 1 && fields.get(0).trim().isEmpty()) continue; // blank line
+
+            Transaction t = csvRowToTransaction(fields, mapping, dateFormat);
+            if (t == null) writer.skip();
+            else writer.add(t);
+        }
+    }
+
+    /**
+     * Reads one RFC 4180 record into {@code out}: quoted fields, "" escapes and line breaks
+     * inside quotes are supported. Returns false at end of input.
+     */
+    static boolean readCsvRecord(Reader reader, char delimiter, List<String> out) throws IOException {
+        out.clear();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean sawAny = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            sawAny = true;
+            char ch = (char) c;
+            if (inQuotes) {
+                if (ch == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (next == -1) break;
+                        ch = (char) next;
+                        // fall through to the unquoted handling of the char after the quote
+                        if (ch == delimiter) { out.add(field.toString()); field.setLength(0); continue; }
+                        if (ch == '\n') { out.add(field.toString()); return true; }
+                        if (ch != '\r') field.append(ch);
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"' && field.length() == 0) {
+                inQuotes = true;
+            } else if (ch == delimiter) {
+                out.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                out.add(field.toString());
+                return true;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+        }
+
+        if (!sawAny) return false;
+        out.add(field.toString());
+        return true;
+    }
+
+    @Nullable
+    private Transaction csvRowToTransaction(List<String> row, StatementColumnMapping m, SimpleDateFormat dateFormat)
+            throws IOException {
+        if (row.size() <= m.maxColumn()) return null;
+
+        try {
+            long dateTime = dateFormat.parse(row.get(m.dateColumn).trim()).getTime();
+
+            double signed;
+            if (m.amountColumn != StatementColumnMapping.NONE) {
+                signed = parseAmount(row.get(m.amountColumn), m.locale);
+            } else {
+                double debit = m.debitColumn != StatementColumnMapping.NONE ? parseAmountOrZero(row.get(m.debitColumn), m.locale) : 0;
+                double credit = m.creditColumn != StatementColumnMapping.NONE ? parseAmountOrZero(row.get(m.creditColumn), m.locale) : 0;
+                signed = credit - Math.abs(debit);
+            }
+
+            String type;
+            if (m.typeColumn != StatementColumnMapping.NONE && m.typeColumn < row.size()) {
+                String raw = row.get(m.typeColumn).trim().toLowerCase(Locale.ROOT);
+                type = raw.startsWith("inc") || raw.startsWith("cr") ? "Income" : "Expense";
+            } else {
+                type = signed < 0 ? "Expense" : "Income";
+            }
+
+            String categoryName = null;
+            if (m.categoryColumn != StatementColumnMapping.NONE && m.categoryColumn < row.size()) {
+                categoryName = row.get(m.categoryColumn).trim();
+            }
+
+            String description = row.get(m.descriptionColumn).trim();
+            return new Transaction(Math.abs(signed), type, resolveCategory(categoryName, description, m), dateTime, description);
+        } catch (ParseException | NumberFormatException | NullPointerException e) {
+            return null; // bad row, counted as skipped
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // OFX (SGML v1 and XML v2 - only the <STMTTRN> blocks are read)
+    // ---------------------------------------------------------------------------------------------
+
+    private static boolean looksLikeOfx(PushbackReader reader) throws IOException {
+        char[] head = new char[16];
+        int n = reader.read(head, 0, head.length);
+        if (n <= 0) return false;
+        int bom = head[0] == '\uFEFF' ? 1 : 0; // drop a UTF-8 byte order mark
+        reader.unread(head, bom, n - bom);
+        String start = new String(head, bom, n - bom).trim().toUpperCase(Locale.ROOT);
+        return start.startsWith("OFXHEADER") || start.startsWith("<?XML") || start.startsWith("<OFX");
+    }
+
+    private void readOfx(Reader reader, StatementColumnMapping mapping, BatchWriter writer) throws IOException {
+        String amount = null, posted = null, name = null, memo = null;
+        boolean inTransaction = false;
+
+        StringBuilder tag = new StringBuilder();
+        StringBuilder value = new StringBuilder();
+        int c = reader.read();
+
+        while (c != -1) {
+            if (c != '<') { c = reader.read(); continue; }
+
+            // Tag name
+            tag.setLength(0);
+            while ((c = reader.read()) != -1 && c != '>') tag.append((char) c);
+            String tagName = tag.toString().trim().toUpperCase(Locale.ROOT);
+
+            // Value up to the next tag (SGML leaves most tags unclosed)
+            value.setLength(0);
+            while ((c = reader.read()) != -1 && c != '<') value.append((char) c);
+            String text = value.toString().trim();
+
+            switch (tagName) {
+                case "STMTTRN":
+                    inTransaction = true;
+                    amount = posted = name = memo = null;
+                    break;
+                case "/STMTTRN":
+                    if (inTransaction) {
+                        Transaction t = ofxToTransaction(amount, posted, name, memo, mapping);
+                        if (t == null) writer.skip();
+                        else writer.add(t);
+                    }
+                    inTransaction = false;
+                    break;
+                case "TRNAMT":
+                    if (inTransaction) amount = text;
+                    break;
+                case "DTPOSTED":
+                    if (inTransaction) posted = text;
+                    break;
+                case "NAME":
+                    if (inTransaction) name = text;
+                    break;
+                case "MEMO":
+                    if (inTransaction) memo = text;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    @Nullable
+    private Transaction ofxToTransaction(String amount, String posted, String name, String memo,
+                                         StatementColumnMapping mapping) throws IOException {
+        if (amount == null || posted == null) return null;
+        try {
+            double signed = parseAmount(amount, Locale.ROOT); // OFX amounts always use '.'
+            long dateTime = parseOfxDate(posted);
+            String description = name != null && !name.isEmpty() ? name : (memo != null ? memo : "");
+            return new Transaction(Math.abs(signed), signed < 0 ? "Expense" : "Income",
+                    resolveCategory(null, description, mapping), dateTime, description);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    // OFX dates: YYYYMMDD[HHMMSS[.XXX]][[+-]offset:TZ]. A date and time is read in the zone of its
+    // GMT offset (hours, may be fractional: "[-5:EST]", "[+5.5:IST]"), or local time without one.
+    // A bare date is a calendar day and stays at local midnight, like CSV dates.
+    static long parseOfxDate(String raw) {
+        String digits = raw.length() >= 14 ? raw.substring(0, 14) : raw.substring(0, 8);
+        boolean hasTime = digits.length() == 14 && digits.chars().allMatch(Character::isDigit);
+        if (!hasTime) digits = digits.substring(0, 8);
+
+        Calendar cal = Calendar.getInstance(hasTime ? ofxZone(raw) : TimeZone.getDefault());
+        cal.clear();
+        cal.set(Integer.parseInt(digits.substring(0, 4)),
+                Integer.parseInt(digits.substring(4, 6)) - 1,
+                Integer.parseInt(digits.substring(6, 8)));
+        if (hasTime) {
+            cal.set(Calendar.HOUR_OF_DAY, Integer.parseInt(digits.substring(8, 10)));
+            cal.set(Calendar.MINUTE, Integer.parseInt(digits.substring(10, 12)));
+            cal.set(Calendar.SECOND, Integer.parseInt(digits.substring(12, 14)));
+        }
+        return cal.getTimeInMillis();
+    }
+
+    // Zone of the "[offset:TZ]" suffix; the device's zone if there is none or it can't be read
+    private static TimeZone ofxZone(String raw) {
+        int open = raw.indexOf('[');
+        if (open < 0) return TimeZone.getDefault();
+        int end = raw.length();
+        for (char stop : new char[]{':', ']'}) {
+            int i = raw.indexOf(stop, open);
+            if (i >= 0) end = Math.min(end, i);
+        }
+        try {
+            double hours = Double.parseDouble(raw.substring(open + 1, end).trim());
+            return new SimpleTimeZone((int) Math.round(hours * 60 * 60 * 1000), "OFX");
+        } catch (NumberFormatException e) {
+            return TimeZone.getDefault();
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Maps a row's category name to its local_id, creating the category (on the writer) the first
+     * time it is seen. No category column (or an empty cell): the auto-categorizer's guess, else
+     * the mapping's default category.
+     */
+    private int resolveCategory(@Nullable String name, String description, StatementColumnMapping mapping)
+            throws IOException {
+        if (name == null || name.isEmpty()) {
+            int suggested = categorizer.suggest(description);
+            if (categoryIds.containsValue(suggested)) return suggested;
+        }
+        String categoryName = name == null || name.isEmpty() ? mapping.defaultCategory : name;
+        String key = categoryName.toLowerCase(Locale.ROOT);
+
+        Integer id = categoryIds.get(key);
+        if (id == null) {
+            id = onWriter(() -> (int) categoryDao.insert(new Category(categoryName)));
+            categoryIds.put(key, id);
+            categoriesCreated++;
+        }
+        return id;
+    }
+
+    // Currency symbol / code before or after the number: "Rs.", "LKR", "$", "USD", "€"
+    private static final Pattern LEADING_CURRENCY = Pattern.compile("^[\\p{L}\\p{Sc}]+\\.?\\s*");
+    private static final Pattern TRAILING_CURRENCY = Pattern.compile("\\s*[\\p{L}\\p{Sc}]+\\.?$");
+    // Spaces (incl. no-break ones) and apostrophes are only ever grouping
+    private static final Pattern GROUPING_SPACES = Pattern.compile("[\\s\\u00A0\\u202F']");
+    private static final Pattern PLAIN_NUMBER = Pattern.compile("\\d+(\\.\\d+)?|\\.\\d+");
+
+    /**
+     * Parses a statement amount. Accepts "1,234.50", "1.234,50", "(45.00)", "-45", "45.00-",
+     * "Rs. 1200", "Rs. 1,200.50", "LKR 1200", "1 234,50 €" etc.
+     *
+     * When '.' and ',' both appear, the last one is the decimal separator. A single separator
+     * followed by exactly three digits that isn't {@code locale}'s decimal separator is grouping
+     * ("1,234" in English, "1.234" in German); otherwise it is the decimal point ("12,50").
+     *
+     * @throws NumberFormatException if no amount can be read (the row is then skipped)
+     */
+    static double parseAmount(String raw, Locale locale) {
+        String s = raw.trim();
+        boolean negative = false;
+        if (s.startsWith("(") && s.endsWith(")")) {
+            negative = true;
+            s = s.substring(1, s.length() - 1).trim();
+        }
+        // Sign before or after the currency ("-Rs. 45", "Rs. -45") or trailing ("45.00-")
+        for (int pass = 0; pass < 2; pass++) {
+            if (s.startsWith("-") || s.startsWith("+")) {
+                negative |= s.charAt(0) == '-';
+                s = s.substring(1).trim();
+            }
+            s = LEADING_CURRENCY.matcher(s).replaceFirst("");
+        }
+        s = TRAILING_CURRENCY.matcher(s).replaceFirst("");
+        if (s.endsWith("-")) {
+            negative = true;
+            s = s.substring(0, s.length() - 1);
+        }
+        s = GROUPING_SPACES.matcher(s).replaceAll("");
+
+        int lastDot = s.lastIndexOf('.');
+        int lastComma = s.lastIndexOf(',');
+        char decimal;
+        if (lastDot >= 0 && lastComma >= 0) {
+            decimal = lastDot > lastComma ? '.' : ',';
+        } else if (lastDot >= 0 || lastComma >= 0) {
+            char sep = lastDot >= 0 ? '.' : ',';
+            int at = Math.max(lastDot, lastComma);
+            boolean repeated = s.indexOf(sep) != at;
+            boolean groupingLike = s.length() - at - 1 == 3
+                    && sep != DecimalFormatSymbols.getInstance(locale).getDecimalSeparator();
+            decimal = repeated || groupingLike ? 0 : sep;
+        } else {
+            decimal = 0;
+        }
+
+        StringBuilder plain = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch == decimal) plain.append('.');
+            else if (ch != '.' && ch != ',') plain.append(ch);
+        }
+        if (!PLAIN_NUMBER.matcher(plain).matches()) {
+            throw new NumberFormatException("No amount in '" + raw + "'");
+        }
+        double value = Double.parseDouble(plain.toString());
+        return negative ? -value : value;
+    }
+
+    private static double parseAmountOrZero(String raw, Locale locale) {
+        return raw == null || raw.trim().isEmpty() ? 0 : parseAmount(raw, locale);
+    }
+
+    // Runs a write on the single writer thread and waits for it
+    private static <T> T onWriter(Callable<T> task) throws IOException {
+        try {
+            return FinixDatabase.getWriteExecutor().submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException("Import write failed", cause);
+        }
+    }
+
+    private long fileSize(Uri uri) {
+        try (AssetFileDescriptor afd = resolver.openAssetFileDescriptor(uri, "r")) {
+            return afd != null ? afd.getLength() : AssetFileDescriptor.UNKNOWN_LENGTH;
+        } catch (IOException | SecurityException e) {
+            return AssetFileDescriptor.UNKNOWN_LENGTH;
+        }
+    }
+
+    /**
+     * Collects rows and writes them {@link #BATCH_SIZE} at a time, one transaction per chunk.
+     *
+     * Rows already in the database are dropped, so importing the same file again adds nothing.
+     * Identical rows within the file (two coffees on the same day) are legit: the n-th copy is
+     * only written while fewer than n copies are saved.
+     */
+    private class BatchWriter {
+        private final List<Transaction> batch = new ArrayList<>(BATCH_SIZE);
+        // Fingerprint key -> copies seen so far in this file
+        private final Map<String, Integer> seenInFile = new HashMap<>();
+        private final CountingInputStream in;
+        private final long totalBytes;
+        private final ProgressListener listener;
+        int imported;
+        int skipped;
+        int duplicates;
+
+        BatchWriter(CountingInputStream in, long totalBytes, ProgressListener listener) {
+            this.in = in;
+            this.totalBytes = totalBytes;
+            this.listener = listener;
+        }
+
+        void add(Transaction t) throws IOException {
+            batch.add(t);
+            if (batch.size() >= BATCH_SIZE) flush();
+        }
+
+        void skip() {
+            skipped++;
+        }
+
+        // The chunk is written on the writer thread; parsing waits for it, so memory stays flat
+        void flush() throws IOException {
+            if (!batch.isEmpty()) {
+                onWriter(() -> {
+                    List<Transaction> fresh = db.runInTransaction(() -> {
+                        List<Transaction> rows = dropDuplicates();
+                        if (!rows.isEmpty()) transactionDao.insertAll(rows);
+                        return rows;
+                    });
+                    imported += fresh.size();
+                    forecaster.onTransactionsChanged(Collections.emptyList(), fresh); // 📈 the chunk just committed
+                    return null;
+                });
+                batch.clear();
+            }
+            if (listener != null) {
+                int percent = totalBytes > 0 ? (int) Math.min(100, in.count * 100 / totalBytes) : -1;
+                listener.onProgress(imported, percent);
+            }
+        }
+
+        // The chunk's rows that are not saved yet. One index lookup per distinct row (the count
+        // also sees rows written by earlier chunks); the n-th copy in the file is new once the
+        // database held fewer than n copies when the chunk started.
+        private List<Transaction> dropDuplicates() {
+            List<Transaction> fresh = new ArrayList<>(batch.size());
+            Map<String, Integer> savedAtStart = new HashMap<>();
+            for (Transaction t : batch) {
+                String key = TransactionFingerprints.key(t);
+                int copy = seenInFile.merge(key, 1, Integer::sum);
+                Integer saved = savedAtStart.get(key);
+                if (saved == null) {
+                    saved = transactionDao.countDuplicates(t.getType(), t.getCategoryId(),
+                            t.getDateTime(), t.getAmount(), t.getDescription());
+                    savedAtStart.put(key, saved);
+                }
+                if (copy > saved) {
+                    fresh.add(t);
+                } else {
+                    duplicates++;
+                }
+            }
+            return fresh;
+        }
+    }
+
+    // Counts bytes pulled from the file so progress can be reported without knowing the row count
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
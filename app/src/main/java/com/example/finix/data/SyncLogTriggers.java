@@ -0,0 +1,87 @@
+package com.example.finix.data;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Change capture for the sync outbox. AFTER INSERT/UPDATE/DELETE triggers on the
+ * synced tables keep exactly one open sync_log row per record, so call sites never
+ * have to write logs by hand.
+ *
+ * Row keys follow what {@link FinixRepository} expects:
+ *  - PENDING / UPDATED rows carry the record's local_id
+ *  - DELETED rows carry the server id (nothing is queued for records never synced)
+ *
+ * Transactions moving to/from transactions_archive (see {@link TransactionArchiver}) are not
+ * changes: while a row with the same local_id sits in the archive, insert/delete are ignored.
+ */
+final class SyncLogTriggers {
+
+    private static final String[] SYNCED_TABLES = {"categories", "transactions", "budgets", "savings_goals"};
+
+    // Epoch millis, same unit as System.currentTimeMillis()
+    private static final String NOW_MILLIS = "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
+
+    private SyncLogTriggers() {}
+
+    // Extra WHEN condition for row moves between hot and archive tables ("" for other tables)
+    private static String archiveGuard(String table, String row) {
+        if (!"transactions".equals(table)) return "";
+        return " WHEN NOT EXISTS (SELECT 1 FROM transactions_archive WHERE local_id = " + row + ".local_id)";
+    }
+
+    /**
+     * Creates the triggers that don't exist yet (new database, or after {@link #drop}).
+     */
+    static void install(SupportSQLiteDatabase db) {
+        for (String table : SYNCED_TABLES) {
+            createInsertTrigger(db, table);
+            createUpdateTrigger(db, table);
+            createDeleteTrigger(db, table);
+        }
+    }
+
+    /**
+     * Drops the triggers, so a migration can reinstall them in their current form.
+     */
+    static void drop(SupportSQLiteDatabase db) {
+        for (String table : SYNCED_TABLES) {
+            db.execSQL("DROP TRIGGER IF EXISTS sync_log_" + table + "_insert");
+            db.execSQL("DROP TRIGGER IF EXISTS sync_log_" + table + "_update");
+            db.execSQL("DROP TRIGGER IF EXISTS sync_log_" + table + "_delete");
+        }
+    }
+
+    // New row -> PENDING (add on server)
+    private static void createInsertTrigger(SupportSQLiteDatabase db, String table) {
+        String name = "sync_log_" + table + "_insert";
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + name + " AFTER INSERT ON " + table + archiveGuard(table, "NEW") + " BEGIN "
+                + "INSERT INTO sync_log (table_name, record_id, last_synced_timestamp, status, message) "
+                + "VALUES ('" + table + "', NEW.local_id, " + NOW_MILLIS + ", 'PENDING', ''); "
+                + "END");
+    }
+
+    // Edited row -> UPDATED, unless a PENDING/UPDATED row is already waiting (the sync sends the
+    // current row anyway, so that row just gets its timestamp bumped).
+    // Updates that change the server id are the sync itself storing the id after an add: skipped.
+    private static void createUpdateTrigger(SupportSQLiteDatabase db, String table) {
+        String name = "sync_log_" + table + "_update";
+        String openLog = "table_name = '" + table + "' AND record_id = NEW.local_id AND status IN ('PENDING', 'UPDATED')";
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + name + " AFTER UPDATE ON " + table + " WHEN NEW.id = OLD.id BEGIN "
+                + "UPDATE sync_log SET last_synced_timestamp = " + NOW_MILLIS + " WHERE " + openLog + "; "
+                + "INSERT INTO sync_log (table_name, record_id, last_synced_timestamp, status, message) "
+                + "SELECT '" + table + "', NEW.local_id, " + NOW_MILLIS + ", 'UPDATED', '' "
+                + "WHERE NOT EXISTS (SELECT 1 FROM sync_log WHERE " + openLog + "); "
+                + "END");
+    }
+
+    // Removed row -> drop its open PENDING/UPDATED rows, then queue DELETED if the server knows it
+    private static void createDeleteTrigger(SupportSQLiteDatabase db, String table) {
+        String name = "sync_log_" + table + "_delete";
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + name + " AFTER DELETE ON " + table + archiveGuard(table, "OLD") + " BEGIN "
+                + "DELETE FROM sync_log WHERE table_name = '" + table + "' AND record_id = OLD.local_id "
+                + "AND status IN ('PENDING', 'UPDATED'); "
+                + "INSERT INTO sync_log (table_name, record_id, last_synced_timestamp, status, message) "
+                + "SELECT '" + table + "', OLD.id, " + NOW_MILLIS + ", 'DELETED', '' WHERE OLD.id <> 0; "
+                + "END");
+    }
+}
@@ -2,9 +2,12 @@ package com.example.finix.data;
 
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "sync_log")
+// Index backs the per-record lookups done by the outbox triggers (see SyncLogTriggers)
+@Entity(tableName = "sync_log",
+        indices = {@Index(value = {"table_name", "record_id"})})
 public class SynchronizationLog {
 
     // Primary Key
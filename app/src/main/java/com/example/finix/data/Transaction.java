@@ -14,7 +14,13 @@ import com.google.gson.annotations.SerializedName;
                 parentColumns = "local_id", // Link to Category's local_id
                 childColumns = "category_id",
                 onDelete = ForeignKey.RESTRICT),
-        indices = {@Index(value = {"category_id"})})
+        // Budget spend: WHERE category_id = ? AND type = ? AND date_time BETWEEN ? AND ?
+        // (also serves the category_id foreign key)
+        indices = {@Index(value = {"category_id", "type", "date_time"}),
+                // Month filters: WHERE type = ? AND date_time in [start, end), already in date order
+                @Index(value = {"type", "date_time"}),
+                // Amount sort / amount range within a type
+                @Index(value = {"type", "amount"})})
 public class Transaction {
 
     // --- Local unique ID for Room (auto-generated) ---
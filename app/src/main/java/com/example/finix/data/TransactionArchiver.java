@@ -0,0 +1,158 @@
+package com.example.finix.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * Hot/cold archival. Transactions older than the horizon (in whole months) are moved,
+ * one month per SQLite transaction, from `transactions` into `transactions_archive`,
+ * and their totals are kept in `monthly_rollups`. This keeps the hot table (which the
+ * lists and most queries scan) limited to recent history.
+ *
+ * Archived rows are not deleted on the server: the outbox triggers ignore rows that
+ * exist in the archive.
+ */
+public class TransactionArchiver {
+
+    private static final String TAG = "TransactionArchiver";
+
+    public static final int DEFAULT_HORIZON_MONTHS = 12;
+
+    private static final String PREFS = "finix_archive";
+    private static final String KEY_HORIZON_MONTHS = "horizon_months";
+    private static final String KEY_LAST_RUN = "last_run";
+    private static final long MIN_RUN_INTERVAL_MS = 24L * 60 * 60 * 1000; // once a day is plenty
+
+    private final FinixDatabase db;
+    private final ArchiveDAO archiveDao;
+
+    public TransactionArchiver(Context context) {
+        this(FinixDatabase.getDatabase(context));
+    }
+
+    // Package-private so the instrumented tests can hand in an in-memory database
+    TransactionArchiver(FinixDatabase db) {
+        this.db = db;
+        archiveDao = db.archiveDao();
+    }
+
+    /**
+     * Sets how many whole months (plus the current one) stay in the hot table.
+     */
+    public static void setHorizonMonths(Context context, int months) {
+        prefs(context).edit().putInt(KEY_HORIZON_MONTHS, Math.max(1, months)).apply();
+    }
+
+    public static int getHorizonMonths(Context context) {
+        return prefs(context).getInt(KEY_HORIZON_MONTHS, DEFAULT_HORIZON_MONTHS);
+    }
+
+    /**
+     * Runs the archival on the database writer thread, at most once a day.
+     */
+    public static void runIfDue(Context context) {
+        Context appContext = context.getApplicationContext();
+        SharedPreferences prefs = prefs(appContext);
+        long now = System.currentTimeMillis();
+        if (now - prefs.getLong(KEY_LAST_RUN, 0) < MIN_RUN_INTERVAL_MS) return;
+
+        FinixDatabase.getWriteExecutor().execute(() -> {
+            try {
+                int moved = new TransactionArchiver(appContext).archiveOlderThan(getHorizonMonths(appContext));
+                prefs.edit().putLong(KEY_LAST_RUN, now).apply();
+                Log.i(TAG, "Archived " + moved + " transactions");
+            } catch (Exception e) {
+                Log.e(TAG, "Archival failed", e);
+            }
+        });
+    }
+
+    /**
+     * Moves every hot transaction dated before the start of (current month - horizonMonths)
+     * into the archive. Call from a background thread.
+     * @return number of rows moved
+     */
+    public int archiveOlderThan(int horizonMonths) {
+        Calendar cutoff = monthStart(System.currentTimeMillis());
+        cutoff.add(Calendar.MONTH, -horizonMonths);
+        long cutoffMillis = cutoff.getTimeInMillis();
+
+        Long oldest = archiveDao.getOldestHotDateBefore(cutoffMillis);
+        if (oldest == null) return 0;
+
+        int moved = 0;
+        Calendar month = monthStart(oldest);
+        while (month.getTimeInMillis() < cutoffMillis) {
+            long start = month.getTimeInMillis();
+            month.add(Calendar.MONTH, 1);
+            long end = month.getTimeInMillis();
+
+            // One month per transaction keeps the write lock short
+            int[] count = new int[1];
+            db.runInTransaction(() -> {
+                archiveDao.copyMonthToArchive(start, end);
+                count[0] = archiveDao.deleteArchivedFromHot(start);
+                if (count[0] > 0) {
+                    archiveDao.clearRollups(start);
+                    archiveDao.buildRollups(start);
+                }
+            });
+            moved += count[0];
+        }
+        return moved;
+    }
+
+    /**
+     * Moves an archived row back to the hot table so it can be edited or deleted like any
+     * other transaction. Must run inside the caller's transaction on the writer thread.
+     * @return true if the row was archived
+     */
+    boolean restoreIfArchived(int localId) {
+        Long monthStart = archiveDao.getArchivedMonthStart(localId);
+        if (monthStart == null) return false;
+
+        // Copy first: the outbox insert trigger skips rows that are still in the archive
+        archiveDao.copyBackToHot(localId);
+        archiveDao.deleteFromArchive(localId);
+        archiveDao.clearRollups(monthStart);
+        archiveDao.buildRollups(monthStart);
+        return true;
+    }
+
+    /**
+     * Bulk version of {@link #restoreIfArchived(int)}: brings every archived row of the list back
+     * hot with set-based statements, and rebuilds each touched month's rollups once.
+     * Must run inside the caller's transaction on the writer thread.
+     */
+    void restoreAllIfArchived(List<Integer> localIds) {
+        List<Long> monthStarts = archiveDao.getArchivedMonthStarts(localIds);
+        if (monthStarts.isEmpty()) return;
+
+        archiveDao.copyBackToHot(localIds);
+        archiveDao.deleteFromArchive(localIds);
+        for (Long monthStart : monthStarts) {
+            archiveDao.clearRollups(monthStart);
+            archiveDao.buildRollups(monthStart);
+        }
+    }
+
+    // Local midnight on the 1st of the month containing millis
+    static Calendar monthStart(long millis) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(millis);
+        cal.set(Calendar.DAY_OF_MONTH, 1);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        return cal;
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+    }
+}
@@ -5,8 +5,10 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.RawQuery;
 import androidx.room.Update;
 import androidx.room.Delete;
+import androidx.sqlite.db.SupportSQLiteQuery;
 import java.util.List;
 
 @Dao
@@ -24,6 +26,31 @@ public interface TransactionDAO {
     @Delete
     void delete(Transaction transaction);
 
+    // 📦 Bulk edits: one statement per chunk of ids (keep each list under SQLite's 999
+    // bound-variable limit, see TransactionRepository.BULK_CHUNK). The outbox triggers still
+    // run per row, inside the same statement.
+    @Query("DELETE FROM transactions WHERE local_id IN (:localIds)")
+    int deleteByIds(List<Integer> localIds);
+
+    @Query("UPDATE transactions SET category_id = :categoryId WHERE local_id IN (:localIds)")
+    int setCategory(List<Integer> localIds, int categoryId);
+
+    // :modifier is an SQLite date modifier such as "+3 days" / "-1 months", applied in local time
+    // so the time of day is kept across DST changes
+    @Query("UPDATE transactions SET date_time = " +
+            "CAST(strftime('%s', date_time / 1000, 'unixepoch', 'localtime', :modifier, 'utc') AS INTEGER) * 1000 " +
+            "+ date_time % 1000 WHERE local_id IN (:localIds)")
+    int shiftDates(List<Integer> localIds, String modifier);
+
+    // 🧬 Duplicate check: saved transactions (hot or archived) with the same fingerprint,
+    // i.e. same type, category, local day, amount and description. One index lookup.
+    @Query("SELECT COUNT(*) FROM transaction_fingerprints WHERE fingerprint = " + TransactionFingerprints.OF_PARAMS)
+    int countDuplicates(String type, int categoryId, long dateTime, double amount, String description);
+
+    // (for restore prep: archived rows keep their fingerprints, so clear them explicitly)
+    @Query("DELETE FROM transaction_fingerprints")
+    void deleteAllFingerprints();
+
     // 📋 Get all transactions (newest first)
     @Query("SELECT * FROM transactions ORDER BY date_time DESC")
     List<Transaction> getAllTransactions();
@@ -34,39 +61,109 @@ public interface TransactionDAO {
             "ORDER BY date_time DESC")
     List<Transaction> getTransactionsByType(String type);
 
+    // 💰 Same as above but with an exact type match, so it can use the (type, date_time) index
+    @Query("SELECT * FROM transactions WHERE type = :type ORDER BY date_time DESC")
+    List<Transaction> getTransactionsOfType(String type);
+
+    // 🧩 Filtered/sorted lists built by TransactionQuerySpec.toQuery() (one query per combination)
+    @RawQuery(observedEntities = {Transaction.class, ArchivedTransaction.class})
+    LiveData<List<Transaction>> observeTransactions(SupportSQLiteQuery query);
+
+    // 🧩 Row count for TransactionQuerySpec.toCountQuery()
+    @RawQuery
+    int countTransactions(SupportSQLiteQuery query);
+
     // 🔍 Get transactions by category_id and type
     @Query("SELECT * FROM transactions WHERE type = :type AND category_id = :categoryId ORDER BY date_time DESC")
     List<Transaction> getTransactionsByTypeAndCategory(String type, int categoryId);
 
     // 🆕 NEW: Get all distinct month/year timestamps
     // We get the raw long, then format in the ViewModel
-    @Query("SELECT DISTINCT date_time FROM transactions ORDER BY date_time DESC")
+    // 📆 One timestamp per local-time month (grouped in SQL), not one per transaction
+    // 🗄️ Archived months come from monthly_rollups (one row per month instead of every transaction)
+    @Query("SELECT MIN(date_time) FROM transactions " +
+            "GROUP BY strftime('%Y-%m', date_time / 1000, 'unixepoch', 'localtime') " +
+            "UNION SELECT month_start FROM monthly_rollups ORDER BY 1 DESC")
     List<Long> getDistinctMonthYear();
 
     // REQUIRED NEW METHOD: Returns a reactive LiveData list of distinct month/year timestamps (descending)
-    @Query("SELECT DISTINCT date_time FROM transactions ORDER BY date_time DESC")
+    @Query("SELECT MIN(date_time) FROM transactions " +
+            "GROUP BY strftime('%Y-%m', date_time / 1000, 'unixepoch', 'localtime') " +
+            "UNION SELECT month_start FROM monthly_rollups ORDER BY 1 DESC")
     LiveData<List<Long>> getDistinctMonthYearLive();
 
     // 💰 FIX: Synchronous query for the comparison calculation
-    @Query("SELECT SUM(amount) FROM transactions WHERE type = :type AND date_time BETWEEN :startTime AND :endTime")
+    // 🗄️ Hot rows + rollups of archived months (ranges are whole months, see DashboardViewModel)
+    @Query("SELECT COALESCE((SELECT SUM(amount) FROM transactions WHERE type = :type AND date_time BETWEEN :startTime AND :endTime), 0) " +
+            "+ COALESCE((SELECT SUM(total) FROM monthly_rollups WHERE type = :type AND month_start BETWEEN :startTime AND :endTime), 0)")
     Double getPreviousMonthTotalSync(String type, long startTime, long endTime); // NOTE: Returns Double, not LiveData!
 
     // 📈 NEW: Get all transactions of a type within a date range (for chart data)
-    @Query("SELECT * FROM transactions WHERE type = :type AND date_time BETWEEN :startTime AND :endTime ORDER BY date_time DESC")
+    // 🗄️ The archive half only returns rows when the range is older than the archive horizon
+    @Query("SELECT local_id, id, amount, type, category_id, date_time, description FROM transactions " +
+            "WHERE type = :type AND date_time BETWEEN :startTime AND :endTime " +
+            "UNION ALL " +
+            "SELECT local_id, id, amount, type, category_id, date_time, description FROM transactions_archive " +
+            "WHERE type = :type AND date_time BETWEEN :startTime AND :endTime " +
+            "ORDER BY date_time DESC")
     LiveData<List<Transaction>> getTransactionsByTypeAndDateRange(String type, long startTime, long endTime);
 
+    // 📊 Dashboard in one round-trip: per type/category totals of the selected month (period 0)
+    // and of the month it is compared against (period 1). Ranges are inclusive, like the ones above;
+    // pass -1/-1 as the previous range when there is nothing to compare against.
+    // Archived months are read from monthly_rollups.
+    @Query("SELECT period, type, category_id, SUM(amount) AS total FROM (" +
+            "SELECT CASE WHEN date_time >= :startTime THEN 0 ELSE 1 END AS period, type, category_id, amount " +
+            "FROM transactions " +
+            "WHERE date_time BETWEEN :startTime AND :endTime OR date_time BETWEEN :prevStartTime AND :prevEndTime " +
+            "UNION ALL " +
+            "SELECT CASE WHEN month_start >= :startTime THEN 0 ELSE 1 END, type, category_id, total " +
+            "FROM monthly_rollups " +
+            "WHERE month_start BETWEEN :startTime AND :endTime OR month_start BETWEEN :prevStartTime AND :prevEndTime" +
+            ") GROUP BY period, type, category_id")
+    List<CategoryTypeTotal> getCategoryTotalsForMonthsSync(long startTime, long endTime,
+                                                           long prevStartTime, long prevEndTime); // Cached by the dashboard
+
+    // 📈 Trend charts: per month/type/category totals from :since onwards, oldest month first.
+    // Bucketed in SQL (local-time months), archived months come straight from monthly_rollups.
+    @Query("SELECT month, type, category_id, SUM(amount) AS total FROM (" +
+            "SELECT strftime('%Y-%m', date_time / 1000, 'unixepoch', 'localtime') AS month, type, category_id, amount " +
+            "FROM transactions WHERE date_time >= :since " +
+            "UNION ALL " +
+            "SELECT strftime('%Y-%m', month_start / 1000, 'unixepoch', 'localtime'), type, category_id, total " +
+            "FROM monthly_rollups WHERE month_start >= :since" +
+            ") GROUP BY month, type, category_id ORDER BY month")
+    LiveData<List<MonthlyCategoryTotal>> getMonthlyCategoryTotalsSince(long since);
+
+    // 🏷️ Category model training: rows added after :afterLocalId, in id order (primary key range)
+    @Query("SELECT * FROM transactions WHERE local_id > :afterLocalId ORDER BY local_id LIMIT :limit")
+    List<Transaction> getTransactionsAfter(int afterLocalId, int limit);
+
+    // Rows as they are before a bulk edit (chunks, see TransactionRepository.BULK_CHUNK)
+    @Query("SELECT * FROM transactions WHERE local_id IN (:localIds)")
+    List<Transaction> getTransactionsByIds(List<Integer> localIds);
+
     // 🆕 NEW: Get transaction by local ID
     @Query("SELECT * FROM transactions WHERE local_id = :localId LIMIT 1")
     Transaction getTransactionById(int localId);
 
-
-
-
-
-
-
-
-
+    // Same, but also finds the row in the archive (e.g. a search hit); edits restore it first
+    @Query("SELECT local_id, id, amount, type, category_id, date_time, description FROM transactions WHERE local_id = :localId " +
+            "UNION ALL SELECT local_id, id, amount, type, category_id, date_time, description FROM transactions_archive " +
+            "WHERE local_id = :localId LIMIT 1")
+    Transaction getTransactionOrArchivedById(int localId);
+
+    // 🔍 Full-text search over descriptions, hot + archived (newest first, paged).
+    // :match is an FTS MATCH expression, e.g. "groc*" (see SearchRepository.toPrefixMatch)
+    @Query("SELECT t.local_id, t.id, t.amount, t.type, t.category_id, t.date_time, t.description " +
+            "FROM transactions t JOIN transactions_fts ON t.local_id = transactions_fts.rowid " +
+            "WHERE transactions_fts MATCH :match " +
+            "UNION ALL " +
+            "SELECT a.local_id, a.id, a.amount, a.type, a.category_id, a.date_time, a.description " +
+            "FROM transactions_archive a JOIN transactions_archive_fts ON a.local_id = transactions_archive_fts.rowid " +
+            "WHERE transactions_archive_fts MATCH :match " +
+            "ORDER BY date_time DESC, local_id DESC LIMIT :limit OFFSET :offset")
+    List<Transaction> searchByDescription(String match, int limit, int offset);
 
     // 1. Retrieve All data (for backup)
     @Query("SELECT * FROM transactions")
@@ -0,0 +1,34 @@
+package com.example.finix.data;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Normalized fingerprint of one transaction (hot or archived), used to spot duplicates:
+ * type | category | local day | amount in cents | first 64 chars of the trimmed, lower-cased description.
+ * Rows are written by the triggers in {@link TransactionFingerprints}, never by hand.
+ */
+@Entity(tableName = "transaction_fingerprints",
+        // Duplicate check: WHERE fingerprint = ? (one index lookup)
+        indices = {@Index(value = {"fingerprint"})})
+public class TransactionFingerprint {
+
+    // Same local_id as the transaction (kept while it sits in transactions_archive)
+    @PrimaryKey
+    @ColumnInfo(name = "local_id")
+    private int localId;
+
+    @ColumnInfo(name = "fingerprint")
+    private String fingerprint;
+
+    public TransactionFingerprint() {}
+
+    // --- Getters and Setters ---
+    public int getLocalId() { return localId; }
+    public void setLocalId(int localId) { this.localId = localId; }
+
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+}
@@ -0,0 +1,95 @@
+package com.example.finix.data;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * Duplicate detection for transactions. Triggers keep one {@link TransactionFingerprint} row per
+ * transaction, so "is this already saved?" is one index lookup
+ * ({@link TransactionDAO#countDuplicates}) instead of a scan, for quick-add double taps and for
+ * statement imports alike.
+ *
+ * Fingerprints stay while a row is archived (see {@link TransactionArchiver}), so re-importing an
+ * old statement is still caught.
+ */
+final class TransactionFingerprints {
+
+    // Description characters that count (keeps the index small)
+    static final int DESCRIPTION_CHARS = 64;
+
+    // Fingerprint of the DAO's bound parameters; must match fingerprintOf() below
+    static final String OF_PARAMS = "(LOWER(TRIM(:type)) || '|' || :categoryId || '|' "
+            + "|| strftime('%Y-%m-%d', :dateTime / 1000, 'unixepoch', 'localtime') || '|' "
+            + "|| CAST(ROUND(:amount * 100) AS INTEGER) || '|' "
+            + "|| SUBSTR(LOWER(TRIM(COALESCE(:description, ''))), 1, " + DESCRIPTION_CHARS + "))";
+
+    private TransactionFingerprints() {}
+
+    // Fingerprint of a row ("NEW", "OLD", or "" for a plain SELECT)
+    private static String fingerprintOf(String row) {
+        String p = row.isEmpty() ? "" : row + ".";
+        return "(LOWER(TRIM(" + p + "type)) || '|' || " + p + "category_id || '|' "
+                + "|| strftime('%Y-%m-%d', " + p + "date_time / 1000, 'unixepoch', 'localtime') || '|' "
+                + "|| CAST(ROUND(" + p + "amount * 100) AS INTEGER) || '|' "
+                + "|| SUBSTR(LOWER(TRIM(COALESCE(" + p + "description, ''))), 1, " + DESCRIPTION_CHARS + "))";
+    }
+
+    /**
+     * Creates the triggers that don't exist yet (new database, or after {@link #drop}).
+     * Existing rows are not fingerprinted: a migration adding the table runs {@link #rebuild} itself.
+     */
+    static void install(SupportSQLiteDatabase db) {
+        String upsert = "INSERT OR REPLACE INTO transaction_fingerprints (local_id, fingerprint) "
+                + "VALUES (NEW.local_id, " + fingerprintOf("NEW") + "); ";
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS fingerprint_transactions_insert AFTER INSERT ON transactions BEGIN "
+                + upsert + "END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS fingerprint_transactions_update "
+                + "AFTER UPDATE OF amount, type, category_id, date_time, description ON transactions BEGIN "
+                + upsert + "END");
+
+        // Moving a row into the archive is not a delete: its fingerprint stays
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS fingerprint_transactions_delete AFTER DELETE ON transactions "
+                + "WHEN NOT EXISTS (SELECT 1 FROM transactions_archive WHERE local_id = OLD.local_id) BEGIN "
+                + "DELETE FROM transaction_fingerprints WHERE local_id = OLD.local_id; "
+                + "END");
+    }
+
+    /**
+     * Drops the triggers, so a migration can reinstall them in their current form.
+     */
+    static void drop(SupportSQLiteDatabase db) {
+        db.execSQL("DROP TRIGGER IF EXISTS fingerprint_transactions_insert");
+        db.execSQL("DROP TRIGGER IF EXISTS fingerprint_transactions_update");
+        db.execSQL("DROP TRIGGER IF EXISTS fingerprint_transactions_delete");
+    }
+
+    /**
+     * Recomputes every fingerprint (hot + archived rows). Run inside the caller's transaction.
+     */
+    static void rebuild(SupportSQLiteDatabase db) {
+        db.execSQL("DELETE FROM transaction_fingerprints");
+        db.execSQL("INSERT OR REPLACE INTO transaction_fingerprints (local_id, fingerprint) "
+                + "SELECT local_id, " + fingerprintOf("") + " FROM transactions_archive "
+                + "UNION ALL SELECT local_id, " + fingerprintOf("") + " FROM transactions");
+    }
+
+    /**
+     * Same grouping as the SQL fingerprint, in Java. Only used to count identical rows inside one
+     * import file (see StatementImporter), never compared with stored fingerprints.
+     */
+    static String key(Transaction t) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(t.getDateTime());
+        String description = t.getDescription() == null ? "" : t.getDescription().trim().toLowerCase(Locale.ROOT);
+        if (description.length() > DESCRIPTION_CHARS) description = description.substring(0, DESCRIPTION_CHARS);
+        return (t.getType() == null ? "" : t.getType().trim().toLowerCase(Locale.ROOT))
+                + '|' + t.getCategoryId()
+                + '|' + cal.get(Calendar.YEAR) + '-' + cal.get(Calendar.DAY_OF_YEAR)
+                + '|' + Math.round(t.getAmount() * 100)
+                + '|' + description;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.finix.data;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+// External-content FTS4 index over transactions.description.
+// Room generates the triggers that keep this table in sync with 'transactions',
+// so inserts/updates/deletes through TransactionDAO never need to touch it.
+@Fts4(contentEntity = Transaction.class)
+@Entity(tableName = "transactions_fts")
+public class TransactionFts {
+
+    @ColumnInfo(name = "description")
+    private String description;
+
+    public TransactionFts() {}
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+}
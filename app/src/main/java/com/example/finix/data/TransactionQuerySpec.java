@@ -0,0 +1,199 @@
+package com.example.finix.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * What the Transactions screen wants to see for one type: month range, categories, amount
+ * range, text and sort order. Immutable; the with*() methods return a modified copy.
+ *
+ * {@link #toQuery()} compiles any combination into ONE SQL query for
+ * {@link TransactionDAO#observeTransactions(SupportSQLiteQuery)}, so filters and sorting run
+ * in SQLite on the indices instead of over in-memory lists.
+ */
+public final class TransactionQuerySpec {
+
+    public enum SortKey {
+        DATE("date_time"),
+        AMOUNT("amount");
+
+        final String column;
+
+        SortKey(String column) {
+            this.column = column;
+        }
+    }
+
+    private static final String COLUMNS = "local_id, id, amount, type, category_id, date_time, description";
+
+    private final String type;
+    @Nullable private final Long rangeStart;  // [start, end) epoch millis; null = all (hot + archived)
+    @Nullable private final Long rangeEnd;
+    private final List<Integer> categoryIds;  // empty = any category (sorted, for equals())
+    @Nullable private final Double minAmount;
+    @Nullable private final Double maxAmount;
+    @Nullable private final String text;      // free text on the description
+    private final SortKey sortKey;
+    private final boolean ascending;
+
+    private TransactionQuerySpec(String type, Long rangeStart, Long rangeEnd, List<Integer> categoryIds,
+                                 Double minAmount, Double maxAmount, String text,
+                                 SortKey sortKey, boolean ascending) {
+        this.type = type;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.categoryIds = categoryIds;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        this.text = text;
+        this.sortKey = sortKey;
+        this.ascending = ascending;
+    }
+
+    /**
+     * All transactions of the type ("Income" / "Expense"), newest first.
+     */
+    public static TransactionQuerySpec forType(@NonNull String type) {
+        return new TransactionQuerySpec(type, null, null, Collections.emptyList(),
+                null, null, null, SortKey.DATE, false);
+    }
+
+    // --- Copy-with methods ---
+
+    /**
+     * Limits to [start, end).
+     */
+    public TransactionQuerySpec withRange(long start, long end) {
+        return new TransactionQuerySpec(type, start, end, categoryIds, minAmount, maxAmount, text, sortKey, ascending);
+    }
+
+    public TransactionQuerySpec withoutRange() {
+        return new TransactionQuerySpec(type, null, null, categoryIds, minAmount, maxAmount, text, sortKey, ascending);
+    }
+
+    /**
+     * @param ids Category local_ids to include; null or empty means any category.
+     */
+    public TransactionQuerySpec withCategories(@Nullable Collection<Integer> ids) {
+        List<Integer> sorted = ids == null ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(new TreeSet<>(ids)));
+        return new TransactionQuerySpec(type, rangeStart, rangeEnd, sorted, minAmount, maxAmount, text, sortKey, ascending);
+    }
+
+    /**
+     * Inclusive amount bounds; pass null for an open end.
+     */
+    public TransactionQuerySpec withAmountRange(@Nullable Double min, @Nullable Double max) {
+        return new TransactionQuerySpec(type, rangeStart, rangeEnd, categoryIds, min, max, text, sortKey, ascending);
+    }
+
+    public TransactionQuerySpec withText(@Nullable String newText) {
+        String trimmed = newText == null || newText.trim().isEmpty() ? null : newText.trim();
+        // Nothing searchable left (e.g. only punctuation) -> no text filter at all
+        if (SearchRepository.toPrefixMatch(trimmed) == null) trimmed = null;
+        return new TransactionQuerySpec(type, rangeStart, rangeEnd, categoryIds, minAmount, maxAmount, trimmed, sortKey, ascending);
+    }
+
+    public TransactionQuerySpec withSort(@NonNull SortKey key, boolean asc) {
+        return new TransactionQuerySpec(type, rangeStart, rangeEnd, categoryIds, minAmount, maxAmount, text, key, asc);
+    }
+
+    public String getType() { return type; }
+    public boolean hasCategoryFilter() { return !categoryIds.isEmpty(); }
+
+    // --- SQL ---
+
+    /**
+     * The list query: matching rows in the requested order.
+     */
+    public SupportSQLiteQuery toQuery() {
+        List<Object> args = new ArrayList<>();
+        String sql = select(args)
+                // local_id breaks ties so equal dates/amounts keep a stable order
+                + " ORDER BY " + sortKey.column + (ascending ? " ASC" : " DESC") + ", local_id DESC";
+        return new SimpleSQLiteQuery(sql, args.toArray());
+    }
+
+    /**
+     * How many rows {@link #toQuery()} would return.
+     */
+    public SupportSQLiteQuery toCountQuery() {
+        List<Object> args = new ArrayList<>();
+        return new SimpleSQLiteQuery("SELECT COUNT(*) FROM (" + select(args) + ")", args.toArray());
+    }
+
+    private String select(List<Object> args) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM transactions WHERE ");
+        appendWhere(sql, args, false);
+        // Archived rows are history too: always included, "All" shows everything. With a range
+        // the archive's (type, date_time) index keeps its half of the scan to that range.
+        sql.append(" UNION ALL SELECT ").append(COLUMNS).append(" FROM transactions_archive WHERE ");
+        appendWhere(sql, args, true);
+        return sql.toString();
+    }
+
+    private void appendWhere(StringBuilder sql, List<Object> args, boolean archive) {
+        // type + date_time first: matches the (type, date_time) / (type, amount) indices
+        sql.append("type = ?");
+        args.add(type);
+
+        if (rangeStart != null) {
+            sql.append(" AND date_time >= ? AND date_time < ?");
+            args.add(rangeStart);
+            args.add(rangeEnd);
+        }
+        if (!categoryIds.isEmpty()) {
+            sql.append(" AND category_id IN (");
+            for (int i = 0; i < categoryIds.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+                args.add(categoryIds.get(i));
+            }
+            sql.append(")");
+        }
+        if (minAmount != null) {
+            sql.append(" AND amount >= ?");
+            args.add(minAmount);
+        }
+        if (maxAmount != null) {
+            sql.append(" AND amount <= ?");
+            args.add(maxAmount);
+        }
+        if (text != null) {
+            // Same prefix-token MATCH on both halves, so a row matches whatever its age
+            String fts = archive ? "transactions_archive_fts" : "transactions_fts";
+            sql.append(" AND local_id IN (SELECT rowid FROM ").append(fts)
+                    .append(" WHERE ").append(fts).append(" MATCH ?)");
+            args.add(SearchRepository.toPrefixMatch(text));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransactionQuerySpec)) return false;
+        TransactionQuerySpec other = (TransactionQuerySpec) o;
+        return ascending == other.ascending
+                && type.equals(other.type)
+                && Objects.equals(rangeStart, other.rangeStart)
+                && Objects.equals(rangeEnd, other.rangeEnd)
+                && categoryIds.equals(other.categoryIds)
+                && Objects.equals(minAmount, other.minAmount)
+                && Objects.equals(maxAmount, other.maxAmount)
+                && Objects.equals(text, other.text)
+                && sortKey == other.sortKey;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, rangeStart, rangeEnd, categoryIds, minAmount, maxAmount, text, sortKey, ascending);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.finix.data;
+
+import android.app.Application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Write API for transactions. The sync_log (outbox) row for each change is written by
+ * the SQLite triggers in {@link SyncLogTriggers}, inside the same statement.
+ */
+public class TransactionRepository {
+
+    private final FinixDatabase db;
+    private final TransactionDAO transactionDao;
+    private final TransactionArchiver archiver;
+    private final AutoCategorizer categorizer;
+    private final BudgetAlertTracker budgetAlerts;
+    private final BudgetForecaster forecaster;
+    private final ExecutorService executorService;
+
+    public TransactionRepository(Application application) {
+        db = FinixDatabase.getDatabase(application);
+        transactionDao = db.transactionDao();
+        archiver = new TransactionArchiver(application);
+        categorizer = AutoCategorizer.getInstance(application);
+        budgetAlerts = BudgetAlertTracker.getInstance(application);
+        forecaster = BudgetForecaster.getInstance(application);
+        executorService = FinixDatabase.getWriteExecutor(); // shared single writer
+    }
+
+    // Insert a transaction (trigger queues PENDING)
+    public void insert(Transaction transaction, Runnable onComplete) {
+        executorService.execute(() -> {
+            transactionDao.insert(transaction);
+            categorizer.catchUp(); // 🏷️ learns the new row
+            budgetAlerts.onTransactionChanged(null, transaction); // 🔔 50/75/100% of a budget?
+            forecaster.onTransactionChanged(null, transaction); // 📈 burn rate
+            if (onComplete != null) onComplete.run();
+        });
+    }
+
+    /**
+     * Inserts unless an identical transaction (same type, category, day, amount and description,
+     * see TransactionFingerprints) is already saved. Checked on the single writer thread, so a
+     * double tap can't slip both copies in.
+     * @param onResult true if inserted, false if it was a duplicate
+     */
+    public void insertIfNew(Transaction transaction, Consumer<Boolean> onResult) {
+        executorService.execute(() -> {
+            boolean isNew = !isDuplicate(transaction);
+            if (isNew) {
+                transactionDao.insert(transaction);
+                categorizer.catchUp();
+                budgetAlerts.onTransactionChanged(null, transaction);
+                forecaster.onTransactionChanged(null, transaction);
+            }
+            if (onResult != null) onResult.accept(isNew);
+        });
+    }
+
+    // One fingerprint index lookup (hot and archived rows). Call from a background thread.
+    public boolean isDuplicate(Transaction t) {
+        return transactionDao.countDuplicates(t.getType(), t.getCategoryId(), t.getDateTime(),
+                t.getAmount(), t.getDescription()) > 0;
+    }
+
+    // Update a transaction (trigger queues UPDATED). Archived rows are brought back hot first.
+    public void update(Transaction transaction, Runnable onComplete) {
+        executorService.execute(() -> {
+            Transaction[] before = new Transaction[1];
+            db.runInTransaction(() -> {
+                archiver.restoreIfArchived(transaction.getLocalId());
+                before[0] = transactionDao.getTransactionById(transaction.getLocalId());
+                transactionDao.update(transaction);
+                categorizer.relabel(before[0], transaction); // 🏷️ a corrected category is a strong hint
+            });
+            categorizer.saveIfDirty();
+            budgetAlerts.onTransactionChanged(before[0], transaction);
+            forecaster.onTransactionChanged(before[0], transaction);
+            if (onComplete != null) onComplete.run();
+        });
+    }
+
+    // Delete a transaction (trigger queues DELETED if it reached the server)
+    public void delete(Transaction transaction, Runnable onComplete) {
+        executorService.execute(() -> {
+            Transaction[] before = new Transaction[1];
+            db.runInTransaction(() -> {
+                archiver.restoreIfArchived(transaction.getLocalId());
+                before[0] = transactionDao.getTransactionById(transaction.getLocalId()); // as saved, not as shown
+                transactionDao.delete(transaction);
+            });
+            budgetAlerts.onTransactionChanged(before[0], null);
+            forecaster.onTransactionChanged(before[0], null);
+            if (onComplete != null) onComplete.run();
+        });
+    }
+
+    // --- Bulk edits (multi-select) ---
+    // Each runs as ONE SQLite transaction, whatever the number of rows: set-based statements
+    // per chunk of ids, one commit, and the outbox rows written by the triggers alongside.
+
+    // Ids per statement, well under SQLite's 999 bound-variable limit
+    static final int BULK_CHUNK = 500;
+
+    private interface ChunkOp {
+        // before: the chunk's rows as they were
+        void apply(List<Integer> chunk, List<Transaction> before);
+    }
+
+    private void runBulk(List<Integer> localIds, ChunkOp op, Runnable onComplete) {
+        executorService.execute(() -> {
+            List<Transaction> before = new ArrayList<>();
+            List<Transaction> after = new ArrayList<>();
+            db.runInTransaction(() -> {
+                for (int from = 0; from < localIds.size(); from += BULK_CHUNK) {
+                    List<Integer> chunk = localIds.subList(from, Math.min(from + BULK_CHUNK, localIds.size()));
+                    archiver.restoreAllIfArchived(chunk); // archived rows are edited hot, like single edits
+                    List<Transaction> rows = transactionDao.getTransactionsByIds(chunk);
+                    op.apply(chunk, rows);
+                    before.addAll(rows);
+                    after.addAll(transactionDao.getTransactionsByIds(chunk));
+                }
+            });
+            budgetAlerts.refresh(); // 🔔 many rows at once: one re-read of the active budgets
+            forecaster.onTransactionsChanged(before, after); // 📈 per row, like single edits
+            if (onComplete != null) onComplete.run();
+        });
+    }
+
+    // Delete many transactions (trigger queues DELETED for the ones that reached the server)
+    public void deleteAll(List<Integer> localIds, Runnable onComplete) {
+        List<Integer> ids = new ArrayList<>(localIds);
+        runBulk(ids, (chunk, before) -> transactionDao.deleteByIds(chunk), onComplete);
+    }
+
+    // Move many transactions to another category (trigger queues UPDATED)
+    public void setCategory(List<Integer> localIds, int categoryId, Runnable onComplete) {
+        List<Integer> ids = new ArrayList<>(localIds);
+        runBulk(ids, (chunk, before) -> {
+            transactionDao.setCategory(chunk, categoryId);
+            categorizer.relabelAll(before, categoryId);
+        }, () -> {
+            categorizer.saveIfDirty();
+            if (onComplete != null) onComplete.run();
+        });
+    }
+
+    // Move many transactions by a whole number of days (negative = earlier)
+    public void shiftDates(List<Integer> localIds, int days, Runnable onComplete) {
+        if (days == 0) {
+            if (onComplete != null) executorService.execute(onComplete);
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(localIds);
+        String modifier = (days > 0 ? "+" : "") + days + " days";
+        runBulk(ids, (chunk, before) -> transactionDao.shiftDates(chunk, modifier), onComplete);
+    }
+
+    // Get all transactions (call from a background thread)
+    public List<Transaction> getAllTransactions() {
+        return transactionDao.getAllTransactions();
+    }
+}
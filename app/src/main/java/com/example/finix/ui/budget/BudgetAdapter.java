@@ -11,26 +11,30 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.DiffUtil; // 💡 NEW IMPORT
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.core.content.ContextCompat;
 
 import com.example.finix.R;
 import com.example.finix.data.Budget;
-import com.example.finix.data.Category;
+import com.example.finix.data.BudgetForecaster;
+import com.example.finix.data.BudgetWithSpend;
 import com.example.finix.data.Transaction;
 import com.google.android.material.progressindicator.LinearProgressIndicator;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 
-public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetViewHolder> {
+// ⚡ ListAdapter: rows are diffed on a background thread (AsyncListDiffer)
+public class BudgetAdapter extends ListAdapter<BudgetAdapter.BudgetRow, BudgetAdapter.BudgetViewHolder> {
 
-    private List<Budget> budgetList;
     private final Context context;
-    private List<Transaction> transactionList;
-    private List<Category> categoryList;
     private final OnBudgetActionListener listener;
 
     // Date formatter for display
@@ -43,34 +47,94 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
         void onDelete(Budget budget);
     }
 
+    /**
+     * One budget with everything its row shows, worked out before it reaches the adapter.
+     */
+    public static final class BudgetRow {
+        public final Budget budget;
+        public final String categoryName;
+        public final double spent;
+        public final double scheduled; // 🔁 Recurring expenses still to come in the period
+        public final BudgetForecaster.Forecast forecast; // 📈 null if the budget hasn't started
+
+        BudgetRow(Budget budget, String categoryName, double spent, double scheduled, BudgetForecaster.Forecast forecast) {
+            this.budget = budget;
+            this.categoryName = categoryName;
+            this.spent = spent;
+            this.scheduled = scheduled;
+            this.forecast = forecast;
+        }
+
+        // Everything that changes what the row looks like
+        boolean sameContents(BudgetRow other) {
+            return budget.getBudgetedAmount() == other.budget.getBudgetedAmount()
+                    && budget.getStartDate() == other.budget.getStartDate()
+                    && budget.getEndDate() == other.budget.getEndDate()
+                    && budget.getCategoryId() == other.budget.getCategoryId()
+                    && Objects.equals(categoryName, other.categoryName)
+                    && Double.compare(spent, other.spent) == 0
+                    && Double.compare(scheduled, other.scheduled) == 0
+                    && (forecast == null ? other.forecast == null : forecast.sameAs(other.forecast));
+        }
+    }
+
     public BudgetAdapter(Context context, OnBudgetActionListener listener) {
+        super(DIFF_CALLBACK);
         this.context = context;
         this.listener = listener;
+        setHasStableIds(true); // Budget local_id is the Room primary key
     }
 
     /**
-     * 💡 FIX: Use DiffUtil for smooth updates instead of notifyDataSetChanged().
+     * Builds the rows. Category name and spent amount were computed by the query
+     * (BudgetDAO.getBudgetsWithSpend); only the projected recurring expenses are added here.
+     * Call it on a background thread and hand the result to submitList().
+     * @param scheduled Projected recurring occurrences (RecurringRepository.projectOccurrences), may be null
+     * @param forecasts Burn-rate forecasts by budget local_id (BudgetForecaster), may be null
      */
-    public void setData(List<Budget> budgets, List<Transaction> transactions, List<Category> categories) {
-        if (this.budgetList == null) {
-            // Case 1: Initial load
-            this.budgetList = budgets;
-            this.transactionList = transactions;
-            this.categoryList = categories;
-            notifyDataSetChanged();
-        } else {
-            // Case 2: Update/Filter - Use DiffUtil for smooth animation
-            BudgetDiffCallback diffCallback = new BudgetDiffCallback(this.budgetList, budgets);
-            DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
+    public static List<BudgetRow> buildRows(List<BudgetWithSpend> budgets, List<Transaction> scheduled,
+                                            Map<Integer, BudgetForecaster.Forecast> forecasts) {
+        List<BudgetRow> rows = new ArrayList<>();
+        if (budgets == null) return rows;
+
+        // Scheduled expenses per category
+        Map<Integer, List<Transaction>> scheduledByCategory = expensesByCategory(scheduled);
+
+        for (BudgetWithSpend b : budgets) {
+            double upcoming = sumInPeriod(scheduledByCategory.get(b.budget.getCategoryId()), b.budget);
+            BudgetForecaster.Forecast forecast = forecasts != null ? forecasts.get(b.budget.getLocalId()) : null;
+            rows.add(new BudgetRow(b.budget, b.categoryName != null ? b.categoryName : "Unknown", b.spent, upcoming, forecast));
+        }
+        return rows;
+    }
 
-            // Update internal list references
-            this.budgetList = budgets;
-            this.transactionList = transactions;
-            this.categoryList = categories;
+    private static Map<Integer, List<Transaction>> expensesByCategory(List<Transaction> transactions) {
+        Map<Integer, List<Transaction>> byCategory = new HashMap<>();
+        if (transactions != null) {
+            for (Transaction t : transactions) {
+                if (!"expense".equalsIgnoreCase(t.getType())) continue;
+                byCategory.computeIfAbsent(t.getCategoryId(), k -> new ArrayList<>()).add(t);
+            }
+        }
+        return byCategory;
+    }
 
-            // Dispatch the minimal updates, enabling smooth animations (insert/remove/move)
-            diffResult.dispatchUpdatesTo(this);
+    // Only transactions within the budget period count
+    private static double sumInPeriod(List<Transaction> expenses, Budget budget) {
+        double sum = 0;
+        if (expenses != null) {
+            for (Transaction t : expenses) {
+                if (t.getDateTime() >= budget.getStartDate() && t.getDateTime() <= budget.getEndDate()) {
+                    sum += t.getAmount();
+                }
+            }
         }
+        return sum;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).budget.getLocalId();
     }
 
     @NonNull
@@ -82,18 +146,9 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
 
     @Override
     public void onBindViewHolder(@NonNull BudgetViewHolder holder, int position) {
-        Budget budget = budgetList.get(position);
-
-        // Find category name
-        String categoryName = "Unknown";
-        if (categoryList != null) {
-            for (Category c : categoryList) {
-                if (c.getLocalId() == budget.getCategoryId()) {
-                    categoryName = c.getName();
-                    break;
-                }
-            }
-        }
+        BudgetRow row = getItem(position);
+        Budget budget = row.budget;
+        String categoryName = row.categoryName;
 
         // --- 1. Set Date Range ---
         String startDate = dateFormat.format(new Date(budget.getStartDate()));
@@ -101,20 +156,8 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
         holder.tvDateRange.setText(String.format("%s - %s", startDate, endDate));
 
 
-        // Calculate spent amount from transactions
-        double spent = 0;
-        if (transactionList != null) {
-            for (Transaction t : transactionList) {
-                // UPDATED: Use t.getDateTime() instead of t.getTimestamp()
-                // Check if transaction category matches budget category AND the transaction date is within the budget period
-                if (t.getCategoryId() == budget.getCategoryId()
-                        && t.getType().equalsIgnoreCase("expense")
-                        && t.getDateTime() >= budget.getStartDate()
-                        && t.getDateTime() <= budget.getEndDate()) {
-                    spent += t.getAmount();
-                }
-            }
-        }
+        // Spent amount was already summed by the query
+        double spent = row.spent;
 
         double budgetAmount = budget.getBudgetedAmount();
         // Recalculate percent and progressPercentage
@@ -126,7 +169,15 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
         holder.tvCategory.setText(categoryName);
 
         // Set Budget Details
-        holder.tvBudgetDetails.setText(String.format(Locale.getDefault(), "Spent: Rs.%.0f / Rs.%.0f", spent, budgetAmount));
+        String details = String.format(Locale.getDefault(), "Spent: Rs.%.0f / Rs.%.0f", spent, budgetAmount);
+        if (row.scheduled > 0) {
+            // 🔁 Recurring expenses not written yet (they fall due later in the period)
+            details += String.format(Locale.getDefault(), " (+Rs.%.0f scheduled)", row.scheduled);
+        }
+        holder.tvBudgetDetails.setText(details);
+
+        // 📈 Burn-rate forecast (already worked out, see BudgetForecaster)
+        bindForecast(holder.tvForecast, row.forecast, budgetAmount);
 
         // Set Percentage
         holder.tvProgressPercentage.setText(String.format(Locale.getDefault(), "%.0f%%", progressPercentage));
@@ -165,14 +216,26 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
 
     }
 
-    @Override
-    public int getItemCount() {
-        return budgetList == null ? 0 : budgetList.size();
+    private void bindForecast(TextView tv, BudgetForecaster.Forecast forecast, double budgetAmount) {
+        if (forecast == null) {
+            tv.setVisibility(View.GONE); // not started yet
+            return;
+        }
+        tv.setVisibility(View.VISIBLE);
+        String text = String.format(Locale.getDefault(), "Projected: Rs.%.0f", forecast.projectedSpend);
+        if (forecast.exceeded) {
+            text += " · over budget";
+        } else if (forecast.exceedsOn > 0) {
+            text += " · over by " + dateFormat.format(new Date(forecast.exceedsOn));
+        }
+        tv.setText(text);
+        tv.setTextColor(ContextCompat.getColor(context,
+                forecast.projectedSpend > budgetAmount ? R.color.red_orange : R.color.white));
     }
 
     static class BudgetViewHolder extends RecyclerView.ViewHolder {
         // --- Added tvDateRange ---
-        TextView tvCategory, tvDateRange, tvBudgetDetails, tvProgressPercentage;
+        TextView tvCategory, tvDateRange, tvBudgetDetails, tvForecast, tvProgressPercentage;
         LinearProgressIndicator progressBudget;
         ImageButton btnEdit, btnDelete;
 
@@ -183,6 +246,7 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
             // --- Initialized tvDateRange ---
             tvDateRange = itemView.findViewById(R.id.tvDateRange);
             tvBudgetDetails = itemView.findViewById(R.id.tvBudgetDetails);
+            tvForecast = itemView.findViewById(R.id.tvForecast);
             progressBudget = itemView.findViewById(R.id.progressBudget);
             tvProgressPercentage = itemView.findViewById(R.id.tvProgressPercentage);
             btnEdit = itemView.findViewById(R.id.btnEdit);
@@ -190,43 +254,18 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
         }
     }
 
-    // 💡 NEW: DiffUtil Implementation for smooth animations
-    private static class BudgetDiffCallback extends DiffUtil.Callback {
-        private final List<Budget> oldList;
-        private final List<Budget> newList;
-
-        public BudgetDiffCallback(List<Budget> oldList, List<Budget> newList) {
-            this.oldList = oldList;
-            this.newList = newList;
-        }
-
-        @Override
-        public int getOldListSize() {
-            return oldList.size();
-        }
-
+    // 💡 DiffUtil item callback (ListAdapter runs it off the main thread)
+    private static final DiffUtil.ItemCallback<BudgetRow> DIFF_CALLBACK = new DiffUtil.ItemCallback<BudgetRow>() {
         @Override
-        public int getNewListSize() {
-            return newList.size();
+        public boolean areItemsTheSame(@NonNull BudgetRow oldItem, @NonNull BudgetRow newItem) {
+            // Same budget (using localId)
+            return oldItem.budget.getLocalId() == newItem.budget.getLocalId();
         }
 
         @Override
-        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
-            // Check if items represent the same budget (using localId)
-            return oldList.get(oldItemPosition).getLocalId() == newList.get(newItemPosition).getLocalId();
+        public boolean areContentsTheSame(@NonNull BudgetRow oldItem, @NonNull BudgetRow newItem) {
+            // Spent amount and category name count too, so a new expense refreshes the progress bar
+            return oldItem.sameContents(newItem);
         }
-
-        @Override
-        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
-            // Check if the contents of the same budget item have changed
-            Budget oldBudget = oldList.get(oldItemPosition);
-            Budget newBudget = newList.get(newItemPosition);
-
-            // Compare fields that affect the display and are part of the Budget object
-            return oldBudget.getBudgetedAmount() == newBudget.getBudgetedAmount() &&
-                    oldBudget.getStartDate() == newBudget.getStartDate() &&
-                    oldBudget.getEndDate() == newBudget.getEndDate() &&
-                    oldBudget.getCategoryId() == newBudget.getCategoryId();
-        }
-    }
-}
\ No newline at end of file
+    };
+}
@@ -33,11 +33,11 @@ import androidx.recyclerview.widget.RecyclerView; // <-- Need to access Recycler
 
 import com.example.finix.R;
 import com.example.finix.data.Budget;
+import com.example.finix.data.BudgetWithSpend;
 import com.example.finix.data.Category;
 import com.example.finix.data.CategoryDAO;
 import com.example.finix.data.FinixDatabase;
-import com.example.finix.data.SynchronizationLog;
-import com.example.finix.data.SynchronizationLogDAO;
+import com.example.finix.data.RecurringRepository;
 import com.example.finix.data.Transaction;
 import com.example.finix.databinding.FragmentBudgetBinding;
 import com.google.android.material.button.MaterialButton;
@@ -106,14 +106,14 @@ public class BudgetFragment extends Fragment {
     }
 
     private void loadBudgets() {
-        new Thread(() -> {
-            List<Budget> budgets = budgetViewModel.getAllBudgets();
-            List<Transaction> transactions = FinixDatabase.getDatabase(requireContext()).transactionDao().getAllTransactions();
-            List<Category> categories = FinixDatabase.getDatabase(requireContext()).categoryDao().getAllCategories();
+        FinixDatabase.getReadExecutor().execute(() -> {
+            // 🗓️ Only the distinct budget months here; the rows of the selected month are
+            // queried when the filter picks it (see filterBudgetsByMonth)
+            List<Long> monthStarts = budgetViewModel.getBudgetMonthStarts();
 
             requireActivity().runOnUiThread(() -> {
                 // Check if any budgets were loaded
-                boolean hasBudgets = budgets != null && !budgets.isEmpty();
+                boolean hasBudgets = monthStarts != null && !monthStarts.isEmpty();
 
                 // Get a reference to the Spinner
                 View spinner = binding.spinnerMonthFilter;
@@ -127,9 +127,8 @@ public class BudgetFragment extends Fragment {
                     imageNoBudgets.setVisibility(View.GONE);
                     textNoBudgets.setVisibility(View.GONE);
 
-                    // 3. Load data into the adapter and populate the filter options
-                    adapter.setData(budgets, transactions, categories);
-                    loadMonthFilter(budgets);
+                    // 3. Populate the filter options (selecting one loads its budgets)
+                    loadMonthFilter(monthStarts);
                 } else {
                     // 1. Hide the budget list, but make the filter INVISIBLE (keeps its space)
                     recyclerBudgets.setVisibility(View.GONE);
@@ -140,7 +139,7 @@ public class BudgetFragment extends Fragment {
                     textNoBudgets.setVisibility(View.VISIBLE);
                 }
             });
-        }).start();
+        });
     }
 
     private void showAddBudgetDialog(Budget budgetToEdit) {
@@ -193,7 +192,7 @@ public class BudgetFragment extends Fragment {
 
 
         // Load categories for AutoComplete
-        new Thread(() -> {
+        FinixDatabase.getReadExecutor().execute(() -> {
             CategoryDAO categoryDao = FinixDatabase.getDatabase(requireContext()).categoryDao();
             List<Category> categoryList = categoryDao.getAllCategories();
 
@@ -233,7 +232,7 @@ public class BudgetFragment extends Fragment {
                     }
                 });
             });
-        }).start();
+        });
 
         // Date Pickers
         btnPickDate1.setOnClickListener(v -> showDatePicker(tvStartDate, true));
@@ -248,7 +247,7 @@ public class BudgetFragment extends Fragment {
             tvStartDate.setText(sdf.format(startDateMillis));
             tvEndDate.setText(sdf.format(endDateMillis));
 
-            new Thread(() -> {
+            FinixDatabase.getReadExecutor().execute(() -> {
                 List<Category> categories = FinixDatabase.getDatabase(requireContext()).categoryDao().getAllCategories();
                 for (Category c : categories) {
                     if (c.getLocalId() == budgetToEdit.getCategoryId()) {
@@ -259,7 +258,7 @@ public class BudgetFragment extends Fragment {
                         break;
                     }
                 }
-            }).start();
+            });
         }
 
         // Save new category
@@ -270,24 +269,13 @@ public class BudgetFragment extends Fragment {
                 return;
             }
 
-            new Thread(() -> {
+            FinixDatabase.getWriteExecutor().execute(() -> {
                 try {
                     CategoryDAO categoryDao = FinixDatabase.getDatabase(requireContext()).categoryDao();
-                    SynchronizationLogDAO syncDao = FinixDatabase.getDatabase(requireContext()).synchronizationLogDao();
-
-                    // 1️⃣ Insert the new category
+                    // 1️⃣ Insert the new category (trigger queues the PENDING sync log)
                     Category newCategory = new Category(newCategoryName);
                     long newRowId = categoryDao.insert(newCategory); // Get new category ID
 
-                    // 2️⃣ Add to sync log
-                    SynchronizationLog log = new SynchronizationLog(
-                            "categories",
-                            (int)newRowId,
-                            System.currentTimeMillis(),
-                            "PENDING"
-                    );
-                    syncDao.insert(log);
-
                     // 3️⃣ Fetch updated categories
                     List<Category> updated = categoryDao.getAllCategories();
                     List<String> updatedNames = new ArrayList<>();
@@ -324,7 +312,7 @@ public class BudgetFragment extends Fragment {
                     );
                     e.printStackTrace();
                 }
-            }).start();
+            });
         });
 
 
@@ -361,7 +349,7 @@ public class BudgetFragment extends Fragment {
             }
 
 
-            new Thread(() -> {
+            FinixDatabase.getWriteExecutor().execute(() -> {
                 try {
                     CategoryDAO categoryDao = FinixDatabase.getDatabase(requireContext()).categoryDao();
                     List<Category> allCategories = categoryDao.getAllCategories();
@@ -390,33 +378,16 @@ public class BudgetFragment extends Fragment {
 
                     // --- NEW VALIDATION: Check for existing budget in the same month/category ---
 
-                    // Set up a SimpleDateFormat to compare only Month and Year
-                    SimpleDateFormat monthYearFormat = new SimpleDateFormat("MMMM yyyy", Locale.getDefault());
-                    String newBudgetDateString = monthYearFormat.format(new Date(startDateMillis));
-
-                    List<Budget> existingBudgets = budgetViewModel.getAllBudgets();
-
-                    for (Budget existingBudget : existingBudgets) {
-                        // Skip the current budget being edited to allow changes to itself
-                        if (isEditing && existingBudget.getLocalId() == originalBudgetId) {
-                            continue;
-                        }
-
-                        // 1. Check if the categories match
-                        if (existingBudget.getCategoryId() == categoryId) {
-
-                            String existingBudgetDateString = monthYearFormat.format(new Date(existingBudget.getStartDate()));
-
-                            // 2. Check if the month and year match
-                            if (newBudgetDateString.equals(existingBudgetDateString)) {
+                    // One indexed count instead of formatting every budget's month
+                    if (budgetViewModel.hasBudgetInMonth(categoryId, startDateMillis, isEditing ? originalBudgetId : -1)) {
+                        String newBudgetDateString = new SimpleDateFormat("MMMM yyyy", Locale.getDefault())
+                                .format(new Date(startDateMillis));
 
-                                // DUPLICATE BUDGET FOUND! Prevent insertion/update.
-                                requireActivity().runOnUiThread(() -> {
-                                    showCustomToast("A budget for '" + categoryName + "' already exists in " + newBudgetDateString);
-                                });
-                                return; // STOP execution of the thread
-                            }
-                        }
+                        // DUPLICATE BUDGET FOUND! Prevent insertion/update.
+                        requireActivity().runOnUiThread(() -> {
+                            showCustomToast("A budget for '" + categoryName + "' already exists in " + newBudgetDateString);
+                        });
+                        return; // STOP execution of the thread
                     }
                     // ------------------ END NEW VALIDATION -------------------
 
@@ -475,7 +446,7 @@ public class BudgetFragment extends Fragment {
                     );
                     e.printStackTrace();
                 }
-            }).start();
+            });
         });
 
         dialog.show();
@@ -571,7 +542,7 @@ public class BudgetFragment extends Fragment {
         // ... (All the dialog setup before fetching the category name)
 
         // *** FIX: Perform synchronous database access on a background thread ***
-        new Thread(() -> {
+        FinixDatabase.getReadExecutor().execute(() -> {
             // Synchronously fetch the category name in the background
             String categoryName = getCategoryName(budgetToDelete.getCategoryId());
 
@@ -622,14 +593,11 @@ public class BudgetFragment extends Fragment {
                         });
                     };
 
-                    // The actual delete operation runs on a background thread
-                    new Thread(() -> {
-                        // 🔑 Pass the callback to the ViewModel
-                        budgetViewModel.delete(budgetToDelete, onComplete);
-                    }).start();
+                    // 🔑 The ViewModel queues the delete on the single writer and runs the callback after it
+                    budgetViewModel.delete(budgetToDelete, onComplete);
                 });
             });
-        }).start();
+        });
     }
 
     /**
@@ -647,36 +615,18 @@ public class BudgetFragment extends Fragment {
     }
 
 
-    private void loadMonthFilter(List<Budget> budgets) {
-        // Find the latest budget start date to determine the default selection
-        long latestDateMillis = 0;
-        for (Budget b : budgets) {
-            if (b.getStartDate() > latestDateMillis) {
-                latestDateMillis = b.getStartDate();
-            }
-        }
-
+    private void loadMonthFilter(List<Long> monthStarts) {
         List<String> months = new ArrayList<>();
         // 1. "All" remains the first option
         months.add("All");
 
+        // 2. One label per distinct month (already newest first, so the latest month is index 1)
         SimpleDateFormat sdf = new SimpleDateFormat("MMMM yyyy", Locale.getDefault());
-        String latestMonthYear = null;
-
-        // 2. Populate the list with unique months and find the latest month string
-        for (Budget b : budgets) {
-            String month = sdf.format(new Date(b.getStartDate()));
-            if (!months.contains(month)) {
-                months.add(month);
-            }
-        }
-
-        // 3. Determine the latest month string based on the latest date
-        if (latestDateMillis > 0) {
-            latestMonthYear = sdf.format(new Date(latestDateMillis));
+        for (Long monthStart : monthStarts) {
+            months.add(sdf.format(new Date(monthStart)));
         }
 
-        // 4. Set the Adapter
+        // 3. Set the Adapter
         ArrayAdapter<String> adapter = new ArrayAdapter<>(
                 requireContext(),
                 android.R.layout.simple_spinner_item,
@@ -685,25 +635,19 @@ public class BudgetFragment extends Fragment {
         adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
         binding.spinnerMonthFilter.setAdapter(adapter);
 
-        // 5. Set the default selection to the latest month
-        int defaultSelectionIndex = 0; // Default to "All" if no budgets or calculation fails
-        if (latestMonthYear != null) {
-            int latestMonthIndex = months.indexOf(latestMonthYear);
-            if (latestMonthIndex != -1) {
-                defaultSelectionIndex = latestMonthIndex;
-            }
-        }
+        // 4. Set the default selection to the latest month ("All" if there is none)
+        int defaultSelectionIndex = monthStarts.isEmpty() ? 0 : 1;
 
         // Set the selection and trigger the filtering for the default month
         binding.spinnerMonthFilter.setSelection(defaultSelectionIndex);
 
-        // 6. Set the Listener (This logic remains the same, but it will be triggered
+        // 5. Set the Listener (This logic remains the same, but it will be triggered
         // by setSelection(defaultSelectionIndex) if it's called after the spinner is visible)
         binding.spinnerMonthFilter.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
             @Override
             public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
                 // filterBudgetsByMonth will be called with the latest month when the fragment loads
-                filterBudgetsByMonth(months.get(position));
+                filterBudgetsByMonth(position == 0 ? null : monthStarts.get(position - 1));
             }
 
             @Override
@@ -711,23 +655,35 @@ public class BudgetFragment extends Fragment {
         });
     }
 
-    private void filterBudgetsByMonth(String month) {
-        new Thread(() -> {
-            List<Budget> allBudgets = budgetViewModel.getAllBudgets();
-            List<Transaction> transactions = FinixDatabase.getDatabase(requireContext()).transactionDao().getAllTransactions();
-            List<Category> categories = FinixDatabase.getDatabase(requireContext()).categoryDao().getAllCategories();
-
-            if (!month.equals("All")) {
-                SimpleDateFormat sdf = new SimpleDateFormat("MMMM yyyy", Locale.getDefault());
-                List<Budget> filtered = new ArrayList<>();
-                for (Budget b : allBudgets) {
-                    if (sdf.format(new Date(b.getStartDate())).equals(month)) filtered.add(b);
-                }
-                allBudgets = filtered;
-            }
+    // monthStart == null -> "All"; otherwise only the budgets overlapping that month are queried
+    private void filterBudgetsByMonth(Long monthStart) {
+        FinixDatabase.getReadExecutor().execute(() -> {
+            List<BudgetWithSpend> budgets = monthStart == null
+                    ? budgetViewModel.getBudgetsWithSpend()
+                    : budgetViewModel.getBudgetsWithSpendInMonth(monthStart);
+
+            List<BudgetAdapter.BudgetRow> rows = BudgetAdapter.buildRows(budgets, loadScheduled(budgetsOf(budgets)),
+                    budgetViewModel.getForecasts(budgets));
+            requireActivity().runOnUiThread(() -> adapter.submitList(rows));
+        });
+    }
 
-            List<Budget> finalBudgets = allBudgets;
-            requireActivity().runOnUiThread(() -> adapter.setData(finalBudgets, transactions, categories));
-        }).start();
+    private static List<Budget> budgetsOf(List<BudgetWithSpend> rows) {
+        List<Budget> budgets = new ArrayList<>();
+        if (rows != null) {
+            for (BudgetWithSpend row : rows) budgets.add(row.budget);
+        }
+        return budgets;
+    }
+
+    // 🔁 Recurring occurrences not written yet, over the span of the given budgets (background thread)
+    private List<Transaction> loadScheduled(List<Budget> budgets) {
+        if (budgets == null || budgets.isEmpty()) return null;
+        long from = Long.MAX_VALUE, to = Long.MIN_VALUE;
+        for (Budget b : budgets) {
+            from = Math.min(from, b.getStartDate());
+            to = Math.max(to, b.getEndDate());
+        }
+        return new RecurringRepository(requireActivity().getApplication()).projectOccurrences(from, to + 1);
     }
-}
\ No newline at end of file
+}
@@ -6,58 +6,37 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 
 import com.example.finix.data.Budget;
+import com.example.finix.data.BudgetForecaster;
 import com.example.finix.data.BudgetRepository;
-import com.example.finix.data.Category; // Keep import for completeness, even if not used
-import com.example.finix.data.FinixDatabase;
-import com.example.finix.data.SynchronizationLog;
+import com.example.finix.data.BudgetWithSpend;
 
+import java.util.Calendar;
 import java.util.List;
+import java.util.Map;
 
 public class BudgetViewModel extends AndroidViewModel {
 
     private final BudgetRepository repository;
-    private final FinixDatabase db; // Reference to the database for logging
 
     public BudgetViewModel(@NonNull Application application) {
         super(application);
         repository = new BudgetRepository(application);
-        db = FinixDatabase.getDatabase(application); // Initialize DB reference
     }
 
 
     // BudgetViewModel.java
+    // 🔒 Sync log rows are written by triggers in the same statement (see SyncLogTriggers)
 
     public void insert(Budget budget, Runnable onComplete) { // 🆕 ADD Runnable
-        new Thread(() -> {
-            long localId = db.budgetDao().insert(budget);
-            logBudgetSave((int) localId);
-
-            if (onComplete != null) { // 🆕 EXECUTE CALLBACK
-                onComplete.run();
-            }
-        }).start();
+        repository.insert(budget, onComplete);
     }
 
     public void update(Budget budget, Runnable onComplete) { // 🆕 ADD Runnable
-        new Thread(() -> {
-            db.budgetDao().update(budget);
-            logBudgetUpdate(budget.getLocalId());
-
-            if (onComplete != null) { // 🆕 EXECUTE CALLBACK
-                onComplete.run();
-            }
-        }).start();
+        repository.update(budget, onComplete);
     }
     // Delete method should also take a callback for consistency.
     public void delete(Budget budget, Runnable onComplete) {
-        new Thread(() -> {
-            db.budgetDao().delete(budget);
-            logBudgetDelete(budget.getId() == 0 ? budget.getLocalId() : budget.getId());
-
-            if (onComplete != null) {
-                onComplete.run();
-            }
-        }).start();
+        repository.delete(budget, onComplete);
     }
 
 
@@ -65,48 +44,48 @@ public class BudgetViewModel extends AndroidViewModel {
         return repository.getAllBudgets();
     }
 
+    // 📊 Rows for the list: name and spent come from one SQL query (background thread)
+    public List<BudgetWithSpend> getBudgetsWithSpend() {
+        return repository.getBudgetsWithSpend();
+    }
 
+    // 📈 Burn-rate forecast per budget local_id (background thread)
+    public Map<Integer, BudgetForecaster.Forecast> getForecasts(List<BudgetWithSpend> budgets) {
+        return repository.getForecasts(budgets);
+    }
 
+    // 🗓️ ...only the budgets overlapping the local month starting at monthStart
+    public List<BudgetWithSpend> getBudgetsWithSpendInMonth(long monthStart) {
+        return repository.getBudgetsWithSpendBetween(monthStart, nextMonthStart(monthStart));
+    }
 
+    // Month filter options: local month starts some budget overlaps, newest first (background thread)
+    public List<Long> getBudgetMonthStarts() {
+        return repository.getBudgetMonthStarts();
+    }
 
-    // --- Synchronization Log Methods for Budget ---
-
-    // 🆕 NEW: Add sync log for a saved budget
-    public void logBudgetSave(int budgetLocalId) {
-        new Thread(() -> {
-            SynchronizationLog log = new SynchronizationLog(
-                    "budgets",
-                    budgetLocalId,
-                    System.currentTimeMillis(),
-                    "PENDING"
-            );
-            db.synchronizationLogDao().insert(log);
-        }).start();
+    // Another budget of this category already starts in dateMillis' month? (background thread)
+    public boolean hasBudgetInMonth(int categoryId, long dateMillis, int excludeLocalId) {
+        long monthStart = monthStartOf(dateMillis);
+        return repository.hasBudgetInMonth(categoryId, monthStart, nextMonthStart(monthStart), excludeLocalId);
     }
 
-    // 🆕 NEW: Add sync log for an updated budget
-    public void logBudgetUpdate(int budgetLocalId) {
-        new Thread(() -> {
-            SynchronizationLog log = new SynchronizationLog(
-                    "budgets",
-                    budgetLocalId,
-                    System.currentTimeMillis(),
-                    "UPDATED"
-            );
-            db.synchronizationLogDao().insert(log);
-        }).start();
+    // Local midnight on the 1st of the month (same key as getBudgetMonthStarts)
+    private static long monthStartOf(long millis) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(millis);
+        cal.set(Calendar.DAY_OF_MONTH, 1);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        return cal.getTimeInMillis();
     }
 
-    // 🆕 NEW: Add sync log for a deleted budget
-    public void logBudgetDelete(int budgetId) { // budgetId here should be the server ID if sync log uses server IDs for DELETED
-        new Thread(() -> {
-            SynchronizationLog log = new SynchronizationLog(
-                    "budgets",
-                    budgetId,
-                    System.currentTimeMillis(),
-                    "DELETED"
-            );
-            db.synchronizationLogDao().insert(log);
-        }).start();
+    private static long nextMonthStart(long monthStart) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(monthStart);
+        cal.add(Calendar.MONTH, 1);
+        return cal.getTimeInMillis();
     }
-}
\ No newline at end of file
+}
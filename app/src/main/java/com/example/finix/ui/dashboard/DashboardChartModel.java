@@ -0,0 +1,242 @@
+package com.example.finix.ui.dashboard;
+
+import android.graphics.Color;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.github.mikephil.charting.data.BarData;
+import com.github.mikephil.charting.data.BarDataSet;
+import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.data.PieData;
+import com.github.mikephil.charting.data.PieDataSet;
+import com.github.mikephil.charting.data.PieEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Everything the dashboard charts draw, prepared off the main thread by DashboardViewModel.
+ * The fragment only hands the ready-made chart data to the views.
+ *
+ * equals() compares the plotted values and labels, so the ViewModel can skip posting a
+ * model that would draw exactly the same thing. Treat the MPAndroidChart data as read-only.
+ */
+public final class DashboardChartModel {
+
+    // Revised Dark-Only, Ash-Toned 10-color palette (Focus on Teals & Blue-Greys, No Brown/Black)
+    private static final int[] CHART_COLORS = {
+            Color.parseColor("#004D40"), // Deepest Teal
+            Color.parseColor("#263238"), // Extra Dark Ash Blue (Replaces nearly black)
+            Color.parseColor("#00695C"), // Dark Teal
+            Color.parseColor("#37474F"), // Deep Blue Grey
+            Color.parseColor("#00796B"), // Muted Teal (Lighter than deep)
+            Color.parseColor("#455A64"), // Dark Blue Grey
+            Color.parseColor("#546E7A"), // Medium Blue Slate
+            Color.parseColor("#00897B"), // Primary Application Teal
+            Color.parseColor("#607D8B"), // Ash Grey (Subtle contrast)
+            Color.parseColor("#78909C")  // Muted Slate Blue
+    };
+    private static final List<Integer> PIE_COLORS;
+    static {
+        List<Integer> colors = new ArrayList<>();
+        for (int color : CHART_COLORS) colors.add(color);
+        PIE_COLORS = Collections.unmodifiableList(colors);
+    }
+
+    // Trend lines use the same good/bad colours as the comparison texts
+    private static final int INCOME_COLOR = Color.parseColor("#00BFA5");
+    private static final int EXPENSE_COLOR = Color.parseColor("#E57373");
+
+    /**
+     * One month's pie (income or expense).
+     */
+    public static final class PieModel {
+        public final String type;       // "Income" / "Expense", used for the center text
+        public final double total;
+        @Nullable public final PieData data; // null when there is nothing to draw
+
+        private final String[] labels;
+        private final float[] values;
+
+        private PieModel(String type, double total, String[] labels, float[] values) {
+            this.type = type;
+            this.total = total;
+            this.labels = labels;
+            this.values = values;
+
+            if (labels.length == 0) {
+                this.data = null;
+                return;
+            }
+            ArrayList<PieEntry> entries = new ArrayList<>(labels.length);
+            for (int i = 0; i < labels.length; i++) {
+                // PieEntry(value, label) - value is the amount, label is the category name
+                entries.add(new PieEntry(values[i], labels[i]));
+            }
+            PieDataSet dataSet = new PieDataSet(entries, "");
+            dataSet.setColors(PIE_COLORS);
+            dataSet.setSliceSpace(2f);
+            dataSet.setSelectionShift(5f);
+            dataSet.setDrawValues(false); // Don't show values on the small slices
+
+            PieData pieData = new PieData(dataSet);
+            pieData.setValueTextSize(11f);
+            this.data = pieData;
+        }
+
+        static PieModel from(String type, double total, @Nullable Map<Integer, Double> byCategory,
+                             @NonNull Map<Integer, String> categoryMap) {
+            // No names yet -> no labels to show, same as before the category map loads
+            if (byCategory == null || byCategory.isEmpty() || categoryMap.isEmpty()) {
+                return new PieModel(type, total, new String[0], new float[0]);
+            }
+            // Biggest slice first, so the order (and colours) don't depend on map iteration
+            List<Map.Entry<Integer, Double>> sorted = new ArrayList<>(byCategory.entrySet());
+            sorted.sort((a, b) -> Double.compare(b.getValue(), a.getValue()));
+
+            String[] labels = new String[sorted.size()];
+            float[] values = new float[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                labels[i] = categoryMap.getOrDefault(sorted.get(i).getKey(), "Unknown");
+                values[i] = sorted.get(i).getValue().floatValue();
+            }
+            return new PieModel(type, total, labels, values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PieModel)) return false;
+            PieModel other = (PieModel) o;
+            return Double.compare(total, other.total) == 0
+                    && type.equals(other.type)
+                    && Arrays.equals(labels, other.labels)
+                    && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, total, Arrays.hashCode(labels), Arrays.hashCode(values));
+        }
+    }
+
+    public final PieModel incomePie;
+    public final PieModel expensePie;
+
+    // Trend charts (null when there is nothing in the range)
+    @Nullable public final List<String> trendLabels;
+    @Nullable public final LineData trendLineData;
+    @Nullable public final BarData categoryBarData;
+
+    // Kept for equals()
+    @Nullable private final TrendData trend;
+    private final String[] stackLabels;
+
+    private DashboardChartModel(PieModel incomePie, PieModel expensePie,
+                                @Nullable TrendData trend, String[] stackLabels) {
+        this.incomePie = incomePie;
+        this.expensePie = expensePie;
+        this.trend = trend;
+        this.stackLabels = stackLabels;
+
+        if (trend == null || trend.isEmpty()) {
+            this.trendLabels = null;
+            this.trendLineData = null;
+            this.categoryBarData = null;
+            return;
+        }
+        this.trendLabels = trend.labels;
+
+        // 1. Income vs Expense lines
+        List<Entry> incomeEntries = new ArrayList<>();
+        List<Entry> expenseEntries = new ArrayList<>();
+        for (int i = 0; i < trend.labels.size(); i++) {
+            incomeEntries.add(new Entry(i, trend.income[i]));
+            expenseEntries.add(new Entry(i, trend.expense[i]));
+        }
+        this.trendLineData = new LineData(trendLine(incomeEntries, "Income", INCOME_COLOR),
+                trendLine(expenseEntries, "Expense", EXPENSE_COLOR));
+
+        // 2. Stacked expenses per category (top categories + "Other")
+        if (stackLabels.length == 0) {
+            this.categoryBarData = null;
+            return;
+        }
+        List<BarEntry> barEntries = new ArrayList<>();
+        for (int i = 0; i < trend.labels.size(); i++) {
+            barEntries.add(new BarEntry(i, trend.expenseStacks[i]));
+        }
+        int[] stackColors = new int[stackLabels.length];
+        for (int i = 0; i < stackColors.length; i++) {
+            // Even palette slots first, then odd ones, so neighbouring segments differ
+            stackColors[i] = CHART_COLORS[(i * 2) % CHART_COLORS.length + (i * 2) / CHART_COLORS.length];
+        }
+        BarDataSet barSet = new BarDataSet(barEntries, "");
+        barSet.setStackLabels(stackLabels);
+        barSet.setColors(stackColors);
+        barSet.setDrawValues(false);
+
+        BarData barData = new BarData(barSet);
+        barData.setBarWidth(0.8f);
+        this.categoryBarData = barData;
+    }
+
+    /**
+     * Builds the model. Runs on a background thread (see DashboardViewModel).
+     */
+    static DashboardChartModel build(@Nullable MonthSummary summary, @Nullable TrendData trend,
+                                     @Nullable Map<Integer, String> categoryMap) {
+        Map<Integer, String> names = categoryMap != null ? categoryMap : Collections.emptyMap();
+        if (summary == null) summary = MonthSummary.empty();
+
+        String[] stackLabels = new String[0];
+        if (trend != null) {
+            stackLabels = new String[trend.stackCategoryIds.length];
+            for (int i = 0; i < stackLabels.length; i++) {
+                int categoryId = trend.stackCategoryIds[i];
+                stackLabels[i] = categoryId == TrendData.OTHER_CATEGORY
+                        ? "Other" : names.getOrDefault(categoryId, "Unknown");
+            }
+        }
+
+        return new DashboardChartModel(
+                PieModel.from("Income", summary.incomeTotal, summary.incomeByCategory, names),
+                PieModel.from("Expense", summary.expenseTotal, summary.expenseByCategory, names),
+                trend, stackLabels);
+    }
+
+    private static LineDataSet trendLine(List<Entry> entries, String label, int color) {
+        LineDataSet set = new LineDataSet(entries, label);
+        set.setColor(color);
+        set.setCircleColor(color);
+        set.setCircleRadius(3f);
+        set.setDrawCircleHole(false);
+        set.setLineWidth(2f);
+        set.setDrawValues(false);
+        return set;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DashboardChartModel)) return false;
+        DashboardChartModel other = (DashboardChartModel) o;
+        return incomePie.equals(other.incomePie)
+                && expensePie.equals(other.expensePie)
+                && Objects.equals(trend, other.trend)
+                && Arrays.equals(stackLabels, other.stackLabels);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(incomePie, expensePie, trend, Arrays.hashCode(stackLabels));
+    }
+}
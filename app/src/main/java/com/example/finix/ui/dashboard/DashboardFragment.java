@@ -12,27 +12,25 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
+import android.widget.TextView;
 import com.example.finix.R;
 import com.example.finix.data.CategoryDAO;
 import com.example.finix.data.FinixDatabase;
-import com.example.finix.data.Transaction;
 import com.example.finix.databinding.FragmentDashboardBinding;
 
+import com.github.mikephil.charting.charts.BarLineChartBase;
 import com.github.mikephil.charting.charts.PieChart;
 import com.github.mikephil.charting.components.Legend;
-import com.github.mikephil.charting.data.PieData;
-import com.github.mikephil.charting.data.PieDataSet;
+import com.github.mikephil.charting.components.XAxis;
 import com.github.mikephil.charting.data.PieEntry;
 import com.github.mikephil.charting.listener.OnChartValueSelectedListener;
 import com.github.mikephil.charting.highlight.Highlight;
 import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.formatter.IndexAxisValueFormatter;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 public class DashboardFragment extends Fragment {
 
@@ -41,7 +39,6 @@ public class DashboardFragment extends Fragment {
 
     private List<String> distinctMonths = new ArrayList<>();
     private String currentMonthYearFilter = null;
-    private Map<Integer, String> categoryMap = new HashMap<>(); // Local copy of category map
 
     // Store the current month's total for easy reset on chart de-selection
     private double currentIncomeTotal = 0.0;
@@ -78,88 +75,39 @@ public class DashboardFragment extends Fragment {
         // Setup Chart views initially and set the listener
         setupChart(binding.incomeChart);
         setupChart(binding.expenseChart);
+        setupTrendChart(binding.trendChart);
+        setupTrendChart(binding.categoryTrendChart);
+
+        binding.rgTrendRange.setOnCheckedChangeListener((group, checkedId) ->
+                viewModel.setTrendMonths(checkedId == R.id.rbTrend24 ? 24 : TrendData.DEFAULT_MONTHS));
 
         // --- 1. Observe Distinct Months ---
         viewModel.getDistinctMonthsLive().observe(getViewLifecycleOwner(), this::updateMonthYearSpinner);
 
-        // --- 2. Observe Category Map (Must be loaded first for chart labels) ---
-        viewModel.getCategoryMapLive().observe(getViewLifecycleOwner(), map -> {
-            categoryMap = map;
-            // When map updates, force a re-draw of the charts if data is already present
-            if (viewModel.monthlyIncomeTransactionsLive.getValue() != null) {
-                updatePieChart(binding.incomeChart, viewModel.monthlyIncomeTransactionsLive.getValue(), categoryMap, "Income");
-            }
-            if (viewModel.monthlyExpenseTransactionsLive.getValue() != null) {
-                updatePieChart(binding.expenseChart, viewModel.monthlyExpenseTransactionsLive.getValue(), categoryMap, "Expense");
-            }
-        });
+        // --- 2. Observe the month summary (cards, from one aggregate query) ---
+        viewModel.getMonthSummaryLive().observe(getViewLifecycleOwner(), summary -> {
+            if (summary == null) return;
 
-        // --- 3. Observe LiveData for UI Updates (Cards) ---
-        viewModel.incomeTotalLive.observe(getViewLifecycleOwner(), total -> {
-            currentIncomeTotal = total != null ? total : 0.0; // Store total
+            currentIncomeTotal = summary.incomeTotal; // Store totals for chart de-selection
+            currentExpenseTotal = summary.expenseTotal;
             binding.incomeAmount.setText(String.format(Locale.getDefault(), "Rs. %.2f", currentIncomeTotal));
-
-            // Safely check if the chart is highlighted before accessing array length
-            if (binding.incomeChart.getData() != null) {
-                Highlight[] highlights = binding.incomeChart.getHighlighted();
-                if (highlights == null || highlights.length == 0) {
-                    updateChartCenterTextToTotal(binding.incomeChart, currentIncomeTotal, "Income");
-                }
-            }
-        });
-
-        viewModel.incomeComparisonLive.observe(getViewLifecycleOwner(), comparison -> {
-            if (comparison != null) {
-                String[] parts = comparison.split("\\|", 2);
-                binding.incomeChange.setText(parts.length > 1 ? parts[1] : parts[0]);
-                try {
-                    binding.incomeChange.setTextColor(Color.parseColor(parts[0]));
-                } catch (IllegalArgumentException e) { /* Fallback */ }
-            } else { binding.incomeChange.setText(""); }
-        });
-
-        viewModel.expenseTotalLive.observe(getViewLifecycleOwner(), total -> {
-            currentExpenseTotal = total != null ? total : 0.0; // Store total
             binding.expenseAmount.setText(String.format(Locale.getDefault(), "Rs. %.2f", currentExpenseTotal));
 
-            // Safely check if the chart is highlighted before accessing array length
-            if (binding.expenseChart.getData() != null) {
-                Highlight[] highlights = binding.expenseChart.getHighlighted();
-                if (highlights == null || highlights.length == 0) {
-                    updateChartCenterTextToTotal(binding.expenseChart, currentExpenseTotal, "Expense");
-                }
-            }
-        });
-
-        viewModel.expenseComparisonLive.observe(getViewLifecycleOwner(), comparison -> {
-            if (comparison != null) {
-                String[] parts = comparison.split("\\|", 2);
-                binding.expenseChange.setText(parts.length > 1 ? parts[1] : parts[0]);
-                try {
-                    binding.expenseChange.setTextColor(Color.parseColor(parts[0]));
-                } catch (IllegalArgumentException e) { /* Fallback */ }
-            } else { binding.expenseChange.setText(""); }
-        });
-
-
-        // --- 4. Observe Chart Data (Draw the graphs) ---
-        viewModel.monthlyIncomeTransactionsLive.observe(getViewLifecycleOwner(), incomeList -> {
-            updatePieChart(binding.incomeChart, incomeList, categoryMap, "Income");
+            showComparison(binding.incomeChange, summary.incomeComparison);
+            showComparison(binding.expenseChange, summary.expenseComparison);
 
-            // ⭐ FIX: Stop refresh indicator here. This acts as a safety measure
-            // in case the expense list observer doesn't fire or takes too long.
+            // ⭐ Stop refresh indicator once the data has arrived
             if (binding.swipeRefreshLayout.isRefreshing()) {
                 binding.swipeRefreshLayout.setRefreshing(false);
             }
         });
 
-        viewModel.monthlyExpenseTransactionsLive.observe(getViewLifecycleOwner(), expenseList -> {
-            updatePieChart(binding.expenseChart, expenseList, categoryMap, "Expense");
-
-            // ⭐ Keep: Stop refresh indicator here too, as it was originally intended to be the last step.
-            if (binding.swipeRefreshLayout.isRefreshing()) {
-                binding.swipeRefreshLayout.setRefreshing(false);
-            }
+        // --- 3. Draw the graphs (chart data is prepared by the ViewModel off the main thread) ---
+        viewModel.getChartModelLive().observe(getViewLifecycleOwner(), model -> {
+            if (model == null) return;
+            bindPieChart(binding.incomeChart, model.incomePie);
+            bindPieChart(binding.expenseChart, model.expensePie);
+            bindTrendCharts(model);
         });
 
         // ⭐ Setup Swipe to Refresh Listener
@@ -169,8 +117,8 @@ public class DashboardFragment extends Fragment {
     // ⭐ Method to handle the refresh logic
     private void refreshData() {
         if (currentMonthYearFilter != null) {
-            // Re-select the current month to force the ViewModel's LiveData to reload/re-evaluate
-            viewModel.setSelectedMonth(currentMonthYearFilter);
+            // Ask the ViewModel to re-read the current month (bypasses the month cache)
+            viewModel.refresh();
             // The indicator is dismissed by the LiveData observers once data arrives.
         } else {
             // If no filter is set (e.g., initial load is still pending), dismiss immediately
@@ -178,6 +126,19 @@ public class DashboardFragment extends Fragment {
         }
     }
 
+    /**
+     * Shows a "color|text" comparison string in the given view.
+     */
+    private void showComparison(TextView view, String comparison) {
+        if (comparison != null) {
+            String[] parts = comparison.split("\\|", 2);
+            view.setText(parts.length > 1 ? parts[1] : parts[0]);
+            try {
+                view.setTextColor(Color.parseColor(parts[0]));
+            } catch (IllegalArgumentException e) { /* Fallback */ }
+        } else { view.setText(""); }
+    }
+
     // --- Chart Drawing Methods ---
 
     /**
@@ -244,75 +205,74 @@ public class DashboardFragment extends Fragment {
     }
 
     /**
-     * Processes transactions, sets up data entries, and draws the PieChart.
+     * Binds a prepared pie (see DashboardChartModel.PieModel) to the PieChart.
      */
-    private void updatePieChart(PieChart chart, List<Transaction> transactions, Map<Integer, String> categoryMap, String type) {
-        // Use Type: Income / Expense for center text
-
-        if (transactions == null || transactions.isEmpty() || categoryMap.isEmpty()) {
+    private void bindPieChart(PieChart chart, DashboardChartModel.PieModel pie) {
+        if (pie.data == null) {
             chart.clear();
-            chart.setCenterText("No " + type + " Data");
+            chart.setCenterText("No " + pie.type + " Data");
             chart.invalidate();
             return;
         }
 
-        // 1. Aggregate amounts by category ID (Requires min API 24 for Collectors.summingDouble)
-        Map<Integer, Double> aggregatedData = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        Transaction::getCategoryId,
-                        Collectors.summingDouble(Transaction::getAmount)
-                ));
-
-        // 2. Create Pie Entries
-        ArrayList<PieEntry> entries = new ArrayList<>();
-        double totalAmount = 0;
-
-        for (Map.Entry<Integer, Double> entry : aggregatedData.entrySet()) {
-            totalAmount += entry.getValue();
-            String categoryName = categoryMap.getOrDefault(entry.getKey(), "Unknown");
-            // PieEntry(value, label) - value is the amount, label is the category name
-            entries.add(new PieEntry(entry.getValue().floatValue(), categoryName));
-        }
-
-        // 3. Create PieDataSet
-        PieDataSet dataSet = new PieDataSet(entries, "");
-
-        // Revised Dark-Only, Ash-Toned 10-color palette (Focus on Teals & Blue-Greys, No Brown/Black)
-        final int[] CHART_COLORS = {
-                Color.parseColor("#004D40"), // Deepest Teal
-                Color.parseColor("#263238"), // Extra Dark Ash Blue (Replaces nearly black)
-                Color.parseColor("#00695C"), // Dark Teal
-                Color.parseColor("#37474F"), // Deep Blue Grey
-                Color.parseColor("#00796B"), // Muted Teal (Lighter than deep)
-                Color.parseColor("#455A64"), // Dark Blue Grey
-                Color.parseColor("#546E7A"), // Medium Blue Slate
-                Color.parseColor("#00897B"), // Primary Application Teal
-                Color.parseColor("#607D8B"), // Ash Grey (Subtle contrast)
-                Color.parseColor("#78909C")  // Muted Slate Blue
-        };
-
-        ArrayList<Integer> colors = new ArrayList<>();
-        for (int color : CHART_COLORS) {
-            colors.add(color);
-        }
-        dataSet.setColors(colors);
-        dataSet.setSliceSpace(2f);
-        dataSet.setSelectionShift(5f);
-        dataSet.setDrawValues(false); // Don't show values on the small slices
-
-        // 4. Create PieData and set on Chart
-        PieData data = new PieData(dataSet);
-        data.setValueTextSize(11f);
-
-        chart.setData(data);
+        chart.setData(pie.data);
 
         // Set center text using the helper function for consistency
-        updateChartCenterTextToTotal(chart, totalAmount, type);
+        updateChartCenterTextToTotal(chart, pie.total, pie.type);
 
         chart.animateY(1000);
         chart.invalidate(); // Refresh chart
     }
 
+    /**
+     * Shared style for the line/bar trend charts (dark card, white text).
+     */
+    private void setupTrendChart(BarLineChartBase<?> chart) {
+        chart.getDescription().setEnabled(false);
+        chart.setNoDataText("No transactions in this period");
+        chart.setNoDataTextColor(Color.WHITE);
+        chart.setScaleEnabled(false);
+        chart.setDoubleTapToZoomEnabled(false);
+        chart.getAxisRight().setEnabled(false);
+        chart.getAxisLeft().setTextColor(Color.WHITE);
+        chart.getAxisLeft().setAxisMinimum(0f);
+
+        XAxis xAxis = chart.getXAxis();
+        xAxis.setPosition(XAxis.XAxisPosition.BOTTOM);
+        xAxis.setGranularity(1f);
+        xAxis.setDrawGridLines(false);
+        xAxis.setTextColor(Color.WHITE);
+        xAxis.setLabelRotationAngle(-45f);
+
+        Legend legend = chart.getLegend();
+        legend.setTextColor(Color.WHITE);
+        legend.setWordWrapEnabled(true);
+    }
+
+    /**
+     * Binds both trend charts. The data is already downsampled to a fixed number of points.
+     */
+    private void bindTrendCharts(DashboardChartModel model) {
+        if (model.trendLineData == null) {
+            binding.trendChart.clear();
+            binding.categoryTrendChart.clear();
+            return;
+        }
+        IndexAxisValueFormatter xLabels = new IndexAxisValueFormatter(model.trendLabels);
+
+        binding.trendChart.getXAxis().setValueFormatter(xLabels);
+        binding.trendChart.setData(model.trendLineData);
+        binding.trendChart.invalidate();
+
+        if (model.categoryBarData == null) {
+            binding.categoryTrendChart.clear();
+            return;
+        }
+        binding.categoryTrendChart.getXAxis().setValueFormatter(xLabels);
+        binding.categoryTrendChart.setData(model.categoryBarData);
+        binding.categoryTrendChart.invalidate();
+    }
+
     // --- Spinner Logic ---
     private void setupMonthYearSpinnerListener() {
         binding.spinnerMonthYear.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
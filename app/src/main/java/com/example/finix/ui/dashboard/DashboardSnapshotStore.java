@@ -0,0 +1,137 @@
+package com.example.finix.ui.dashboard;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the last rendered dashboard (selected month, totals, slices, comparison texts) in a
+ * small JSON file, so a cold start can paint it straight away while the real data loads.
+ *
+ * All methods do file I/O: call them off the main thread.
+ */
+final class DashboardSnapshotStore {
+
+    private static final String TAG = "DashboardSnapshot";
+    private static final String FILE_NAME = "dashboard_snapshot.json";
+    // Bump when DashboardSnapshot changes shape; older files are then ignored
+    private static final int VERSION = 1;
+
+    /**
+     * What's written to disk (plain fields for Gson).
+     */
+    static final class DashboardSnapshot {
+        int version;
+        long savedAt;
+
+        String monthYear;
+        List<String> months;
+
+        double incomeTotal;
+        double expenseTotal;
+        Map<Integer, Double> incomeByCategory;
+        Map<Integer, Double> expenseByCategory;
+        String incomeComparison;
+        String expenseComparison;
+
+        // Only the names the slices need, so labels show before the category table is read
+        Map<Integer, String> categoryNames;
+
+        static DashboardSnapshot from(@NonNull MonthSummary summary, @Nullable List<String> months,
+                                      @Nullable Map<Integer, String> names) {
+            DashboardSnapshot snapshot = new DashboardSnapshot();
+            snapshot.version = VERSION;
+            snapshot.savedAt = System.currentTimeMillis();
+            snapshot.monthYear = summary.monthYear;
+            snapshot.months = months != null ? new ArrayList<>(months) : new ArrayList<>();
+            snapshot.incomeTotal = summary.incomeTotal;
+            snapshot.expenseTotal = summary.expenseTotal;
+            snapshot.incomeByCategory = new HashMap<>(summary.incomeByCategory);
+            snapshot.expenseByCategory = new HashMap<>(summary.expenseByCategory);
+            snapshot.incomeComparison = summary.incomeComparison;
+            snapshot.expenseComparison = summary.expenseComparison;
+
+            snapshot.categoryNames = new HashMap<>();
+            if (names != null) {
+                for (Integer id : snapshot.incomeByCategory.keySet()) copyName(names, id, snapshot.categoryNames);
+                for (Integer id : snapshot.expenseByCategory.keySet()) copyName(names, id, snapshot.categoryNames);
+            }
+            return snapshot;
+        }
+
+        MonthSummary toSummary() {
+            return MonthSummary.restore(monthYear, incomeTotal, expenseTotal,
+                    incomeByCategory != null ? incomeByCategory : new HashMap<>(),
+                    expenseByCategory != null ? expenseByCategory : new HashMap<>(),
+                    incomeComparison, expenseComparison);
+        }
+
+        private static void copyName(Map<Integer, String> from, Integer id, Map<Integer, String> to) {
+            String name = from.get(id);
+            if (name != null) to.put(id, name);
+        }
+    }
+
+    private final File file;
+    private final Gson gson = new Gson();
+
+    DashboardSnapshotStore(@NonNull Context context) {
+        this.file = new File(context.getApplicationContext().getFilesDir(), FILE_NAME);
+    }
+
+    /**
+     * @return the saved snapshot, or null if there is none (or it's unreadable / from an older version)
+     */
+    @Nullable
+    DashboardSnapshot read() {
+        if (!file.exists()) return null;
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            DashboardSnapshot snapshot = gson.fromJson(reader, DashboardSnapshot.class);
+            if (snapshot == null || snapshot.version != VERSION || snapshot.monthYear == null) return null;
+            return snapshot;
+        } catch (IOException | JsonParseException e) {
+            Log.w(TAG, "Ignoring unreadable dashboard snapshot", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes to a temp file first and renames it, so a crash mid-write never leaves a torn snapshot.
+     */
+    void write(@NonNull DashboardSnapshot snapshot) {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            gson.toJson(snapshot, writer);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not save dashboard snapshot", e);
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+        }
+    }
+
+    void clear() {
+        file.delete();
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.finix.ui.dashboard;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
@@ -10,12 +12,14 @@ import androidx.lifecycle.Transformations;
 
 import com.example.finix.data.Category;
 import com.example.finix.data.CategoryDAO;
+import com.example.finix.data.CategoryTypeTotal;
 import com.example.finix.data.FinixDatabase;
-import com.example.finix.data.Transaction;
+import com.example.finix.data.MonthlyCategoryTotal;
 import com.example.finix.data.TransactionDAO;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -24,12 +28,14 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DashboardViewModel extends AndroidViewModel {
 
     private final TransactionDAO transactionDao;
     private final CategoryDAO categoryDao;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ExecutorService readExecutor = FinixDatabase.getReadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
     private final SimpleDateFormat monthYearFormatter = new SimpleDateFormat("MMMM yyyy", Locale.getDefault());
     private final SimpleDateFormat monthFormatter = new SimpleDateFormat("MMMM", Locale.getDefault());
 
@@ -48,23 +54,33 @@ public class DashboardViewModel extends AndroidViewModel {
     private final MutableLiveData<Boolean> hasTransactionsMutableLive = new MutableLiveData<>(false);
     public final LiveData<Boolean> hasTransactionsLive = hasTransactionsMutableLive;
 
-    // Helper to get selected month's range (start and end timestamps)
-    private final MediatorLiveData<long[]> dateRangeMediatorLive = new MediatorLiveData<>();
-    private final LiveData<long[]> dateRangeLive = dateRangeMediatorLive; // Public reference point
+    // The selected month + the month it is compared against (rebuilt on selection, refresh or new months)
+    private final MediatorLiveData<MonthQuery> monthQueryLive = new MediatorLiveData<>();
+    private boolean monthQueryPublished = false; // null is a valid value ("no data"), so track the first post
 
-    // 2. Data Structures for UI (Updated to use MutableLiveData for totals)
-    private final MutableLiveData<Double> incomeTotalMutableLive = new MutableLiveData<>();
-    public final LiveData<Double> incomeTotalLive = incomeTotalMutableLive;
+    // 2. Everything the cards and charts show, from ONE aggregate query per month
+    private final MediatorLiveData<MonthSummary> monthSummaryMediatorLive = new MediatorLiveData<>();
+    public final LiveData<MonthSummary> monthSummaryLive = monthSummaryMediatorLive;
 
-    private final MutableLiveData<Double> expenseTotalMutableLive = new MutableLiveData<>();
-    public final LiveData<Double> expenseTotalLive = expenseTotalMutableLive;
+    // 🗃️ Months already computed; flipping back to one of them doesn't touch SQLite
+    private final MonthSummaryCache summaryCache;
+    private int summaryLoadToken = 0; // main thread only; the newest load wins
 
-    public final LiveData<String> incomeComparisonLive;
-    public final LiveData<String> expenseComparisonLive;
+    // 3. Income/expense and per-category trends over the last 12/24 months (month-bucketed in SQL)
+    private final MutableLiveData<Integer> trendMonthsLive = new MutableLiveData<>(TrendData.DEFAULT_MONTHS);
+    private final LiveData<TrendRows> trendRowsLive;
 
-    // 3. Data for Charts (Uses LiveData DAO method)
-    public final LiveData<List<Transaction>> monthlyIncomeTransactionsLive;
-    public final LiveData<List<Transaction>> monthlyExpenseTransactionsLive;
+    // 4. 🎨 Ready-to-bind chart data, prepared on chartExecutor (never on the main thread)
+    private final MediatorLiveData<DashboardChartModel> chartModelMediatorLive = new MediatorLiveData<>();
+    public final LiveData<DashboardChartModel> chartModelLive = chartModelMediatorLive;
+    private final ExecutorService chartExecutor = Executors.newSingleThreadExecutor();
+    private final AtomicInteger chartBuildToken = new AtomicInteger();
+    private DashboardChartModel lastChartModel; // chartExecutor only
+
+    // 5. 💾 Last rendered dashboard, painted on a cold start before the database answers
+    private final DashboardSnapshotStore snapshotStore;
+    private MonthSummary restoredSummary;            // main thread; never written back
+    private Map<Integer, String> restoredCategoryNames; // main thread
 
     // New Reactive LiveData from the DAO (Requires a new getAllCategoriesLive() method in CategoryDAO)
     public final LiveData<List<Category>> allCategoriesLive;
@@ -72,9 +88,49 @@ public class DashboardViewModel extends AndroidViewModel {
     // The final map, derived from the LiveData above
     public final LiveData<Map<Integer, String>> categoryMapLive; // No longer mutable
 
+    /**
+     * Date ranges for the aggregate query. Ranges are inclusive [start, end] like the DAO's.
+     */
+    static final class MonthQuery {
+        final String monthYear;
+        final long[] range;
+        final long[] prevRange;        // {-1, -1} when there is no earlier month
+        final String prevMonthName;    // null when there is no earlier month
+        final String cacheKey;
+
+        MonthQuery(String monthYear, long[] range, long[] prevRange, String prevMonthName) {
+            this.monthYear = monthYear;
+            this.range = range;
+            this.prevRange = prevRange;
+            this.prevMonthName = prevMonthName;
+            this.cacheKey = MonthSummaryCache.key(range[0], prevRange[0]);
+        }
+
+        boolean sameAs(MonthQuery other) {
+            return other != null
+                    && monthYear.equals(other.monthYear)
+                    && Arrays.equals(range, other.range)
+                    && Arrays.equals(prevRange, other.prevRange);
+        }
+    }
+
+    /**
+     * Raw trend rows plus the range they were queried for.
+     */
+    private static final class TrendRows {
+        final int months;
+        final List<MonthlyCategoryTotal> rows;
+
+        TrendRows(int months, List<MonthlyCategoryTotal> rows) {
+            this.months = months;
+            this.rows = rows;
+        }
+    }
+
     public DashboardViewModel(@NonNull Application application, CategoryDAO categoryDao) {
         super(application);
-        transactionDao = FinixDatabase.getDatabase(application).transactionDao();
+        FinixDatabase db = FinixDatabase.getDatabase(application);
+        transactionDao = db.transactionDao();
         this.categoryDao = categoryDao;
 
         // --- Category Setup (Kept from previous fix) ---
@@ -116,8 +172,10 @@ public class DashboardViewModel extends AndroidViewModel {
             // Update the LiveData for the spinner list
             distinctMonthsMediatorLive.setValue(months);
 
-            // Initial Selection Logic (Runs whenever the month list updates, but only sets selection if it's null)
-            if (!months.isEmpty() && selectedMonthYearLive.getValue() == null) {
+            // Initial Selection Logic (Runs whenever the month list updates, but only sets selection
+            // if it's null, or if it came from a snapshot month that no longer has transactions)
+            String selected = selectedMonthYearLive.getValue();
+            if (!months.isEmpty() && (selected == null || !months.contains(selected))) {
                 // Initialize selected month to the newest one (index 0)
                 selectedMonthYearLive.setValue(months.get(0));
             } else if (months.isEmpty()) {
@@ -127,79 +185,43 @@ public class DashboardViewModel extends AndroidViewModel {
         });
         // ------------------------------------------
 
-        // --- Date Range Mediator Setup (For month changes and pull-to-refresh) ---
-        // 1. Listen to month selection change (normal operation)
-        dateRangeMediatorLive.addSource(selectedMonthYearLive, month -> {
-            dateRangeMediatorLive.setValue(getMonthDateRange(month));
-        });
+        // Any change to transactions/rollups empties the cache; re-load what's on screen
+        summaryCache = new MonthSummaryCache(db, () -> mainHandler.post(() -> {
+            MonthQuery query = monthQueryLive.getValue();
+            if (query != null) loadMonthSummary(query);
+        }));
 
-        // 2. Listen to the explicit refresh trigger
-        dateRangeMediatorLive.addSource(forceRefreshTrigger, aVoid -> {
-            String currentMonth = selectedMonthYearLive.getValue();
-            if (currentMonth != null) {
-                dateRangeMediatorLive.setValue(getMonthDateRange(currentMonth));
-            }
-        });
-        // -----------------------------------------------------
-
-        // --- Transformations for Transactions (Now using the fixed dateRangeLive) ---
-        monthlyIncomeTransactionsLive = Transformations.switchMap(dateRangeLive, range ->
-                transactionDao.getTransactionsByTypeAndDateRange("Income", range[0], range[1]));
-
-        monthlyExpenseTransactionsLive = Transformations.switchMap(dateRangeLive, range ->
-                transactionDao.getTransactionsByTypeAndDateRange("Expense", range[0], range[1]));
-
-        // ⭐ CRITICAL FIX: Mediator to trigger Totals calculation on date change OR new data (transactions)
-        MediatorLiveData<long[]> totalCalculationTrigger = new MediatorLiveData<>();
+        // --- Month Query Setup (month changes, pull-to-refresh, and the month list itself) ---
+        // 1. Listen to month selection change (normal operation)
+        monthQueryLive.addSource(selectedMonthYearLive, month -> updateMonthQuery(false));
 
-        // Source 1: Triggers when the month/date range changes
-        totalCalculationTrigger.addSource(dateRangeLive, totalCalculationTrigger::setValue);
+        // 2. Listen to the explicit refresh trigger (a new MonthQuery instance re-runs the query)
+        monthQueryLive.addSource(forceRefreshTrigger, aVoid -> updateMonthQuery(true));
 
-        // Source 2 & 3: Triggers when the underlying transaction data changes (i.e., new transaction added)
-        // We set the current range again to force the total calculation to run.
-        totalCalculationTrigger.addSource(monthlyIncomeTransactionsLive, transactions -> {
-            long[] currentRange = dateRangeLive.getValue();
-            if (currentRange != null) totalCalculationTrigger.setValue(currentRange);
-        });
-        totalCalculationTrigger.addSource(monthlyExpenseTransactionsLive, transactions -> {
-            long[] currentRange = dateRangeLive.getValue();
-            if (currentRange != null) totalCalculationTrigger.setValue(currentRange);
-        });
-
-        // Observer: Executes the synchronous total queries on a background thread
-        totalCalculationTrigger.observeForever(range -> {
-            if (range != null) {
-                calculateMonthlyTotal("Income", range[0], range[1], incomeTotalMutableLive);
-                calculateMonthlyTotal("Expense", range[0], range[1], expenseTotalMutableLive);
-            }
-        });
-        // -----------------------------------------------------------------------------
-
-        // --- Transformations for Comparison Text (These fire correctly when income/expense totals update) ---
-        incomeComparisonLive = new MediatorLiveData<>();
-        expenseComparisonLive = new MediatorLiveData<>();
-
-        // Use a single LiveData to trigger comparison calculation when either the month or total changes
-        MediatorLiveData<Void> triggerComparison = new MediatorLiveData<>();
-        triggerComparison.addSource(selectedMonthYearLive, s -> triggerComparison.setValue(null));
-        triggerComparison.addSource(incomeTotalLive, s -> triggerComparison.setValue(null));
-        triggerComparison.addSource(expenseTotalLive, s -> triggerComparison.setValue(null));
-
-        // Now, observe the trigger to perform calculations
-        triggerComparison.observeForever(aVoid -> {
-            calculateComparison(incomeTotalLive, "Income", (MediatorLiveData<String>) incomeComparisonLive);
-            calculateComparison(expenseTotalLive, "Expense", (MediatorLiveData<String>) expenseComparisonLive);
-        });
-    }
+        // 3. The "previous recorded month" depends on the month list
+        // (new transactions alone don't need this: the cache's invalidation observer re-loads)
+        monthQueryLive.addSource(distinctMonthsLive, months -> updateMonthQuery(false));
+        // -----------------------------------------------------
 
-    /**
-     * Executes the synchronous total query on a background thread and posts the result.
-     */
-    private void calculateMonthlyTotal(String type, long startTime, long endTime, MutableLiveData<Double> totalLive) {
-        executor.execute(() -> {
-            // Uses the synchronous DAO method: getPreviousMonthTotalSync
-            Double total = transactionDao.getPreviousMonthTotalSync(type, startTime, endTime);
-            totalLive.postValue(total != null ? total : 0.0);
+        // --- One aggregate query per month (totals, category slices and comparison in one round-trip) ---
+        // Served from the cache when the month was already computed
+        monthSummaryMediatorLive.addSource(monthQueryLive, this::loadMonthSummary);
+
+        // --- Trend charts (one aggregate row per month/type/category, never raw transactions) ---
+        trendRowsLive = Transformations.switchMap(trendMonthsLive, months ->
+                Transformations.map(transactionDao.getMonthlyCategoryTotalsSince(TrendData.rangeStart(months)),
+                        rows -> new TrendRows(months, rows)));
+
+        // --- Chart model: rebuilt in the background whenever any of its inputs change ---
+        chartModelMediatorLive.addSource(monthSummaryLive, summary -> scheduleChartModel());
+        chartModelMediatorLive.addSource(trendRowsLive, rows -> scheduleChartModel());
+        chartModelMediatorLive.addSource(categoryMapLive, map -> scheduleChartModel());
+
+        // --- Cold start: paint the saved snapshot, the queries above refresh it in the background ---
+        snapshotStore = new DashboardSnapshotStore(application);
+        chartExecutor.execute(() -> {
+            DashboardSnapshotStore.DashboardSnapshot snapshot = snapshotStore.read();
+            if (snapshot != null) mainHandler.post(() -> applySnapshot(snapshot));
         });
     }
 
@@ -259,113 +281,181 @@ public class DashboardViewModel extends AndroidViewModel {
     // ⭐ CHANGE 4: REMOVED the synchronous loadDistinctMonths() method entirely.
 
     /**
-     * Updates the selected month and triggers all transformations.
+     * Updates the selected month. Re-selecting the current month is a no-op
+     * (use {@link #refresh()} to force a re-read).
      * @param monthYear The selected month/year string.
      */
     public void setSelectedMonth(String monthYear) {
-        if (monthYear != null) {
-            if (!monthYear.equals(selectedMonthYearLive.getValue())) {
-                // Normal selection: month changed, update value
-                selectedMonthYearLive.setValue(monthYear);
-            } else {
-                // Explicit Refresh: month is the same, so we trigger the force refresh LiveData
-                // This ensures the date range re-calculates, re-triggering the switchMaps (DAO queries).
-                forceRefreshTrigger.setValue(null);
-            }
+        if (monthYear != null && !monthYear.equals(selectedMonthYearLive.getValue())) {
+            selectedMonthYearLive.setValue(monthYear);
         }
     }
 
     /**
-     * Calculates the comparison text (e.g., "Increased +Rs. 1,000 from last month").
+     * Pull-to-refresh: drops the selected month from the cache and queries it again.
      */
-    private void calculateComparison(LiveData<Double> currentTotalLive, String type, MediatorLiveData<String> comparisonLive) {
-        executor.execute(() -> {
-            List<String> distinctMonths = distinctMonthsLive.getValue();
-
-            // Check if there are NO transactions at all.
-            if (distinctMonths == null || distinctMonths.isEmpty()) {
-                String noDataText = "No transactions saved yet.";
-                String color = "#607D8B"; // Neutral grey
-                comparisonLive.postValue(color + "|" + noDataText);
-                return;
-            }
+    public void refresh() {
+        forceRefreshTrigger.setValue(null);
+    }
+
+    // Publishes a new MonthQuery only if it differs from the current one (or a refresh is forced)
+    private void updateMonthQuery(boolean force) {
+        MonthQuery next = buildMonthQuery();
+        if (force && next != null) {
+            // Pull-to-refresh really re-reads the month
+            summaryCache.remove(next.cacheKey);
+        }
+        MonthQuery current = monthQueryLive.getValue();
+        if (!force && monthQueryPublished) {
+            if (next == null ? current == null : next.sameAs(current)) return;
+        }
+        monthQueryPublished = true;
+        monthQueryLive.setValue(next);
+    }
 
-            String selectedMonth = selectedMonthYearLive.getValue();
-            // Get the current total synchronously (safe because we are on a background thread)
-            Double currentTotal = currentTotalLive.getValue();
+    /**
+     * Works out the selected month's range and the previous recorded month to compare with.
+     * Returns null when there is nothing to show (no transactions at all).
+     */
+    private MonthQuery buildMonthQuery() {
+        String selectedMonth = selectedMonthYearLive.getValue();
+        List<String> months = distinctMonthsLive.getValue();
+        if (selectedMonth == null || months == null || months.isEmpty()) return null;
 
+        long[] range = getMonthDateRange(selectedMonth);
 
-            if (selectedMonth == null || currentTotal == null) {
-                // Should only happen transiently or if selectedMonthYearLive wasn't initialized
-                comparisonLive.postValue(null);
-                return;
-            }
+        // The list is newest first, so the previous recorded month is the next entry
+        int selectedIndex = months.indexOf(selectedMonth);
+        if (selectedIndex == -1 || selectedIndex + 1 >= months.size()) {
+            return new MonthQuery(selectedMonth, range, new long[]{-1, -1}, null);
+        }
 
-            // 1. Find the index of the selected month
-            int selectedIndex = distinctMonths.indexOf(selectedMonth);
+        String previousMonthYear = months.get(selectedIndex + 1);
+        String prevMonthName = "last month";
+        try {
+            prevMonthName = monthFormatter.format(monthYearFormatter.parse(previousMonthYear));
+        } catch (Exception e) {
+            // Fallback
+        }
+        return new MonthQuery(selectedMonth, range, getMonthDateRange(previousMonthYear), prevMonthName);
+    }
 
-            // --- CRITICAL FIX: Handle case where no previous month exists ---
-            if (selectedIndex == distinctMonths.size() - 1) {
-                // This is the first recorded month, so there's nothing to compare to.
-                String noDataText = "First month with data recorded";
-                String color = "#607D8B"; // Neutral grey
-                comparisonLive.postValue(color + "|" + noDataText);
-                return;
+    /**
+     * Shows the summary for the given query: straight from the cache if we have it,
+     * otherwise runs the aggregate query on the read pool and caches the result.
+     */
+    private void loadMonthSummary(MonthQuery query) {
+        final int token = ++summaryLoadToken;
+        if (query == null) {
+            // Only say "no transactions" once the month list confirms it; while it is still
+            // loading, keep whatever is on screen (e.g. the cold-start snapshot)
+            List<String> months = distinctMonthsLive.getValue();
+            if (months != null && months.isEmpty()) {
+                monthSummaryMediatorLive.setValue(MonthSummary.empty());
             }
-            // -----------------------------------------------------------------
+            return;
+        }
 
+        MonthSummary cached = summaryCache.get(query.cacheKey);
+        if (cached != null) {
+            monthSummaryMediatorLive.setValue(cached);
+            return;
+        }
 
-            // 2. Determine the previous recorded month
-            Double prevTotal = 0.0;
-            String prevMonthName = "last month";
+        final int generation = summaryCache.generation();
+        readExecutor.execute(() -> {
+            List<CategoryTypeTotal> rows = transactionDao.getCategoryTotalsForMonthsSync(
+                    query.range[0], query.range[1], query.prevRange[0], query.prevRange[1]);
+            MonthSummary summary = MonthSummary.from(query.monthYear, query.prevMonthName, rows);
+            summaryCache.put(query.cacheKey, summary, generation);
+
+            mainHandler.post(() -> {
+                // Drop the result if the user already moved to another month
+                if (token == summaryLoadToken) {
+                    monthSummaryMediatorLive.setValue(summary);
+                }
+            });
+        });
+    }
 
-            // If we are not at the end of the list, a previous month exists (since the list is newest first)
-            if (selectedIndex != -1 && selectedIndex + 1 < distinctMonths.size()) {
-                String previousMonthYear = distinctMonths.get(selectedIndex + 1);
+    public LiveData<MonthSummary> getMonthSummaryLive() {
+        return monthSummaryLive;
+    }
 
-                // Get the date range for the previous month
-                long[] prevRange = getMonthDateRange(previousMonthYear);
+    public LiveData<DashboardChartModel> getChartModelLive() {
+        return chartModelLive;
+    }
 
-                // Uses the synchronous DAO method: getPreviousMonthTotalSync
-                Double prevTotalResult = transactionDao.getPreviousMonthTotalSync(type, prevRange[0], prevRange[1]);
-                prevTotal = (prevTotalResult != null) ? prevTotalResult : 0.0;
+    /**
+     * Sets how many months the trend charts cover (12 or 24 on the dashboard).
+     */
+    public void setTrendMonths(int months) {
+        if (months > 0 && !Integer.valueOf(months).equals(trendMonthsLive.getValue())) {
+            trendMonthsLive.setValue(months);
+        }
+    }
 
-                try {
-                    prevMonthName = monthFormatter.format(monthYearFormatter.parse(previousMonthYear));
-                } catch (Exception e) {
-                    // Fallback
+    /**
+     * Snapshots the current inputs (on the main thread) and builds the chart model on
+     * chartExecutor. Only the newest request is built, and a model that draws the same
+     * thing as the last one isn't posted at all.
+     */
+    private void scheduleChartModel() {
+        final MonthSummary summary = monthSummaryLive.getValue();
+        if (summary == null) return; // Nothing to draw before the first summary arrives
+        final TrendRows trendRows = trendRowsLive.getValue();
+        final Map<Integer, String> names = categoryMapLive.getValue() != null
+                ? categoryMapLive.getValue() : restoredCategoryNames;
+        final List<String> months = distinctMonthsLive.getValue();
+        final boolean fromSnapshot = summary == restoredSummary;
+
+        final int token = chartBuildToken.incrementAndGet();
+        chartExecutor.execute(() -> {
+            if (token != chartBuildToken.get()) return; // A newer build is already queued
+
+            TrendData trend = trendRows != null ? TrendData.from(trendRows.months, trendRows.rows) : null;
+            DashboardChartModel model = DashboardChartModel.build(summary, trend, names);
+            if (model.equals(lastChartModel)) return; // Same picture, skip the re-bind
+
+            lastChartModel = model;
+            chartModelMediatorLive.postValue(model);
+
+            // Rendered from real data: keep it for the next cold start
+            if (!fromSnapshot) {
+                if (summary.monthYear == null) {
+                    snapshotStore.clear(); // No transactions any more
+                } else {
+                    snapshotStore.write(DashboardSnapshotStore.DashboardSnapshot.from(summary, months, names));
                 }
             }
+        });
+    }
 
-            // 3. Calculate difference
-            double difference = currentTotal - prevTotal;
-            String sign = difference >= 0 ? "+" : "-";
-
-            String comparisonText;
-            String color;
-
-            if (Math.abs(difference) < 0.01) {
-                comparisonText = "No change compared to " + prevMonthName;
-                color = "#607D8B"; // Neutral grey
-            } else {
-                String action = difference > 0 ? "Increased" : "Decreased";
-
-                // CRITICAL FIX: Invert color logic for Expenses
-                if (type.equals("Income")) {
-                    // Income: Higher is GOOD (Teal/Green), Lower is BAD (Red)
-                    color = difference > 0 ? "#00BFA5" : "#E57373";
-                } else { // type.equals("Expense")
-                    // Expense: Lower is GOOD (Teal/Green), Higher is BAD (Red)
-                    color = difference < 0 ? "#00BFA5" : "#E57373";
-                }
+    /**
+     * Shows the saved snapshot, unless real data already arrived. Also seeds the month list and
+     * selection from it, which starts the real query for that month straight away.
+     */
+    private void applySnapshot(DashboardSnapshotStore.DashboardSnapshot snapshot) {
+        if (monthSummaryMediatorLive.getValue() != null) return; // Too late, the database was faster
 
-                // Ensure correct formatting
-                String formattedDifference = String.format(Locale.getDefault(), "%.2f", Math.abs(difference));
-                comparisonText = String.format("%s %sRs. %s from %s", action, sign, formattedDifference, prevMonthName);
-            }
+        restoredCategoryNames = snapshot.categoryNames;
+        restoredSummary = snapshot.toSummary();
+        monthSummaryMediatorLive.setValue(restoredSummary);
 
-            // 4. Post the value to LiveData (color|text format for view)
-            comparisonLive.postValue(color + "|" + comparisonText);
-        });
+        if (distinctMonthsLive.getValue() == null && snapshot.months != null && !snapshot.months.isEmpty()) {
+            hasTransactionsMutableLive.setValue(true);
+            distinctMonthsMediatorLive.setValue(snapshot.months);
+        }
+        if (selectedMonthYearLive.getValue() == null) {
+            selectedMonthYearLive.setValue(snapshot.monthYear);
+        }
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        chartExecutor.shutdownNow();
+        summaryCache.close();
+        mainHandler.removeCallbacksAndMessages(null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package com.example.finix.ui.dashboard;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.finix.data.CategoryTypeTotal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Everything the dashboard shows for one month, built from the single aggregate query
+ * (TransactionDAO.getCategoryTotalsForMonthsSync). Immutable.
+ */
+public final class MonthSummary {
+
+    public final String monthYear;
+
+    public final double incomeTotal;
+    public final double expenseTotal;
+
+    // Category local_id -> total for the selected month
+    public final Map<Integer, Double> incomeByCategory;
+    public final Map<Integer, Double> expenseByCategory;
+
+    // "color|text" strings, same format the fragment already parses
+    public final String incomeComparison;
+    public final String expenseComparison;
+
+    private MonthSummary(String monthYear, double incomeTotal, double expenseTotal,
+                         Map<Integer, Double> incomeByCategory, Map<Integer, Double> expenseByCategory,
+                         String incomeComparison, String expenseComparison) {
+        this.monthYear = monthYear;
+        this.incomeTotal = incomeTotal;
+        this.expenseTotal = expenseTotal;
+        this.incomeByCategory = Collections.unmodifiableMap(incomeByCategory);
+        this.expenseByCategory = Collections.unmodifiableMap(expenseByCategory);
+        this.incomeComparison = incomeComparison;
+        this.expenseComparison = expenseComparison;
+    }
+
+    /**
+     * Summary shown when no transactions exist at all.
+     */
+    static MonthSummary empty() {
+        String noData = "#607D8B|No transactions saved yet.";
+        return new MonthSummary(null, 0, 0, new HashMap<>(), new HashMap<>(), noData, noData);
+    }
+
+    /**
+     * Rebuilds a summary saved by DashboardSnapshotStore.
+     */
+    static MonthSummary restore(String monthYear, double incomeTotal, double expenseTotal,
+                                Map<Integer, Double> incomeByCategory, Map<Integer, Double> expenseByCategory,
+                                String incomeComparison, String expenseComparison) {
+        return new MonthSummary(monthYear, incomeTotal, expenseTotal,
+                new HashMap<>(incomeByCategory), new HashMap<>(expenseByCategory),
+                incomeComparison, expenseComparison);
+    }
+
+    /**
+     * @param previousMonthName e.g. "September", or null if the selected month is the first one with data
+     */
+    public static MonthSummary from(@NonNull String monthYear, @Nullable String previousMonthName,
+                             @Nullable List<CategoryTypeTotal> rows) {
+        Map<Integer, Double> incomeByCategory = new HashMap<>();
+        Map<Integer, Double> expenseByCategory = new HashMap<>();
+        double income = 0, expense = 0, prevIncome = 0, prevExpense = 0;
+
+        if (rows != null) {
+            for (CategoryTypeTotal row : rows) {
+                boolean isIncome = "Income".equals(row.type);
+                if (row.period == CategoryTypeTotal.PERIOD_SELECTED) {
+                    if (isIncome) {
+                        income += row.total;
+                        incomeByCategory.merge(row.categoryId, row.total, Double::sum);
+                    } else {
+                        expense += row.total;
+                        expenseByCategory.merge(row.categoryId, row.total, Double::sum);
+                    }
+                } else if (isIncome) {
+                    prevIncome += row.total;
+                } else {
+                    prevExpense += row.total;
+                }
+            }
+        }
+
+        return new MonthSummary(monthYear, income, expense, incomeByCategory, expenseByCategory,
+                comparison("Income", income, prevIncome, previousMonthName),
+                comparison("Expense", expense, prevExpense, previousMonthName));
+    }
+
+    /**
+     * Builds the comparison text (e.g., "Increased +Rs. 1,000 from September").
+     */
+    private static String comparison(String type, double current, double previous, @Nullable String previousMonthName) {
+        if (previousMonthName == null) {
+            // This is the first recorded month, so there's nothing to compare to.
+            return "#607D8B|First month with data recorded";
+        }
+
+        double difference = current - previous;
+        if (Math.abs(difference) < 0.01) {
+            return "#607D8B|No change compared to " + previousMonthName;
+        }
+
+        String action = difference > 0 ? "Increased" : "Decreased";
+        String sign = difference >= 0 ? "+" : "-";
+
+        // Income: higher is good (teal), lower is bad (red). Expense is the other way round.
+        String color;
+        if (type.equals("Income")) {
+            color = difference > 0 ? "#00BFA5" : "#E57373";
+        } else {
+            color = difference < 0 ? "#00BFA5" : "#E57373";
+        }
+
+        String formattedDifference = String.format(Locale.getDefault(), "%.2f", Math.abs(difference));
+        return color + "|" + String.format("%s %sRs. %s from %s", action, sign, formattedDifference, previousMonthName);
+    }
+}
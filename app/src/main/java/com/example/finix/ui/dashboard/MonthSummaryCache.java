@@ -0,0 +1,98 @@
+package com.example.finix.ui.dashboard;
+
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+
+import com.example.finix.data.FinixDatabase;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small LRU cache of computed {@link MonthSummary}s so flipping between months in the
+ * dashboard spinner doesn't go back to SQLite.
+ *
+ * Entries are dropped through Room's InvalidationTracker whenever one of the tables the
+ * summaries are built from changes. The tracker only reports tables (not rows), so a
+ * change to any transaction clears every month.
+ */
+final class MonthSummaryCache {
+
+    // Tables MonthSummary is computed from (archived months live in monthly_rollups)
+    private static final String[] SOURCE_TABLES = {"transactions", "monthly_rollups"};
+
+    // A few months back and forth is the usual pattern; summaries are tiny
+    private static final int MAX_MONTHS = 24;
+
+    /**
+     * Called (on a background thread) after the cache was cleared by a database change.
+     */
+    interface Listener {
+        void onInvalidated();
+    }
+
+    private final LruCache<String, MonthSummary> cache = new LruCache<>(MAX_MONTHS);
+
+    // Bumped on every invalidation, so a query that started before a change can't cache its stale result
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private final FinixDatabase db;
+    private final InvalidationTracker.Observer observer;
+
+    MonthSummaryCache(@NonNull FinixDatabase db, @NonNull Listener listener) {
+        this.db = db;
+        this.observer = new InvalidationTracker.Observer(SOURCE_TABLES) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidateAll();
+                listener.onInvalidated();
+            }
+        };
+        db.getInvalidationTracker().addObserver(observer);
+    }
+
+    static String key(long monthStart, long prevMonthStart) {
+        // The comparison text depends on the previous month too, so both are part of the key
+        return monthStart + ":" + prevMonthStart;
+    }
+
+    MonthSummary get(String key) {
+        return cache.get(key);
+    }
+
+    int generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches the summary unless the data changed since {@code startedAtGeneration}.
+     */
+    void put(String key, MonthSummary summary, int startedAtGeneration) {
+        synchronized (generation) {
+            if (generation.get() == startedAtGeneration) {
+                cache.put(key, summary);
+            }
+        }
+    }
+
+    void remove(String key) {
+        cache.remove(key);
+    }
+
+    void invalidateAll() {
+        synchronized (generation) {
+            generation.incrementAndGet();
+            cache.evictAll();
+        }
+    }
+
+    /**
+     * Stops listening for database changes. Call from ViewModel.onCleared().
+     */
+    void close() {
+        db.getInvalidationTracker().removeObserver(observer);
+        cache.evictAll();
+    }
+}
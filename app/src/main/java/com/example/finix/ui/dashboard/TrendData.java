@@ -0,0 +1,170 @@
+package com.example.finix.ui.dashboard;
+
+import androidx.annotation.Nullable;
+
+import com.example.finix.data.MonthlyCategoryTotal;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Chart-ready trend for the last N months, built from the month-bucketed aggregate query
+ * (TransactionDAO.getMonthlyCategoryTotalsSince). Immutable.
+ *
+ * Rendering cost stays constant: ranges longer than {@link #MAX_POINTS} months are merged into
+ * multi-month buckets (sums, so totals are kept), and the stacked chart shows at most
+ * {@link #MAX_STACKS} expense categories plus "Other".
+ */
+public final class TrendData {
+
+    public static final int DEFAULT_MONTHS = 12;
+
+    // Max points/bars drawn, whatever the range (24 months -> 12 two-month buckets)
+    static final int MAX_POINTS = 12;
+    // Biggest expense categories get their own stack segment, the rest goes into "Other"
+    static final int MAX_STACKS = 5;
+    public static final int OTHER_CATEGORY = -1;
+
+    public final int months;
+    public final List<String> labels;       // One per bucket, oldest first
+    public final float[] income;            // Per bucket
+    public final float[] expense;           // Per bucket
+    public final int[] stackCategoryIds;    // Category local_id per stack segment (OTHER_CATEGORY last, if any)
+    public final float[][] expenseStacks;   // [bucket][segment]
+
+    private TrendData(int months, List<String> labels, float[] income, float[] expense,
+                      int[] stackCategoryIds, float[][] expenseStacks) {
+        this.months = months;
+        this.labels = Collections.unmodifiableList(labels);
+        this.income = income;
+        this.expense = expense;
+        this.stackCategoryIds = stackCategoryIds;
+        this.expenseStacks = expenseStacks;
+    }
+
+    public boolean isEmpty() {
+        for (int i = 0; i < income.length; i++) {
+            if (income[i] != 0f || expense[i] != 0f) return false;
+        }
+        return true;
+    }
+
+    /**
+     * First millisecond of the oldest month in a {@code months}-long range ending this month.
+     */
+    static long rangeStart(int months) {
+        Calendar cal = firstOfThisMonth();
+        cal.add(Calendar.MONTH, -(months - 1));
+        return cal.getTimeInMillis();
+    }
+
+    static TrendData from(int months, @Nullable List<MonthlyCategoryTotal> rows) {
+        // 1. Every month in the range (so empty months still get a point), oldest first
+        SimpleDateFormat keyFormat = new SimpleDateFormat("yyyy-MM", Locale.US); // Same as strftime('%Y-%m')
+        SimpleDateFormat labelFormat = new SimpleDateFormat("MMM yy", Locale.getDefault());
+        Calendar cal = firstOfThisMonth();
+        cal.add(Calendar.MONTH, -(months - 1));
+
+        Map<String, Integer> monthIndex = new HashMap<>();
+        String[] monthLabels = new String[months];
+        for (int i = 0; i < months; i++) {
+            monthIndex.put(keyFormat.format(cal.getTime()), i);
+            monthLabels[i] = labelFormat.format(cal.getTime());
+            cal.add(Calendar.MONTH, 1);
+        }
+
+        // 2. Downsample: merge whole months into buckets, aligned so the last bucket ends this month
+        int bucketSize = (months + MAX_POINTS - 1) / MAX_POINTS;
+        int buckets = (months + bucketSize - 1) / bucketSize;
+        int offset = buckets * bucketSize - months;
+
+        List<String> labels = new ArrayList<>(buckets);
+        for (int b = 0; b < buckets; b++) {
+            int first = Math.max(0, b * bucketSize - offset);
+            int last = (b + 1) * bucketSize - offset - 1;
+            labels.add(first == last ? monthLabels[last] : monthLabels[first] + " – " + monthLabels[last]);
+        }
+
+        // 3. Sum the rows into buckets (and find the biggest expense categories over the range)
+        float[] income = new float[buckets];
+        float[] expense = new float[buckets];
+        Map<Integer, Double> expenseByCategory = new HashMap<>();
+        List<MonthlyCategoryTotal> expenseRows = new ArrayList<>();
+
+        if (rows != null) {
+            for (MonthlyCategoryTotal row : rows) {
+                Integer index = monthIndex.get(row.month);
+                if (index == null) continue; // Outside the range (e.g. future-dated)
+                int bucket = (index + offset) / bucketSize;
+
+                if ("Income".equals(row.type)) {
+                    income[bucket] += (float) row.total;
+                } else {
+                    expense[bucket] += (float) row.total;
+                    expenseByCategory.merge(row.categoryId, row.total, Double::sum);
+                    expenseRows.add(row);
+                }
+            }
+        }
+
+        // 4. Stack segments: top categories by spend, then "Other"
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(expenseByCategory.entrySet());
+        ranked.sort((a, b) -> Double.compare(b.getValue(), a.getValue()));
+        boolean hasOther = ranked.size() > MAX_STACKS;
+        int topCount = Math.min(MAX_STACKS, ranked.size());
+
+        int[] stackCategoryIds = new int[topCount + (hasOther ? 1 : 0)];
+        Map<Integer, Integer> stackIndex = new HashMap<>();
+        for (int i = 0; i < topCount; i++) {
+            stackCategoryIds[i] = ranked.get(i).getKey();
+            stackIndex.put(stackCategoryIds[i], i);
+        }
+        if (hasOther) stackCategoryIds[topCount] = OTHER_CATEGORY;
+
+        float[][] expenseStacks = new float[buckets][stackCategoryIds.length];
+        for (MonthlyCategoryTotal row : expenseRows) {
+            int bucket = (monthIndex.get(row.month) + offset) / bucketSize;
+            Integer segment = stackIndex.get(row.categoryId);
+            expenseStacks[bucket][segment != null ? segment : topCount] += (float) row.total;
+        }
+
+        return new TrendData(months, labels, income, expense, stackCategoryIds, expenseStacks);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TrendData)) return false;
+        TrendData other = (TrendData) o;
+        return months == other.months
+                && labels.equals(other.labels)
+                && Arrays.equals(income, other.income)
+                && Arrays.equals(expense, other.expense)
+                && Arrays.equals(stackCategoryIds, other.stackCategoryIds)
+                && Arrays.deepEquals(expenseStacks, other.expenseStacks);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(months, labels, Arrays.hashCode(income), Arrays.hashCode(expense),
+                Arrays.hashCode(stackCategoryIds), Arrays.deepHashCode(expenseStacks));
+    }
+
+    private static Calendar firstOfThisMonth() {
+        Calendar cal = Calendar.getInstance();
+        cal.set(Calendar.DAY_OF_MONTH, 1);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        return cal;
+    }
+}
@@ -23,7 +23,7 @@ public class LoginViewModel extends AndroidViewModel {
             return;
         }
 
-        new Thread(() -> {
+        FinixDatabase.getReadExecutor().execute(() -> {
             try {
                 User user = FinixDatabase.getDatabase(getApplication())
                         .userDao()
@@ -37,7 +37,7 @@ public class LoginViewModel extends AndroidViewModel {
             } catch (Exception e) {
                 result.postValue("Login error. Try again.");
             }
-        }).start();
+        });
     }
 
     public void signup(String username, String email, String password) {
@@ -55,7 +55,8 @@ public class LoginViewModel extends AndroidViewModel {
             return;
         }
 
-        new Thread(() -> {
+        // Check + insert on the writer, so two taps can't both pass the check
+        FinixDatabase.getWriteExecutor().execute(() -> {
             try {
                 // Extra safety check (DB will also enforce)
                 User existing = FinixDatabase.getDatabase(getApplication())
@@ -75,7 +76,7 @@ public class LoginViewModel extends AndroidViewModel {
                 // Catches SQLiteConstraintException (duplicate email)
                 result.postValue("Email already exists. Try another.");
             }
-        }).start();
+        });
     }
 
     private boolean isValidGmail(String email) {
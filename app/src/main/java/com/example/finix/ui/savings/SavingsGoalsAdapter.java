@@ -1,6 +1,7 @@
 package com.example.finix.ui.savings;
 
 import android.animation.ObjectAnimator;
+import android.annotation.SuppressLint;
 import android.app.Activity;
 import android.content.Context;
 import android.view.LayoutInflater;
@@ -17,6 +18,8 @@ import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.finix.R;
+import com.example.finix.data.BudgetAlertTracker;
+import com.example.finix.data.BudgetForecaster;
 import com.example.finix.data.FinixDatabase;
 import com.example.finix.data.SavingsGoal;
 import com.example.finix.data.SavingsGoalDAO;
@@ -26,17 +29,14 @@ import com.google.android.material.progressindicator.LinearProgressIndicator;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 public class SavingsGoalsAdapter extends ListAdapter<SavingsGoal, SavingsGoalsAdapter.VH> {
 
     private final Function<Integer, String> categoryNameResolver;
     private final OnGoalActionListener listener;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private double balance;
 
     public interface OnGoalActionListener {
         void onEdit(SavingsGoal goal);
@@ -51,6 +51,14 @@ public class SavingsGoalsAdapter extends ListAdapter<SavingsGoal, SavingsGoalsAd
         this.listener = listener;
     }
 
+    // 💰 Current total balance; every goal's progress is measured against it
+    @SuppressLint("NotifyDataSetChanged")
+    public void setBalance(double balance) {
+        if (this.balance == balance) return;
+        this.balance = balance;
+        notifyDataSetChanged();
+    }
+
     private static final DiffUtil.ItemCallback<SavingsGoal> DIFF =
             new DiffUtil.ItemCallback<SavingsGoal>() {
                 @Override
@@ -124,55 +132,38 @@ public class SavingsGoalsAdapter extends ListAdapter<SavingsGoal, SavingsGoalsAd
             if (listener != null) listener.onDelete(g);
         });
 
-        // --- Progress Calculation ---
-        executor.execute(() -> {
-            TransactionDAO dao = FinixDatabase.getDatabase(context).transactionDao();
-
-            List<Transaction> incomes = dao.getTransactionsByType("income");
-            List<Transaction> expenses = dao.getTransactionsByType("expense");
-
-            double totalIncome = 0;
-            double totalExpense = 0;
-
-            for (Transaction t : incomes) totalIncome += t.getAmount();
-            for (Transaction t : expenses) totalExpense += t.getAmount();
-
-            double saved = totalIncome - totalExpense;
-            if (saved < 0) saved = 0;
-            double target = g.getTargetAmount();
-            double progressPercentage = (target > 0) ? ((saved / target) * 100) : 0;
-            if (progressPercentage > 100) progressPercentage = 100;
-
-            double finalProgress = progressPercentage;
-            ((Activity) context).runOnUiThread(() -> {
-                h.tvProgressPercentage.setText(
-                        String.format(Locale.getDefault(), "%.0f%%", finalProgress)
-                );
-
-                ObjectAnimator anim = ObjectAnimator.ofInt(h.progressGoal, "progress", 0, (int) finalProgress);
-                anim.setDuration(1000);
-                anim.start();
-
-                // --- Dynamic color ---
-                if (finalProgress >= 100) {
-                    h.progressGoal.setIndicatorColor(ContextCompat.getColor(context, R.color.red));
-                    h.btnAddTransaction.setVisibility(View.VISIBLE);
-                } else if (finalProgress >= 75) {
-                    h.progressGoal.setIndicatorColor(ContextCompat.getColor(context, R.color.red_orange));
-                    h.btnAddTransaction.setVisibility(View.GONE);
-                } else if (finalProgress >= 50) {
-                    h.progressGoal.setIndicatorColor(ContextCompat.getColor(context, R.color.yellow));
-                    h.btnAddTransaction.setVisibility(View.GONE);
-                } else {
-                    h.progressGoal.setIndicatorColor(ContextCompat.getColor(context, R.color.teal_700));
-                    h.btnAddTransaction.setVisibility(View.GONE);
-                }
-            });
-        });
+        // --- Progress Calculation (balance comes from the fragment, see setBalance) ---
+        double saved = Math.max(0, balance);
+        double target = g.getTargetAmount();
+        double progressPercentage = (target > 0) ? ((saved / target) * 100) : 0;
+        if (progressPercentage > 100) progressPercentage = 100;
+
+        h.tvProgressPercentage.setText(
+                String.format(Locale.getDefault(), "%.0f%%", progressPercentage)
+        );
+
+        ObjectAnimator anim = ObjectAnimator.ofInt(h.progressGoal, "progress", 0, (int) progressPercentage);
+        anim.setDuration(1000);
+        anim.start();
+
+        // --- Dynamic color ---
+        if (progressPercentage >= 100) {
+            h.progressGoal.setIndicatorColor(ContextCompat.getColor(context, R.color.red));
+            h.btnAddTransaction.setVisibility(View.VISIBLE);
+        } else if (progressPercentage >= 75) {
+            h.progressGoal.setIndicatorColor(ContextCompat.getColor(context, R.color.red_orange));
+            h.btnAddTransaction.setVisibility(View.GONE);
+        } else if (progressPercentage >= 50) {
+            h.progressGoal.setIndicatorColor(ContextCompat.getColor(context, R.color.yellow));
+            h.btnAddTransaction.setVisibility(View.GONE);
+        } else {
+            h.progressGoal.setIndicatorColor(ContextCompat.getColor(context, R.color.teal_700));
+            h.btnAddTransaction.setVisibility(View.GONE);
+        }
 
         // --- 💰 Add Transaction Button ---
         h.btnAddTransaction.setOnClickListener(v -> {
-            executor.execute(() -> {
+            FinixDatabase.getWriteExecutor().execute(() -> {
                 try {
                     TransactionDAO tDao = FinixDatabase.getDatabase(context).transactionDao();
                     SavingsGoalDAO gDao = FinixDatabase.getDatabase(context).savingsGoalDao();
@@ -187,6 +178,9 @@ public class SavingsGoalsAdapter extends ListAdapter<SavingsGoal, SavingsGoalsAd
                             "Goal Completed: " + g.getGoalName()
                     );
                     tDao.insert(transaction);
+                    // Same hooks as TransactionRepository.insert (we're on the writer too)
+                    BudgetAlertTracker.getInstance(context).onTransactionChanged(null, transaction);
+                    BudgetForecaster.getInstance(context).onTransactionChanged(null, transaction);
 
                     // Remove the completed goal
                     gDao.delete(g);
@@ -125,6 +125,10 @@ public class SavingsGoalsFragment extends Fragment {
             adapter.notifyDataSetChanged();
         });
 
+        // 💰 Goal progress follows the running balance (updated by triggers on every transaction change)
+        viewModel.getBalanceLive().observe(getViewLifecycleOwner(), balance ->
+                adapter.setBalance(balance != null ? balance : 0));
+
         // FAB
         ImageButton btnAdd = view.findViewById(R.id.btnAddGoal);
         btnAdd.setOnClickListener(v -> showAddGoalDialog());
@@ -401,9 +405,8 @@ public class SavingsGoalsFragment extends Fragment {
             viewModel.fetchLatestCategoryMap();
         }
 
-        // 2. Force the adapter to re-bind all visible items.
-        //    This is CRITICAL. It forces onBindViewHolder() to run again
-        //    for each item, which re-runs your progress bar calculation.
+        // 2. Force the adapter to re-bind all visible items (category names).
+        //    Progress updates on its own through getBalanceLive().
         if (adapter != null) {
             adapter.notifyDataSetChanged();
         }
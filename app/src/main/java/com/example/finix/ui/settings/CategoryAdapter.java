@@ -7,27 +7,33 @@ import android.view.ViewGroup;
 import android.widget.ImageButton;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.finix.R;
 import com.example.finix.data.Category;
 import java.util.List;
+import java.util.Objects;
 
-public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.CategoryViewHolder> {
+// ⚡ ListAdapter: list diffs are computed on a background thread
+public class CategoryAdapter extends ListAdapter<Category, CategoryAdapter.CategoryViewHolder> {
 
     private static final String LOG_TAG = "CategoryAdapter";
 
-    private List<Category> categories;
     private final OnCategoryClickListener listener;
 
     // Interface to handle clicks
     public interface OnCategoryClickListener {
         void onEditClick(Category category);
         void onDeleteClick(Category category);
+        void onKeywordsClick(Category category); // 🏷️ long press: auto-categorization keywords
     }
 
     public CategoryAdapter(List<Category> categories, OnCategoryClickListener listener) {
-        this.categories = categories;
+        super(DIFF_CALLBACK);
         this.listener = listener;
+        setHasStableIds(true); // local_id is the Room primary key
+        submitList(categories);
         Log.d(LOG_TAG, "Adapter initialized with " + categories.size() + " categories.");
     }
 
@@ -42,25 +48,36 @@ public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.Catego
 
     @Override
     public void onBindViewHolder(@NonNull CategoryViewHolder holder, int position) {
-        Category category = categories.get(position);
+        Category category = getItem(position);
         Log.v(LOG_TAG, "Binding category at position " + position + ": " + category.getName() + " (ID: " + category.getId() + ")");
         holder.bind(category, listener);
     }
 
     @Override
-    public int getItemCount() {
-        // Defensive check for null list
-        return categories != null ? categories.size() : 0;
+    public long getItemId(int position) {
+        return getItem(position).getLocalId();
     }
 
-    // Method to update the list
+    // Method to update the list (diffed in the background, then only the changed rows are updated)
     public void setCategories(List<Category> newCategories) {
-        int oldSize = this.categories != null ? this.categories.size() : 0;
-        this.categories = newCategories;
-        Log.i(LOG_TAG, "Data set updated. Old size: " + oldSize + ", New size: " + (newCategories != null ? newCategories.size() : 0) + ". Notifying data set changed.");
-        notifyDataSetChanged();
+        Log.i(LOG_TAG, "Data set updated. Old size: " + getItemCount() + ", New size: " + (newCategories != null ? newCategories.size() : 0) + ". Submitting for diff.");
+        submitList(newCategories);
     }
 
+    private static final DiffUtil.ItemCallback<Category> DIFF_CALLBACK = new DiffUtil.ItemCallback<Category>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Category oldItem, @NonNull Category newItem) {
+            return oldItem.getLocalId() == newItem.getLocalId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Category oldItem, @NonNull Category newItem) {
+            // Only the name is shown (the server id is logged on click, so keep it current too)
+            return oldItem.getId() == newItem.getId()
+                    && Objects.equals(oldItem.getName(), newItem.getName());
+        }
+    };
+
     // ViewHolder class
     static class CategoryViewHolder extends RecyclerView.ViewHolder {
         TextView tvCategory;
@@ -87,6 +104,11 @@ public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.Catego
                 Log.d(LOG_TAG, "Delete clicked for category: " + category.getName() + " (ID: " + category.getId() + ")");
                 listener.onDeleteClick(category);
             });
+            itemView.setOnLongClickListener(v -> {
+                Log.d(LOG_TAG, "Long press for keywords of category: " + category.getName());
+                listener.onKeywordsClick(category);
+                return true;
+            });
         }
     }
 }
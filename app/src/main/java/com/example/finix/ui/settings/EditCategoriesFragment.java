@@ -20,15 +20,19 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.finix.R;
 import com.example.finix.data.Category;
+import com.example.finix.data.CategoryRule;
 import com.google.android.material.snackbar.Snackbar;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
 public class EditCategoriesFragment extends Fragment implements CategoryAdapter.OnCategoryClickListener {
@@ -385,4 +389,49 @@ public class EditCategoriesFragment extends Fragment implements CategoryAdapter.
         // Called from the adapter
         showDeleteConfirmationDialog(category);
     }
+
+    @Override
+    public void onKeywordsClick(Category category) {
+        Log.d(LOG_TAG, "Adapter KEYWORDS long press received for category ID: " + category.getId());
+        showKeywordsDialog(category);
+    }
+
+    /**
+     * 🏷️ Keyword rules of one category: tap a keyword to remove it, or type a new one.
+     * The list is read once when the dialog opens (it's reopened once a change is saved).
+     */
+    private void showKeywordsDialog(Category category) {
+        if (getView() == null) return; // left the screen while saving
+        LiveData<List<CategoryRule>> rulesLive = viewModel.getKeywordRulesLive(category.getLocalId());
+        rulesLive.observe(getViewLifecycleOwner(), new Observer<List<CategoryRule>>() {
+            @Override
+            public void onChanged(List<CategoryRule> rules) {
+                rulesLive.removeObserver(this);
+
+                String[] keywords = new String[rules.size()];
+                for (int i = 0; i < rules.size(); i++) keywords[i] = "✕  " + rules.get(i).getKeyword();
+
+                EditText etKeyword = new EditText(requireContext());
+                etKeyword.setHint("New keyword (e.g. uber)");
+                etKeyword.setSingleLine(true);
+
+                AlertDialog.Builder builder = new AlertDialog.Builder(requireContext())
+                        .setTitle("Keywords for '" + category.getName() + "'")
+                        .setView(etKeyword)
+                        .setNegativeButton("Close", null)
+                        .setPositiveButton("Add", (d, which) -> {
+                            viewModel.addKeyword(category, etKeyword.getText().toString(),
+                                    () -> showKeywordsDialog(category));
+                        });
+                if (keywords.length > 0) {
+                    builder.setItems(keywords, (d, which) -> {
+                        viewModel.removeKeyword(rules.get(which), () -> showKeywordsDialog(category));
+                    });
+                } else {
+                    builder.setMessage("Descriptions containing a keyword get this category suggested.");
+                }
+                builder.show();
+            }
+        });
+    }
 }
@@ -10,22 +10,24 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.example.finix.data.Category;
+import com.example.finix.data.AutoCategorizer;
 import com.example.finix.data.CategoryDAO;
+import com.example.finix.data.CategoryRule;
+import com.example.finix.data.CategoryRuleDAO;
 import com.example.finix.data.FinixDatabase;
-import com.example.finix.data.SynchronizationLog; // New Import
-import com.example.finix.data.SynchronizationLogDAO; // New Import
+import com.example.finix.data.SearchRepository;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 public class EditCategoriesViewModel extends AndroidViewModel {
 
     private final CategoryDAO categoryDAO;
-    private final SynchronizationLogDAO synchronizationLogDAO;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CategoryRuleDAO categoryRuleDAO;
+    private final ExecutorService readExecutor = FinixDatabase.getReadExecutor();
+    private final ExecutorService executor = FinixDatabase.getWriteExecutor();
     private final Handler handler = new Handler(Looper.getMainLooper());
 
     private List<Category> fullCategoryList = new ArrayList<>();
@@ -43,8 +45,7 @@ public class EditCategoriesViewModel extends AndroidViewModel {
         // Get the database DAO instance
         FinixDatabase db = FinixDatabase.getDatabase(application);
         categoryDAO = db.categoryDao();
-        // Initialize the new DAO
-        synchronizationLogDAO = db.synchronizationLogDao();
+        categoryRuleDAO = db.categoryRuleDao();
     }
 
     public static class UndoPayload {
@@ -75,7 +76,7 @@ public class EditCategoriesViewModel extends AndroidViewModel {
      * Loads all categories from the database and posts them to the LiveData.
      */
     public void loadCategories() {
-        executor.execute(() -> {
+        readExecutor.execute(() -> {
             List<Category> categories = categoryDAO.getAllCategories();
             // Store in our local "true" list
             fullCategoryList = new ArrayList<>(categories);
@@ -94,9 +95,16 @@ public class EditCategoriesViewModel extends AndroidViewModel {
             return;
         }
 
-        String searchQuery = "%" + query.trim() + "%";
-        executor.execute(() -> {
-            List<Category> searchResults = categoryDAO.searchCategories(searchQuery);
+        // Prefix match through the FTS index (e.g. "gro" finds "Groceries")
+        String match = SearchRepository.toPrefixMatch(query);
+        if (match == null) {
+            messageEvent.postValue(new Event<>("NO_RESULTS:" + query.trim()));
+            categoriesLive.postValue(new ArrayList<>());
+            return;
+        }
+
+        readExecutor.execute(() -> {
+            List<Category> searchResults = categoryDAO.searchCategories(match);
 
             if (searchResults.isEmpty()) {
                 // Post a special message for the fragment to handle
@@ -132,19 +140,8 @@ public class EditCategoriesViewModel extends AndroidViewModel {
             } else {
                 // --- 3. Save to Database ---
                 Category newCategory = new Category(trimmedName);
-                // categoryDAO.insert returns the auto-generated row ID (which is localId)
-                long newLocalId = categoryDAO.insert(newCategory);
-
-                // --- 3.5. LOG PENDING INSERTION ---
-                // The record_id must be the localId (Room's PK) for a new unsynced record.
-                SynchronizationLog log = new SynchronizationLog(
-                        "categories",
-                        (int) newLocalId,
-                        System.currentTimeMillis(),
-                        "PENDING"
-                );
-                synchronizationLogDAO.insert(log);
-
+                // The PENDING sync log row is added by trigger (see SyncLogTriggers)
+                categoryDAO.insert(newCategory);
 
                 // --- 4. Report Success and Refresh ---
                 messageEvent.postValue(new Event<>("SUCCESS: This category added successfully"));
@@ -188,23 +185,9 @@ public class EditCategoriesViewModel extends AndroidViewModel {
 
             // --- 3. Update in Database ---
             categoryToUpdate.setName(trimmedName);
+            // The UPDATED sync log row is added by trigger (see SyncLogTriggers)
             categoryDAO.update(categoryToUpdate);
 
-            // --- 3.5. LOG UPDATED MODIFICATION ---
-            // Use the server ID if available, otherwise fallback to localId
-            int recordIdToLog = (categoryToUpdate.getId() != 0)
-                    ? categoryToUpdate.getId()
-                    : categoryToUpdate.getLocalId();
-
-            SynchronizationLog log = new SynchronizationLog(
-                    "categories",
-                    recordIdToLog,
-                    System.currentTimeMillis(),
-                    "UPDATED"
-            );
-            log.setMessage("Category '" + trimmedName + "' updated locally, pending sync.");
-            synchronizationLogDAO.insert(log);
-
             // --- 4. Report Success and Refresh ---
             messageEvent.postValue(new Event<>("SUCCESS: This category updated successfully"));
             loadCategories(); // Refresh the list
@@ -254,25 +237,48 @@ public class EditCategoriesViewModel extends AndroidViewModel {
     public void finalizeDelete(Category category) {
         executor.execute(() -> {
             // Now we permanently delete from the database
+            // (the DELETED sync log row is added by trigger, see SyncLogTriggers)
             categoryDAO.delete(category);
 
-            // --- LOG DELETED MODIFICATION ---
-            // record_id must be the localId (Room's PK) to correctly reference the local record
-            SynchronizationLog log = new SynchronizationLog(
-                    "categories",
-                    category.getLocalId(), // Corrected to use localId (Room PK)
-                    System.currentTimeMillis(),
-                    "DELETED"
-            );
-            synchronizationLogDAO.insert(log);
-
-
             // Report success
             messageEvent.postValue(new Event<>("SUCCESS:This category deleted successfully"));
             // We don't need to call loadCategories() because the UI list is already correct.
         });
     }
 
+    // --- 🏷️ Auto-categorization keywords ---
+
+    public LiveData<List<CategoryRule>> getKeywordRulesLive(int categoryLocalId) {
+        return categoryRuleDAO.getRulesForCategoryLive(categoryLocalId);
+    }
+
+    /**
+     * Transactions whose description contains {@code keyword} (as whole words) get this category
+     * suggested. A keyword already used by another category moves here.
+     * onDone runs on the main thread once saved.
+     */
+    public void addKeyword(Category category, String keyword, Runnable onDone) {
+        CategoryRule rule = new CategoryRule(keyword, category.getLocalId());
+        if (rule.getKeyword().isEmpty()) {
+            messageEvent.postValue(new Event<>("ERROR:Keyword cannot be empty"));
+            return;
+        }
+        executor.execute(() -> {
+            categoryRuleDAO.insert(rule);
+            AutoCategorizer.getInstance(getApplication()).reloadRules();
+            messageEvent.postValue(new Event<>("SUCCESS:Keyword '" + rule.getKeyword() + "' added"));
+            handler.post(onDone);
+        });
+    }
+
+    public void removeKeyword(CategoryRule rule, Runnable onDone) {
+        executor.execute(() -> {
+            categoryRuleDAO.delete(rule);
+            AutoCategorizer.getInstance(getApplication()).reloadRules();
+            handler.post(onDone);
+        });
+    }
+
     /**
      * A wrapper class for LiveData events to ensure they are only
      * handled once (e.g., for showing a Toast).
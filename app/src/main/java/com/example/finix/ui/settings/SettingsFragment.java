@@ -33,6 +33,7 @@ import androidx.documentfile.provider.DocumentFile; // NEW IMPORT for better URI
 
 import com.example.finix.R;
 import com.example.finix.data.FinixRepository;
+import com.example.finix.data.StatementColumnMapping;
 import com.example.finix.data.SynchronizationLog;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.card.MaterialCardView;
@@ -92,6 +93,10 @@ public class SettingsFragment extends Fragment {
 
     private MaterialCardView buttonOpenReports;
 
+    // 🆕 NEW: Bank statement import
+    private MaterialCardView cardImportStatement;
+    private TextView textImportStatus;
+
     // ----------------------------------------------------
     // NEW: Activity Result Launchers for Storage Access Framework (SAF)
     // ----------------------------------------------------
@@ -104,6 +109,10 @@ public class SettingsFragment extends Fragment {
     private final ActivityResultLauncher<String[]> restoreFileLauncher =
             registerForActivityResult(new ActivityResultContracts.OpenDocument(), this::handleRestoreFileSelection);
 
+    // Launcher for File Selection (ACTION_OPEN_DOCUMENT) for Statement Import (CSV / OFX)
+    private final ActivityResultLauncher<String[]> importStatementLauncher =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(), this::handleStatementFileSelection);
+
     // ----------------------------------------------------
 
 
@@ -155,6 +164,21 @@ public class SettingsFragment extends Fragment {
             }
         });
 
+        // 🆕 NEW: Statement import (CSV / OFX)
+        cardImportStatement = view.findViewById(R.id.card_import_statement);
+        textImportStatus = view.findViewById(R.id.text_import_status);
+
+        cardImportStatement.setOnClickListener(v ->
+                // OFX files often come through as octet-stream, so accept that as well
+                importStatementLauncher.launch(new String[]{
+                        "text/csv", "text/comma-separated-values", "text/plain",
+                        "application/x-ofx", "application/octet-stream"}));
+
+        viewModel.getImportStatus().observe(getViewLifecycleOwner(), status -> {
+            textImportStatus.setVisibility(status == null ? View.GONE : View.VISIBLE);
+            textImportStatus.setText(status);
+        });
+
         // 1. Set the initial visibility based on the switch state
         updateSyncOptionsVisibility(switchSyncProject.isChecked());
 
@@ -297,6 +321,18 @@ public class SettingsFragment extends Fragment {
     }
 
 
+    /**
+     * Handles the result of the file selection for statement import.
+     */
+    private void handleStatementFileSelection(Uri uri) {
+        if (uri != null) {
+            viewModel.importStatement(uri, StatementColumnMapping.defaults());
+        } else {
+            Toast.makeText(getContext(), "Statement import cancelled.", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+
     /**
      * Executes the backup or restore operation based on the current mode and URI.
      * This is called by the ActivityResultLauncher handlers.
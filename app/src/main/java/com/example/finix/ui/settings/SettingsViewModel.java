@@ -1,12 +1,17 @@
 package com.example.finix.ui.settings;
 
 import android.app.Application;
+import android.net.Uri;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
 
+import com.example.finix.data.FinixDatabase;
 import com.example.finix.data.FinixRepository;
+import com.example.finix.data.StatementColumnMapping;
+import com.example.finix.data.StatementImporter;
 import com.example.finix.data.SynchronizationLog;
 import java.util.List;
 
@@ -19,6 +24,8 @@ public class SettingsViewModel extends AndroidViewModel {
 
     private final FinixRepository repository;
     private final LiveData<FinixRepository.SynchronizationState> syncStatus;
+    // 🆕 NEW: Human-readable progress/result of a statement import
+    private final MutableLiveData<String> importStatusLive = new MutableLiveData<>();
 
     public SettingsViewModel(@NonNull Application application) {
         super(application);
@@ -66,4 +73,36 @@ public class SettingsViewModel extends AndroidViewModel {
     public List<SynchronizationLog> getAllSyncLogs() {
         return repository.getAllSynchronizationLogs();
     }
-}
\ No newline at end of file
+
+    public LiveData<String> getImportStatus() {
+        return importStatusLive;
+    }
+
+    /**
+     * NEW: Imports a CSV/OFX bank statement on the shared I/O thread.
+     * Progress and the final result are posted to {@link #getImportStatus()}.
+     * @param fileUri The URI of the statement picked by the user.
+     * @param mapping How CSV columns map to transaction fields (ignored for OFX).
+     */
+    public void importStatement(@NonNull Uri fileUri, @NonNull StatementColumnMapping mapping) {
+        importStatusLive.setValue("Importing statement...");
+        // Parsed on the I/O thread (not a DB reader); only each chunk's write goes through the single writer
+        FinixDatabase.getIoExecutor().execute(() -> {
+            try {
+                StatementImporter.Result result = new StatementImporter(getApplication())
+                        .importStatement(fileUri, mapping, (rows, percent) -> importStatusLive.postValue(
+                                percent >= 0
+                                        ? "Importing... " + rows + " transactions (" + percent + "%)"
+                                        : "Importing... " + rows + " transactions"));
+
+                String summary = "Imported " + result.imported + " transactions";
+                if (result.skipped > 0) summary += ", skipped " + result.skipped + " invalid rows";
+                if (result.duplicates > 0) summary += ", " + result.duplicates + " already saved";
+                if (result.categoriesCreated > 0) summary += ", added " + result.categoriesCreated + " categories";
+                importStatusLive.postValue(summary);
+            } catch (Exception e) {
+                importStatusLive.postValue("Import failed: " + e.getMessage());
+            }
+        });
+    }
+}
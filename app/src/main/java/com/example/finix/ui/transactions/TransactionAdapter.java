@@ -3,57 +3,111 @@ package com.example.finix.ui.transactions;
 import android.view.*;
 import android.widget.*;
 import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.DiffUtil; // 💡 NEW IMPORT
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.finix.R;
 import com.example.finix.data.Transaction;
+import com.google.android.material.card.MaterialCardView;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
-public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.ViewHolder> {
+// ⚡ ListAdapter: the diff runs on a background thread (AsyncListDiffer), only the result is dispatched here
+public class TransactionAdapter extends ListAdapter<Transaction, TransactionAdapter.ViewHolder> {
 
-    // 💡 IMPORTANT: Keep this list non-final so you can clear/repopulate it effectively
-    private final List<Transaction> list = new ArrayList<>();
+    // Payload for rebinding only the selected look of a row
+    private static final Object PAYLOAD_SELECTION = new Object();
 
     private Map<Integer, String> categoryMap = new HashMap<>();
     private OnTransactionActionListener listener;
+    private OnSelectionListener selectionListener;
+
+    // ☑️ Multi-select: local_ids of the checked rows (only while selection mode is on)
+    private boolean selectionMode = false;
+    private final Set<Integer> selectedIds = new LinkedHashSet<>();
+
+    // One formatter for all rows (binding happens on the main thread only)
+    private final SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
+
+    public TransactionAdapter() {
+        super(DIFF_CALLBACK);
+        setHasStableIds(true); // local_id is unique and stable, so RecyclerView can keep views per row
+    }
 
     public interface OnTransactionActionListener {
         void onEdit(Transaction transaction);
         void onDelete(Transaction transaction);
     }
 
+    /**
+     * ☑️ Long-press starts selection mode; while it's on, taps check/uncheck rows.
+     */
+    public interface OnSelectionListener {
+        // A row was long-pressed outside selection mode (it is selected right after)
+        void onSelectionStarted();
+        void onSelectionChanged();
+    }
+
     public void setListener(OnTransactionActionListener listener) {
         this.listener = listener;
     }
 
+    public void setSelectionListener(OnSelectionListener selectionListener) {
+        this.selectionListener = selectionListener;
+    }
+
+    /**
+     * Turns selection mode on or off. Turning it off clears the selection.
+     */
+    public void setSelectionMode(boolean on) {
+        if (selectionMode == on) return;
+        selectionMode = on;
+        if (!on) selectedIds.clear();
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SELECTION);
+    }
+
+    public List<Integer> getSelectedIds() {
+        return new ArrayList<>(selectedIds);
+    }
+
+    public int getSelectedCount() {
+        return selectedIds.size();
+    }
+
+    private void toggleSelection(int position) {
+        if (position == RecyclerView.NO_POSITION) return;
+        int localId = getItem(position).getLocalId();
+        if (!selectedIds.remove(localId)) selectedIds.add(localId);
+        notifyItemChanged(position, PAYLOAD_SELECTION);
+        if (selectionListener != null) selectionListener.onSelectionChanged();
+    }
+
     public void setCategoryMap(Map<Integer, String> map) {
+        if (map == null || map.equals(this.categoryMap)) return;
         this.categoryMap = map;
-        // NOTE: We don't call notifyDataSetChanged here. The changes will be applied
-        // when setTransactions is called next, or if you need the *content* to update
-        // without transaction list change, you'd call notifyDataSetChanged() here.
+        // Names are shown on every row; rebind the rows without touching the list itself
+        notifyItemRangeChanged(0, getItemCount());
     }
 
     /**
-     * 💡 FIX: Use DiffUtil for smooth updates instead of notifyDataSetChanged().
+     * 💡 FIX: Hands the list to the AsyncListDiffer; the diff is computed off the main thread.
      */
     public void setTransactions(List<Transaction> transactions) {
-        if (this.list.isEmpty()) {
-            // Case 1: Initial load
-            this.list.addAll(transactions);
-            notifyDataSetChanged();
-        } else {
-            // Case 2: Update/Filter - Use DiffUtil for smooth animation
-            TransactionDiffCallback diffCallback = new TransactionDiffCallback(this.list, transactions);
-            DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-
-            // Update the list by clearing the old and adding the new
-            this.list.clear();
-            this.list.addAll(transactions);
+        submitList(transactions, () -> {
+            // Rows that left the list (deleted, filtered out) can't stay selected
+            if (selectedIds.isEmpty()) return;
+            Set<Integer> visible = new HashSet<>();
+            for (Transaction t : getCurrentList()) visible.add(t.getLocalId());
+            if (selectedIds.retainAll(visible) && selectionListener != null) {
+                selectionListener.onSelectionChanged();
+            }
+        });
+    }
 
-            // Dispatch the minimal updates, enabling smooth animations (insert/remove/move)
-            diffResult.dispatchUpdatesTo(this);
-        }
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getLocalId();
     }
 
     @NonNull
@@ -63,9 +117,18 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
                 .inflate(R.layout.item_transaction, parent, false));
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder h, int pos, @NonNull List<Object> payloads) {
+        if (!payloads.isEmpty()) { // Only PAYLOAD_SELECTION is ever sent
+            bindSelection(h, getItem(pos));
+            return;
+        }
+        super.onBindViewHolder(h, pos, payloads);
+    }
+
     @Override
     public void onBindViewHolder(@NonNull ViewHolder h, int pos) {
-        Transaction t = list.get(pos);
+        Transaction t = getItem(pos);
 
         // 1. Get Category Name
         String categoryName = categoryMap.getOrDefault(t.getCategoryId(), "Unknown Category");
@@ -88,7 +151,6 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
         h.tvDescription.setText(t.getDescription());
         h.tvAmount.setText(amountString);
 
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
         h.tvDescription.append("\n" + sdf.format(new Date(t.getDateTime())));
 
         // 👇 Edit and delete buttons
@@ -98,10 +160,29 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
         h.btnDelete.setOnClickListener(v -> {
             if (listener != null) listener.onDelete(t);
         });
+
+        // ☑️ Selection: long-press starts it, taps toggle while it's on
+        h.itemView.setOnLongClickListener(v -> {
+            if (!selectionMode && selectionListener != null) selectionListener.onSelectionStarted();
+            if (selectionMode) toggleSelection(h.getAdapterPosition());
+            return true;
+        });
+        h.itemView.setOnClickListener(v -> {
+            if (selectionMode) toggleSelection(h.getAdapterPosition());
+        });
+        bindSelection(h, t);
     }
 
-    @Override
-    public int getItemCount() { return list.size(); }
+    private void bindSelection(ViewHolder h, Transaction t) {
+        boolean selected = selectionMode && selectedIds.contains(t.getLocalId());
+        MaterialCardView card = (MaterialCardView) h.itemView;
+        card.setStrokeColor(ContextCompat.getColor(card.getContext(), selected ? R.color.teal_700 : R.color.gray));
+        card.setStrokeWidth(Math.round(card.getResources().getDisplayMetrics().density * (selected ? 3 : 1)));
+        // Per-row buttons are hidden while selecting, the action bar has the bulk actions
+        int buttons = selectionMode ? View.INVISIBLE : View.VISIBLE;
+        h.btnEdit.setVisibility(buttons);
+        h.btnDelete.setVisibility(buttons);
+    }
 
     static class ViewHolder extends RecyclerView.ViewHolder {
         TextView tvCategory, tvAmount, tvDescription;
@@ -117,38 +198,17 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
         }
     }
 
-    // 💡 NEW: DiffUtil Implementation for smooth animations
-    private static class TransactionDiffCallback extends DiffUtil.Callback {
-        private final List<Transaction> oldList;
-        private final List<Transaction> newList;
-
-        public TransactionDiffCallback(List<Transaction> oldList, List<Transaction> newList) {
-            this.oldList = oldList;
-            this.newList = newList;
-        }
-
-        @Override
-        public int getOldListSize() {
-            return oldList.size();
-        }
-
+    // 💡 NEW: DiffUtil Implementation for smooth animations (run in the background by ListAdapter)
+    private static final DiffUtil.ItemCallback<Transaction> DIFF_CALLBACK = new DiffUtil.ItemCallback<Transaction>() {
         @Override
-        public int getNewListSize() {
-            return newList.size();
+        public boolean areItemsTheSame(@NonNull Transaction oldT, @NonNull Transaction newT) {
+            // Compare by the unique local ID
+            return oldT.getLocalId() == newT.getLocalId();
         }
 
         @Override
-        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
-            // Compare by a unique ID (assuming Transaction has getLocalId() or similar)
-            return oldList.get(oldItemPosition).getLocalId() == newList.get(newItemPosition).getLocalId();
-        }
-
-        @Override
-        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+        public boolean areContentsTheSame(@NonNull Transaction oldT, @NonNull Transaction newT) {
             // Compare all fields that affect the display
-            Transaction oldT = oldList.get(oldItemPosition);
-            Transaction newT = newList.get(newItemPosition);
-
             return oldT.getLocalId() == newT.getLocalId() &&
                     oldT.getAmount() == newT.getAmount() &&
                     oldT.getCategoryId() == newT.getCategoryId() &&
@@ -156,5 +216,5 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
                     Objects.equals(oldT.getDescription(), newT.getDescription()) &&
                     Objects.equals(oldT.getType(), newT.getType());
         }
-    }
-}
\ No newline at end of file
+    };
+}
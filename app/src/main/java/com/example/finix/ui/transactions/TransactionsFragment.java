@@ -10,22 +10,35 @@ import android.graphics.Rect;
 import android.graphics.drawable.ColorDrawable;
 import android.os.Bundle;
 import android.os.CountDownTimer;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
 import android.text.InputFilter;
+import android.text.InputType;
+import android.text.TextWatcher;
 import android.util.Log;
 import android.view.LayoutInflater;
+import android.view.Menu;
+import android.view.MenuItem;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.Window;
 import android.view.WindowManager;
+import android.view.inputmethod.EditorInfo;
 import android.view.inputmethod.InputMethodManager;
 import android.widget.*;
 import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.view.ActionMode;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.finix.R;
+import com.example.finix.data.RecurringRule;
+import com.example.finix.data.SearchRepository;
+import com.example.finix.data.SearchResult;
 import com.example.finix.data.Transaction;
 import com.example.finix.databinding.FragmentTransactionsBinding;
 import java.text.SimpleDateFormat;
@@ -46,24 +59,19 @@ public class TransactionsFragment extends Fragment {
     // 🆕 NEW: Variable to store the currently selected filter month/year
     private String currentMonthYearFilter = null;
 
-    @Override
-    public void onResume() {
-        super.onResume();
-        Log.d(TAG, "onResume: Fragment becoming visible. Checking filter status for reload.");
-
-        // Check if a month filter is currently active (set either by user or by default logic).
-        if (currentMonthYearFilter != null) {
-            // If an active filter exists, re-run it to ensure data is fresh and the filter is maintained.
-            Log.d(TAG, "onResume: Re-applying current month filter: " + currentMonthYearFilter);
-            viewModel.filterByMonthYear(currentMonthYearFilter);
-        } else {
-            // If no filter is active (i.e., "Show All" is active), reload all transactions.
-            // This also ensures the ViewModel's distinct months are up-to-date, which triggers
-            // the logic in updateMonthYearSpinner to set the default current month.
-            Log.d(TAG, "onResume: No month filter active. Reloading all transactions.");
-            viewModel.loadAllTransactions();
-        }
-    }
+    // 🔁 Latest recurring rules (for the "Recurring Transactions" menu entry)
+    private List<RecurringRule> recurringRules = new ArrayList<>();
+
+    // 🔍 The lists filter once typing pauses, not on every keystroke
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private Runnable pendingTextFilter;
+
+    // ☑️ Contextual action bar while rows are selected (null when not selecting)
+    private ActionMode selectionActionMode;
+    private static final int MENU_RECATEGORIZE = 1;
+    private static final int MENU_SHIFT_DATE = 2;
+    private static final int MENU_DELETE = 3;
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater,
@@ -133,8 +141,6 @@ public class TransactionsFragment extends Fragment {
             if (map != null) {
                 incomeAdapter.setCategoryMap(map);
                 expenseAdapter.setCategoryMap(map);
-                incomeAdapter.notifyDataSetChanged();
-                expenseAdapter.notifyDataSetChanged();
             }
         });
 
@@ -144,6 +150,10 @@ public class TransactionsFragment extends Fragment {
             updateMonthYearSpinner(months);
         });
 
+        // 🔹 🔁 Keep the recurring rules at hand for the filter menu
+        viewModel.getRecurringRulesLive().observe(getViewLifecycleOwner(), rules ->
+                recurringRules = rules != null ? rules : new ArrayList<>());
+
         // 🔹 Add transaction
         binding.buttonAddTransaction.setOnClickListener(v -> {
             Log.d(TAG, "Add Transaction button clicked. Showing Add/Edit dialog.");
@@ -153,6 +163,9 @@ public class TransactionsFragment extends Fragment {
         // 🔹 🆕 NEW: Set up Month/Year Spinner Listener
         setupMonthYearSpinner();
 
+        // 🔹 🔍 Search: typing filters both lists, the keyboard's search key lists ranked hits
+        setupSearch();
+
         // 🔹 Filters
         binding.buttonFilterIncome.setOnClickListener(v -> showFilterMenu("Income"));
         binding.buttonFilterExpenses.setOnClickListener(v -> showFilterMenu("Expense"));
@@ -186,25 +199,277 @@ public class TransactionsFragment extends Fragment {
             }
         });
 
+        // 🔹 ☑️ Multi-select (long-press a row); the selection spans both lists
+        TransactionAdapter.OnSelectionListener selectionListener = new TransactionAdapter.OnSelectionListener() {
+            @Override
+            public void onSelectionStarted() {
+                startSelectionMode();
+            }
+
+            @Override
+            public void onSelectionChanged() {
+                updateSelectionTitle();
+            }
+        };
+        incomeAdapter.setSelectionListener(selectionListener);
+        expenseAdapter.setSelectionListener(selectionListener);
+
         Log.d(TAG, "onCreateView: Listeners set up successfully.");
 
         return root;
     }
 
-    private void onTransactionModified() {
-        Log.i(TAG, "onTransactionModified: Transaction change detected. Re-applying filter or reloading all.");
+    // --- ☑️ Multi-select ---
 
-        // Check if a filter is active
-        if (currentMonthYearFilter != null) {
-            // Re-apply the current filter to refresh the data
-            // This will also trigger the distinct month LiveData to update the spinner
-            viewModel.filterByMonthYear(currentMonthYearFilter);
-            Log.d(TAG, "onTransactionModified: Re-applied filter: " + currentMonthYearFilter);
-        } else {
-            // If "Show All" was active, load all to refresh data and distinct month list
-            viewModel.loadAllTransactions();
-            Log.d(TAG, "onTransactionModified: Reloaded all transactions (Show All).");
+    private void startSelectionMode() {
+        if (selectionActionMode != null) return;
+        incomeAdapter.setSelectionMode(true);
+        expenseAdapter.setSelectionMode(true);
+        selectionActionMode = ((AppCompatActivity) requireActivity()).startSupportActionMode(selectionCallback);
+        Log.d(TAG, "Selection mode started.");
+    }
+
+    private List<Integer> getSelectedIds() {
+        List<Integer> ids = new ArrayList<>(incomeAdapter.getSelectedIds());
+        ids.addAll(expenseAdapter.getSelectedIds());
+        return ids;
+    }
+
+    private void updateSelectionTitle() {
+        if (selectionActionMode == null) return;
+        int count = incomeAdapter.getSelectedCount() + expenseAdapter.getSelectedCount();
+        if (count == 0) {
+            // Last row unchecked (or deleted) -> leave selection mode
+            selectionActionMode.finish();
+            return;
+        }
+        selectionActionMode.setTitle(count + " selected");
+    }
+
+    private final ActionMode.Callback selectionCallback = new ActionMode.Callback() {
+        @Override
+        public boolean onCreateActionMode(ActionMode mode, Menu menu) {
+            menu.add(Menu.NONE, MENU_RECATEGORIZE, 0, "Change Category");
+            menu.add(Menu.NONE, MENU_SHIFT_DATE, 1, "Shift Date");
+            menu.add(Menu.NONE, MENU_DELETE, 2, "Delete")
+                    .setIcon(R.drawable.ic_delete)
+                    .setShowAsAction(MenuItem.SHOW_AS_ACTION_IF_ROOM);
+            return true;
+        }
+
+        @Override
+        public boolean onPrepareActionMode(ActionMode mode, Menu menu) {
+            return false;
+        }
+
+        @Override
+        public boolean onActionItemClicked(ActionMode mode, MenuItem item) {
+            List<Integer> ids = getSelectedIds();
+            if (ids.isEmpty()) return true;
+
+            switch (item.getItemId()) {
+                case MENU_RECATEGORIZE:
+                    showBulkCategoryDialog(ids);
+                    return true;
+                case MENU_SHIFT_DATE:
+                    showBulkShiftDateDialog(ids);
+                    return true;
+                case MENU_DELETE:
+                    showBulkDeleteConfirmation(ids);
+                    return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void onDestroyActionMode(ActionMode mode) {
+            selectionActionMode = null;
+            if (binding == null) return; // View already gone
+            incomeAdapter.setSelectionMode(false);
+            expenseAdapter.setSelectionMode(false);
+            Log.d(TAG, "Selection mode finished.");
         }
+    };
+
+    private void showBulkDeleteConfirmation(List<Integer> ids) {
+        new AlertDialog.Builder(getContext())
+                .setTitle("Delete Transactions")
+                .setMessage("Are you sure you want to delete " + ids.size() + " transaction(s)?")
+                .setNegativeButton("Cancel", null)
+                .setPositiveButton("Delete", (d, which) -> {
+                    Log.i(TAG, "Bulk delete confirmed for " + ids.size() + " transactions.");
+                    viewModel.deleteTransactions(ids);
+                    showCustomToast(ids.size() + " transaction(s) deleted!");
+                    if (selectionActionMode != null) selectionActionMode.finish();
+                })
+                .show();
+    }
+
+    // 🧬 Same type, category, day, amount and description as a saved transaction
+    private void showDuplicateConfirmation(Runnable saveAnyway) {
+        new AlertDialog.Builder(getContext())
+                .setTitle("Possible Duplicate")
+                .setMessage("An identical transaction is already saved for this day. Save it again?")
+                .setNegativeButton("Cancel", null)
+                .setPositiveButton("Save Anyway", (d, which) -> {
+                    Log.i(TAG, "Duplicate transaction saved anyway.");
+                    saveAnyway.run();
+                })
+                .show();
+    }
+
+    private void showBulkCategoryDialog(List<Integer> ids) {
+        Map<Integer, String> categoryMap = viewModel.getCategoryMap();
+        if (categoryMap == null || categoryMap.isEmpty()) {
+            showCustomToast("No categories available!");
+            return;
+        }
+
+        List<String> names = new ArrayList<>();
+        List<Integer> categoryIdsInOrder = new ArrayList<>();
+        for (Map.Entry<Integer, String> entry : categoryMap.entrySet()) {
+            names.add(entry.getValue());
+            categoryIdsInOrder.add(entry.getKey());
+        }
+
+        new AlertDialog.Builder(getContext())
+                .setTitle("Move " + ids.size() + " transaction(s) to")
+                .setItems(names.toArray(new String[0]), (d, which) -> {
+                    Log.i(TAG, "Bulk re-categorize " + ids.size() + " transactions to " + names.get(which));
+                    viewModel.recategorizeTransactions(ids, categoryIdsInOrder.get(which));
+                    showCustomToast("Category changed for " + ids.size() + " transaction(s)!");
+                    if (selectionActionMode != null) selectionActionMode.finish();
+                })
+                .show();
+    }
+
+    private void showBulkShiftDateDialog(List<Integer> ids) {
+        EditText etDays = new EditText(getContext());
+        etDays.setInputType(InputType.TYPE_CLASS_NUMBER | InputType.TYPE_NUMBER_FLAG_SIGNED);
+        etDays.setHint("Days (e.g. 7 or -7)");
+        etDays.setFilters(new InputFilter[]{new InputFilter.LengthFilter(5)});
+
+        new AlertDialog.Builder(getContext())
+                .setTitle("Shift " + ids.size() + " transaction(s) by days")
+                .setView(etDays)
+                .setNegativeButton("Cancel", null)
+                .setPositiveButton("Shift", (d, which) -> {
+                    int days;
+                    try {
+                        days = Integer.parseInt(etDays.getText().toString().trim());
+                    } catch (NumberFormatException e) {
+                        showCustomToast("Enter a number of days");
+                        return;
+                    }
+                    if (days == 0) return;
+                    Log.i(TAG, "Bulk date shift of " + days + " days for " + ids.size() + " transactions.");
+                    viewModel.shiftTransactionDates(ids, days);
+                    showCustomToast("Date shifted for " + ids.size() + " transaction(s)!");
+                    if (selectionActionMode != null) selectionActionMode.finish();
+                })
+                .show();
+    }
+
+    // --- 🔍 Search ---
+
+    private void setupSearch() {
+        binding.editSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                String text = s.toString();
+                if (pendingTextFilter != null) searchHandler.removeCallbacks(pendingTextFilter);
+                pendingTextFilter = () -> viewModel.filterByText(text);
+                searchHandler.postDelayed(pendingTextFilter, SEARCH_DEBOUNCE_MS);
+            }
+        });
+
+        binding.editSearch.setOnEditorActionListener((v, actionId, event) -> {
+            if (actionId != EditorInfo.IME_ACTION_SEARCH) return false;
+            String query = v.getText().toString();
+            if (SearchRepository.toPrefixMatch(query) != null) showSearchResultsDialog(query.trim());
+            return true;
+        });
+    }
+
+    // 🔍 Ranked hits over category names and descriptions (hot + archived), a page at a time.
+    // A category filters both lists by it, a transaction opens its edit dialog.
+    private void showSearchResultsDialog(String query) {
+        viewModel.search(query, 0, firstPage -> {
+            if (binding == null) return;
+            if (firstPage.isEmpty()) {
+                showCustomToast("Nothing found for \"" + query + "\"");
+                return;
+            }
+
+            List<SearchResult> hits = new ArrayList<>(firstPage);
+            ArrayAdapter<String> adapter = new ArrayAdapter<>(requireContext(),
+                    android.R.layout.simple_list_item_1, new ArrayList<>());
+            for (SearchResult hit : firstPage) adapter.add(searchHitLabel(hit));
+
+            AlertDialog dialog = new AlertDialog.Builder(getContext())
+                    .setTitle("Results for \"" + query + "\"")
+                    .setAdapter(adapter, (d, which) -> openSearchHit(hits.get(which)))
+                    .setNeutralButton("More", null)
+                    .setNegativeButton("Close", null)
+                    .create();
+            int[] nextPage = {1};
+            dialog.setOnShowListener(d -> {
+                Button more = dialog.getButton(AlertDialog.BUTTON_NEUTRAL);
+                more.setEnabled(firstPage.size() == SearchRepository.DEFAULT_PAGE_SIZE);
+                // Loads the next page into the open dialog instead of closing it
+                more.setOnClickListener(v -> {
+                    more.setEnabled(false);
+                    viewModel.search(query, nextPage[0], page -> {
+                        hits.addAll(page);
+                        for (SearchResult hit : page) adapter.add(searchHitLabel(hit));
+                        nextPage[0]++;
+                        more.setEnabled(page.size() == SearchRepository.DEFAULT_PAGE_SIZE);
+                    });
+                });
+            });
+            dialog.show();
+        });
+    }
+
+    private String searchHitLabel(SearchResult hit) {
+        if (hit.isCategory()) return "🏷️ " + hit.title + " (category)";
+        String date = new SimpleDateFormat("dd MMM yyyy", Locale.getDefault()).format(new Date(hit.dateTime));
+        return String.format(Locale.getDefault(), "%s – Rs. %,.2f %s, %s",
+                hit.title, hit.amount, hit.type != null ? hit.type.toLowerCase() : "", date);
+    }
+
+    private void openSearchHit(SearchResult hit) {
+        if (!hit.isCategory()) {
+            viewModel.loadTransaction(hit.localId, t -> {
+                if (binding == null) return;
+                if (t == null) {
+                    showCustomToast("This transaction no longer exists!");
+                    return;
+                }
+                showAddTransactionDialog(t); // archived rows are moved back when saved
+            });
+            return;
+        }
+
+        // The category replaces the typed text as the filter (both together would rarely match)
+        if (pendingTextFilter != null) searchHandler.removeCallbacks(pendingTextFilter);
+        binding.editSearch.setText("");
+        viewModel.filterByText(null);
+
+        int[] empty = {0};
+        Runnable onNoResults = () -> {
+            if (++empty[0] == 2) showCustomToast("No transactions found for the selected category!");
+        };
+        viewModel.filterByCategory("Income", hit.categoryId,
+                () -> binding.textFilterIncome.setText(hit.title), onNoResults);
+        viewModel.filterByCategory("Expense", hit.categoryId,
+                () -> binding.textFilterExpenses.setText(hit.title), onNoResults);
     }
 
     // 🆕 NEW: Setup the Spinner and its listener
@@ -346,17 +611,8 @@ public class TransactionsFragment extends Fragment {
             // 🆕 UPDATED: Show custom toast immediately after initiating the delete
             showCustomToast("Transaction deleted successfully!");
 
-            // 2. 🏆 CRITICAL FIX: Reload the list (with filter) after deletion
-            // Use a short delay to ensure the database operation completes before we refresh.
-            new CountDownTimer(100, 100) {
-                @Override
-                public void onTick(long l) {}
-
-                @Override
-                public void onFinish() {
-                    onTransactionModified(); // Re-applies the current filter or reloads all
-                }
-            }.start();
+            // 2. The lists (with the current filters) and the month spinner are Room LiveData,
+            // so they refresh by themselves once the delete is committed.
         });
     }
 
@@ -381,6 +637,7 @@ public class TransactionsFragment extends Fragment {
         ImageButton btnPickDateTime = popupView.findViewById(R.id.btnPickDateTime);
         TextView tvDateTime = popupView.findViewById(R.id.tvDateTime);
         RadioGroup rgType = popupView.findViewById(R.id.rgType);
+        Spinner spinnerRepeat = popupView.findViewById(R.id.spinnerRepeat);
 
         AutoCompleteTextView actCategory = popupView.findViewById(R.id.actCategory);
         LinearLayout llAddCategory = popupView.findViewById(R.id.llAddNewCategory);
@@ -531,8 +788,17 @@ public class TransactionsFragment extends Fragment {
             dp.getButton(DialogInterface.BUTTON_NEGATIVE).setTextColor(Color.parseColor("#FF5252"));
         });
 
+        // --- 🔁 Repeat (only when adding; an edit changes just this one transaction) ---
+        ArrayAdapter<String> repeatAdapter = new ArrayAdapter<>(requireContext(),
+                android.R.layout.simple_spinner_item, TransactionsViewModel.REPEAT_LABELS);
+        repeatAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerRepeat.setAdapter(repeatAdapter);
+
         // --- Preload existing transaction data if editing ---
         if (transactionToEdit != null) {
+            spinnerRepeat.setVisibility(View.GONE);
+            popupView.findViewById(R.id.tvRepeatLabel).setVisibility(View.GONE);
+
             String categoryName = viewModel.getCategoryMap().get(transactionToEdit.getCategoryId());
             SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
 
@@ -629,22 +895,23 @@ public class TransactionsFragment extends Fragment {
                     showCustomToast("Transaction updated successfully!");
                     Log.i(TAG, "Edit transaction: Update initiated for ID: " + transactionToEdit.getLocalId());
 
-                    // 🏆 CRITICAL FIX: Re-apply filter after update
-                    onTransactionModified();
-
                 } else {
                     // Prepare the callback for new save
+                    // (the filtered lists refresh themselves through Room)
+                    String frequency = TransactionsViewModel.repeatFrequency(spinnerRepeat.getSelectedItemPosition());
                     Runnable onSuccess = () -> {
                         dialog.dismiss();
-                        onTransactionModified(); // 🏆 CRITICAL FIX: Re-apply filter after save
+                        // ⚠️ UPDATED: Removed "Information: " prefix
+                        showCustomToast(frequency == null ? "New transaction added!" : "Recurring transaction added!");
                     };
 
                     // Perform save
                     // NOTE: The ViewModel's saveTransaction MUST call the onSuccess Runnable
                     // once the transaction is successfully written to the database.
-                    viewModel.saveTransaction(amount, type, categoryId, dateMillis, desc, onSuccess);
-                    // ⚠️ UPDATED: Removed "Information: " prefix
-                    showCustomToast("New transaction added!");
+                    // 🧬 An identical transaction already saved (double tap?) asks first
+                    viewModel.saveTransactionIfNew(amount, type, categoryId, dateMillis, desc, frequency, onSuccess,
+                            () -> showDuplicateConfirmation(() ->
+                                    viewModel.saveTransaction(amount, type, categoryId, dateMillis, desc, onSuccess)));
                     Log.i(TAG, "New transaction: Save initiated.");
                     return; // Return here as onSuccess will handle dialog dismissal
                 }
@@ -706,10 +973,8 @@ public class TransactionsFragment extends Fragment {
             }
         };
 
-        // Attach the observer. The viewModel.addCategory() call should soon trigger the update.
+        // Attach the observer. The categories query re-runs once the insert is committed.
         viewModel.getCategoriesLive().observe(getViewLifecycleOwner(), oneTimeObserver);
-        // Also call fetch to ensure we don't miss the initial value or a quick update.
-        viewModel.fetchLatestCategoryMap();
     }
 
 
@@ -719,12 +984,9 @@ public class TransactionsFragment extends Fragment {
                                   Map<String, Integer> categoryNameToIdMap,
                                   AutoCompleteTextView actCategory) {
 
-        Log.d(TAG, "refreshCategories: Triggering category fetch from ViewModel.");
-
-        // 1. Force the ViewModel to fetch/reload the latest categories from its source (e.g., database)
-        viewModel.fetchLatestCategoryMap();
+        Log.d(TAG, "refreshCategories: Reading the latest categories from the ViewModel.");
 
-        // 2. Observer to receive the *single* update after the fetch is complete.
+        // Observer to receive the current map (LiveData delivers it as soon as it's attached).
         Observer<Map<Integer, String>> categoryObserver = new Observer<Map<Integer, String>>() {
             @Override
             public void onChanged(Map<Integer, String> map) {
@@ -777,6 +1039,8 @@ public class TransactionsFragment extends Fragment {
         popup.getMenu().add("Sort by Amount (High → Low)");
         popup.getMenu().add("Sort by Amount (Low → High)");
         popup.getMenu().add("Filter by Category");
+        popup.getMenu().add("Filter by Amount");
+        popup.getMenu().add("Recurring Transactions");
 
         popup.setOnMenuItemClickListener(item -> {
             TextView filterTextView = type.equals("Income") ? binding.textFilterIncome : binding.textFilterExpenses;
@@ -803,12 +1067,55 @@ public class TransactionsFragment extends Fragment {
                 case "Filter by Category":
                     showCategoryFilterDialog(type);
                     break;
+                case "Filter by Amount":
+                    showAmountFilterDialog(type);
+                    break;
+                case "Recurring Transactions":
+                    showRecurringRulesDialog(type);
+                    break;
             }
             return true;
         });
         popup.show();
     }
 
+    // 🔁 Lists the recurring rules of one type; tapping one offers to stop it
+    private void showRecurringRulesDialog(String type) {
+        List<RecurringRule> rules = new ArrayList<>();
+        for (RecurringRule rule : recurringRules) {
+            if (type.equals(rule.getType())) rules.add(rule);
+        }
+        if (rules.isEmpty()) {
+            showCustomToast("No recurring " + type.toLowerCase() + " yet!");
+            return;
+        }
+
+        Map<Integer, String> categoryMap = viewModel.getCategoryMap();
+        SimpleDateFormat nextFormat = new SimpleDateFormat("dd MMM yyyy", Locale.getDefault());
+        String[] labels = new String[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            RecurringRule rule = rules.get(i);
+            String categoryName = categoryMap != null ? categoryMap.getOrDefault(rule.getCategoryId(), "Unknown") : "Unknown";
+            String next = rule.getNextDue() == RecurringRule.FINISHED
+                    ? "finished" : "next " + nextFormat.format(new Date(rule.getNextDue()));
+            labels[i] = String.format(Locale.getDefault(), "%s – Rs. %,.0f %s (%s)",
+                    categoryName, rule.getAmount(), rule.getFrequency().toLowerCase(), next);
+        }
+
+        new AlertDialog.Builder(getContext())
+                .setTitle("Recurring " + type)
+                .setItems(labels, (d, which) -> new AlertDialog.Builder(getContext())
+                        .setTitle("Stop Repeating")
+                        .setMessage("Stop \"" + labels[which] + "\"? Transactions already added are kept.")
+                        .setNegativeButton("Cancel", null)
+                        .setPositiveButton("Stop", (d2, w2) -> {
+                            viewModel.stopRecurringRule(rules.get(which));
+                            showCustomToast("Recurring transaction stopped!");
+                        })
+                        .show())
+                .show();
+    }
+
     private void showCategoryFilterDialog(String type) {
         Log.d(TAG, "showCategoryFilterDialog: Preparing category filter for type: " + type);
         Map<Integer, String> categoryMap = viewModel.getCategoryMap();
@@ -858,6 +1165,61 @@ public class TransactionsFragment extends Fragment {
                 }).show();
     }
 
+    private void showAmountFilterDialog(String type) {
+        EditText etMin = new EditText(getContext());
+        etMin.setInputType(InputType.TYPE_CLASS_NUMBER | InputType.TYPE_NUMBER_FLAG_DECIMAL);
+        etMin.setHint("Minimum (Rs.)");
+        EditText etMax = new EditText(getContext());
+        etMax.setInputType(InputType.TYPE_CLASS_NUMBER | InputType.TYPE_NUMBER_FLAG_DECIMAL);
+        etMax.setHint("Maximum (Rs.)");
+        LinearLayout fields = new LinearLayout(getContext());
+        fields.setOrientation(LinearLayout.VERTICAL);
+        int padding = (int) (16 * getResources().getDisplayMetrics().density);
+        fields.setPadding(padding, 0, padding, 0);
+        fields.addView(etMin);
+        fields.addView(etMax);
+
+        TextView filterTextView = type.equals("Income") ? binding.textFilterIncome : binding.textFilterExpenses;
+
+        new AlertDialog.Builder(getContext())
+                .setTitle("Filter by Amount")
+                .setView(fields)
+                .setNeutralButton("Show All", (d, which) ->
+                        viewModel.filterByAmount(type, null, null, () -> filterTextView.setText("Filter"), null))
+                .setNegativeButton("Cancel", null)
+                .setPositiveButton("Apply", (d, which) -> {
+                    Double min, max;
+                    try {
+                        min = parseAmountOrNull(etMin.getText().toString());
+                        max = parseAmountOrNull(etMax.getText().toString());
+                    } catch (NumberFormatException e) {
+                        showCustomToast("Enter valid amounts");
+                        return;
+                    }
+                    if (min == null && max == null) {
+                        viewModel.filterByAmount(type, null, null, () -> filterTextView.setText("Filter"), null);
+                        return;
+                    }
+                    if (min != null && max != null && min > max) {
+                        showCustomToast("Minimum is above the maximum!");
+                        return;
+                    }
+                    String label = min == null ? "≤ " + String.format(Locale.getDefault(), "%,.0f", max)
+                            : max == null ? "≥ " + String.format(Locale.getDefault(), "%,.0f", min)
+                            : String.format(Locale.getDefault(), "%,.0f – %,.0f", min, max);
+                    viewModel.filterByAmount(type, min, max,
+                            () -> filterTextView.setText(label),
+                            () -> showCustomToast("No transactions found in that amount range!"));
+                })
+                .show();
+    }
+
+    // Empty field = open end
+    private static Double parseAmountOrNull(String text) {
+        String trimmed = text.trim();
+        return trimmed.isEmpty() ? null : Double.parseDouble(trimmed);
+    }
+
     private void updateTransactionVisibility() {
         List<Transaction> incomeList = viewModel.getIncomeTransactions().getValue();
         List<Transaction> expenseList = viewModel.getExpenseTransactions().getValue();
@@ -929,6 +1291,8 @@ public class TransactionsFragment extends Fragment {
 
     @Override
     public void onDestroyView() {
+        if (selectionActionMode != null) selectionActionMode.finish();
+        if (pendingTextFilter != null) searchHandler.removeCallbacks(pendingTextFilter);
         super.onDestroyView();
         Log.d(TAG, "onDestroyView: Binding cleared.");
         binding = null;
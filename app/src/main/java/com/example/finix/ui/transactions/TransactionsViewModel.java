@@ -10,17 +10,43 @@ import com.example.finix.data.*; // Assuming this imports Transaction and Catego
 
 import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 public class TransactionsViewModel extends AndroidViewModel {
 
-    private final MutableLiveData<List<Transaction>> incomeLive = new MutableLiveData<>(new ArrayList<>());
-    private final MutableLiveData<List<Transaction>> expenseLive = new MutableLiveData<>(new ArrayList<>());
-    private final MutableLiveData<Map<Integer, String>> categoryMapLive = new MutableLiveData<>(new HashMap<>());
+    // 🧩 What each list shows (month, category, sort...). Each spec is ONE Room query; the lists
+    // re-run it by themselves when transactions change.
+    private final MutableLiveData<TransactionQuerySpec> incomeSpecLive =
+            new MutableLiveData<>(TransactionQuerySpec.forType("Income"));
+    private final MutableLiveData<TransactionQuerySpec> expenseSpecLive =
+            new MutableLiveData<>(TransactionQuerySpec.forType("Expense"));
+    private final LiveData<List<Transaction>> incomeLive;
+    private final LiveData<List<Transaction>> expenseLive;
+    // 🧩 Categories and spinner months are Room queries too: an edit re-runs only the queries
+    // over the tables it touched, so nothing has to be reloaded by hand after a write.
+    private final LiveData<Map<Integer, String>> categoryMapLive;
     // 🆕 NEW: LiveData for the distinct Month/Year strings (e.g., "October 2025")
-    private final MutableLiveData<List<String>> distinctMonthsLive = new MutableLiveData<>(new ArrayList<>());
+    private final LiveData<List<String>> distinctMonthsLive;
 
     private final FinixDatabase db;
+    private final TransactionRepository transactionRepository;
+    private final RecurringRepository recurringRepository;
+    private final SearchRepository searchRepository;
+
+    // 🔁 "Repeat" choices of the add dialog (index-aligned with REPEAT_FREQUENCIES, null = one-off)
+    public static final String[] REPEAT_LABELS = {"Never", "Weekly", "Monthly", "Yearly"};
+    private static final String[] REPEAT_FREQUENCIES = {null, RecurringRule.WEEKLY, RecurringRule.MONTHLY, RecurringRule.YEARLY};
+
+    public static String repeatFrequency(int position) {
+        return position > 0 && position < REPEAT_FREQUENCIES.length ? REPEAT_FREQUENCIES[position] : null;
+    }
+    // Reads go to the shared read pool, writes to the single writer (both owned by FinixDatabase)
+    private final ExecutorService readExecutor = FinixDatabase.getReadExecutor();
+    private final ExecutorService writeExecutor = FinixDatabase.getWriteExecutor();
+
+    // Spinner labels <-> dates (main thread only; SimpleDateFormat isn't thread-safe)
+    private final SimpleDateFormat monthYearFormat = new SimpleDateFormat("MMMM yyyy", Locale.getDefault());
 
     private final MutableLiveData<String> _messageEvent = new MutableLiveData<>();
     public LiveData<String> getMessageEvent() { return _messageEvent; }
@@ -28,289 +54,306 @@ public class TransactionsViewModel extends AndroidViewModel {
     public TransactionsViewModel(@NonNull Application app) {
         super(app);
         db = FinixDatabase.getDatabase(app);
-        loadCategories(); // Load categories first
-        loadAllTransactions();
-        fetchLatestCategoryMap(); // So adapters get initial names even before editing
-        loadDistinctMonths(); // 🆕 NEW: Load distinct months/years
+        transactionRepository = new TransactionRepository(app);
+        recurringRepository = new RecurringRepository(app);
+        searchRepository = new SearchRepository(app);
+        incomeLive = Transformations.switchMap(incomeSpecLive, spec -> db.transactionDao().observeTransactions(spec.toQuery()));
+        expenseLive = Transformations.switchMap(expenseSpecLive, spec -> db.transactionDao().observeTransactions(spec.toQuery()));
+        // distinctUntilChanged: most writes don't add a month or rename a category, and then the
+        // spinner and adapters are left alone
+        categoryMapLive = Transformations.distinctUntilChanged(
+                Transformations.map(db.categoryDao().getAllCategoriesLive(), TransactionsViewModel::toCategoryMap));
+        distinctMonthsLive = Transformations.distinctUntilChanged(
+                Transformations.map(db.transactionDao().getDistinctMonthYearLive(), this::toMonthLabels));
     }
 
     public LiveData<List<Transaction>> getIncomeTransactions() { return incomeLive; }
     public LiveData<List<Transaction>> getExpenseTransactions() { return expenseLive; }
     public LiveData<Map<Integer, String>> getCategoriesLive() { return categoryMapLive; }
+    public LiveData<List<RecurringRule>> getRecurringRulesLive() { return recurringRepository.getRulesLive(); }
     // 🆕 NEW: Getter for the distinct months LiveData
     public LiveData<List<String>> getDistinctMonthsLive() { return distinctMonthsLive; }
 
     public Map<Integer, String> getCategoryMap() { return categoryMapLive.getValue(); }
 
+    // 🏷️ Category local_id suggested for a description (AutoCategorizer.NO_SUGGESTION if none).
+    // In-memory only, fine to call on every keystroke.
+    public int suggestCategory(String description) {
+        return AutoCategorizer.getInstance(getApplication()).suggest(description);
+    }
+
     public void addCategory(String name) {
         if (name == null || name.trim().isEmpty()) return;
 
-        new Thread(() -> {
-            db.categoryDao().insert(new Category(name.trim()));
-            loadCategories(); // Reload after insertion
-        }).start();
+        writeExecutor.execute(() -> {
+            db.categoryDao().insert(new Category(name.trim())); // categoryMapLive updates itself
+        });
     }
 
     /**
-     * 🆕 MODIFIED: Performs the blocking database read and posts results, now accepting optional date filters.
-     * @param monthYearString The month and year string to filter by (e.g., "October 2025"), or null for all.
+     * Turns a spinner label (e.g. "October 2025") into its [start, end) epoch range.
+     * Main thread only (shares one formatter).
+     * @return {start, end}, or null if the label can't be parsed
      */
-    private void _doLoadTransactionsAndPost(String monthYearString) {
-        List<Transaction> all = db.transactionDao().getAllTransactions();
-
-        // If a filter is applied, perform filtering on the list
-        if (monthYearString != null) {
-            SimpleDateFormat monthYearFormat = new SimpleDateFormat("MMMM yyyy", Locale.getDefault());
-
-            all = all.stream()
-                    .filter(t -> monthYearString.equals(monthYearFormat.format(new Date(t.getDateTime()))))
-                    .collect(Collectors.toList());
+    private long[] monthRange(String monthYearString) {
+        if (monthYearString == null) return null;
+        try {
+            Calendar cal = Calendar.getInstance();
+            cal.setTime(monthYearFormat.parse(monthYearString));
+            long start = cal.getTimeInMillis();
+            cal.add(Calendar.MONTH, 1);
+            return new long[]{start, cal.getTimeInMillis()};
+        } catch (java.text.ParseException e) {
+            return null; // Unknown label, fall back to the unfiltered list
         }
-
-        incomeLive.postValue(all.stream()
-                .filter(t -> "Income".equals(t.getType()))
-                .collect(Collectors.toList()));
-        expenseLive.postValue(all.stream()
-                .filter(t -> "Expense".equals(t.getType()))
-                .collect(Collectors.toList()));
     }
 
-    // 🔄 UPDATED: Public method starts a new thread to call the private helper (no filter).
+    // 🔄 UPDATED: "Show All" months (category filter and sort order are kept).
     public void loadAllTransactions() {
-        new Thread(() -> _doLoadTransactionsAndPost(null)).start();
+        setSpec(incomeSpecLive, incomeSpecLive.getValue().withoutRange());
+        setSpec(expenseSpecLive, expenseSpecLive.getValue().withoutRange());
     }
 
     /**
-     * 🆕 NEW: Filters transactions by month and year.
+     * 🆕 NEW: Filters transactions by month and year (combines with the category filter and sort order).
      * @param monthYearString The month and year string (e.g., "October 2025").
      */
     public void filterByMonthYear(String monthYearString) {
-        // Run the load/filter on a background thread
-        new Thread(() -> {
-            _doLoadTransactionsAndPost(monthYearString);
-        }).start();
+        long[] range = monthRange(monthYearString);
+        if (range == null) {
+            loadAllTransactions();
+            return;
+        }
+        setSpec(incomeSpecLive, incomeSpecLive.getValue().withRange(range[0], range[1]));
+        setSpec(expenseSpecLive, expenseSpecLive.getValue().withRange(range[0], range[1]));
     }
 
     /**
-     * 🆕 NEW: Loads all distinct Month/Year strings where transactions exist.
+     * 🔍 Search box: both lists keep only rows whose description matches every typed word as a
+     * prefix (FTS, hot + archived). Month, category, amount and sort filters are kept.
      */
-    public void loadDistinctMonths() {
-        new Thread(() -> {
-            List<Long> distinctTimeMillis = db.transactionDao().getDistinctMonthYear();
-            Set<String> distinctMonthYearSet = new LinkedHashSet<>();
-            SimpleDateFormat sdf = new SimpleDateFormat("MMMM yyyy", Locale.getDefault());
+    public void filterByText(String text) {
+        setSpec(incomeSpecLive, incomeSpecLive.getValue().withText(text));
+        setSpec(expenseSpecLive, expenseSpecLive.getValue().withText(text));
+    }
 
-            for (Long time : distinctTimeMillis) {
-                // Format the long timestamp into a readable Month Year string
-                distinctMonthYearSet.add(sdf.format(new Date(time)));
-            }
+    /**
+     * 🔍 One page of ranked hits over category names and descriptions (hot + archived) for the
+     * search results dialog. onResult runs on the main thread.
+     */
+    public void search(String query, int page, Consumer<List<SearchResult>> onResult) {
+        readExecutor.execute(() -> {
+            List<SearchResult> hits = searchRepository.search(query, page, SearchRepository.DEFAULT_PAGE_SIZE);
+            new android.os.Handler(getApplication().getMainLooper()).post(() -> onResult.accept(hits));
+        });
+    }
 
-            // Convert the Set to a List and post the value
-            distinctMonthsLive.postValue(new ArrayList<>(distinctMonthYearSet));
-        }).start();
+    // A search hit's transaction (hot or archived) for the edit dialog; null if it was deleted since
+    public void loadTransaction(int localId, Consumer<Transaction> onLoaded) {
+        readExecutor.execute(() -> {
+            Transaction transaction = db.transactionDao().getTransactionOrArchivedById(localId);
+            new android.os.Handler(getApplication().getMainLooper()).post(() -> onLoaded.accept(transaction));
+        });
     }
 
-    public void loadCategories() {
-        new Thread(() -> {
-            Map<Integer, String> map = new HashMap<>();
-            for (Category c : db.categoryDao().getAllCategories()) {
-                map.put(c.getLocalId(), c.getName());
-            }
-            categoryMapLive.postValue(map);
-        }).start();
+    private MutableLiveData<TransactionQuerySpec> specLiveFor(String type) {
+        return "Income".equals(type) ? incomeSpecLive : expenseSpecLive;
     }
 
-    public void fetchLatestCategoryMap() {
-        new Thread(() -> {
-            Map<Integer, String> map = new HashMap<>();
-            List<Category> allCategories = db.categoryDao().getAllCategories();
+    // Main thread. An identical spec would only re-run the same query, so it's skipped.
+    private static void setSpec(MutableLiveData<TransactionQuerySpec> live, TransactionQuerySpec spec) {
+        if (!spec.equals(live.getValue())) live.setValue(spec);
+    }
 
-            if (allCategories != null) {
-                for (Category c : allCategories) {
-                    map.put(c.getLocalId(), c.getName());
-                }
-                categoryMapLive.postValue(map);
+    // Category local_id -> name, in name order (the query sorts by name)
+    private static Map<Integer, String> toCategoryMap(List<Category> categories) {
+        Map<Integer, String> map = new LinkedHashMap<>();
+        if (categories != null) {
+            for (Category c : categories) map.put(c.getLocalId(), c.getName());
+        }
+        return map;
+    }
+
+    // Month start timestamps (newest first) -> distinct "October 2025" labels. Runs on the main thread.
+    private List<String> toMonthLabels(List<Long> distinctTimeMillis) {
+        Set<String> distinctMonthYearSet = new LinkedHashSet<>();
+        if (distinctTimeMillis != null) {
+            for (Long time : distinctTimeMillis) {
+                // Format the long timestamp into a readable Month Year string
+                distinctMonthYearSet.add(monthYearFormat.format(new Date(time)));
             }
-        }).start();
+        }
+        return new ArrayList<>(distinctMonthYearSet);
     }
 
     public void saveTransaction(double amount, String type, int categoryId, long dateTime, String description, Runnable onComplete) {
-        new Thread(() -> {
-            long id = db.transactionDao().insert(new Transaction(amount, type, categoryId, dateTime, description));
-            logTransactionSave((int) id);
+        // 1. Insert (the sync log row is added by trigger in the same statement)
+        transactionRepository.insert(new Transaction(amount, type, categoryId, dateTime, description), () -> {
+            // 2. (Lists, months and categories are Room queries and refresh themselves)
 
-            // 2. ⚡ FIX: Call the synchronous helper on this same thread (no filter applied after save).
-            // NOTE: This call updates incomeLive/expenseLive to show the LATEST data (all transactions).
-            _doLoadTransactionsAndPost(null);
-
-            // 3. 🆕 NEW: Reload distinct months
-            loadDistinctMonths();
-
-            // 4. Reload categories just in case
-            loadCategories();
-
-            // 5. Execute callback on the main thread after DB operations complete
+            // 3. Execute callback on the main thread after the insert completes
             // This is the correct place to call the 'onSuccess' or 'onComplete' action.
             if (onComplete != null) new android.os.Handler(getApplication().getMainLooper()).post(onComplete);
-        }).start();
+        });
 
         // ❌ REMOVED: The premature call to 'onSuccess.run()' that was here.
     }
 
-    public void updateTransaction(Transaction transaction) {
-        new Thread(() -> {
-            // 1️⃣ Update DB
-            db.transactionDao().update(transaction);
-
-            // 2️⃣ Log sync event (same style as save)
-            logTransactionUpdate(transaction.getLocalId());
+    /**
+     * 🔁 Saves a repeating transaction as ONE rule row. Occurrences are written when they fall due
+     * (the first one right away if dateTime is not in the future), see RecurringScheduler.
+     * @param frequency RecurringRule.WEEKLY / MONTHLY / YEARLY, or null for a one-off transaction
+     */
+    public void saveTransaction(double amount, String type, int categoryId, long dateTime, String description,
+                                String frequency, Runnable onComplete) {
+        if (frequency == null) {
+            saveTransaction(amount, type, categoryId, dateTime, description, onComplete);
+            return;
+        }
+        RecurringRule rule = new RecurringRule(amount, type, categoryId, description,
+                frequency, 1, dateTime, RecurringRule.NO_END);
+        recurringRepository.addRule(rule, () -> {
+            if (onComplete != null) new android.os.Handler(getApplication().getMainLooper()).post(onComplete);
+        });
+    }
 
-            // 3️⃣ Refresh data in LiveData
-            _doLoadTransactionsAndPost(null);
+    /**
+     * 🧬 Same as saveTransaction, but a one-off identical to one already saved (same type, category,
+     * day, amount and description, e.g. a double tap) is not written: onDuplicate runs instead so
+     * the screen can ask. Calling saveTransaction then saves it anyway.
+     */
+    public void saveTransactionIfNew(double amount, String type, int categoryId, long dateTime, String description,
+                                     String frequency, Runnable onComplete, Runnable onDuplicate) {
+        if (frequency != null) {
+            saveTransaction(amount, type, categoryId, dateTime, description, frequency, onComplete);
+            return;
+        }
+        transactionRepository.insertIfNew(new Transaction(amount, type, categoryId, dateTime, description), inserted -> {
+            Runnable next = inserted ? onComplete : onDuplicate;
+            if (next != null) new android.os.Handler(getApplication().getMainLooper()).post(next);
+        });
+    }
 
-            // 4️⃣ Reload distinct months
-            loadDistinctMonths();
+    // 🔁 Stops a rule; the occurrences already written stay as normal transactions
+    public void stopRecurringRule(RecurringRule rule) {
+        recurringRepository.deleteRule(rule);
+    }
 
-            // 5️⃣ Reload categories
-            loadCategories();
-        }).start();
+    public void updateTransaction(Transaction transaction) {
+        // 1️⃣ + 2️⃣ Update DB (sync log is written by trigger).
+        // 3️⃣ Room re-runs the observed queries over transactions; nothing to reload here.
+        transactionRepository.update(transaction, null);
     }
 
     public void deleteTransaction(Transaction transaction) {
-        new Thread(() -> {
-            // 1️⃣ Delete from DB
-            db.transactionDao().delete(transaction);
+        // 1️⃣ + 2️⃣ Delete from DB (sync log is written by trigger).
+        // 3️⃣ Room re-runs the observed queries over transactions; nothing to reload here.
+        transactionRepository.delete(transaction, null);
+    }
 
-            // 2️⃣ Log sync event (same style as save)
-            logTransactionDelete(transaction.getId());
+    // --- Multi-select bulk actions (one Room transaction each; the lists refresh themselves) ---
 
-            // 3️⃣ Refresh data in LiveData
-            _doLoadTransactionsAndPost(null);
+    public void deleteTransactions(List<Integer> localIds) {
+        if (localIds == null || localIds.isEmpty()) return;
+        transactionRepository.deleteAll(localIds, null);
+    }
 
-            // 4️⃣ Reload distinct months
-            loadDistinctMonths();
+    public void recategorizeTransactions(List<Integer> localIds, int categoryId) {
+        if (localIds == null || localIds.isEmpty()) return;
+        transactionRepository.setCategory(localIds, categoryId, null);
+    }
 
-            // 5️⃣ Reload categories
-            loadCategories();
-        }).start();
+    /**
+     * Moves the transactions by whole days (negative = earlier), keeping their time of day.
+     */
+    public void shiftTransactionDates(List<Integer> localIds, int days) {
+        if (localIds == null || localIds.isEmpty() || days == 0) return;
+        transactionRepository.shiftDates(localIds, days, null);
     }
 
     public void addCategoryWithSync(String name) {
         if (name == null || name.trim().isEmpty()) return;
 
-        new Thread(() -> {
-            // 1️⃣ Insert category into DB
+        writeExecutor.execute(() -> {
+            // 1️⃣ Insert category into DB (trigger queues the PENDING sync log)
             Category category = new Category(name.trim());
-            long localId = db.categoryDao().insert(category);
-
-            // 2️⃣ Create sync log entry
-            SynchronizationLog log = new SynchronizationLog(
-                    "categories",
-                    (int) localId,
-                    System.currentTimeMillis(),
-                    "PENDING"
-            );
-            db.synchronizationLogDao().insert(log);
-
-            // 3️⃣ Reload categories LiveData
-            loadCategories();
-        }).start();
-    }
-
-    // 🆕 NEW: Add sync log for a saved transaction
-    public void logTransactionSave(int transactionId) {
-        new Thread(() -> {
-            SynchronizationLog log = new SynchronizationLog(
-                    "transactions",
-                    transactionId,
-                    System.currentTimeMillis(),
-                    "PENDING"
-            );
-            db.synchronizationLogDao().insert(log);
-        }).start();
-    }
-
-    // 🆕 NEW: Add sync log for an updated transaction
-    public void logTransactionUpdate(int transactionId) {
-        new Thread(() -> {
-            SynchronizationLog log = new SynchronizationLog(
-                    "transactions",
-                    transactionId,
-                    System.currentTimeMillis(),
-                    "UPDATED" // 💡 CHANGE THIS from "PENDING" to "UPDATED"
-            );
-            db.synchronizationLogDao().insert(log);
-        }).start();
-    }
+            db.categoryDao().insert(category);
 
-    // 🆕 NEW: Add sync log for a deleted transaction
-    public void logTransactionDelete(int transactionId) {
-        new Thread(() -> {
-            SynchronizationLog log = new SynchronizationLog(
-                    "transactions",
-                    transactionId,
-                    System.currentTimeMillis(),
-                    "DELETED"
-            );
-            db.synchronizationLogDao().insert(log);
-        }).start();
+            // 2️⃣ categoryMapLive picks the new row up by itself
+        });
     }
 
+    /**
+     * Re-sorts one list in SQLite (the month and category filters are kept).
+     * @param mode "date_desc", "date_asc", "amount_desc" or "amount_asc"
+     */
     public void sortTransactions(String type, String mode) {
-        List<Transaction> current = type.equals("Income")
-                ? new ArrayList<>(Objects.requireNonNull(incomeLive.getValue()))
-                : new ArrayList<>(Objects.requireNonNull(expenseLive.getValue()));
+        MutableLiveData<TransactionQuerySpec> live = specLiveFor(type);
+        TransactionQuerySpec spec = live.getValue();
 
         switch (mode) {
             case "date_desc":
-                current.sort((a, b) -> Long.compare(b.getDateTime(), a.getDateTime()));
+                spec = spec.withSort(TransactionQuerySpec.SortKey.DATE, false);
                 break;
             case "date_asc":
-                current.sort(Comparator.comparingLong(Transaction::getDateTime));
+                spec = spec.withSort(TransactionQuerySpec.SortKey.DATE, true);
                 break;
             case "amount_desc":
-                current.sort((a, b) -> Double.compare(b.getAmount(), a.getAmount()));
+                spec = spec.withSort(TransactionQuerySpec.SortKey.AMOUNT, false);
                 break;
             case "amount_asc":
-                current.sort(Comparator.comparingDouble(Transaction::getAmount));
+                spec = spec.withSort(TransactionQuerySpec.SortKey.AMOUNT, true);
                 break;
         }
-
-        if (type.equals("Income")) incomeLive.setValue(current);
-        else expenseLive.setValue(current);
+        setSpec(live, spec);
     }
 
+    /**
+     * Filters one list by category (null = all categories), within the current month filter.
+     * If the category has no transactions there, the list is left as it is and onNoResults runs.
+     */
     public void filterByCategory(String type, Integer categoryId, Runnable onComplete, Runnable onNoResults) {
-        new Thread(() -> {
-            // NOTE: The month/year filter is ignored when filtering by category
-            List<Transaction> all = db.transactionDao().getAllTransactions();
-            List<Transaction> filtered;
-
-            if (type.equals("Income")) {
-                filtered = all.stream()
-                        .filter(t -> "Income".equals(t.getType()))
-                        .filter(t -> categoryId == null || t.getCategoryId() == categoryId)
-                        .collect(Collectors.toList());
-
-                if (categoryId != null && filtered.isEmpty()) {
-                    if (onNoResults != null) new android.os.Handler(getApplication().getMainLooper()).post(onNoResults);
-                } else {
-                    incomeLive.postValue(filtered);
-                    if (onComplete != null) new android.os.Handler(getApplication().getMainLooper()).post(onComplete);
-                }
-            } else { // Expense
-                filtered = all.stream()
-                        .filter(t -> "Expense".equals(t.getType()))
-                        .filter(t -> categoryId == null || t.getCategoryId() == categoryId)
-                        .collect(Collectors.toList());
-
-                if (categoryId != null && filtered.isEmpty()) {
-                    if (onNoResults != null) new android.os.Handler(getApplication().getMainLooper()).post(onNoResults);
+        MutableLiveData<TransactionQuerySpec> live = specLiveFor(type);
+        TransactionQuerySpec candidate = live.getValue()
+                .withCategories(categoryId == null ? null : Collections.singletonList(categoryId));
+
+        if (categoryId == null) {
+            setSpec(live, candidate);
+            if (onComplete != null) onComplete.run();
+            return;
+        }
+        applyIfNotEmpty(live, candidate, onComplete, onNoResults);
+    }
+
+    /**
+     * Filters one list by amount, bounds inclusive (null = open end), within the other filters.
+     * Like the category filter, an empty result is reported through onNoResults instead of shown.
+     */
+    public void filterByAmount(String type, Double min, Double max, Runnable onComplete, Runnable onNoResults) {
+        MutableLiveData<TransactionQuerySpec> live = specLiveFor(type);
+        TransactionQuerySpec candidate = live.getValue().withAmountRange(min, max);
+
+        if (min == null && max == null) {
+            setSpec(live, candidate);
+            if (onComplete != null) onComplete.run();
+            return;
+        }
+        applyIfNotEmpty(live, candidate, onComplete, onNoResults);
+    }
+
+    private void applyIfNotEmpty(MutableLiveData<TransactionQuerySpec> live, TransactionQuerySpec candidate,
+                                 Runnable onComplete, Runnable onNoResults) {
+        // One COUNT over the same query first, so an empty result can be reported instead of shown
+        readExecutor.execute(() -> {
+            int matches = db.transactionDao().countTransactions(candidate.toCountQuery());
+            new android.os.Handler(getApplication().getMainLooper()).post(() -> {
+                if (matches == 0) {
+                    if (onNoResults != null) onNoResults.run();
                 } else {
-                    expenseLive.postValue(filtered);
-                    if (onComplete != null) new android.os.Handler(getApplication().getMainLooper()).post(onComplete);
+                    setSpec(live, candidate);
+                    if (onComplete != null) onComplete.run();
                 }
-            }
-        }).start();
+            });
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package com.example.finix.widget;
+
+import android.app.PendingIntent;
+import android.appwidget.AppWidgetManager;
+import android.appwidget.AppWidgetProvider;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.view.View;
+import android.widget.RemoteViews;
+
+import androidx.annotation.Nullable;
+
+import com.example.finix.R;
+import com.example.finix.ui.login.LoginActivity;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * Home-screen widget: this month's income, expense and the top budgets.
+ * Everything comes from {@link WidgetSnapshot} (a small file), never from Room, so an update
+ * doesn't have to open the database.
+ */
+public class FinixWidgetProvider extends AppWidgetProvider {
+
+    private static final int[] BUDGET_VIEWS = {
+            R.id.widget_budget_1, R.id.widget_budget_2, R.id.widget_budget_3
+    };
+
+    @Override
+    public void onUpdate(Context context, AppWidgetManager appWidgetManager, int[] appWidgetIds) {
+        RemoteViews views = buildViews(context, WidgetSnapshot.read(context));
+        for (int appWidgetId : appWidgetIds) {
+            appWidgetManager.updateAppWidget(appWidgetId, views);
+        }
+    }
+
+    /**
+     * Redraws every placed widget from the current snapshot file.
+     */
+    static void updateAll(Context context) {
+        AppWidgetManager manager = AppWidgetManager.getInstance(context);
+        int[] ids = manager.getAppWidgetIds(new ComponentName(context, FinixWidgetProvider.class));
+        if (ids.length == 0) return; // No widget on the home screen
+        manager.updateAppWidget(ids, buildViews(context, WidgetSnapshot.read(context)));
+    }
+
+    private static RemoteViews buildViews(Context context, @Nullable WidgetSnapshot snapshot) {
+        RemoteViews views = new RemoteViews(context.getPackageName(), R.layout.widget_finix);
+
+        // Tap anywhere -> open the app
+        Intent intent = new Intent(context, LoginActivity.class);
+        PendingIntent pendingIntent = PendingIntent.getActivity(context, 0, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+        views.setOnClickPendingIntent(R.id.widget_root, pendingIntent);
+
+        // No snapshot yet, or it's from a previous month (the app hasn't run since)
+        if (snapshot == null || snapshot.monthStart != currentMonthStart()) {
+            views.setTextViewText(R.id.widget_month, context.getString(R.string.app_name));
+            views.setTextViewText(R.id.widget_income, "—");
+            views.setTextViewText(R.id.widget_expense, "—");
+            views.setViewVisibility(R.id.widget_hint, View.VISIBLE);
+            for (int id : BUDGET_VIEWS) views.setViewVisibility(id, View.GONE);
+            return views;
+        }
+
+        views.setViewVisibility(R.id.widget_hint, View.GONE);
+        views.setTextViewText(R.id.widget_month, snapshot.monthYear);
+        views.setTextViewText(R.id.widget_income, formatAmount(snapshot.incomeTotal));
+        views.setTextViewText(R.id.widget_expense, formatAmount(snapshot.expenseTotal));
+
+        for (int i = 0; i < BUDGET_VIEWS.length; i++) {
+            if (snapshot.topBudgets != null && i < snapshot.topBudgets.size()) {
+                WidgetSnapshot.BudgetLine line = snapshot.topBudgets.get(i);
+                views.setTextViewText(BUDGET_VIEWS[i], String.format(Locale.getDefault(),
+                        "%s  %s / %s (%d%%)", line.categoryName, formatAmount(line.spent),
+                        formatAmount(line.budgeted), line.percentUsed()));
+                views.setTextColor(BUDGET_VIEWS[i], line.spent > line.budgeted ? 0xFFE57373 : 0xFFFFFFFF);
+                views.setViewVisibility(BUDGET_VIEWS[i], View.VISIBLE);
+            } else {
+                views.setViewVisibility(BUDGET_VIEWS[i], View.GONE);
+            }
+        }
+        return views;
+    }
+
+    private static String formatAmount(double amount) {
+        return String.format(Locale.getDefault(), "Rs. %,.0f", amount);
+    }
+
+    private static long currentMonthStart() {
+        Calendar cal = Calendar.getInstance();
+        cal.set(Calendar.DAY_OF_MONTH, 1);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        return cal.getTimeInMillis();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.finix.widget;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * What the home-screen widget shows: this month's totals and the budgets closest to their
+ * limit. Written by {@link WidgetSnapshotWriter}, read by {@link FinixWidgetProvider} (so a
+ * widget update is a file read, never a Room query).
+ */
+public final class WidgetSnapshot {
+
+    private static final String TAG = "WidgetSnapshot";
+    private static final String FILE_NAME = "widget_snapshot.json";
+    private static final Gson GSON = new Gson();
+
+    /**
+     * One budget row on the widget.
+     */
+    public static final class BudgetLine {
+        String categoryName;
+        double spent;
+        double budgeted;
+
+        BudgetLine(String categoryName, double spent, double budgeted) {
+            this.categoryName = categoryName;
+            this.spent = spent;
+            this.budgeted = budgeted;
+        }
+
+        int percentUsed() {
+            return budgeted > 0 ? (int) Math.round(spent * 100 / budgeted) : 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BudgetLine)) return false;
+            BudgetLine other = (BudgetLine) o;
+            return Double.compare(spent, other.spent) == 0
+                    && Double.compare(budgeted, other.budgeted) == 0
+                    && Objects.equals(categoryName, other.categoryName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(categoryName, spent, budgeted);
+        }
+    }
+
+    long monthStart;          // First millisecond of the month the totals are for
+    String monthYear;         // e.g. "October 2025"
+    double incomeTotal;
+    double expenseTotal;
+    List<BudgetLine> topBudgets = new ArrayList<>();
+
+    // --- File I/O (small file, a few hundred bytes) ---
+
+    @Nullable
+    static WidgetSnapshot read(@NonNull Context context) {
+        File file = file(context);
+        if (!file.exists()) return null;
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            return GSON.fromJson(reader, WidgetSnapshot.class);
+        } catch (IOException | JsonParseException e) {
+            Log.w(TAG, "Ignoring unreadable widget snapshot", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes to a temp file and renames it, so the widget never reads a half-written file.
+     */
+    static boolean write(@NonNull Context context, @NonNull WidgetSnapshot snapshot) {
+        File file = file(context);
+        File tmp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            GSON.toJson(snapshot, writer);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not save widget snapshot", e);
+            tmp.delete();
+            return false;
+        }
+        return tmp.renameTo(file);
+    }
+
+    private static File file(Context context) {
+        return new File(context.getApplicationContext().getFilesDir(), FILE_NAME);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WidgetSnapshot)) return false;
+        WidgetSnapshot other = (WidgetSnapshot) o;
+        return monthStart == other.monthStart
+                && Double.compare(incomeTotal, other.incomeTotal) == 0
+                && Double.compare(expenseTotal, other.expenseTotal) == 0
+                && Objects.equals(monthYear, other.monthYear)
+                && Objects.equals(topBudgets, other.topBudgets);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(monthStart, monthYear, incomeTotal, expenseTotal, topBudgets);
+    }
+}
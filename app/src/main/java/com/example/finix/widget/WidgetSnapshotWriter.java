@@ -0,0 +1,118 @@
+package com.example.finix.widget;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+
+import com.example.finix.data.BudgetWithSpend;
+import com.example.finix.data.FinixDatabase;
+import com.example.finix.ui.dashboard.MonthSummary;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps {@link WidgetSnapshot} up to date while the app process is alive. Room's
+ * InvalidationTracker tells us when transactions/budgets change; we then recompute only the
+ * current month (the same per-category aggregate the dashboard uses) and rewrite the file.
+ * The widget is only told to redraw when the snapshot actually changed.
+ */
+public final class WidgetSnapshotWriter {
+
+    private static final String TAG = "WidgetSnapshotWriter";
+
+    // Everything the widget numbers depend on (archived months come from monthly_rollups,
+    // budget spend also reads transactions_archive)
+    private static final String[] SOURCE_TABLES =
+            {"transactions", "transactions_archive", "monthly_rollups", "budgets", "categories"};
+    private static final int TOP_BUDGETS = 3;
+
+    private static WidgetSnapshotWriter instance;
+
+    private final Context appContext;
+    private final FinixDatabase db;
+    // Bursts of changes (imports, bulk deletes) collapse into one pending refresh
+    private final AtomicBoolean refreshQueued = new AtomicBoolean(false);
+    private WidgetSnapshot lastWritten; // guarded by refresh()'s lock
+
+    private WidgetSnapshotWriter(Context appContext) {
+        this.appContext = appContext;
+        this.db = FinixDatabase.getDatabase(appContext);
+    }
+
+    /**
+     * Starts listening for changes (once per process) and writes a fresh snapshot.
+     */
+    public static synchronized void start(@NonNull Context context) {
+        if (instance == null) {
+            instance = new WidgetSnapshotWriter(context.getApplicationContext());
+            instance.db.getInvalidationTracker().addObserver(new InvalidationTracker.Observer(SOURCE_TABLES) {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    instance.requestRefresh();
+                }
+            });
+        }
+        instance.requestRefresh();
+    }
+
+    private void requestRefresh() {
+        if (!refreshQueued.compareAndSet(false, true)) return; // One is already waiting
+        FinixDatabase.getReadExecutor().execute(() -> {
+            refreshQueued.set(false);
+            try {
+                refresh();
+            } catch (Exception e) {
+                Log.e(TAG, "Widget snapshot refresh failed", e);
+            }
+        });
+    }
+
+    private synchronized void refresh() {
+        // 1. This month, as an inclusive range like the dashboard's
+        Calendar cal = Calendar.getInstance();
+        cal.set(Calendar.DAY_OF_MONTH, 1);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        long monthStart = cal.getTimeInMillis();
+        String monthYear = new SimpleDateFormat("MMMM yyyy", Locale.getDefault()).format(cal.getTime());
+        cal.add(Calendar.MONTH, 1);
+        long monthEnd = cal.getTimeInMillis() - 1;
+
+        // 2. Totals per type/category (no previous month to compare against)
+        MonthSummary summary = MonthSummary.from(monthYear, null,
+                db.transactionDao().getCategoryTotalsForMonthsSync(monthStart, monthEnd, -1, -1));
+
+        // 3. Budgets running this month, most used first. Spend is over each budget's own
+        // start/end dates (what the Budgets screen shows), not the calendar month.
+        List<WidgetSnapshot.BudgetLine> lines = new ArrayList<>();
+        for (BudgetWithSpend row : db.budgetDao().getBudgetsWithSpendBetween(monthStart, monthEnd + 1)) {
+            String name = row.categoryName != null ? row.categoryName : "Unknown";
+            lines.add(new WidgetSnapshot.BudgetLine(name, row.spent, row.budget.getBudgetedAmount()));
+        }
+        lines.sort((a, b) -> Integer.compare(b.percentUsed(), a.percentUsed()));
+
+        WidgetSnapshot snapshot = new WidgetSnapshot();
+        snapshot.monthStart = monthStart;
+        snapshot.monthYear = monthYear;
+        snapshot.incomeTotal = summary.incomeTotal;
+        snapshot.expenseTotal = summary.expenseTotal;
+        snapshot.topBudgets = new ArrayList<>(lines.subList(0, Math.min(TOP_BUDGETS, lines.size())));
+
+        // 4. Only touch the file (and wake the widget) when something visible changed
+        if (snapshot.equals(lastWritten)) return;
+        if (WidgetSnapshot.write(appContext, snapshot)) {
+            lastWritten = snapshot;
+            FinixWidgetProvider.updateAll(appContext);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.finix.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the alert thresholds and the per-category budget index.
+ */
+public class BudgetAlertTrackerTest {
+
+    private static BudgetAlertTracker.Tracked tracked(int id, long start, long end) {
+        BudgetWithSpend row = new BudgetWithSpend();
+        row.budget = new Budget(id, 0, 4, 1000, start, end);
+        row.categoryName = "Food";
+        return new BudgetAlertTracker.Tracked(row);
+    }
+
+    private static List<Integer> budgetsOn(BudgetAlertTracker.CategoryIndex index, long date) {
+        List<BudgetAlertTracker.Tracked> hits = new ArrayList<>();
+        index.collect(date, hits);
+        List<Integer> ids = new ArrayList<>();
+        for (BudgetAlertTracker.Tracked t : hits) ids.add(t.budgetId);
+        return ids;
+    }
+
+    @Test
+    public void levelOf_highestThresholdReached() {
+        assertEquals(0, BudgetAlertTracker.levelOf(0, 1000));
+        assertEquals(0, BudgetAlertTracker.levelOf(499.99, 1000));
+        assertEquals(50, BudgetAlertTracker.levelOf(500, 1000));
+        assertEquals(50, BudgetAlertTracker.levelOf(749, 1000));
+        assertEquals(75, BudgetAlertTracker.levelOf(750, 1000));
+        assertEquals(100, BudgetAlertTracker.levelOf(1000, 1000));
+        assertEquals(100, BudgetAlertTracker.levelOf(2500, 1000));
+    }
+
+    @Test
+    public void levelOf_exactAtOddAmounts() {
+        // 1/3 of the way to 100% is no threshold; 0.75 * 333 = 249.75 is 75%
+        assertEquals(0, BudgetAlertTracker.levelOf(111, 333));
+        assertEquals(75, BudgetAlertTracker.levelOf(249.75, 333));
+        assertEquals(50, BudgetAlertTracker.levelOf(249.74, 333));
+    }
+
+    @Test
+    public void categoryIndex_findsEveryBudgetContainingTheDate() {
+        BudgetAlertTracker.CategoryIndex index = new BudgetAlertTracker.CategoryIndex();
+        index.add(tracked(1, 0, 99));      // short
+        index.add(tracked(2, 50, 1000));   // long, sets maxSpan
+        index.add(tracked(3, 150, 199));
+        index.add(tracked(4, 150, 160));   // same start as 3
+
+        assertEquals(Arrays.asList(1), budgetsOn(index, 10));
+        assertEquals(Arrays.asList(1, 2), budgetsOn(index, 99));
+        assertEquals(Arrays.asList(2), budgetsOn(index, 100));
+        assertEquals(Arrays.asList(2, 3, 4), budgetsOn(index, 155));
+        assertEquals(Arrays.asList(2, 3), budgetsOn(index, 170));
+        assertEquals(Arrays.asList(2), budgetsOn(index, 1000));
+        assertTrue(budgetsOn(index, 1001).isEmpty());
+        assertTrue(budgetsOn(index, -1).isEmpty());
+    }
+}
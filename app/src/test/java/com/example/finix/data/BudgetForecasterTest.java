@@ -0,0 +1,130 @@
+package com.example.finix.data;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the burn-rate maths (smoothing, projection, calendar days).
+ */
+public class BudgetForecasterTest {
+
+    private static final double DELTA = 1e-6;
+    // Has a 23h day on 2024-03-31 and a 25h day on 2024-10-27
+    private static final TimeZone ZONE = TimeZone.getTimeZone("Europe/London");
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        Calendar cal = Calendar.getInstance(ZONE);
+        cal.clear();
+        cal.set(year, month, day, hour, minute);
+        return cal.getTimeInMillis();
+    }
+
+    private static BudgetForecaster.State june(double amount) {
+        Budget budget = new Budget(1, amount, at(2024, Calendar.JUNE, 1, 0, 0), at(2024, Calendar.JUNE, 30, 23, 59));
+        return new BudgetForecaster.State(budget, ZONE);
+    }
+
+    private static void spend(BudgetForecaster.State state, int juneDay, double amount) {
+        state.add(state.dayOf(at(2024, Calendar.JUNE, juneDay, 12, 0)), amount);
+    }
+
+    @Test
+    public void steadySpend_projectsTheSameDailyRate() {
+        BudgetForecaster.State state = june(2550);
+        for (int d = 1; d <= 10; d++) spend(state, d, 100);
+
+        // Morning of June 11 (day 10), nothing spent yet today
+        BudgetForecaster.Forecast f = BudgetForecaster.forecast(state, 2550, at(2024, Calendar.JUNE, 11, 9, 0));
+
+        assertEquals(100, state.rate(10), DELTA);
+        assertEquals(1000 + 100 + 100 * 19, f.projectedSpend, DELTA);
+        assertFalse(f.exceeded);
+        // 100 a day passes 2550 during June 26
+        assertEquals(at(2024, Calendar.JUNE, 26, 0, 0), f.exceedsOn);
+    }
+
+    @Test
+    public void underBudget_hasNoExceedDate() {
+        BudgetForecaster.State state = june(5000);
+        for (int d = 1; d <= 10; d++) spend(state, d, 100);
+
+        BudgetForecaster.Forecast f = BudgetForecaster.forecast(state, 5000, at(2024, Calendar.JUNE, 11, 9, 0));
+
+        assertEquals(0, f.exceedsOn);
+        assertFalse(f.exceeded);
+    }
+
+    @Test
+    public void lateExpense_matchesSeedingItUpFront() {
+        BudgetForecaster.State seeded = june(3000);
+        BudgetForecaster.State streamed = june(3000);
+        for (int d = 1; d <= 10; d++) {
+            spend(seeded, d, 40 * d);
+            spend(streamed, d, 40 * d);
+        }
+        spend(seeded, 4, 250);
+
+        long now = at(2024, Calendar.JUNE, 11, 9, 0);
+        BudgetForecaster.forecast(streamed, 3000, now); // closes days 0..9
+        spend(streamed, 4, 250); // then an older expense is saved
+
+        assertEquals(BudgetForecaster.forecast(seeded, 3000, now).projectedSpend,
+                BudgetForecaster.forecast(streamed, 3000, now).projectedSpend, DELTA);
+        assertEquals(seeded.rate(10), streamed.rate(10), DELTA);
+    }
+
+    @Test
+    public void recentDays_weighMore() {
+        BudgetForecaster.State early = june(3000);
+        BudgetForecaster.State late = june(3000);
+        spend(early, 1, 500);
+        spend(late, 10, 500);
+
+        long now = at(2024, Calendar.JUNE, 11, 9, 0);
+        BudgetForecaster.forecast(early, 3000, now);
+        BudgetForecaster.forecast(late, 3000, now);
+
+        assertTrue(late.rate(10) > early.rate(10));
+    }
+
+    @Test
+    public void firstDay_usesTodaysSpend() {
+        BudgetForecaster.State state = june(10000);
+        spend(state, 1, 200);
+
+        BudgetForecaster.Forecast f = BudgetForecaster.forecast(state, 10000, at(2024, Calendar.JUNE, 1, 18, 0));
+
+        assertEquals(200 + 200 * 29, f.projectedSpend, DELTA);
+    }
+
+    @Test
+    public void outsideThePeriod() {
+        BudgetForecaster.State state = june(1000);
+        assertNull(BudgetForecaster.forecast(state, 1000, at(2024, Calendar.MAY, 31, 12, 0)));
+
+        spend(state, 3, 1200);
+        BudgetForecaster.Forecast over = BudgetForecaster.forecast(state, 1000, at(2024, Calendar.JULY, 2, 12, 0));
+        assertEquals(1200, over.projectedSpend, DELTA);
+        assertTrue(over.exceeded);
+        assertEquals(0, over.exceedsOn);
+    }
+
+    @Test
+    public void dayOf_countsCalendarDaysAcrossDst() {
+        Budget budget = new Budget(1, 1000, at(2024, Calendar.MARCH, 30, 0, 0), at(2024, Calendar.APRIL, 29, 23, 59));
+        BudgetForecaster.State state = new BudgetForecaster.State(budget, ZONE);
+
+        // March 31 has 23 hours: April 1 00:30 is only 47.5h after the start, but the third calendar day
+        assertEquals(1, state.dayOf(at(2024, Calendar.MARCH, 31, 23, 30)));
+        assertEquals(2, state.dayOf(at(2024, Calendar.APRIL, 1, 0, 30)));
+
+        // October 27 has 25 hours: 23:30 is still that day
+        long autumn = at(2024, Calendar.OCTOBER, 27, 23, 30);
+        assertEquals(BudgetForecaster.localDay(at(2024, Calendar.OCTOBER, 27, 0, 0), ZONE),
+                BudgetForecaster.localDay(autumn, ZONE));
+    }
+}
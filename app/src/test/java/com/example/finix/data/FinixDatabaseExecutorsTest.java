@@ -0,0 +1,90 @@
+package com.example.finix.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the shared database executors (no database is opened).
+ */
+public class FinixDatabaseExecutorsTest {
+
+    @Test
+    public void writer_isOneThreadRunningTasksInOrder() throws Exception {
+        ExecutorService writer = FinixDatabase.getWriteExecutor();
+        assertSame(writer, FinixDatabase.getWriteExecutor());
+
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Future<?>> done = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int n = i;
+            done.add(writer.submit(() -> {
+                threads.add(Thread.currentThread().getName());
+                order.add(n);
+            }));
+        }
+        for (Future<?> f : done) f.get(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 50; i++) assertEquals(i, (int) order.get(i));
+        assertEquals(1, threads.size());
+        assertTrue(threads.toString(), threads.iterator().next().startsWith("finix-db-write-"));
+    }
+
+    @Test
+    public void readPool_runsUpToItsSizeSideBySide() throws Exception {
+        ExecutorService reads = FinixDatabase.getReadExecutor();
+        assertSame(reads, FinixDatabase.getReadExecutor());
+        assertNotSame(reads, FinixDatabase.getWriteExecutor());
+
+        int size = new FinixDatabase.Tuning().readPoolSize;
+        CountDownLatch started = new CountDownLatch(size);
+        CountDownLatch release = new CountDownLatch(1);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Future<?>> done = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            done.add(reads.submit(() -> {
+                threads.add(Thread.currentThread().getName());
+                started.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }));
+        }
+
+        // Every task is running at the same time (fewer threads would stall here)
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        for (Future<?> f : done) f.get(5, TimeUnit.SECONDS);
+
+        assertEquals(size, threads.size());
+        for (String name : threads) assertTrue(name, name.startsWith("finix-db-read-"));
+    }
+
+    @Test
+    public void ioExecutor_isSeparateFromTheDatabasePools() throws Exception {
+        ExecutorService io = FinixDatabase.getIoExecutor();
+        assertSame(io, FinixDatabase.getIoExecutor());
+        assertNotSame(io, FinixDatabase.getReadExecutor());
+        assertNotSame(io, FinixDatabase.getWriteExecutor());
+
+        // A job blocked on I/O does not hold up reads
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> slow = io.submit(() -> release.await(5, TimeUnit.SECONDS));
+        assertEquals("read", FinixDatabase.getReadExecutor().submit(() -> "read").get(5, TimeUnit.SECONDS));
+        assertFalse(io.submit(() -> "queued").isDone()); // one thread: waits behind the slow job
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+
+        String name = io.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+        assertTrue(name, name.startsWith("finix-io-"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.finix.data;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the recurrence date maths (no database involved).
+ */
+public class RecurrenceExpanderTest {
+
+    private static long date(int year, int month, int day) {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(year, month, day, 9, 0);
+        return cal.getTimeInMillis();
+    }
+
+    private static RecurringRule rule(String frequency, int interval, long start, long end) {
+        return new RecurringRule(2500, "Expense", 3, "Rent", frequency, interval, start, end);
+    }
+
+    @Test
+    public void occurrence_monthlyComesBackToThe31st() {
+        RecurringRule r = rule(RecurringRule.MONTHLY, 1, date(2024, Calendar.JANUARY, 31), RecurringRule.NO_END);
+
+        assertEquals(date(2024, Calendar.JANUARY, 31), RecurrenceExpander.occurrence(r, 0));
+        assertEquals(date(2024, Calendar.FEBRUARY, 29), RecurrenceExpander.occurrence(r, 1));
+        assertEquals(date(2024, Calendar.MARCH, 31), RecurrenceExpander.occurrence(r, 2));
+        assertEquals(date(2024, Calendar.APRIL, 30), RecurrenceExpander.occurrence(r, 3));
+    }
+
+    @Test
+    public void occurrence_usesTheInterval() {
+        long start = date(2024, Calendar.MARCH, 4);
+        assertEquals(date(2024, Calendar.MARCH, 18),
+                RecurrenceExpander.occurrence(rule(RecurringRule.WEEKLY, 2, start, RecurringRule.NO_END), 1));
+        assertEquals(date(2024, Calendar.MARCH, 7),
+                RecurrenceExpander.occurrence(rule(RecurringRule.DAILY, 3, start, RecurringRule.NO_END), 1));
+        assertEquals(date(2026, Calendar.MARCH, 4),
+                RecurrenceExpander.occurrence(rule(RecurringRule.YEARLY, 1, start, RecurringRule.NO_END), 2));
+    }
+
+    @Test
+    public void occurrenceOrFinished_endDateIsInclusive() {
+        long start = date(2024, Calendar.JANUARY, 10);
+        RecurringRule r = rule(RecurringRule.MONTHLY, 1, start, date(2024, Calendar.MARCH, 10));
+
+        assertEquals(date(2024, Calendar.MARCH, 10), RecurrenceExpander.occurrenceOrFinished(r, 2));
+        assertEquals(RecurringRule.FINISHED, RecurrenceExpander.occurrenceOrFinished(r, 3));
+    }
+
+    @Test
+    public void pendingBetween_skipsWrittenOccurrencesAndExcludesTheEnd() {
+        RecurringRule r = rule(RecurringRule.MONTHLY, 1, date(2024, Calendar.JANUARY, 1), RecurringRule.NO_END);
+        r.setNextIndex(2); // January and February are already rows
+
+        List<Long> dates = RecurrenceExpander.pendingBetween(r,
+                date(2024, Calendar.JANUARY, 1), date(2024, Calendar.MAY, 1));
+
+        assertEquals(Arrays.asList(date(2024, Calendar.MARCH, 1), date(2024, Calendar.APRIL, 1)), dates);
+    }
+
+    @Test
+    public void pendingBetween_stopsAtTheRuleEnd() {
+        RecurringRule r = rule(RecurringRule.WEEKLY, 1, date(2024, Calendar.JANUARY, 1), date(2024, Calendar.JANUARY, 15));
+
+        List<Long> dates = RecurrenceExpander.pendingBetween(r,
+                date(2024, Calendar.JANUARY, 1), date(2024, Calendar.DECEMBER, 31));
+
+        assertEquals(3, dates.size());
+        assertEquals(date(2024, Calendar.JANUARY, 15), (long) dates.get(2));
+    }
+
+    @Test
+    public void pendingBetween_isCapped() {
+        RecurringRule r = rule(RecurringRule.DAILY, 1, date(2000, Calendar.JANUARY, 1), RecurringRule.NO_END);
+
+        List<Long> dates = RecurrenceExpander.pendingBetween(r,
+                date(2000, Calendar.JANUARY, 1), date(2100, Calendar.JANUARY, 1));
+
+        assertEquals(RecurrenceExpander.MAX_OCCURRENCES, dates.size());
+    }
+
+    @Test
+    public void expand_projectsUnsavedTransactions() {
+        RecurringRule r = rule(RecurringRule.MONTHLY, 1, date(2024, Calendar.JANUARY, 5), RecurringRule.NO_END);
+
+        List<Transaction> projected = RecurrenceExpander.expand(Collections.singletonList(r),
+                date(2024, Calendar.FEBRUARY, 1), date(2024, Calendar.MARCH, 1));
+
+        assertEquals(1, projected.size());
+        Transaction t = projected.get(0);
+        assertEquals(0, t.getLocalId());
+        assertEquals(2500, t.getAmount(), 1e-9);
+        assertEquals("Expense", t.getType());
+        assertEquals(3, t.getCategoryId());
+        assertEquals("Rent", t.getDescription());
+        assertEquals(date(2024, Calendar.FEBRUARY, 5), t.getDateTime());
+
+        assertTrue(RecurrenceExpander.expand(null, 0, Long.MAX_VALUE).isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.finix.data;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the statement parsing helpers (no Android framework needed).
+ */
+public class StatementImporterTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void parseAmount_plainAndGrouped() {
+        assertEquals(45, StatementImporter.parseAmount("45", Locale.US), DELTA);
+        assertEquals(1234.5, StatementImporter.parseAmount("1,234.50", Locale.US), DELTA);
+        assertEquals(1234567.89, StatementImporter.parseAmount("1,234,567.89", Locale.US), DELTA);
+        assertEquals(1234, StatementImporter.parseAmount("1,234", Locale.US), DELTA);
+    }
+
+    @Test
+    public void parseAmount_negatives() {
+        assertEquals(-45, StatementImporter.parseAmount("-45", Locale.US), DELTA);
+        assertEquals(-45, StatementImporter.parseAmount("(45.00)", Locale.US), DELTA);
+        assertEquals(-45, StatementImporter.parseAmount("45.00-", Locale.US), DELTA);
+        assertEquals(-45, StatementImporter.parseAmount("-Rs. 45", Locale.US), DELTA);
+        assertEquals(-45, StatementImporter.parseAmount("Rs. -45", Locale.US), DELTA);
+    }
+
+    @Test
+    public void parseAmount_currencyPrefixDoesNotLeakItsDot() {
+        assertEquals(1200, StatementImporter.parseAmount("Rs. 1200", Locale.US), DELTA);
+        assertEquals(1200, StatementImporter.parseAmount("Rs.1200", Locale.US), DELTA);
+        assertEquals(1200.5, StatementImporter.parseAmount("Rs. 1,200.50", Locale.US), DELTA);
+        assertEquals(1200, StatementImporter.parseAmount("LKR 1200", Locale.US), DELTA);
+        assertEquals(9.99, StatementImporter.parseAmount("$9.99", Locale.US), DELTA);
+        assertEquals(1200, StatementImporter.parseAmount("1200 LKR", Locale.US), DELTA);
+    }
+
+    @Test
+    public void parseAmount_commaDecimal() {
+        assertEquals(12.5, StatementImporter.parseAmount("12,50", Locale.US), DELTA);
+        assertEquals(1234.5, StatementImporter.parseAmount("1.234,50", Locale.GERMANY), DELTA);
+        assertEquals(1234.5, StatementImporter.parseAmount("1 234,50 €", Locale.FRANCE), DELTA);
+        assertEquals(1234, StatementImporter.parseAmount("1.234", Locale.GERMANY), DELTA);
+        assertEquals(1.234, StatementImporter.parseAmount("1,234", Locale.GERMANY), DELTA);
+    }
+
+    @Test
+    public void parseAmount_rejectsRowsWithoutAmount() {
+        for (String raw : new String[]{"", "-", "Rs.", "abc", "1.2.3,4,5"}) {
+            try {
+                StatementImporter.parseAmount(raw, Locale.US);
+                fail("Expected NumberFormatException for '" + raw + "'");
+            } catch (NumberFormatException expected) {
+                // skipped row
+            }
+        }
+    }
+
+    @Test
+    public void readCsvRecord_quotedFieldsAndLineBreaks() throws IOException {
+        StringReader reader = new StringReader("2024-01-05,\"Coffee, \"\"large\"\"\",-450\r\n"
+                + "2024-01-06,\"Two\nlines\",1200\n");
+        List<String> row = new ArrayList<>();
+
+        assertTrue(StatementImporter.readCsvRecord(reader, ',', row));
+        assertEquals(Arrays.asList("2024-01-05", "Coffee, \"large\"", "-450"), row);
+
+        assertTrue(StatementImporter.readCsvRecord(reader, ',', row));
+        assertEquals(Arrays.asList("2024-01-06", "Two\nlines", "1200"), row);
+
+        assertFalse(StatementImporter.readCsvRecord(reader, ',', row));
+    }
+
+    @Test
+    public void parseOfxDate_dateAndTime() {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(StatementImporter.parseOfxDate("20240305143000.000"));
+        assertEquals(2024, cal.get(Calendar.YEAR));
+        assertEquals(Calendar.MARCH, cal.get(Calendar.MONTH));
+        assertEquals(5, cal.get(Calendar.DAY_OF_MONTH));
+        assertEquals(14, cal.get(Calendar.HOUR_OF_DAY));
+        assertEquals(30, cal.get(Calendar.MINUTE));
+    }
+
+    @Test
+    public void parseOfxDate_timeIsReadInItsGmtOffset() {
+        // 14:30 EST = 19:30 UTC; 14:30 IST = 09:00 UTC
+        assertEquals(utc(2024, Calendar.MARCH, 5, 19, 30), StatementImporter.parseOfxDate("20240305143000.000[-5:EST]"));
+        assertEquals(utc(2024, Calendar.MARCH, 5, 9, 0), StatementImporter.parseOfxDate("20240305143000[+5.5:IST]"));
+        assertEquals(utc(2024, Calendar.MARCH, 5, 14, 30), StatementImporter.parseOfxDate("20240305143000[0]"));
+    }
+
+    @Test
+    public void parseOfxDate_bareDateStaysALocalDay() {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(StatementImporter.parseOfxDate("20240305[-5:EST]"));
+        assertEquals(5, cal.get(Calendar.DAY_OF_MONTH));
+        assertEquals(0, cal.get(Calendar.HOUR_OF_DAY));
+    }
+
+    private static long utc(int year, int month, int day, int hour, int minute) {
+        Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        cal.clear();
+        cal.set(year, month, day, hour, minute);
+        return cal.getTimeInMillis();
+    }
+}
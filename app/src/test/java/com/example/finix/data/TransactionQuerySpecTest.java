@@ -0,0 +1,106 @@
+package com.example.finix.data;
+
+import androidx.sqlite.db.SupportSQLiteProgram;
+import androidx.sqlite.db.SupportSQLiteQuery;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the SQL that TransactionQuerySpec compiles (no database needed).
+ */
+public class TransactionQuerySpecTest {
+
+    // Collects the bound arguments in order
+    private static List<Object> args(SupportSQLiteQuery query) {
+        List<Object> args = new ArrayList<>();
+        query.bindTo(new SupportSQLiteProgram() {
+            @Override public void bindNull(int index) { args.add(null); }
+            @Override public void bindLong(int index, long value) { args.add(value); }
+            @Override public void bindDouble(int index, double value) { args.add(value); }
+            @Override public void bindString(int index, String value) { args.add(value); }
+            @Override public void bindBlob(int index, byte[] value) { args.add(value); }
+            @Override public void clearBindings() { args.clear(); }
+            @Override public void close() {}
+        });
+        return args;
+    }
+
+    @Test
+    public void noFilters_coversHotAndArchivedRows() {
+        SupportSQLiteQuery query = TransactionQuerySpec.forType("Expense").toQuery();
+        String sql = query.getSql();
+
+        assertTrue(sql, sql.contains("FROM transactions WHERE type = ?"));
+        assertTrue(sql, sql.contains(" UNION ALL SELECT "));
+        assertTrue(sql, sql.contains("FROM transactions_archive WHERE type = ?"));
+        assertTrue(sql, sql.endsWith(" ORDER BY date_time DESC, local_id DESC"));
+        assertEquals(Arrays.<Object>asList("Expense", "Expense"), args(query));
+    }
+
+    @Test
+    public void everyFilter_isBoundOnBothHalves() {
+        SupportSQLiteQuery query = TransactionQuerySpec.forType("Income")
+                .withRange(1000L, 2000L)
+                .withCategories(Arrays.asList(7, 3, 7))
+                .withAmountRange(10.0, null)
+                .withText("  Groc sup! ")
+                .withSort(TransactionQuerySpec.SortKey.AMOUNT, true)
+                .toQuery();
+        String sql = query.getSql();
+
+        List<Object> half = Arrays.<Object>asList("Income", 1000L, 2000L, 3L, 7L, 10.0, "groc* sup*");
+        List<Object> expected = new ArrayList<>(half);
+        expected.addAll(half);
+        assertEquals(expected, args(query));
+        assertEquals(expected.size(), query.getArgCount());
+
+        assertTrue(sql, sql.contains("category_id IN (?, ?)"));
+        assertFalse(sql, sql.contains("amount <= ?"));
+        assertTrue(sql, sql.contains("local_id IN (SELECT rowid FROM transactions_fts WHERE transactions_fts MATCH ?)"));
+        assertTrue(sql, sql.contains("local_id IN (SELECT rowid FROM transactions_archive_fts WHERE transactions_archive_fts MATCH ?)"));
+        assertTrue(sql, sql.endsWith(" ORDER BY amount ASC, local_id DESC"));
+    }
+
+    @Test
+    public void withoutRange_dropsTheDateBounds() {
+        SupportSQLiteQuery query = TransactionQuerySpec.forType("Expense").withRange(1L, 2L).withoutRange().toQuery();
+
+        assertFalse(query.getSql(), query.getSql().contains("date_time >= ?"));
+        assertEquals(2, query.getArgCount());
+    }
+
+    @Test
+    public void withText_ignoresTextWithoutSearchableTerms() {
+        TransactionQuerySpec spec = TransactionQuerySpec.forType("Expense");
+
+        assertEquals(spec, spec.withText("  *\"-  "));
+        assertEquals(spec, spec.withText(null));
+        assertFalse(spec.withText("?!").toQuery().getSql().contains("MATCH"));
+    }
+
+    @Test
+    public void countQuery_wrapsTheSameSelect() {
+        TransactionQuerySpec spec = TransactionQuerySpec.forType("Expense").withCategories(Arrays.asList(1, 2));
+        SupportSQLiteQuery count = spec.toCountQuery();
+
+        assertTrue(count.getSql(), count.getSql().startsWith("SELECT COUNT(*) FROM (SELECT "));
+        assertFalse(count.getSql(), count.getSql().contains("ORDER BY"));
+        assertEquals(args(spec.toQuery()), args(count));
+    }
+
+    @Test
+    public void equalSpecs_compareEqual() {
+        TransactionQuerySpec a = TransactionQuerySpec.forType("Expense").withCategories(Arrays.asList(2, 1));
+        TransactionQuerySpec b = TransactionQuerySpec.forType("Expense").withCategories(Arrays.asList(1, 2, 2));
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, a.withSort(TransactionQuerySpec.SortKey.DATE, true));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.finix.ui.dashboard;
+
+import com.example.finix.data.CategoryTypeTotal;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for what the dashboard snapshot keeps and how it comes back from JSON.
+ */
+public class DashboardSnapshotStoreTest {
+
+    private static CategoryTypeTotal row(int period, String type, int categoryId, double total) {
+        CategoryTypeTotal row = new CategoryTypeTotal();
+        row.period = period;
+        row.type = type;
+        row.categoryId = categoryId;
+        row.total = total;
+        return row;
+    }
+
+    private static MonthSummary october() {
+        return MonthSummary.from("October 2025", "September", Arrays.asList(
+                row(CategoryTypeTotal.PERIOD_SELECTED, "Income", 1, 1000),
+                row(CategoryTypeTotal.PERIOD_SELECTED, "Expense", 2, 120.5),
+                row(CategoryTypeTotal.PERIOD_PREVIOUS, "Expense", 2, 90)));
+    }
+
+    @Test
+    public void snapshot_survivesAJsonRoundTrip() {
+        Map<Integer, String> names = new HashMap<>();
+        names.put(1, "Salary");
+        names.put(2, "Groceries");
+        DashboardSnapshotStore.DashboardSnapshot saved = DashboardSnapshotStore.DashboardSnapshot.from(
+                october(), Arrays.asList("October 2025", "September 2025"), names);
+
+        Gson gson = new Gson();
+        DashboardSnapshotStore.DashboardSnapshot read =
+                gson.fromJson(gson.toJson(saved), DashboardSnapshotStore.DashboardSnapshot.class);
+        MonthSummary original = october();
+        MonthSummary restored = read.toSummary();
+
+        assertEquals(saved.version, read.version);
+        assertEquals(Arrays.asList("October 2025", "September 2025"), read.months);
+        assertEquals(original.monthYear, restored.monthYear);
+        assertEquals(original.incomeTotal, restored.incomeTotal, 0);
+        assertEquals(original.expenseTotal, restored.expenseTotal, 0);
+        assertEquals(original.incomeByCategory, restored.incomeByCategory);
+        assertEquals(original.expenseByCategory, restored.expenseByCategory);
+        assertEquals(original.incomeComparison, restored.incomeComparison);
+        assertEquals(original.expenseComparison, restored.expenseComparison);
+        assertEquals(names, read.categoryNames);
+    }
+
+    @Test
+    public void snapshot_keepsOnlyTheNamesItsSlicesUse() {
+        Map<Integer, String> names = new HashMap<>();
+        names.put(1, "Salary");
+        names.put(2, "Groceries");
+        names.put(3, "Travel");
+
+        DashboardSnapshotStore.DashboardSnapshot snapshot =
+                DashboardSnapshotStore.DashboardSnapshot.from(october(), null, names);
+
+        assertEquals(2, snapshot.categoryNames.size());
+        assertFalse(snapshot.categoryNames.containsKey(3));
+        assertTrue(snapshot.months.isEmpty());
+    }
+
+    @Test
+    public void missingMaps_restoreAsEmpty() {
+        DashboardSnapshotStore.DashboardSnapshot snapshot = new Gson().fromJson(
+                "{\"version\":1,\"monthYear\":\"October 2025\",\"incomeTotal\":5}",
+                DashboardSnapshotStore.DashboardSnapshot.class);
+
+        MonthSummary summary = snapshot.toSummary();
+
+        assertEquals(5, summary.incomeTotal, 0);
+        assertTrue(summary.incomeByCategory.isEmpty());
+        assertTrue(summary.expenseByCategory.isEmpty());
+    }
+}
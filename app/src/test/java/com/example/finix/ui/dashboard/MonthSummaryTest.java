@@ -0,0 +1,81 @@
+package com.example.finix.ui.dashboard;
+
+import com.example.finix.data.CategoryTypeTotal;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for folding the dashboard's aggregate rows into a MonthSummary.
+ */
+public class MonthSummaryTest {
+
+    private static CategoryTypeTotal row(int period, String type, int categoryId, double total) {
+        CategoryTypeTotal row = new CategoryTypeTotal();
+        row.period = period;
+        row.type = type;
+        row.categoryId = categoryId;
+        row.total = total;
+        return row;
+    }
+
+    @Test
+    public void from_splitsTheSelectedMonthByTypeAndCategory() {
+        MonthSummary summary = MonthSummary.from("October 2025", "September", Arrays.asList(
+                row(CategoryTypeTotal.PERIOD_SELECTED, "Income", 1, 1000),
+                row(CategoryTypeTotal.PERIOD_SELECTED, "Expense", 2, 120),
+                row(CategoryTypeTotal.PERIOD_SELECTED, "Expense", 3, 30),
+                row(CategoryTypeTotal.PERIOD_PREVIOUS, "Expense", 2, 500)));
+
+        assertEquals("October 2025", summary.monthYear);
+        assertEquals(1000, summary.incomeTotal, 1e-9);
+        assertEquals(150, summary.expenseTotal, 1e-9);
+        assertEquals(1, summary.incomeByCategory.size());
+        assertEquals(120, summary.expenseByCategory.get(2), 1e-9);
+        assertEquals(30, summary.expenseByCategory.get(3), 1e-9);
+    }
+
+    @Test
+    public void comparisons_colourWhatIsGoodAndBad() {
+        MonthSummary summary = MonthSummary.from("October 2025", "September", Arrays.asList(
+                row(CategoryTypeTotal.PERIOD_SELECTED, "Income", 1, 800),
+                row(CategoryTypeTotal.PERIOD_SELECTED, "Expense", 2, 400),
+                row(CategoryTypeTotal.PERIOD_PREVIOUS, "Income", 1, 1000),
+                row(CategoryTypeTotal.PERIOD_PREVIOUS, "Expense", 2, 300)));
+
+        // Less income is bad (red), more spending is bad (red)
+        assertTrue(summary.incomeComparison, summary.incomeComparison.startsWith("#E57373|Decreased -Rs. "));
+        assertTrue(summary.expenseComparison, summary.expenseComparison.startsWith("#E57373|Increased +Rs. "));
+        assertTrue(summary.expenseComparison.endsWith(" from September"));
+    }
+
+    @Test
+    public void comparisons_withoutAPreviousMonth() {
+        MonthSummary summary = MonthSummary.from("October 2025", null, Arrays.asList(
+                row(CategoryTypeTotal.PERIOD_SELECTED, "Expense", 2, 400)));
+
+        assertEquals("#607D8B|First month with data recorded", summary.incomeComparison);
+        assertEquals("#607D8B|First month with data recorded", summary.expenseComparison);
+    }
+
+    @Test
+    public void comparisons_ignoreSubCentDifferences() {
+        MonthSummary summary = MonthSummary.from("October 2025", "September", Arrays.asList(
+                row(CategoryTypeTotal.PERIOD_SELECTED, "Expense", 2, 100.004),
+                row(CategoryTypeTotal.PERIOD_PREVIOUS, "Expense", 2, 100)));
+
+        assertEquals("#607D8B|No change compared to September", summary.expenseComparison);
+    }
+
+    @Test
+    public void from_noRows() {
+        MonthSummary summary = MonthSummary.from("October 2025", "September", null);
+
+        assertEquals(0, summary.incomeTotal, 0);
+        assertEquals(0, summary.expenseTotal, 0);
+        assertTrue(summary.expenseByCategory.isEmpty());
+    }
+}
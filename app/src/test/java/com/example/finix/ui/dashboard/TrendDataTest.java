@@ -0,0 +1,111 @@
+package com.example.finix.ui.dashboard;
+
+import com.example.finix.data.MonthlyCategoryTotal;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the trend buckets and the stacked category segments.
+ */
+public class TrendDataTest {
+
+    // "yyyy-MM" of the month `monthsAgo` months before this one, as the SQL query groups them
+    private static String month(int monthsAgo) {
+        Calendar cal = Calendar.getInstance();
+        cal.set(Calendar.DAY_OF_MONTH, 1);
+        cal.add(Calendar.MONTH, -monthsAgo);
+        return new SimpleDateFormat("yyyy-MM", Locale.US).format(cal.getTime());
+    }
+
+    private static MonthlyCategoryTotal row(int monthsAgo, String type, int categoryId, double total) {
+        MonthlyCategoryTotal row = new MonthlyCategoryTotal();
+        row.month = month(monthsAgo);
+        row.type = type;
+        row.categoryId = categoryId;
+        row.total = total;
+        return row;
+    }
+
+    @Test
+    public void twelveMonths_onePointPerMonthEndingThisMonth() {
+        TrendData trend = TrendData.from(12, Arrays.asList(
+                row(0, "Income", 1, 100),
+                row(11, "Expense", 2, 40),
+                row(12, "Expense", 2, 999),  // before the range
+                row(-1, "Income", 1, 999))); // future-dated
+
+        assertEquals(12, trend.labels.size());
+        assertEquals(100f, trend.income[11], 0f);
+        assertEquals(40f, trend.expense[0], 0f);
+        float all = 0;
+        for (int i = 0; i < 12; i++) all += trend.income[i] + trend.expense[i];
+        assertEquals(140f, all, 0f);
+        assertFalse(trend.isEmpty());
+    }
+
+    @Test
+    public void longRanges_mergeMonthsAndKeepTheTotals() {
+        TrendData trend = TrendData.from(24, Arrays.asList(
+                row(23, "Expense", 2, 10),
+                row(22, "Expense", 2, 5),
+                row(0, "Income", 1, 100),
+                row(1, "Income", 1, 50)));
+
+        assertEquals(TrendData.MAX_POINTS, trend.labels.size());
+        assertEquals(15f, trend.expense[0], 0f);
+        assertEquals(150f, trend.income[TrendData.MAX_POINTS - 1], 0f);
+        assertTrue(trend.labels.get(0), trend.labels.get(0).contains(" – "));
+    }
+
+    @Test
+    public void unevenRanges_shortenTheOldestBucket() {
+        // 13 months in 2-month buckets: the oldest bucket holds one month, the newest ends this month
+        TrendData trend = TrendData.from(13, Arrays.asList(
+                row(12, "Expense", 2, 1),
+                row(11, "Expense", 2, 2),
+                row(0, "Expense", 2, 4),
+                row(1, "Expense", 2, 8)));
+
+        assertEquals(7, trend.labels.size());
+        assertFalse(trend.labels.get(0).contains(" – "));
+        assertEquals(1f, trend.expense[0], 0f);
+        assertEquals(2f, trend.expense[1], 0f);
+        assertEquals(12f, trend.expense[6], 0f);
+    }
+
+    @Test
+    public void stacks_topCategoriesThenOther() {
+        List<MonthlyCategoryTotal> rows = new ArrayList<>();
+        for (int category = 1; category <= TrendData.MAX_STACKS + 2; category++) {
+            rows.add(row(0, "Expense", category, category * 10));
+        }
+        TrendData trend = TrendData.from(12, rows);
+
+        int stacks = TrendData.MAX_STACKS + 1;
+        assertEquals(stacks, trend.stackCategoryIds.length);
+        assertEquals(TrendData.MAX_STACKS + 2, trend.stackCategoryIds[0]); // biggest first
+        assertEquals(TrendData.OTHER_CATEGORY, trend.stackCategoryIds[stacks - 1]);
+        // Categories 1 and 2 (10 + 20) end up in "Other"
+        assertEquals(30f, trend.expenseStacks[11][stacks - 1], 0f);
+        float sum = 0;
+        for (float segment : trend.expenseStacks[11]) sum += segment;
+        assertEquals(trend.expense[11], sum, 0f);
+    }
+
+    @Test
+    public void noRows_isEmpty() {
+        TrendData trend = TrendData.from(12, null);
+
+        assertTrue(trend.isEmpty());
+        assertEquals(0, trend.stackCategoryIds.length);
+    }
+}